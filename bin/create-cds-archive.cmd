@@ -0,0 +1,22 @@
+@echo off
+rem Creates a dynamic AppCDS (class data sharing) archive for jparse_code.jar by running the parser
+rem once over the sample files in rsc\ and dumping the loaded classes (requires Java 13+).
+rem Re-run this script whenever jparse_code.jar or the jars in jparse_code_lib\ change.
+rem
+rem usage: create-cds-archive.cmd [archive_path]
+setlocal
+set "BIN_DIR=%~dp0"
+set "ROOT_DIR=%~dp0.."
+set "JAVA=java"
+if defined JAVA_HOME set "JAVA=%JAVA_HOME%\bin\java"
+set "ARCHIVE=%~1"
+if "%ARCHIVE%"=="" set "ARCHIVE=%BIN_DIR%jparse_code.jsa"
+set "TMP_OUT=%TEMP%\jparse-code-cds-training.json"
+
+"%JAVA%" -XX:ArchiveClassesAtExit="%ARCHIVE%" -jar "%BIN_DIR%jparse_code.jar" ^
+	-sources "%ROOT_DIR%\rsc\csharp\ParserExamples=3,[cs];%ROOT_DIR%\rsc\java\ParserExamples=3,[java]" ^
+	-destinations "%TMP_OUT%=[ParserExamples]" ^
+	-threads 2 || exit /b %ERRORLEVEL%
+
+del "%TMP_OUT%" 2>nul
+echo created CDS archive: %ARCHIVE%
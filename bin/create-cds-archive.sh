@@ -0,0 +1,24 @@
+#!/bin/sh
+# Creates a dynamic AppCDS (class data sharing) archive for jparse_code.jar by running the parser
+# once over the sample files in rsc/ and dumping the loaded classes (requires Java 13+).
+# Re-run this script whenever jparse_code.jar or the jars in jparse_code_lib/ change, the JVM
+# silently ignores (with a warning) an archive whose class path no longer matches.
+#
+# usage: create-cds-archive.sh [archive_path]
+# environment: JAVA_HOME - optional, JDK to use (must be the same JDK used by jparse-code.sh)
+
+BIN_DIR=$(cd "$(dirname "$0")" && pwd)
+ROOT_DIR=$(dirname "$BIN_DIR")
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="$BIN_DIR/jparse_code.jar"
+ARCHIVE="${1:-$BIN_DIR/jparse_code.jsa}"
+TMP_DIR=$(mktemp -d)
+trap 'rm -rf "$TMP_DIR"' EXIT
+
+# the training run parses both languages with multiple threads so the archive contains the C#, Java, and parallel code paths
+"$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -jar "$JAR" \
+	-sources "$ROOT_DIR/rsc/csharp/ParserExamples=3,[cs];$ROOT_DIR/rsc/java/ParserExamples=3,[java]" \
+	-destinations "$TMP_DIR/cds-training.json=[ParserExamples]" \
+	-threads 2 || exit $?
+
+echo "created CDS archive: $ARCHIVE"
@@ -0,0 +1,15 @@
+@echo off
+rem Launches jparse_code.jar, using the AppCDS archive created by create-cds-archive.cmd when one exists.
+rem All arguments are passed through to jparse_code.jar (see README.md 'Command Line Interface').
+setlocal
+set "BIN_DIR=%~dp0"
+set "JAVA=java"
+if defined JAVA_HOME set "JAVA=%JAVA_HOME%\bin\java"
+set "ARCHIVE=%JPARSE_CODE_CDS%"
+if "%ARCHIVE%"=="" set "ARCHIVE=%BIN_DIR%jparse_code.jsa"
+
+if exist "%ARCHIVE%" (
+	"%JAVA%" -XX:SharedArchiveFile="%ARCHIVE%" -Xshare:auto -jar "%BIN_DIR%jparse_code.jar" %*
+) else (
+	"%JAVA%" -jar "%BIN_DIR%jparse_code.jar" %*
+)
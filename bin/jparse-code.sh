@@ -0,0 +1,16 @@
+#!/bin/sh
+# Launches jparse_code.jar, using the AppCDS archive created by create-cds-archive.sh when one exists.
+# All arguments are passed through to jparse_code.jar (see README.md 'Command Line Interface').
+#
+# environment: JAVA_HOME - optional, JDK to use
+#              JPARSE_CODE_CDS - optional, archive path, default: jparse_code.jsa next to this script
+
+BIN_DIR=$(cd "$(dirname "$0")" && pwd)
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+ARCHIVE="${JPARSE_CODE_CDS:-$BIN_DIR/jparse_code.jsa}"
+
+if [ -f "$ARCHIVE" ]; then
+	exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto -jar "$BIN_DIR/jparse_code.jar" "$@"
+else
+	exec "$JAVA" -jar "$BIN_DIR/jparse_code.jar" "$@"
+fi
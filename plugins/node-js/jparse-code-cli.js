@@ -17,6 +17,8 @@ var JParseCodeCli;
             " -destinations " + quoteChar + dsts.map(function (d) { return d.path + "=" + "[" + d.namespaces.join(",") + "]"; }).join(";") + quoteChar +
             (opts.log ? " -log " + quoteChar + opts.log + quoteChar : "") +
             (!isNaN(opts.threads) ? " -threads " + opts.threads : "") +
+            (opts.prescan ? " -prescan " + opts.prescan : "") +
+            (opts.parallelTokenize ? " -parallelTokenize " + opts.parallelTokenize : "") +
             (opts.debug === true ? " -debug" : "");
     }
     JParseCodeCli.stringifyOptions = stringifyOptions;
@@ -10,6 +10,8 @@ module JParseCodeCli {
         destinations: { path: string; namespaces: string[]; }[];
         log?: string | null;
         threads?: number | null;
+        prescan?: "skip" | "index" | null;
+        parallelTokenize?: number | null;
         debug?: boolean | null;
     }
 
@@ -27,6 +29,8 @@ module JParseCodeCli {
             " -destinations " + quoteChar + dsts.map(d => d.path + "=" + "[" + d.namespaces.join(",") + "]").join(";") + quoteChar +
             (opts.log ? " -log " + quoteChar + opts.log + quoteChar : "") +
             (!isNaN(opts.threads) ? " -threads " + opts.threads : "") +
+            (opts.prescan ? " -prescan " + opts.prescan : "") +
+            (opts.parallelTokenize ? " -parallelTokenize " + opts.parallelTokenize : "") +
             (opts.debug === true ? " -debug" : "");
     }
 
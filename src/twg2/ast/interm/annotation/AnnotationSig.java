@@ -5,8 +5,8 @@ import java.util.List;
 import java.util.Map;
 
 import twg2.annotations.Immutable;
-import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.JsonWrite;
 import twg2.parser.output.WriteSettings;
 
 @Immutable
@@ -26,15 +26,17 @@ public class AnnotationSig implements JsonWritableSig {
 	@Override
 	public void toJson(Appendable dst, WriteSettings st) throws IOException {
 		dst.append(" {");
-		dst.append("\"name\": \"" + NameUtil.joinFqName(fullName) + "\"");
+		JsonWrite.toPropFqName("name", fullName, dst);
 
 		if(st.includeEmptyAnnotationArguments || arguments.size() > 0) {
 			dst.append(", ");
 			dst.append("\"arguments\": { ");
 			boolean notFirst = false;
 			for(Map.Entry<String, String> argumentEntry : arguments.entrySet()) {
-				// TODO Csv style escape
-				dst.append((notFirst ? ", " : "") + '"' + argumentEntry.getKey() + "\": \"" + argumentEntry.getValue().replace("\"", "\\\"") + '"');
+				if(notFirst) {
+					dst.append(", ");
+				}
+				JsonWrite.toEscapedProp(argumentEntry.getKey(), argumentEntry.getValue(), dst);
 				notFirst = true;
 			}
 			dst.append(" }");
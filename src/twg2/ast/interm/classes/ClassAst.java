@@ -15,6 +15,7 @@ import twg2.io.json.stringify.JsonStringify;
 import twg2.parser.codeParser.BlockType;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 import twg2.text.stringUtils.StringJoin;
 
@@ -77,7 +78,7 @@ public interface ClassAst<T_SIG extends ClassSig, T_BLOCK extends BlockType> ext
 			json.comma("\n\t", dst).propName("using", dst)
 				.toStringArray(usingStatements, dst, (us) -> NameUtil.joinFqName(us));
 
-			if(enumMembers != null && blockType.isEnum()) {
+			if(enumMembers != null && blockType.isEnum() && st.includes(ModelPart.ENUM_MEMBERS)) {
 				json.comma("\n\t", dst).propName("enumMembers", dst).append('[', dst);
 				if(enumMembers.size() > 0) {
 					dst.append("\n\t\t");
@@ -87,21 +88,25 @@ public interface ClassAst<T_SIG extends ClassSig, T_BLOCK extends BlockType> ext
 				dst.append("]");
 			}
 
-			json.comma("\n\t", dst).propName("fields", dst).append('[', dst);
-			if(fields.size() > 0) {
-				dst.append("\n\t\t");
-				json.joinConsume(fields, ",\n\t\t", dst, (f) -> f.toJson(dst, st));
-				dst.append("\n\t");
+			if(st.includes(ModelPart.FIELDS)) {
+				json.comma("\n\t", dst).propName("fields", dst).append('[', dst);
+				if(fields.size() > 0) {
+					dst.append("\n\t\t");
+					json.joinConsume(fields, ",\n\t\t", dst, (f) -> f.toJson(dst, st));
+					dst.append("\n\t");
+				}
+				dst.append("]");
 			}
-			dst.append("]");
 
-			json.comma("\n\t", dst).propName("methods", dst).append('[', dst);
-			if(methods.size() > 0) {
-				dst.append("\n\t\t");
-				json.joinConsume(methods, ",\n\t\t", dst, (m) -> m.toJson(dst, st));
-				dst.append("\n\t");
+			if(st.includes(ModelPart.METHODS)) {
+				json.comma("\n\t", dst).propName("methods", dst).append('[', dst);
+				if(methods.size() > 0) {
+					dst.append("\n\t\t");
+					json.joinConsume(methods, ",\n\t\t", dst, (m) -> m.toJson(dst, st));
+					dst.append("\n\t");
+				}
+				dst.append("]");
 			}
-			dst.append("]");
 
 			dst.append("\n}");
 		}
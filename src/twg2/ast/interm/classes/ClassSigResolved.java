@@ -11,6 +11,8 @@ import twg2.ast.interm.type.TypeSig.TypeSigResolved;
 import twg2.io.json.stringify.JsonStringify;
 import twg2.parser.codeParser.Keyword;
 import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 
 /**
@@ -67,9 +69,9 @@ public class ClassSigResolved implements ClassSig {
 		var json = JsonStringify.inst;
 
 		dst.append("{ ");
-		json.toProp("access", accessModifier.toSrc(), dst).comma(dst)
-			.toProp("name", (st.fullClassName ? NameUtil.joinFqName(fullName) : fullName.get(fullName.size() - 1)), dst).comma(dst)
-			.toProp("declarationType", declarationType, dst);
+		json.toProp("access", accessModifier.toSrc(), dst).comma(dst);
+		JsonWrite.toPropName("name", fullName, st.fullClassName, dst);
+		json.comma(dst).toProp("declarationType", declarationType, dst);
 
 		if(params != null && params.size() > 0) {
 			json.comma(dst).append("\"genericParameters\": ", dst);
@@ -86,7 +88,7 @@ public class ClassSigResolved implements ClassSig {
 			json.toArrayConsume(implementInterfaces, dst, (intfType) -> intfType.toJson(dst, st));
 		}
 
-		if(annotations.size() > 0) {
+		if(annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (a) -> a.toJson(dst, st));
 		}
@@ -11,6 +11,8 @@ import twg2.ast.interm.type.TypeSig.TypeSigSimple;
 import twg2.io.json.stringify.JsonStringify;
 import twg2.parser.codeParser.Keyword;
 import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 
 @Immutable
@@ -61,7 +63,8 @@ public class ClassSigSimple implements ClassSig {
 		dst.append("{ ");
 
 		json.toProp("access", accessModifier.toSrc(), dst);
-		json.comma(dst).toProp("name", (st.fullClassName ? NameUtil.joinFqName(fullName) : fullName.get(fullName.size() - 1)), dst);
+		json.comma(dst);
+		JsonWrite.toPropName("name", fullName, st.fullClassName, dst);
 
 		if(declarationType != null) {
 			json.comma(dst).toProp("declarationType", declarationType, dst);
@@ -77,7 +80,7 @@ public class ClassSigSimple implements ClassSig {
 				.toStringArray(extendImplementSimpleNames, dst);
 		}
 
-		if(annotations.size() > 0) {
+		if(annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (a) -> a.toJson(dst, st));
 		}
@@ -15,6 +15,8 @@ import twg2.parser.codeParser.extractors.TypeExtractor;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.fragment.CodeToken;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 import twg2.text.stringEscape.StringEscapeJson;
 import twg2.treeLike.simpleTree.SimpleTree;
@@ -56,7 +58,7 @@ public class FieldDef implements JsonWritableSig {
 		var json = JsonStringify.inst;
 
 		dst.append("{ ");
-		json.toProp("name", (st.fullFieldName ? NameUtil.joinFqName(fullName) : fullName.get(fullName.size() - 1)), dst);
+		JsonWrite.toPropName("name", fullName, st.fullFieldName, dst);
 
 		json.comma(dst).propName("type", dst);
 		fieldType.toJson(dst, st);
@@ -64,15 +66,19 @@ public class FieldDef implements JsonWritableSig {
 		json.comma(dst).propName("accessModifiers", dst)
 			.toStringArray(accessModifiers, dst, (acs) -> acs.toSrc());
 
-		if(annotations != null && annotations.size() > 0) {
+		if(annotations != null && annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (ann) -> ann.toJson(dst, st));
 		}
 
-		initializerToJson(initializer, true, true, dst, st);
+		if(st.includes(ModelPart.INITIALIZERS)) {
+			initializerToJson(initializer, true, true, dst, st);
+		}
 
-		json.comma(dst).propName("comments", dst)
-			.toStringArray(comments, dst);
+		if(st.includes(ModelPart.COMMENTS)) {
+			json.comma(dst).propName("comments", dst)
+				.toStringArray(comments, dst);
+		}
 
 		dst.append(" }");
 	}
@@ -104,7 +110,7 @@ public class FieldDef implements JsonWritableSig {
 				}
 				else {
 					dst.append('"');
-					dst.append(StringEscapeJson.toJsonString(text));
+					StringEscapeJson.toJsonString(text, dst);
 					dst.append('"');
 				}
 			}
@@ -119,7 +125,7 @@ public class FieldDef implements JsonWritableSig {
 				CodeToken data;
 				for(var astNode : astNodes) {
 					if((data = astNode.getData()) != null) {
-						dst.append(StringEscapeJson.toJsonString(data.getText()));
+						StringEscapeJson.toJsonString(data.getText(), dst);
 					}
 				}
 				dst.append('"');
@@ -13,6 +13,8 @@ import twg2.parser.codeParser.Keyword;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.fragment.CodeToken;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 import twg2.treeLike.simpleTree.SimpleTree;
 
@@ -53,7 +55,7 @@ public class FieldDefResolved implements JsonWritableSig {
 		var json = JsonStringify.inst;
 
 		dst.append("{ ");
-		json.toProp("name", (st.fullFieldName ? NameUtil.joinFqName(fullName) : fullName.get(fullName.size() - 1)), dst);
+		JsonWrite.toPropName("name", fullName, st.fullFieldName, dst);
 
 		json.comma(dst).propName("type", dst);
 		fieldType.toJson(dst, st);
@@ -61,15 +63,19 @@ public class FieldDefResolved implements JsonWritableSig {
 		json.comma(dst).propName("accessModifiers", dst)
 			.toStringArray(accessModifiers, dst, (acs) -> acs.toSrc());
 
-		if(annotations != null && annotations.size() > 0) {
+		if(annotations != null && annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (ann) -> ann.toJson(dst, st));
 		}
 
-		FieldDef.initializerToJson(initializer, true, true, dst, st);
+		if(st.includes(ModelPart.INITIALIZERS)) {
+			FieldDef.initializerToJson(initializer, true, true, dst, st);
+		}
 
-		json.comma(dst).propName("comments", dst)
-			.toStringArray(comments, dst);
+		if(st.includes(ModelPart.COMMENTS)) {
+			json.comma(dst).propName("comments", dst)
+				.toStringArray(comments, dst);
+		}
 
 		dst.append(" }");
 	}
@@ -9,6 +9,8 @@ import twg2.io.json.stringify.JsonStringify;
 import twg2.parser.codeParser.Keyword;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 
 /**
@@ -56,7 +58,7 @@ public class MethodSig<T_PARAM extends JsonWritableSig, T_TYPE extends JsonWrita
 		var json = JsonStringify.inst;
 
 		dst.append("{ ");
-		json.toProp("name", (st.fullMethodName ? NameUtil.joinFqName(fullName) : fullName.get(fullName.size() - 1)), dst);
+		JsonWrite.toPropName("name", fullName, st.fullMethodName, dst);
 
 		json.comma(dst).propName("parameters", dst)
 			.toArrayConsume(paramSigs, dst, (param) -> param.toJson(dst, st));
@@ -69,7 +71,7 @@ public class MethodSig<T_PARAM extends JsonWritableSig, T_TYPE extends JsonWrita
 				.toArrayConsume(typeParameters, dst, (type) -> type.toJson(dst, st));
 		}
 
-		if(annotations != null && annotations.size() > 0) {
+		if(annotations != null && annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (ann) -> ann.toJson(dst, st));
 		}
@@ -77,8 +79,10 @@ public class MethodSig<T_PARAM extends JsonWritableSig, T_TYPE extends JsonWrita
 		json.comma(dst).propName("returnType", dst);
 		returnType.toJson(dst, st);
 
-		json.comma(dst).propName("comments", dst)
-			.toStringArray(comments, dst);
+		if(st.includes(ModelPart.COMMENTS)) {
+			json.comma(dst).propName("comments", dst)
+				.toStringArray(comments, dst);
+		}
 
 		dst.append(" }");
 	}
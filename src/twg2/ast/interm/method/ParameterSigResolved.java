@@ -10,6 +10,7 @@ import twg2.ast.interm.type.TypeSig.TypeSigResolved;
 import twg2.io.json.stringify.JsonStringify;
 import twg2.parser.codeParser.Keyword;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.ModelPart;
 import twg2.parser.output.WriteSettings;
 
 /** Represents a type resolved method parameter
@@ -55,7 +56,7 @@ public class ParameterSigResolved implements JsonWritableSig {
 		json.comma(dst).propName("parameterModifiers", dst)
 			.toStringArray(parameterModifiers, dst, (acs) -> acs.toSrc());
 
-		if(annotations != null && annotations.size() > 0) {
+		if(annotations != null && annotations.size() > 0 && st.includes(ModelPart.ANNOTATIONS)) {
 			json.comma(dst).propName("annotations", dst)
 				.toArrayConsume(annotations, dst, (ann) -> ann.toJson(dst, st));
 		}
@@ -7,8 +7,8 @@ import java.util.List;
 import lombok.Getter;
 import twg2.annotations.Immutable;
 import twg2.io.json.stringify.JsonStringify;
-import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.output.JsonWritableSig;
+import twg2.parser.output.JsonWrite;
 import twg2.parser.output.WriteSettings;
 import twg2.text.stringUtils.StringJoin;
 
@@ -88,21 +88,21 @@ public interface TypeSig {
 		@Override
 		public void toJson(Appendable dst, WriteSettings st) throws IOException {
 			dst.append("{ ");
-			dst.append("\"typeName\": \"" + typeName + "\"");
+			JsonWrite.toProp("typeName", typeName, dst);
 
 			if(arrayDimensions > 0) {
 				dst.append(", ");
-				dst.append("\"arrayDimensions\": " + arrayDimensions);
+				JsonWrite.toProp("arrayDimensions", arrayDimensions, dst);
 			}
 
 			if(nullable) {
 				dst.append(", ");
-				dst.append("\"nullable\": " + nullable);
+				JsonWrite.toProp("nullable", nullable, dst);
 			}
 
 			if(primitive) {
 				dst.append(", ");
-				dst.append("\"primitive\": " + primitive);
+				JsonWrite.toProp("primitive", primitive, dst);
 			}
 
 			dst.append(" }");
@@ -161,20 +161,23 @@ public interface TypeSig {
 			var json = JsonStringify.inst;
 
 			dst.append("{ ");
-			json.toProp("typeName", typeName, dst).comma(dst)
-				.propName("genericParameters", dst)
-					.toArrayConsume(params, dst, (param) -> param.toJson(dst, st));
+			JsonWrite.toProp("typeName", typeName, dst);
+			json.comma(dst).propName("genericParameters", dst)
+				.toArrayConsume(params, dst, (param) -> param.toJson(dst, st));
 
 			if(arrayDimensions > 0) {
-				json.comma(dst).toProp("arrayDimensions", arrayDimensions, dst);
+				json.comma(dst);
+				JsonWrite.toProp("arrayDimensions", arrayDimensions, dst);
 			}
 
 			if(nullable) {
-				json.comma(dst).toProp("nullable", nullable, dst);
+				json.comma(dst);
+				JsonWrite.toProp("nullable", nullable, dst);
 			}
 
 			if(primitive) {
-				json.comma(dst).toProp("primitive", primitive, dst);
+				json.comma(dst);
+				JsonWrite.toProp("primitive", primitive, dst);
 			}
 
 			dst.append(" }");
@@ -264,21 +267,21 @@ public interface TypeSig {
 		@Override
 		public void toJson(Appendable dst, WriteSettings st) throws IOException {
 			dst.append("{ ");
-			dst.append("\"typeName\": \"" + NameUtil.joinFqName(fullName) + "\"");
+			JsonWrite.toPropFqName("typeName", fullName, dst);
 
 			if(arrayDimensions > 0) {
 				dst.append(", ");
-				dst.append("\"arrayDimensions\": " + arrayDimensions);
+				JsonWrite.toProp("arrayDimensions", arrayDimensions, dst);
 			}
 
 			if(nullable) {
 				dst.append(", ");
-				dst.append("\"nullable\": " + nullable);
+				JsonWrite.toProp("nullable", nullable, dst);
 			}
 
 			if(primitive) {
 				dst.append(", ");
-				dst.append("\"primitive\": " + primitive);
+				JsonWrite.toProp("primitive", primitive, dst);
 			}
 
 			dst.append(" }");
@@ -339,20 +342,23 @@ public interface TypeSig {
 			var json = JsonStringify.inst;
 
 			dst.append("{ ");
-			json.toProp("typeName", NameUtil.joinFqName(fullName), dst).comma(dst)
-				.propName("genericParameters", dst)
-					.toArrayConsume(params, dst, (param) -> param.toJson(dst, st));
+			JsonWrite.toPropFqName("typeName", fullName, dst);
+			json.comma(dst).propName("genericParameters", dst)
+				.toArrayConsume(params, dst, (param) -> param.toJson(dst, st));
 
 			if(arrayDimensions > 0) {
-				json.comma(dst).toProp("arrayDimensions", arrayDimensions, dst);
+				json.comma(dst);
+				JsonWrite.toProp("arrayDimensions", arrayDimensions, dst);
 			}
 
 			if(nullable) {
-				json.comma(dst).toProp("nullable", nullable, dst);
+				json.comma(dst);
+				JsonWrite.toProp("nullable", nullable, dst);
 			}
 
 			if(primitive) {
-				json.comma(dst).toProp("primitive", primitive, dst);
+				json.comma(dst);
+				JsonWrite.toProp("primitive", primitive, dst);
 			}
 
 			dst.append(" }");
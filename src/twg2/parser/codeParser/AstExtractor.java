@@ -2,6 +2,7 @@ package twg2.parser.codeParser;
 
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import twg2.ast.interm.annotation.AnnotationSig;
 import twg2.ast.interm.block.BlockAst;
@@ -10,6 +11,7 @@ import twg2.ast.interm.field.FieldDef;
 import twg2.ast.interm.method.MethodSigSimple;
 import twg2.ast.interm.type.TypeSig;
 import twg2.parser.fragment.CodeToken;
+import twg2.parser.output.ModelPart;
 import twg2.parser.stateMachine.AstParser;
 import twg2.treeLike.simpleTree.SimpleTree;
 
@@ -45,6 +47,15 @@ public interface AstExtractor<T_BLOCK extends BlockType> {
 	 * @param astTree the tree of basic {@link CodeToken} tokens
 	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values containing the annotations, comments, fields, and methods found inside the AST tree
 	 */
-	public List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<T_BLOCK>>> extractClassFieldsAndMethodSignatures(SimpleTree<CodeToken> astTree);
+	public default List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<T_BLOCK>>> extractClassFieldsAndMethodSignatures(SimpleTree<CodeToken> astTree) {
+		return extractClassFieldsAndMethodSignatures(astTree, ModelPart.ALL);
+	}
+
+	/** Parses a simple AST tree, only extracting the given parts of each class
+	 * @param astTree the tree of basic {@link CodeToken} tokens
+	 * @param parts the parts of each class to extract, members which aren't included are left empty, see {@link ModelPart}
+	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values
+	 */
+	public List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<T_BLOCK>>> extractClassFieldsAndMethodSignatures(SimpleTree<CodeToken> astTree, Set<ModelPart> parts);
 
 }
@@ -1,6 +1,8 @@
 package twg2.parser.codeParser;
 
 import twg2.parser.codeParser.tools.CodeTokenEnumSubSet;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenFlag;
 
 /**
  * @author TeamworkGuy2
@@ -69,4 +71,55 @@ public interface KeywordUtil<T_KEYWORD extends Keyword> {
 	 */
 	public CodeTokenEnumSubSet<T_KEYWORD> typeLiterals();
 
+
+	// token checks, these use the token's precomputed flags if it was classified by the tokenizer (see CodeTokenClassifier), else they check the token's text
+
+	/** Given a possible keyword token, return the keyword or null, see {@link #tryToKeyword(String)}
+	 */
+	@SuppressWarnings("unchecked")
+	public default T_KEYWORD tryToKeyword(CodeToken token) {
+		if(token == null) { return null; }
+		return token.isClassified() ? (T_KEYWORD)token.getKeyword() : tryToKeyword(token.getText());
+	}
+
+	/** Check if a token is an inheritance keyword, see {@link #isInheritanceKeyword(String)} */
+	public default boolean isInheritanceKeyword(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.INHERITANCE_KEYWORD) : isInheritanceKeyword(token.getText()));
+	}
+
+	/** Check if a token is a keyword, see {@link #isKeyword(String)} */
+	public default boolean isKeyword(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.KEYWORD) : isKeyword(token.getText()));
+	}
+
+	/** Check if a token is a data type keyword, see {@link #isDataTypeKeyword(String)} */
+	public default boolean isDataTypeKeyword(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.DATA_TYPE_KEYWORD) : isDataTypeKeyword(token.getText()));
+	}
+
+	/** Check if a token is a block identifying keyword, see {@link #blockModifiers()} */
+	public default boolean isBlockModifier(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.BLOCK_MODIFIER) : blockModifiers().is(token));
+	}
+
+	/** Check if a token is a class/interface modifier keyword, see {@link #classModifiers()} */
+	public default boolean isClassModifier(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.CLASS_MODIFIER) : classModifiers().is(token));
+	}
+
+	/** Check if a token is a field modifier keyword, see {@link #fieldModifiers()} */
+	public default boolean isFieldModifier(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.FIELD_MODIFIER) : fieldModifiers().is(token));
+	}
+
+	/** Check if a token is a method modifier keyword, see {@link #methodModifiers()} */
+	public default boolean isMethodModifier(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.METHOD_MODIFIER) : methodModifiers().is(token));
+	}
+
+	/** Check if a token is a type literal keyword, see {@link #typeLiterals()} */
+	public default boolean isTypeLiteral(CodeToken token) {
+		return token != null && (token.isClassified() ? token.hasFlag(CodeTokenFlag.TYPE_LITERAL) : typeLiterals().is(token));
+	}
+
 }
@@ -0,0 +1,195 @@
+package twg2.parser.codeParser.analytics;
+
+import java.util.ArrayList;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenTable;
+import twg2.treeLike.simpleTree.SimpleTree;
+
+/** JDK Flight Recorder events emitted for each parse stage (file read, tokenizer setup, tokenize, block extraction, class resolution, and destination write).
+ * Record a run with {@code -XX:StartFlightRecording:filename=parse.jfr,settings=profile} (the events are enabled by default) and open the file in JDK Mission Control,
+ * the events are under the 'JParseCode' category. Unlike {@link PerformanceTrackers} ('-debug') the events cost almost nothing when no recording is running,
+ * values which need extra work (i.e. token counts) are only computed when {@link Event#shouldCommit()} is true.<br>
+ * Usage: create the event, {@link Event#begin()}, do the work, then set the fields and {@link Event#commit()} if {@link Event#shouldCommit()}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ParseEvents {
+
+	private ParseEvents() { throw new AssertionError("cannot instantiate static class ParseEvents"); }
+
+
+	/** Count the tokens in a token tree, the count of a {@link CodeTokenTable#toTree()} document is read from the table without creating its nodes
+	 * @return the number of tokens in a token tree, including the root
+	 */
+	public static int countTokens(SimpleTree<CodeToken> tree) {
+		if(tree == null) {
+			return 0;
+		}
+		if(tree instanceof CodeTokenTable.Node && ((CodeTokenTable.Node)tree).getIndex() == 0) {
+			return ((CodeTokenTable.Node)tree).getTable().size();
+		}
+		int count = 0;
+		var stack = new ArrayList<SimpleTree<CodeToken>>();
+		stack.add(tree);
+		while(stack.size() > 0) {
+			var node = stack.remove(stack.size() - 1);
+			count++;
+			if(node.hasChildren()) {
+				var children = node.getChildren();
+				for(int i = 0, size = children.size(); i < size; i++) {
+					stack.add(children.get(i));
+				}
+			}
+		}
+		return count;
+	}
+
+
+
+
+	@Name("twg2.parser.FileRead")
+	@Label("File Read")
+	@Description("Read and decode a source file into chars")
+	@Category({ "JParseCode", "Parse" })
+	@StackTrace(false)
+	public static class FileRead extends Event {
+		@Label("File")
+		public String file;
+
+		@Label("Size")
+		@DataAmount
+		public long bytes;
+
+		@Label("Chars")
+		public int chars;
+	}
+
+
+
+
+	@Name("twg2.parser.BlockingRead")
+	@Label("Blocking Read")
+	@Description("Read a source file's bytes on an I/O thread ('-io virtual'), decoding is recorded by a separate File Read event on the parse thread")
+	@Category({ "JParseCode", "Parse" })
+	@StackTrace(false)
+	public static class BlockingRead extends Event {
+		@Label("File")
+		public String file;
+
+		@Label("Size")
+		@DataAmount
+		public long bytes;
+	}
+
+
+
+
+	@Name("twg2.parser.TokenizerSetup")
+	@Label("Tokenizer Setup")
+	@Description("Create a tokenizer for a source file")
+	@Category({ "JParseCode", "Parse" })
+	@StackTrace(false)
+	public static class TokenizerSetup extends Event {
+		@Label("File")
+		public String file;
+	}
+
+
+
+
+	@Name("twg2.parser.Tokenize")
+	@Label("Tokenize")
+	@Description("Tokenize a source file into a token tree")
+	@Category({ "JParseCode", "Parse" })
+	@StackTrace(false)
+	public static class Tokenize extends Event {
+		@Label("File")
+		public String file;
+
+		@Label("Language")
+		public String language;
+
+		@Label("Chars")
+		public int chars;
+
+		@Label("Tokens")
+		public int tokens;
+	}
+
+
+
+
+	@Name("twg2.parser.ExtractBlocks")
+	@Label("Extract Blocks")
+	@Description("Extract the classes, fields, and methods from a source file's token tree")
+	@Category({ "JParseCode", "Parse" })
+	@StackTrace(false)
+	public static class ExtractBlocks extends Event {
+		@Label("File")
+		public String file;
+
+		@Label("Chars")
+		public int chars;
+
+		@Label("Classes")
+		public int classes;
+	}
+
+
+
+
+	@Name("twg2.parser.ResolveClass")
+	@Label("Resolve Class")
+	@Description("Resolve the simple type names of a parsed class to fully qualifying names")
+	@Category({ "JParseCode", "Resolve" })
+	@StackTrace(false)
+	public static class ResolveClass extends Event {
+		@Label("Class")
+		public String className;
+
+		@Label("File")
+		public String file;
+
+		@Label("Fields")
+		public int fields;
+
+		@Label("Methods")
+		public int methods;
+	}
+
+
+
+
+	@Name("twg2.parser.WriteDestination")
+	@Label("Write Destination")
+	@Description("Write the resolved classes of a destination file, skipped if the content is unchanged")
+	@Category({ "JParseCode", "Write" })
+	@StackTrace(false)
+	public static class WriteDestination extends Event {
+		@Label("Destination")
+		public String destination;
+
+		@Label("Format")
+		public String format;
+
+		@Label("Classes")
+		public int classes;
+
+		@Label("Size")
+		@DataAmount
+		public long bytes;
+
+		@Label("Written")
+		@Description("False if the destination already had identical content")
+		public boolean written;
+	}
+
+}
@@ -1,6 +1,8 @@
 package twg2.parser.codeParser.analytics;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.Map;
 
 import twg2.io.files.FileUtil;
@@ -9,15 +11,27 @@ import twg2.parser.output.JsonWritableSig;
 import twg2.parser.output.WriteSettings;
 import twg2.text.stringUtils.StringPad;
 
-/**
+/** Per file parse stage timings: wall clock time plus the CPU time and bytes allocated by the thread which ran each stage
+ * (see {@link #currentThreadCpuNs()} and {@link #currentThreadAllocatedBytes()}), CPU time and allocations are not skewed by other threads or GC pauses like wall time is
  * @author TeamworkGuy2
  * @since 2016-09-07
  */
 public class ParseTimes implements JsonWritableSig {
+	private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	private static final com.sun.management.ThreadMXBean threadAllocBean = threadBean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean)threadBean : null;
+
 	long setupNs;
 	long readNs;
 	long tokenizeNs;
 	long extractAstNs;
+	long setupCpuNs;
+	long readCpuNs;
+	long tokenizeCpuNs;
+	long extractAstCpuNs;
+	long setupAllocBytes;
+	long readAllocBytes;
+	long tokenizeAllocBytes;
+	long extractAstAllocBytes;
 
 
 	public long getSetupNs() {
@@ -45,6 +59,56 @@ public class ParseTimes implements JsonWritableSig {
 	}
 
 
+	public long getSetupCpuNs() {
+		return setupCpuNs;
+	}
+
+
+	public long getReadCpuNs() {
+		return readCpuNs;
+	}
+
+
+	public long getTokenizeCpuNs() {
+		return tokenizeCpuNs;
+	}
+
+
+	public long getExtractAstCpuNs() {
+		return extractAstCpuNs;
+	}
+
+
+	public long getTotalCpuNs() {
+		return setupCpuNs + readCpuNs + tokenizeCpuNs + extractAstCpuNs;
+	}
+
+
+	public long getSetupAllocatedBytes() {
+		return setupAllocBytes;
+	}
+
+
+	public long getReadAllocatedBytes() {
+		return readAllocBytes;
+	}
+
+
+	public long getTokenizeAllocatedBytes() {
+		return tokenizeAllocBytes;
+	}
+
+
+	public long getExtractAstAllocatedBytes() {
+		return extractAstAllocBytes;
+	}
+
+
+	public long getTotalAllocatedBytes() {
+		return setupAllocBytes + readAllocBytes + tokenizeAllocBytes + extractAstAllocBytes;
+	}
+
+
 	public void setTimeSetup(long setupNanos) {
 		this.setupNs = setupNanos;
 	}
@@ -65,6 +129,32 @@ public class ParseTimes implements JsonWritableSig {
 	}
 
 
+	public void setThreadUsageSetup(long cpuNanos, long allocatedBytes) {
+		this.setupCpuNs = cpuNanos;
+		this.setupAllocBytes = allocatedBytes;
+	}
+
+
+	/** Only includes the current thread, with '-io virtual' the blocking read on an I/O thread is included in the read time but not the CPU time or allocations
+	 */
+	public void setThreadUsageRead(long cpuNanos, long allocatedBytes) {
+		this.readCpuNs = cpuNanos;
+		this.readAllocBytes = allocatedBytes;
+	}
+
+
+	public void setThreadUsageTokenize(long cpuNanos, long allocatedBytes) {
+		this.tokenizeCpuNs = cpuNanos;
+		this.tokenizeAllocBytes = allocatedBytes;
+	}
+
+
+	public void setThreadUsageExtractAst(long cpuNanos, long allocatedBytes) {
+		this.extractAstCpuNs = cpuNanos;
+		this.extractAstAllocBytes = allocatedBytes;
+	}
+
+
 	@Override
 	public void toJson(Appendable dst, WriteSettings st) throws IOException {
 		toJson(null, false, dst, st);
@@ -79,7 +169,9 @@ public class ParseTimes implements JsonWritableSig {
 				"\"read\": " + roundNsToMs(this.readNs) + ", " +
 				"\"tokenize\": " + roundNsToMs(this.tokenizeNs) + ", " +
 				"\"extractAst\": " + roundNsToMs(this.extractAstNs) + ", " +
-				"\"units\": \"milliseconds\""
+				"\"cpu\": " + roundNsToMs(this.getTotalCpuNs()) + ", " +
+				"\"units\": \"milliseconds\", " +
+				"\"allocatedBytes\": " + this.getTotalAllocatedBytes()
 			);
 		if(includeSurroundingBrackets) { dst.append(" }"); }
 	}
@@ -98,7 +190,9 @@ public class ParseTimes implements JsonWritableSig {
 				"read: " + roundNsToMs(this.readNs) + ", " +
 				"tokenize: " + roundNsToMs(this.tokenizeNs) + ", " +
 				"extractAst: " + roundNsToMs(this.extractAstNs) + ", " +
-				"total: " + roundNsToMs(this.getTotalNs()) +
+				"total: " + roundNsToMs(this.getTotalNs()) + ", " +
+				"cpu: " + roundNsToMs(this.getTotalCpuNs()) + ", " +
+				"allocated: " + roundBytesToKb(this.getTotalAllocatedBytes()) + " KB" +
 			(includeClassName ? " }" : "");
 	}
 
@@ -135,6 +229,27 @@ public class ParseTimes implements JsonWritableSig {
 	}
 
 
+	/**
+	 * @return the current thread's CPU time in nanoseconds, 0 if not supported (i.e. on a virtual thread)
+	 */
+	public static long currentThreadCpuNs() {
+		return threadBean.isCurrentThreadCpuTimeSupported() ? Math.max(0, threadBean.getCurrentThreadCpuTime()) : 0;
+	}
+
+
+	/**
+	 * @return the total bytes allocated by the current thread so far, 0 if not supported (i.e. on a virtual thread)
+	 */
+	public static long currentThreadAllocatedBytes() {
+		return threadAllocBean != null ? Math.max(0, threadAllocBean.getCurrentThreadAllocatedBytes()) : 0;
+	}
+
+
+	public static String roundBytesToKb(long bytes) {
+		return String.format("%.1f", bytes / 1024D);
+	}
+
+
 	public static String roundNsToMs(long nanos) {
 		return String.format("%.2f", nanos / 1000000D);
 	}
@@ -64,6 +64,58 @@ public class PerformanceTrackers implements JsonWritableSig {
 	}
 
 
+	/** Sorted by the total bytes allocated while parsing each file, see {@link ParseTimes#getTotalAllocatedBytes()}
+	 */
+	public List<Entry<String, Tuple3<ParseTimes, ParserActionLogger, Integer>>> getTopAllocators(boolean sortAscending, int size) {
+		var list = ListBuilder.mutable(
+			this.fileStats.entrySet().stream()
+				.sorted(PerformanceTrackers.createAllocatedBytesSorter(sortAscending)).iterator()
+		);
+		return (size < 0 ? list.subList(Math.max(0, list.size() + size), list.size()) : list.subList(0, Math.min(size, list.size())));
+	}
+
+
+	/**
+	 * @return the total CPU time of all files' parse stages
+	 */
+	public long getTotalCpuNs() {
+		synchronized(fileStats) {
+			return fileStats.values().stream().mapToLong((stats) -> stats.getValue0().getTotalCpuNs()).sum();
+		}
+	}
+
+
+	/**
+	 * @return the total bytes allocated by all files' parse stages
+	 */
+	public long getTotalAllocatedBytes() {
+		synchronized(fileStats) {
+			return fileStats.values().stream().mapToLong((stats) -> stats.getValue0().getTotalAllocatedBytes()).sum();
+		}
+	}
+
+
+	/**
+	 * @return the total size of all files, see {@link #setSrcSize(String, int)}
+	 */
+	public long getTotalSrcSize() {
+		synchronized(fileStats) {
+			return fileStats.values().stream().mapToLong((stats) -> stats.getValue2() != null ? stats.getValue2() : 0).sum();
+		}
+	}
+
+
+	/**
+	 * @return a summary of the total CPU time and allocations and the bytes allocated per source byte
+	 */
+	public String toAllocationSummary() {
+		long srcSize = getTotalSrcSize();
+		long allocated = getTotalAllocatedBytes();
+		return "cpu=" + ParseTimes.roundNsToMs(getTotalCpuNs()) + " ms, allocated=" + ParseTimes.roundBytesToKb(allocated) + " KB" +
+				" (" + allocatedPerSrcByte(allocated, srcSize) + " bytes allocated per source byte)";
+	}
+
+
 	public List<Entry<String, Tuple3<ParseTimes, ParserActionLogger, Integer>>> getTopParseActions(boolean sortAscending, int size) {
 		var list = ListBuilder.mutable(
 			this.fileStats.entrySet().stream()
@@ -130,6 +182,48 @@ public class PerformanceTrackers implements JsonWritableSig {
 	}
 
 
+	/** Format each file's CPU time, allocated bytes, and bytes allocated per source byte
+	 */
+	public static String toAllocationString(Collection<Entry<String, Tuple3<ParseTimes, ParserActionLogger, Integer>>> parseStats) {
+		var sb = new StringBuilder();
+
+		for(var stat : parseStats) {
+			var key = stat.getKey();
+			var parseTimes = stat.getValue().getValue0();
+			var fileSizeBytes = stat.getValue().getValue2();
+			var fileName = StringPad.padRight(StringSplit.lastMatch(key, '\\'), 32, ' ');
+
+			sb.append(fileName).append(" : ");
+			sb.append("bytes: ").append(fileSizeBytes).append(", ");
+			sb.append("allocated: ").append(ParseTimes.roundBytesToKb(parseTimes.getTotalAllocatedBytes())).append(" KB");
+			sb.append(" (").append(allocatedPerSrcByte(parseTimes.getTotalAllocatedBytes(), fileSizeBytes != null ? fileSizeBytes : 0)).append(" per source byte");
+			sb.append(", setup: ").append(ParseTimes.roundBytesToKb(parseTimes.getSetupAllocatedBytes()));
+			sb.append(", read: ").append(ParseTimes.roundBytesToKb(parseTimes.getReadAllocatedBytes()));
+			sb.append(", tokenize: ").append(ParseTimes.roundBytesToKb(parseTimes.getTokenizeAllocatedBytes()));
+			sb.append(", extractAst: ").append(ParseTimes.roundBytesToKb(parseTimes.getExtractAstAllocatedBytes())).append(" KB)");
+			sb.append(", cpu: ").append(ParseTimes.roundNsToMs(parseTimes.getTotalCpuNs())).append(" ms");
+			sb.append('\n');
+		}
+
+		return sb.toString();
+	}
+
+
+	public static String allocatedPerSrcByte(long allocatedBytes, long srcBytes) {
+		return srcBytes > 0 ? String.format("%.1f", allocatedBytes / (double)srcBytes) : "n/a";
+	}
+
+
+	private static Comparator<Entry<String, Tuple3<ParseTimes, ParserActionLogger, Integer>>> createAllocatedBytesSorter(boolean sortAscending) {
+		if(sortAscending) {
+			return (a, b) -> Long.compare(a.getValue().getValue0().getTotalAllocatedBytes(), b.getValue().getValue0().getTotalAllocatedBytes());
+		}
+		else {
+			return (a, b) -> Long.compare(b.getValue().getValue0().getTotalAllocatedBytes(), a.getValue().getValue0().getTotalAllocatedBytes());
+		}
+	}
+
+
 	private static Comparator<Entry<String, Tuple3<ParseTimes, ParserActionLogger, Integer>>> createParseTimesSorter(boolean sortAscending) {
 		if(sortAscending) {
 			return (a, b) -> (int)(a.getValue().getValue0().getTotalNs() - b.getValue().getValue0().getTotalNs());
@@ -7,10 +7,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -62,6 +68,14 @@ public class ParseDirectoryCodeFiles {
 	}
 
 
+	private ParseDirectoryCodeFiles(Path relativePath, List<ParsedFileStats> fileStats, Map<CodeLanguage, ParsedCategoryStats> statsPerCategory, UncategorizedFilesStats uncategorizedFilesStats) {
+		this.relativePath = relativePath;
+		this.fileStats = fileStats;
+		this.statsPerCategory = statsPerCategory;
+		this.uncategorizedFilesStats = uncategorizedFilesStats;
+	}
+
+
 	static Entry<Map<CodeLanguage, ParsedCategoryStats>, List<ParsedFileStats>> categorizeFileStats(List<ParsedFileStats> fileStats) {
 		List<ParsedFileStats> uncategorizedFiles = new ArrayList<>();
 		Map<CodeLanguage, List<ParsedFileStats>> filesPerCategory = new HashMap<>();
@@ -158,4 +172,91 @@ public class ParseDirectoryCodeFiles {
 		return parsedRes;
 	}
 
+
+	/** Parse file stats concurrently, each file's lines are classified in a single streaming pass (see {@link CommentAndWhitespaceExtractor#calcCommentsAndWhitespaceLinesStats(String, char[], int, int, twg2.collections.primitiveCollections.IntListSorted, twg2.treeLike.simpleTree.SimpleTree)})
+	 * and added to its language's {@link ParsedCategoryStats} as soon as it completes.
+	 * Individual file stats are not retained, {@link #getFileStats()} of the result is empty, use {@code fileStatsListener} to receive them as they are calculated.
+	 * @param executor the executor to parse files with, or null to parse them sequentially on the calling thread
+	 * @param fileReader provides a file reader for each thread
+	 * @param fileStatsListener optional, called with each file's stats, may be called concurrently from multiple threads
+	 */
+	public static ParseDirectoryCodeFiles parseFileStatsStreaming(Path relativePath, List<Path> files, ExecutorService executor,
+			ThreadLocal<FileReadUtil> fileReader, Consumer<ParsedFileStats> fileStatsListener) throws IOException {
+		var statsPerCategory = new ConcurrentHashMap<CodeLanguage, ParsedCategoryStats>();
+		var uncategorizedStats = new ParsedCategoryStats("uncategorizedFiles", 0, 0, 0, 0, 0);
+		var uncategorizedFiles = new ArrayList<String>();
+
+		Consumer<ParsedFileStats> aggregator = (fileStat) -> {
+			CodeLanguage lang = CodeLanguageOptions.tryFromFileExtension(StringSplit.lastMatch(fileStat.getSrcId(), '.'));
+			if(lang == null) {
+				synchronized(uncategorizedStats) {
+					uncategorizedStats.add(fileStat);
+					uncategorizedFiles.add(fileStat.getSrcId());
+				}
+			}
+			else {
+				var categoryStats = statsPerCategory.computeIfAbsent(lang, (k) -> new ParsedCategoryStats(k.toString(), 0, 0, 0, 0, 0));
+				synchronized(categoryStats) {
+					categoryStats.add(fileStat);
+				}
+			}
+
+			if(fileStatsListener != null) {
+				fileStatsListener.accept(fileStat);
+			}
+		};
+
+		if(executor == null) {
+			var reader = fileReader.get();
+			for(Path path : files) {
+				aggregator.accept(parseFileStatsStreaming(path.toFile(), reader));
+			}
+		}
+		else {
+			var tasks = new ArrayList<Future<?>>(files.size());
+			for(Path path : files) {
+				tasks.add(executor.submit(() -> {
+					aggregator.accept(parseFileStatsStreaming(path.toFile(), fileReader.get()));
+					return null;
+				}));
+			}
+
+			for(var task : tasks) {
+				try {
+					task.get();
+				} catch(InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted while parsing file stats", ie);
+				} catch(ExecutionException ee) {
+					var cause = ee.getCause();
+					if(cause instanceof IOException) {
+						throw (IOException)cause;
+					}
+					throw new RuntimeException(cause);
+				}
+			}
+		}
+
+		var categoryStats = new HashMap<CodeLanguage, ParsedCategoryStats>(statsPerCategory);
+		return new ParseDirectoryCodeFiles(relativePath, Collections.emptyList(), categoryStats, new UncategorizedFilesStats(uncategorizedStats, uncategorizedFiles));
+	}
+
+
+	static ParsedFileStats parseFileStatsStreaming(File file, FileReadUtil fileReader) throws IOException {
+		boolean reuseCharParsers = true;
+		String fullFileName = file.getName();
+		char[] src = fileReader.readChars(new FileInputStream(file));
+		int srcOff = 0;
+		int srcLen = src.length;
+		Entry<String, String> fileNameExt = StringSplit.lastMatchParts(fullFileName, '.');
+		if("json".equals(fileNameExt.getValue())) {
+			int lineCount = StringSplit.countMatches(src, srcOff, srcLen, new char[] { '\n' }, 0, 1);
+			return new ParsedFileStats(file.toString(), srcLen, 0, 0, lineCount);
+		}
+		else {
+			var parsedFileInfo = CommentAndWhitespaceExtractor.buildCommentsAndWhitespaceTreeFromFileExtension(fileNameExt.getKey(), fileNameExt.getValue(), reuseCharParsers, src, srcOff, srcLen);
+			return CommentAndWhitespaceExtractor.calcCommentsAndWhitespaceLinesStats(file.toString(), src, srcOff, srcLen, parsedFileInfo.lineStartOffsets, parsedFileInfo.astTree);
+		}
+	}
+
 }
@@ -18,4 +18,15 @@ public final class ParsedCategoryStats {
 	@Getter int commentLineCount;
 	@Getter int totalLineCount;
 
+
+	/** Add a file's stats to these category stats, not thread safe
+	 */
+	void add(ParsedFileStats fileStats) {
+		this.charCount += fileStats.getCharCount();
+		this.fileCount++;
+		this.whitespaceLineCount += fileStats.getWhitespaceLineCount();
+		this.commentLineCount += fileStats.getCommentLineCount();
+		this.totalLineCount += fileStats.getTotalLineCount();
+	}
+
 }
\ No newline at end of file
@@ -153,7 +153,7 @@ public class CsAstUtil implements AccessModifierParser<AccessModifierEnum, CsBlo
 				continue;
 			}
 			boolean isGetOrSet = isGetOrSet(frag);
-			boolean isAccessMod = keywords.fieldModifiers().is(frag);
+			boolean isAccessMod = keywords.isFieldModifier(frag);
 			if(isGetOrSet ||
 					(prevWasGetOrSet && (fragType == CodeTokenType.BLOCK || fragType == CodeTokenType.SEPARATOR)) ||
 					(isAccessMod && nextChild != null && isGetOrSet(nextChild.getData()))) {
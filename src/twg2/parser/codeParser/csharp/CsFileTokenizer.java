@@ -11,6 +11,7 @@ import twg2.parser.tokenizers.CodeTokenizer;
 import twg2.parser.tokenizers.CommentTokenizer;
 import twg2.parser.tokenizers.IdentifierTokenizer;
 import twg2.parser.tokenizers.NumberTokenizer;
+import twg2.parser.tokenizers.ParallelCodeTokenizer;
 import twg2.text.tokenizer.CharParserFactory;
 import twg2.text.tokenizer.Inclusion;
 import twg2.text.tokenizer.StringParserBuilder;
@@ -30,8 +31,22 @@ public class CsFileTokenizer {
 	public static int cnt = 0;
 
 
+	/** Create a tokenizer which only tracks token offsets, see {@link #createCsTokenizer(boolean)}
+	 */
 	public static CodeTokenizer createCsTokenizer() {
-		return CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, createCsTokenizers());
+		return createCsTokenizer(false);
+	}
+
+
+	/**
+	 * @param trackLineColumns whether to store line and column numbers in each token, the parser only requires offsets
+	 * @see ParallelCodeTokenizer#minParallelSrcLength
+	 */
+	public static CodeTokenizer createCsTokenizer(boolean trackLineColumns) {
+		if(ParallelCodeTokenizer.minParallelSrcLength > 0) {
+			return ParallelCodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer::createCsTokenizers, trackLineColumns, false, ParallelCodeTokenizer.minParallelSrcLength, ParallelCodeTokenizer.minSegmentLength);
+		}
+		return CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, createCsTokenizers(), trackLineColumns);
 	}
 
 
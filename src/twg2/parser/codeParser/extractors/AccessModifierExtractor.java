@@ -38,7 +38,7 @@ public class AccessModifierExtractor {
 			if(iter.hasPrevious()) { prevCount++; }
 		}
 
-		while(child != null && keywordUtil.classModifiers().is(child.getData())) {
+		while(child != null && keywordUtil.isClassModifier(child.getData())) {
 			accessModifiers.add(0, child.getData().getText());
 			child = iter.hasPrevious() ? iter.previous() : null;
 			if(iter.hasPrevious()) { prevCount++; }
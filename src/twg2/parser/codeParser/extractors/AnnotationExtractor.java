@@ -108,7 +108,7 @@ public class AnnotationExtractor {
 			return 1;
 		}
 		// type-literal-keyword: 'Annotation(true)'
-		else if(paramType == CodeTokenType.KEYWORD && lang.getKeywordUtil().typeLiterals().is(param)) {
+		else if(paramType == CodeTokenType.KEYWORD && lang.getKeywordUtil().isTypeLiteral(param)) {
 			dstParams.put(paramName, param.getText());
 			return 0;
 		}
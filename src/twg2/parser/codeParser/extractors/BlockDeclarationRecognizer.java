@@ -0,0 +1,222 @@
+package twg2.parser.codeParser.extractors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import twg2.collections.interfaces.ListReadOnly;
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.KeywordUtil;
+import twg2.parser.fragment.AstFragType;
+import twg2.parser.fragment.CodeToken;
+import twg2.treeLike.simpleTree.SimpleTree;
+
+/** Recognizes simple block declarations ({@code [modifiers] blockModifier ClassName [inheritanceKeyword ClassName, ...] {})
+ * while walking forward over the children of a tree.
+ * The run of name/keyword tokens since the last block modifier and the class modifiers in front of that block modifier
+ * are tracked as each child is passed to {@link #next(ListReadOnly, int)}, so when a '{' block is reached it is already known
+ * whether it opens a declaration, without reading backward from every '{'.
+ * Create one instance per list of children, instances are not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BlockDeclarationRecognizer {
+	private final KeywordUtil<? extends Keyword> keywordUtil;
+	private final String initializerKeyword;
+	private final boolean strict;
+
+	// the sliding window: start index of the run of name/keyword/inheritance tokens ending at the previous token, or -1
+	private int runStart = -1;
+	private boolean runHasAdjacentInheritance;
+	private boolean prevWasInheritance;
+	// the last 'initializerKeyword' in the run and the number of names after it
+	private int runInitializerIdx = -1;
+	private int namesAfterInitializer;
+	// start index of the run of class modifiers ending at the previous token and the token before that, or -1
+	private int modRunStart1 = -1;
+	private int modRunStart2 = -1;
+	// the last block modifier and the class modifiers in front of it
+	private int blockModifierIdx = -1;
+	private List<String> blockModifierAccessModifiers;
+
+	// the declaration recognized by the last next() call
+	private SimpleTree<CodeToken> blockModifier;
+	private String name;
+	private List<String> extendImplementNames;
+	private List<String> accessModifiers;
+
+
+	/**
+	 * @param keywordUtil the language's keywords
+	 * @param initializerKeyword optional keyword which, when it is one of the last 2 names in front of a '{', means the block is an object initializer
+	 * (i.e. C# {@code new Abc { ... }}) rather than a declaration, null if the language doesn't have object initializers
+	 * @param strict true to throw an error for a block modifier followed by a '{' with no name and for adjacent inheritance keywords (i.e. Java {@code extends implements}),
+	 * false to ignore these (i.e. C# {@code method<T>() where T : class { ... }})
+	 */
+	public BlockDeclarationRecognizer(KeywordUtil<? extends Keyword> keywordUtil, String initializerKeyword, boolean strict) {
+		this.keywordUtil = keywordUtil;
+		this.initializerKeyword = initializerKeyword;
+		this.strict = strict;
+	}
+
+
+	/** Accept the next child, children must be passed in order starting at index 0
+	 * @param children the list of children being walked
+	 * @param index the index of the child to accept
+	 * @return true if the child is a '{' block which opens a declaration, see {@link #getBlockModifier()}, {@link #getName()},
+	 * {@link #getExtendImplementNames()}, and {@link #getAccessModifiers()} for the declaration
+	 */
+	public boolean next(ListReadOnly<SimpleTree<CodeToken>> children, int index) {
+		var token = children.get(index).getData();
+		boolean found = false;
+		blockModifier = null;
+
+		if(index > 0 && AstFragType.isBlock(token, '{')) {
+			found = recognize(children, index);
+		}
+
+		boolean isBlockModifier = keywordUtil.isBlockModifier(token);
+		boolean isInheritance = keywordUtil.isInheritanceKeyword(token);
+
+		// extend or end the run of names
+		if((AstFragType.isIdentifierOrKeyword(token) || isInheritance) && !isBlockModifier) {
+			if(runStart < 0) {
+				runStart = index;
+				runHasAdjacentInheritance = false;
+				runInitializerIdx = -1;
+			}
+			else if(isInheritance && prevWasInheritance) {
+				runHasAdjacentInheritance = true;
+			}
+
+			if(initializerKeyword != null && initializerKeyword.equals(token.getText())) {
+				runInitializerIdx = index;
+				namesAfterInitializer = 0;
+			}
+			else if(runInitializerIdx > -1 && !isInheritance) {
+				namesAfterInitializer++;
+			}
+			prevWasInheritance = isInheritance;
+		}
+		else {
+			runStart = -1;
+			prevWasInheritance = false;
+		}
+
+		// a block modifier takes the class modifiers in front of it, in C# the token in front of the block modifier can be 'partial'
+		if(isBlockModifier) {
+			blockModifierIdx = index;
+			if(index > 0 && "partial".equals(children.get(index - 1).getData().getText())) {
+				blockModifierAccessModifiers = texts(children, modRunStart2, index - 1);
+				blockModifierAccessModifiers.add("partial");
+			}
+			else {
+				blockModifierAccessModifiers = texts(children, modRunStart1, index);
+			}
+		}
+
+		modRunStart2 = modRunStart1;
+		modRunStart1 = keywordUtil.isClassModifier(token) ? (modRunStart1 > -1 ? modRunStart1 : index) : -1;
+
+		return found;
+	}
+
+
+	/**
+	 * @return the block modifier (i.e. 'class', 'interface', etc.) of the declaration recognized by the last {@link #next(ListReadOnly, int)} call, or null
+	 */
+	public SimpleTree<CodeToken> getBlockModifier() {
+		return blockModifier;
+	}
+
+
+	/**
+	 * @return the declared name of the declaration recognized by the last {@link #next(ListReadOnly, int)} call
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/**
+	 * @return the names following the inheritance keywords of the declaration recognized by the last {@link #next(ListReadOnly, int)} call
+	 */
+	public List<String> getExtendImplementNames() {
+		return extendImplementNames;
+	}
+
+
+	/**
+	 * @return the access modifiers in front of the block modifier of the declaration recognized by the last {@link #next(ListReadOnly, int)} call
+	 */
+	public List<String> getAccessModifiers() {
+		return accessModifiers;
+	}
+
+
+	/** Check whether the '{' at {@code index} opens a declaration using the run of names in front of it
+	 */
+	private boolean recognize(ListReadOnly<SimpleTree<CodeToken>> children, int index) {
+		// the token in front of the names, an object initializer keyword ends the names if there are less than 2 names after it
+		int stop;
+		if(runStart < 0) {
+			stop = index - 1;
+		}
+		else if(runInitializerIdx > -1 && namesAfterInitializer < 2) {
+			stop = runInitializerIdx;
+		}
+		else {
+			stop = runStart - 1;
+		}
+		var stopNode = stop > -1 ? children.get(stop) : null;
+
+		if(stop + 1 < index) {
+			if(strict && runHasAdjacentInheritance) {
+				throw new IllegalStateException("found two adjacent inheritance keywords with no intermediate class name");
+			}
+			// syntax check, ensure there's a class name identifier between the block modifier and inheritance keyword
+			var first = children.get(stop + 1).getData();
+			if(keywordUtil.isInheritanceKeyword(first)) {
+				throw new IllegalStateException("found class inheritance keyword '" + first.getText() + "' with no class name preceeding it, found '" + String.valueOf(stopNode) + "'");
+			}
+		}
+
+		if(stopNode == null || stop != blockModifierIdx) {
+			return false;
+		}
+
+		if(stop + 1 == index) {
+			if(strict) {
+				throw new IllegalStateException("found block with no name");
+			}
+			return false;
+		}
+
+		// the name follows the block modifier, the remaining names follow the inheritance keywords
+		var names = new ArrayList<String>();
+		for(int i = stop + 2; i < index; i++) {
+			var data = children.get(i).getData();
+			if(!keywordUtil.isInheritanceKeyword(data)) {
+				names.add(data.getText());
+			}
+		}
+
+		this.blockModifier = stopNode;
+		this.name = children.get(stop + 1).getData().getText();
+		this.extendImplementNames = names;
+		this.accessModifiers = blockModifierAccessModifiers;
+		return true;
+	}
+
+
+	private static List<String> texts(ListReadOnly<SimpleTree<CodeToken>> children, int start, int end) {
+		if(start < 0) {
+			return new ArrayList<>();
+		}
+		var res = new ArrayList<String>(end - start);
+		for(int i = start; i < end; i++) {
+			res.add(children.get(i).getData().getText());
+		}
+		return res;
+	}
+
+}
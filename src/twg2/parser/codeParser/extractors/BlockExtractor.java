@@ -1,8 +1,10 @@
 package twg2.parser.codeParser.extractors;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import twg2.ast.interm.classes.ClassAst;
 import twg2.ast.interm.field.FieldDef;
@@ -10,6 +12,7 @@ import twg2.ast.interm.method.MethodSigSimple;
 import twg2.parser.codeParser.AstExtractor;
 import twg2.parser.codeParser.BlockType;
 import twg2.parser.fragment.CodeToken;
+import twg2.parser.output.ModelPart;
 import twg2.parser.stateMachine.AstParser;
 import twg2.treeLike.simpleTree.SimpleTree;
 import twg2.tuple.Tuples;
@@ -20,14 +23,68 @@ import twg2.tuple.Tuples;
  */
 public class BlockExtractor {
 	public static int acceptNextCalls = 0;
+	/** Whether {@link AstExtractor} implementations reuse a per-thread {@link ExtractorSet} between blocks and files (true) or create new parsers for each block (false) */
+	public static boolean reuseExtractors = true;
 
-	/** Parses a simple AST tree using an {@link AstExtractor}
+	/** Parses a simple AST tree using an {@link AstExtractor}, creating new parsers for each block
 	 * @param extractor provides parsers and extract methods to consume the astTree
 	 * @param astTree the tree of basic {@link CodeToken} tokens
 	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values containing the annotations, comments, fields, and methods found inside the AST tree
 	 */
 	public static <_T_BLOCK extends BlockType> List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>> extractBlockFieldsAndInterfaceMethods(
 			AstExtractor<_T_BLOCK> extractor, SimpleTree<CodeToken> astTree) {
+		return extractBlockFieldsAndInterfaceMethods(extractor, new ExtractorSet<>(false), astTree, ModelPart.ALL);
+	}
+
+
+	/** Parses a simple AST tree using an {@link AstExtractor}, creating new parsers for each block
+	 * @param extractor provides parsers and extract methods to consume the astTree
+	 * @param astTree the tree of basic {@link CodeToken} tokens
+	 * @param parts the parts of each class to extract, see {@link #extractBlockFieldsAndInterfaceMethods(AstExtractor, ExtractorSet, SimpleTree, Set)}
+	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values containing the annotations, comments, fields, and methods found inside the AST tree
+	 */
+	public static <_T_BLOCK extends BlockType> List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>> extractBlockFieldsAndInterfaceMethods(
+			AstExtractor<_T_BLOCK> extractor, SimpleTree<CodeToken> astTree, Set<ModelPart> parts) {
+		return extractBlockFieldsAndInterfaceMethods(extractor, new ExtractorSet<>(false), astTree, parts);
+	}
+
+
+	/** Parses a simple AST tree using an {@link AstExtractor} and a set of parsers which are recycled between blocks
+	 * @param extractor provides parsers and extract methods to consume the astTree
+	 * @param parsers the parsers to recycle, if they are already in use by another call on this thread then a new set is used
+	 * @param astTree the tree of basic {@link CodeToken} tokens
+	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values containing the annotations, comments, fields, and methods found inside the AST tree
+	 */
+	public static <_T_BLOCK extends BlockType> List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>> extractBlockFieldsAndInterfaceMethods(
+			AstExtractor<_T_BLOCK> extractor, ExtractorSet<_T_BLOCK> parsers, SimpleTree<CodeToken> astTree) {
+		return extractBlockFieldsAndInterfaceMethods(extractor, parsers, astTree, ModelPart.ALL);
+	}
+
+
+	/** Parses a simple AST tree using an {@link AstExtractor} and a set of parsers which are recycled between blocks
+	 * @param extractor provides parsers and extract methods to consume the astTree
+	 * @param parsers the parsers to recycle, if they are already in use by another call on this thread then a new set is used
+	 * @param astTree the tree of basic {@link CodeToken} tokens
+	 * @param parts the parts of each class to extract, field/method/enum member parsers are not created or run for parts which aren't included
+	 * (annotations and comments are still parsed alongside fields and methods since those parsers read their results), see {@link ModelPart}
+	 * @return a list of entries with simple AST tree blocks as keys and classes ({@link ClassAst} instances) as values containing the annotations, comments, fields, and methods found inside the AST tree
+	 */
+	public static <_T_BLOCK extends BlockType> List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>> extractBlockFieldsAndInterfaceMethods(
+			AstExtractor<_T_BLOCK> extractor, ExtractorSet<_T_BLOCK> parsers, SimpleTree<CodeToken> astTree, Set<ModelPart> parts) {
+		if(!parsers.acquire()) {
+			parsers = new ExtractorSet<>();
+			parsers.acquire();
+		}
+		try {
+			return extractBlocks(extractor, parsers, astTree, parts);
+		} finally {
+			parsers.release();
+		}
+	}
+
+
+	private static <_T_BLOCK extends BlockType> List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>> extractBlocks(
+			AstExtractor<_T_BLOCK> extractor, ExtractorSet<_T_BLOCK> parsers, SimpleTree<CodeToken> astTree, Set<ModelPart> parts) {
 
 		var nameScope = new ArrayList<String>();
 
@@ -35,12 +92,16 @@ public class BlockExtractor {
 
 		var resBlocks = new ArrayList<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<_T_BLOCK>>>();
 
-		var usingStatementExtractor = extractor.createImportStatementParser();
+		var usingStatementExtractor = parsers.importStatementParser(extractor);
 
 		runParsers(astTree, usingStatementExtractor);
 
 		var usingStatements = new ArrayList<>(usingStatementExtractor.getParserResult());
 
+		boolean extractFields = parts.contains(ModelPart.FIELDS);
+		boolean extractMethods = parts.contains(ModelPart.METHODS);
+		boolean extractEnumMembers = parts.contains(ModelPart.ENUM_MEMBERS);
+
 		for(var block : blocks) {
 			var blockTree = block.blockTree;
 			var blockType = block.blockType;
@@ -51,39 +112,55 @@ public class BlockExtractor {
 			var tmpUsingStatements = usingStatementExtractor.getParserResult();
 			usingStatements.addAll(tmpUsingStatements);
 
-			var annotationExtractor = extractor.createAnnotationParser(block);
-			var commentExtractor = extractor.createCommentParser(block);
-			var fieldExtractor = extractor.createFieldParser(block, annotationExtractor, commentExtractor);
-			var methodExtractor = extractor.createMethodParser(block, annotationExtractor, commentExtractor);
-			AstParser<List<FieldDef>> enumMemberExtractor = null;
-
-			// Important: annotation and comment extractors go last because field parsing can end with optional tokens, if the
-			// next token after a field is a comment the field extractor doesn't end until it consumes the comment and
-			// retroactively creates the field definition, but if the comment extractor comes first then the next comment
-			// token gets included with the previous field
-			if(blockType.isEnum()) {
-				enumMemberExtractor = extractor.createEnumParser(block, commentExtractor);
-				runParsers(blockTree, fieldExtractor, methodExtractor, enumMemberExtractor, annotationExtractor, commentExtractor);
-			}
-			else if(blockType.canContainFields() || blockType.canContainMethods()) {
-				runParsers(blockTree, fieldExtractor, methodExtractor, annotationExtractor, commentExtractor);
-			}
-			else {
-				runParsers(blockTree, annotationExtractor, commentExtractor);
-			}
+			boolean blockFields = extractFields && blockType.canContainFields();
+			boolean blockMethods = extractMethods && blockType.canContainMethods();
+			boolean blockEnumMembers = extractEnumMembers && blockType.isEnum();
 
 			List<FieldDef> fields = null;
 			List<FieldDef> enumMembers = null;
 			List<MethodSigSimple> intfMethods = null;
 
-			if(blockType.isEnum()) {
-				enumMembers = enumMemberExtractor.getParserResult();
+			// only the class signature is needed, don't create or run the member parsers
+			if(!blockFields && !blockMethods && !blockEnumMembers) {
+				fields = blockType.canContainFields() ? Collections.emptyList() : null;
+				intfMethods = blockType.canContainMethods() ? Collections.emptyList() : null;
 			}
-			if(blockType.canContainFields()) {
-				fields = fieldExtractor.getParserResult();
-			}
-			if(blockType.canContainMethods()) {
-				intfMethods = methodExtractor.getParserResult();
+			else {
+				parsers.recycleForBlock(extractor, block, blockFields, blockMethods);
+				var annotationExtractor = parsers.getAnnotationParser();
+				var commentExtractor = parsers.getCommentParser();
+				var fieldExtractor = blockFields ? parsers.getFieldParser() : null;
+				var methodExtractor = blockMethods ? parsers.getMethodParser() : null;
+				var enumMemberExtractor = blockEnumMembers ? extractor.createEnumParser(block, commentExtractor) : null;
+
+				// Important: annotation and comment extractors go last because field parsing can end with optional tokens, if the
+				// next token after a field is a comment the field extractor doesn't end until it consumes the comment and
+				// retroactively creates the field definition, but if the comment extractor comes first then the next comment
+				// token gets included with the previous field
+				var blockParsers = new ArrayList<AstParser<?>>(5);
+				if(fieldExtractor != null) {
+					blockParsers.add(fieldExtractor);
+				}
+				if(methodExtractor != null) {
+					blockParsers.add(methodExtractor);
+				}
+				if(enumMemberExtractor != null) {
+					blockParsers.add(enumMemberExtractor);
+				}
+				blockParsers.add(annotationExtractor);
+				blockParsers.add(commentExtractor);
+				runParsers(blockTree, blockParsers.toArray(new AstParser<?>[blockParsers.size()]));
+
+				// the field and method parsers are recycled for the next block, so copy their results
+				if(blockType.isEnum()) {
+					enumMembers = blockEnumMembers ? enumMemberExtractor.getParserResult() : null;
+				}
+				if(blockType.canContainFields()) {
+					fields = blockFields ? new ArrayList<>(fieldExtractor.getParserResult()) : Collections.emptyList();
+				}
+				if(blockType.canContainMethods()) {
+					intfMethods = blockMethods ? new ArrayList<>(methodExtractor.getParserResult()) : Collections.emptyList();
+				}
 			}
 
 			if(blockType.canContainFields() && blockType.canContainMethods()) {
@@ -106,6 +106,68 @@ public class CommentAndWhitespaceExtractor {
 	}
 
 
+	/** Streaming version of {@link #calcCommentsAndWhitespaceLinesTreeStats(String, char[], int, int, IntListSorted, SimpleTree)} which classifies
+	 * lines in a single pass over the document's tokens without building per-line token lists or recording line numbers
+	 * @param tree a document tree built by {@link #buildCommentsAndWhitespaceTree(boolean, EnumSet, String, char[], int, int)}, all comment and string tokens are children of the root
+	 * @return the file's stats, containing counts but not line numbers
+	 */
+	public static ParsedFileStats calcCommentsAndWhitespaceLinesStats(String srcId, char[] src, int srcOff, int srcLen, IntListSorted lineStartOffsets, SimpleTree<CodeToken> tree) {
+		var tokens = tree.getChildren();
+		int tokenCount = tokens.size();
+		int firstToken = 0;
+		int commentLines = 0;
+		int whitespaceLines = 0;
+
+		for(int i = 0, size = lineStartOffsets.size(); i < size; i++) {
+			int startIndex = lineStartOffsets.get(i);
+			int endIndexExclusive = i + 1 < size ? lineStartOffsets.get(i + 1) : srcLen;
+			int lineLen = endIndexExclusive - startIndex;
+
+			// tokens are in document order, skip the ones ending before this line
+			while(firstToken < tokenCount && tokens.get(firstToken).getData().getToken().getLineEnd() < i) {
+				firstToken++;
+			}
+
+			// count the tokens overlapping this line
+			int lineTokenCount = 0;
+			boolean allComments = true;
+			for(int t = firstToken; t < tokenCount; t++) {
+				var token = tokens.get(t).getData();
+				if(token.getToken().getLineStart() > i) {
+					break;
+				}
+				lineTokenCount++;
+				allComments &= (token.getTokenType() == CodeTokenType.COMMENT);
+			}
+
+			// same rules as calcCommentsAndWhitespaceLinesTreeStats()
+			if(lineTokenCount > 0 && allComments) {
+				if(lineTokenCount == 1) {
+					TextFragmentRef comment = tokens.get(firstToken).getData().getToken();
+					var prefixLen = comment.getOffsetStart() - startIndex;
+					var noneOrWhitespacePrefix = comment.getLineStart() < i || StringCheck.isWhitespace(src, startIndex, prefixLen);
+					var suffixLen = endIndexExclusive - comment.getOffsetEnd();
+					var noneOrWhitespaceSuffix = comment.getLineEnd() > i || StringCheck.isWhitespace(src, comment.getOffsetEnd(), suffixLen);
+
+					if(noneOrWhitespacePrefix && noneOrWhitespaceSuffix) {
+						if(StringCheck.isWhitespace(src, startIndex, lineLen)) {
+							whitespaceLines++;
+						}
+						else {
+							commentLines++;
+						}
+					}
+				}
+			}
+			else if(StringCheck.isWhitespace(src, startIndex, lineLen)) {
+				whitespaceLines++;
+			}
+		}
+
+		return new ParsedFileStats(srcId, srcLen, whitespaceLines, commentLines, lineStartOffsets.size());
+	}
+
+
 	public static List<List<CodeToken>> documentTreeToTokensPerLine(SimpleTree<CodeToken> tree) {
 		// flatten the document tree into a nested list of tokens per source line of text
 		var tokensPerLine = new ArrayList<List<CodeToken>>();
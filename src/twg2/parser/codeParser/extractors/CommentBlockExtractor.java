@@ -106,6 +106,13 @@ public class CommentBlockExtractor extends AstParserReusableBase<CommentBlockExt
 	}
 
 
+	/** Point this parser at a different block, used when recycling a parser between blocks
+	 */
+	public void setParentBlock(BlockAst<? extends BlockType> parentBlock) {
+		this.parentBlock = parentBlock;
+	}
+
+
 	@Override
 	public List<String> getParserResult() {
 		return comments;
@@ -129,6 +136,7 @@ public class CommentBlockExtractor extends AstParserReusableBase<CommentBlockExt
 	void reset() {
 		this.comments.clear();
 		this.multiLine = false;
+		this.state = State.INIT;
 	}
 
 }
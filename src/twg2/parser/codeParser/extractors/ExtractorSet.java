@@ -0,0 +1,178 @@
+package twg2.parser.codeParser.extractors;
+
+import java.util.List;
+
+import twg2.ast.interm.annotation.AnnotationSig;
+import twg2.ast.interm.block.BlockAst;
+import twg2.ast.interm.field.FieldDef;
+import twg2.ast.interm.method.MethodSigSimple;
+import twg2.parser.codeParser.AstExtractor;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.stateMachine.AstMemberInClassParserReusable;
+import twg2.parser.stateMachine.AstParser;
+
+/** The import statement, annotation, comment, field, and method parsers which {@link BlockExtractor} runs over each block of a file.
+ * The parsers are created by an {@link AstExtractor} for the first block and then recycled and pointed at each following block
+ * (and each following file) instead of being created again for every block.
+ * Instances are not thread safe, keep one per thread, see {@link #perThread()}.
+ * @param <T_BLOCK> the type of {@link BlockType} that the parsers extract
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ExtractorSet<T_BLOCK extends BlockType> {
+	/** The number of parser sets created (each set creates 5 parsers plus 2 {@link TypeExtractor}s), for stats/debugging */
+	public static int parserSetsCreated = 0;
+
+	private AstParser<List<List<String>>> importStatementParser;
+	private AstParser<List<AnnotationSig>> annotationParser;
+	private AstParser<List<String>> commentParser;
+	private AstParser<List<FieldDef>> fieldParser;
+	private AstParser<List<MethodSigSimple>> methodParser;
+	private final boolean recycle;
+	private boolean inUse;
+
+
+	public ExtractorSet() {
+		this(true);
+	}
+
+
+	/**
+	 * @param recycle true to recycle the parsers between blocks, false to create new parsers for every block
+	 */
+	public ExtractorSet(boolean recycle) {
+		this.recycle = recycle;
+	}
+
+
+	/**
+	 * @return a recycled import statement parser, created by the {@code extractor} the first time it is requested
+	 */
+	public AstParser<List<List<String>>> importStatementParser(AstExtractor<T_BLOCK> extractor) {
+		if(importStatementParser == null || !recycle) {
+			importStatementParser = extractor.createImportStatementParser();
+		}
+		else {
+			importStatementParser = importStatementParser.copyOrReuse();
+		}
+		return importStatementParser;
+	}
+
+
+	/** Recycle the annotation, comment, field, and method parsers and point them at {@code block}.
+	 * The parsers are created by the {@code extractor} the first time this is called, if they can't be pointed at a different block, or if this set doesn't recycle
+	 * @param extractor creates the parsers
+	 * @param block the block that the parsers are about to be run on
+	 */
+	public void recycleForBlock(AstExtractor<T_BLOCK> extractor, BlockAst<T_BLOCK> block) {
+		recycleForBlock(extractor, block, true, true);
+	}
+
+
+	/** Same as {@link #recycleForBlock(AstExtractor, BlockAst)}, but the field and/or method parsers are only created if they are needed,
+	 * if a parser is not needed {@link #getFieldParser()}/{@link #getMethodParser()} return null or a recycled parser which should not be run
+	 * @param fields whether the field parser is needed
+	 * @param methods whether the method parser is needed
+	 */
+	public void recycleForBlock(AstExtractor<T_BLOCK> extractor, BlockAst<T_BLOCK> block, boolean fields, boolean methods) {
+		if(recycle && canRecycleBlockParsers() && (fieldParser != null || !fields) && (methodParser != null || !methods)) {
+			recycleBlockParsers();
+			if(setParentBlock(commentParser, block) && (fieldParser == null || setParentBlock(fieldParser, block)) && (methodParser == null || setParentBlock(methodParser, block))) {
+				return;
+			}
+		}
+		annotationParser = extractor.createAnnotationParser(block);
+		commentParser = extractor.createCommentParser(block);
+		fieldParser = fields ? extractor.createFieldParser(block, annotationParser, commentParser) : null;
+		methodParser = methods ? extractor.createMethodParser(block, annotationParser, commentParser) : null;
+		parserSetsCreated++;
+	}
+
+
+	public AstParser<List<AnnotationSig>> getAnnotationParser() {
+		return annotationParser;
+	}
+
+
+	public AstParser<List<String>> getCommentParser() {
+		return commentParser;
+	}
+
+
+	public AstParser<List<FieldDef>> getFieldParser() {
+		return fieldParser;
+	}
+
+
+	public AstParser<List<MethodSigSimple>> getMethodParser() {
+		return methodParser;
+	}
+
+
+	/** Mark this set as being used by a {@link BlockExtractor} call
+	 * @return false if this set is already in use (i.e. a nested extract call on the same thread), in which case the caller should use a new set
+	 */
+	public boolean acquire() {
+		if(inUse) {
+			return false;
+		}
+		inUse = true;
+		return true;
+	}
+
+
+	/** Mark this set as no longer in use and clear the parsers' results and block references so a pooled set doesn't keep the last file's tokens reachable
+	 */
+	public void release() {
+		if(importStatementParser != null && importStatementParser.canRecycle()) {
+			importStatementParser = importStatementParser.recycle();
+		}
+		if(canRecycleBlockParsers()) {
+			recycleBlockParsers();
+			setParentBlock(commentParser, null);
+			if(fieldParser != null) {
+				setParentBlock(fieldParser, null);
+			}
+			if(methodParser != null) {
+				setParentBlock(methodParser, null);
+			}
+		}
+		inUse = false;
+	}
+
+
+	/**
+	 * @return a thread local which creates one {@link ExtractorSet} per thread
+	 */
+	public static <_T_BLOCK extends BlockType> ThreadLocal<ExtractorSet<_T_BLOCK>> perThread() {
+		return ThreadLocal.withInitial(() -> new ExtractorSet<>());
+	}
+
+
+	private boolean canRecycleBlockParsers() {
+		return annotationParser != null && annotationParser.canRecycle() && commentParser.canRecycle() &&
+				(fieldParser == null || fieldParser.canRecycle()) && (methodParser == null || methodParser.canRecycle());
+	}
+
+
+	private void recycleBlockParsers() {
+		annotationParser = annotationParser.recycle();
+		commentParser = commentParser.recycle();
+		fieldParser = fieldParser != null ? fieldParser.recycle() : null;
+		methodParser = methodParser != null ? methodParser.recycle() : null;
+	}
+
+
+	private static boolean setParentBlock(AstParser<?> parser, BlockAst<? extends BlockType> block) {
+		if(parser instanceof AstMemberInClassParserReusable) {
+			((AstMemberInClassParserReusable<?, ?>)parser).setParentBlock(block);
+			return true;
+		}
+		else if(parser instanceof CommentBlockExtractor) {
+			((CommentBlockExtractor)parser).setParentBlock(block);
+			return true;
+		}
+		return false;
+	}
+
+}
@@ -124,7 +124,7 @@ public class FieldExtractor extends AstMemberInClassParserReusable<FieldExtracto
 
 
 	private Consume findingFieldInitial(SimpleTree<CodeToken> tokenNode) {
-		if(keywordUtil.fieldModifiers().is(tokenNode.getData())) {
+		if(keywordUtil.isFieldModifier(tokenNode.getData())) {
 			state = State.FINDING_ACCESS_MODIFIERS;
 			return findingAccessModifiers(tokenNode);
 		}
@@ -297,8 +297,12 @@ public class FieldExtractor extends AstMemberInClassParserReusable<FieldExtracto
 		this.fields.clear();
 		this.accessModifiers.clear();
 		if(this.initializer != null) this.initializer.clear();
+		this.fieldTypeSig = null;
+		this.fieldName = null;
+		this.property = null;
 		this.typeParser = typeParser.recycle();
 		this.annotationParser = annotationParser.recycle();
+		this.state = State.INIT;
 	}
 
 }
@@ -76,7 +76,7 @@ public class MethodExtractor extends AstMemberInClassParserReusable<MethodExtrac
 		Consume res = null;
 
 		if(state == State.INIT) {
-			if(keywordUtil.methodModifiers().is(tokenNode.getData())) {
+			if(keywordUtil.isMethodModifier(tokenNode.getData())) {
 				state = State.FINDING_ACCESS_MODIFIERS;
 				res = findingAccessModifiers(tokenNode);
 				if(res.isAccept()) { return true; }
@@ -251,6 +251,8 @@ public class MethodExtractor extends AstMemberInClassParserReusable<MethodExtrac
 		this.methods.clear();
 		this.typeParameters.clear();
 		this.accessModifiers.clear();
+		this.methodName = null;
+		this.returnTypeSig = null;
 		this.typeParser = typeParser.recycle();
 		this.annotationParser = annotationParser.recycle();
 		this.state = State.INIT;
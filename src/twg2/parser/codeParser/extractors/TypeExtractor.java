@@ -63,11 +63,11 @@ public class TypeExtractor extends AstParserReusableBase<TypeExtractor.State, Ty
 			if(isPossiblyType(lang.getKeywordUtil(), tokenNode, allowVoid)) {
 				state = State.FOUND_TYPE_NAME;
 				typeName = tokenNode.getData().getText();
-				prevNodeWasBlockId = lang.getKeywordUtil().blockModifiers().is(tokenNode.getData());
+				prevNodeWasBlockId = lang.getKeywordUtil().isBlockModifier(tokenNode.getData());
 				return true;
 			}
 			state = State.INIT;
-			prevNodeWasBlockId = lang.getKeywordUtil().blockModifiers().is(tokenNode.getData());
+			prevNodeWasBlockId = lang.getKeywordUtil().isBlockModifier(tokenNode.getData());
 			return false;
 		}
 		else if(state == State.FOUND_TYPE_NAME) {
@@ -78,11 +78,11 @@ public class TypeExtractor extends AstParserReusableBase<TypeExtractor.State, Ty
 			}
 			this.state = State.COMPLETE;
 			this.type = TypeExtractor.extractGenericTypes(typeName + (isNullable ? "?" : ""), lang.getKeywordUtil());
-			prevNodeWasBlockId = lang.getKeywordUtil().blockModifiers().is(tokenNode.getData());
+			prevNodeWasBlockId = lang.getKeywordUtil().isBlockModifier(tokenNode.getData());
 			return isNullable;
 		}
 		state = State.INIT;
-		prevNodeWasBlockId = lang.getKeywordUtil().blockModifiers().is(tokenNode.getData());
+		prevNodeWasBlockId = lang.getKeywordUtil().isBlockModifier(tokenNode.getData());
 		return false;
 	}
 
@@ -126,7 +126,7 @@ public class TypeExtractor extends AstParserReusableBase<TypeExtractor.State, Ty
 	public static <T> boolean isPossiblyType(KeywordUtil<? extends Keyword> keywordUtil, SimpleTree<CodeToken> node, boolean allowVoid) {
 		isPossiblyType++;
 		var nodeData = node.getData();
-		return AstFragType.isIdentifierOrKeyword(nodeData) && (!keywordUtil.isKeyword(nodeData.getText()) || keywordUtil.isDataTypeKeyword(nodeData.getText())) || (allowVoid ? "void".equalsIgnoreCase(nodeData.getText()) : false);
+		return AstFragType.isIdentifierOrKeyword(nodeData) && (!keywordUtil.isKeyword(nodeData) || keywordUtil.isDataTypeKeyword(nodeData)) || (allowVoid ? "void".equalsIgnoreCase(nodeData.getText()) : false);
 	}
 
 
@@ -3,8 +3,8 @@ package twg2.parser.codeParser.java;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import twg2.ast.interm.annotation.AnnotationSig;
 import twg2.ast.interm.block.BlockAst;
@@ -15,26 +15,31 @@ import twg2.ast.interm.method.MethodSigSimple;
 import twg2.ast.interm.type.TypeSig;
 import twg2.collections.interfaces.ListReadOnly;
 import twg2.parser.codeParser.AstExtractor;
-import twg2.parser.codeParser.extractors.AccessModifierExtractor;
+import twg2.parser.codeParser.extractors.BlockDeclarationRecognizer;
 import twg2.parser.codeParser.extractors.BlockExtractor;
 import twg2.parser.codeParser.extractors.CommentBlockExtractor;
+import twg2.parser.codeParser.extractors.ExtractorSet;
 import twg2.parser.codeParser.extractors.FieldExtractor;
 import twg2.parser.codeParser.extractors.MethodExtractor;
 import twg2.parser.codeParser.extractors.TypeExtractor;
-import twg2.parser.codeParser.tools.EnhancedListIterator;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.fragment.AstFragType;
 import twg2.parser.fragment.CodeToken;
 import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.output.ModelPart;
 import twg2.parser.stateMachine.AstParser;
 import twg2.treeLike.simpleTree.SimpleTree;
-import twg2.tuple.Tuples;
 
 /**
  * @author TeamworkGuy2
  * @since 2015-12-5
  */
 public class JavaBlockParser implements AstExtractor<JavaBlock> {
+	public static int blockLoopCount = 0;
+	public static int treeCount = 0;
+	/** The number of sub-trees skipped by {@link #extractBlocksFromTree(List, SimpleTree, int, SimpleTree, BlockAst, JavaAnnotationExtractor, List)} because they can't contain block declarations */
+	public static int prunedTreeCount = 0;
+	private static final ThreadLocal<ExtractorSet<JavaBlock>> extractorSets = ExtractorSet.perThread();
 
 
 	@Override
@@ -87,9 +92,9 @@ public class JavaBlockParser implements AstExtractor<JavaBlock> {
 
 	// TODO this only parses some fields and interface methods
 	@Override
-	public List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<JavaBlock>>> extractClassFieldsAndMethodSignatures(SimpleTree<CodeToken> astTree) {
+	public List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<JavaBlock>>> extractClassFieldsAndMethodSignatures(SimpleTree<CodeToken> astTree, Set<ModelPart> parts) {
 		// TODO are all Java blocks valid blocks possibly containing fields/methods
-		return BlockExtractor.extractBlockFieldsAndInterfaceMethods(this, astTree);
+		return BlockExtractor.reuseExtractors ? BlockExtractor.extractBlockFieldsAndInterfaceMethods(this, extractorSets.get(), astTree, parts) : BlockExtractor.extractBlockFieldsAndInterfaceMethods(this, astTree, parts);
 	}
 
 
@@ -120,12 +125,13 @@ public class JavaBlockParser implements AstExtractor<JavaBlock> {
 		var lang = CodeLanguageOptions.JAVA;
 		var keywordUtil = lang.getKeywordUtil();
 		var children = blockTree.getChildren();
+		treeCount++;
 
-		//var childIter = (BaseList<SimpleTree<CodeToken>>.BaseListIterator)children.listIterator();
-		var childIter = new EnhancedListIterator<SimpleTree<CodeToken>>(children); // this appears ~1% faster in total program time, slower using BaseList iterator (2020-11-21)
+		var declarations = new BlockDeclarationRecognizer(keywordUtil, null, true);
 
-		while(childIter.hasNext()) {
-			var child = childIter.next();
+		for(int i = 0, size = children.size(); i < size; i++) {
+			var child = children.get(i);
+			blockLoopCount++;
 			var token = child.getData();
 
 			boolean annotAccepted = annotationExtractor.acceptNext(child);
@@ -133,43 +139,36 @@ public class JavaBlockParser implements AstExtractor<JavaBlock> {
 			int addBlockCount = 0;
 			BlockAst<JavaBlock> newestBlock = null;
 
-			// if this token is an opening block, then this is probably a valid block declaration
-			if(AstFragType.isBlock(token, '{')) {
-				if(childIter.hasPrevious()) {
-					// read the identifier
-					int mark = childIter.nextIndex();
-					// since the current token is the opening '{', step back to the class signature
-					childIter.previous();
-					var nameCompoundRes = readClassIdentifierAndExtends(childIter);
-					var prevNode = childIter.hasPrevious() ? childIter.previous() : null;
-
-					// if a block keyword ("class", "interface", etc.) and an identifier were found, then this is probably a valid block declaration
-					if(nameCompoundRes != null && prevNode != null && keywordUtil.blockModifiers().is(prevNode.getData())) {
-						addBlockCount = 1;
-						var blockTypeStr = prevNode.getData().getText();
-						var blockType = lang.getBlockUtil().tryToBlock(keywordUtil.tryToKeyword(blockTypeStr));
-						var accessModifiers = AccessModifierExtractor.readAccessModifiers(keywordUtil, childIter);
-						var access = lang.getAstUtil().getAccessModifierParser().defaultAccessModifier(accessModifiers, blockType, parentScope != null ? parentScope.blockType : null);
-
-						nameScope.add(nameCompoundRes.getKey());
-
-						var blockSig = TypeExtractor.extractGenericTypes(NameUtil.joinFqName(nameScope), keywordUtil);
-						var blockTypes = blockSig.isGeneric() ? blockSig.getParams() : Collections.<TypeSig.TypeSigSimple>emptyList();
-						var blockFqName = NameUtil.splitFqName(blockSig.getTypeName());
-						var annotations = new ArrayList<>(annotationExtractor.getParserResult());
-
-						newestBlock = new BlockAst<>(new ClassSigSimple(blockFqName, blockTypes, access, annotations, blockTypeStr, nameCompoundRes.getValue()), child, blockType);
-						blocks.add(newestBlock);
-					}
-
-					childIter.reset(mark);
-				}
+			// if this token is an opening block preceded by a block keyword ("class", "interface", etc.) and an identifier, then this is probably a valid block declaration
+			if(declarations.next(children, i)) {
+				addBlockCount = 1;
+				var blockModifier = declarations.getBlockModifier().getData();
+				var blockTypeStr = blockModifier.getText();
+				var blockType = lang.getBlockUtil().tryToBlock(keywordUtil.tryToKeyword(blockModifier));
+				var access = lang.getAstUtil().getAccessModifierParser().defaultAccessModifier(declarations.getAccessModifiers(), blockType, parentScope != null ? parentScope.blockType : null);
+
+				nameScope.add(declarations.getName());
+
+				var blockSig = TypeExtractor.extractGenericTypes(NameUtil.joinFqName(nameScope), keywordUtil);
+				var blockTypes = blockSig.isGeneric() ? blockSig.getParams() : Collections.<TypeSig.TypeSigSimple>emptyList();
+				var blockFqName = NameUtil.splitFqName(blockSig.getTypeName());
+				var annotations = new ArrayList<>(annotationExtractor.getParserResult());
+
+				newestBlock = new BlockAst<>(new ClassSigSimple(blockFqName, blockTypes, access, annotations, blockTypeStr, declarations.getExtendImplementNames()), child, blockType);
+				blocks.add(newestBlock);
 			}
 
 			// a valid block must have 2 or more children: a 'name' and a '{...}' block
 			if(child.size() > 1) {
-				extractBlocksFromTree(nameScope, child, depth + 1, blockTree, newestBlock != null ? newestBlock : parentScope, (annotAccepted ? annotationExtractor.copy() : annotationExtractor.recycle()), blocks);
-				if(!annotAccepted) { annotationExtractor.recycle(); }
+				// skip subtrees which the tokenizer summarized as not containing any block modifiers (i.e. method bodies, parameter lists, initializers)
+				if(!token.mayContainBlockModifier()) {
+					prunedTreeCount++;
+					if(!annotAccepted) { annotationExtractor.recycle(); }
+				}
+				else {
+					extractBlocksFromTree(nameScope, child, depth + 1, blockTree, newestBlock != null ? newestBlock : parentScope, (annotAccepted ? annotationExtractor.copy() : annotationExtractor.recycle()), blocks);
+					if(!annotAccepted) { annotationExtractor.recycle(); }
+				}
 			}
 
 			while(addBlockCount > 0) {
@@ -193,64 +192,4 @@ public class JavaBlockParser implements AstExtractor<JavaBlock> {
 		return null;
 	}
 
-
-	/** Reads backward from a '{' block through a simple class signature ({@code ClassName [extends ClassName] [implements InterfaceName, InterfaceName, ...]}).
-	 * Returns the iterator where {@code next()} would return the class name element.
-	 * @return {@code <className, extendImplementNames[]>}
-	 */
-	private static Entry<String, List<String>> readClassIdentifierAndExtends(ListIterator<SimpleTree<CodeToken>> iter) {
-		var keywordUtil = CodeLanguageOptions.JAVA.getKeywordUtil();
-		// class signatures are read backward from the opening '{'
-		int prevCount = 0;
-		var names = new ArrayList<String>();
-		boolean lastNodeWasInheritanceKeyword = false;
-		Entry<String, List<String>> nameCompoundRes = null;
-
-		// get the node and begin checking backward
-		if(iter.hasPrevious()) { prevCount++; }
-		SimpleTree<CodeToken> prevNode = iter.hasPrevious() ? iter.previous() : null;
-
-		// read all identifiers until a block modifier is reached, including inheritance keywords (i.e. 'extends' and 'implements')
-		// this creates a backward list of 'implements' class names, then 'extends' class names, then the actual class name
-		while(prevNode != null && AstFragType.isIdentifierOrKeyword(prevNode.getData()) && !keywordUtil.blockModifiers().is(prevNode.getData())) {
-			if(!keywordUtil.isInheritanceKeyword(prevNode.getData().getText())) {
-				names.add(prevNode.getData().getText());
-				lastNodeWasInheritanceKeyword = false;
-			}
-			// basic syntax checking to make sure there's an identifier between 'extends'/'implements' keywords
-			else {
-				if(lastNodeWasInheritanceKeyword) {
-					throw new IllegalStateException("found two adjacent 'extends'/'implements' keywords with no intermediate class name");
-				}
-				lastNodeWasInheritanceKeyword = true;
-			}
-
-			if(iter.hasPrevious()) { prevCount++; }
-			prevNode = iter.hasPrevious() ? iter.previous() : null;
-		}
-
-		// syntax check, ensure there's a class name identifier between the block modifier and 'extends'/'implements' keyword
-		if(lastNodeWasInheritanceKeyword) {
-			throw new IllegalStateException("found 'extends'/'implements' keyword but no class name");
-		}
-
-		// move iterator forward since the while loop reads past the class name to the first block modifier
-		if(prevCount > 0) {
-			iter.next();
-		}
-
-		// if a likely valid class block modifier has been reached, then the identifiers just read are the class/interface names and the class name
-		if(prevNode != null && keywordUtil.blockModifiers().is(prevNode.getData())) {
-			if(names.size() == 0) {
-				throw new IllegalStateException("found block with no name");
-			}
-			String className = names.remove(names.size() - 1);
-			if(names.size() > 1) { Collections.reverse(names); }
-			var extendImplementNames = names;
-			nameCompoundRes = Tuples.of(className, extendImplementNames);
-		}
-
-		return nameCompoundRes;
-	}
-
 }
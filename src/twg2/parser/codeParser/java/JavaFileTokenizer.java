@@ -10,6 +10,7 @@ import twg2.parser.tokenizers.CodeTokenizer;
 import twg2.parser.tokenizers.CommentTokenizer;
 import twg2.parser.tokenizers.IdentifierTokenizer;
 import twg2.parser.tokenizers.NumberTokenizer;
+import twg2.parser.tokenizers.ParallelCodeTokenizer;
 import twg2.text.tokenizer.CharParserFactory;
 import twg2.text.tokenizer.StringParserBuilder;
 
@@ -29,8 +30,22 @@ public class JavaFileTokenizer {
 	public static boolean reuseCharParsers = true;
 
 
+	/** Create a tokenizer which only tracks token offsets, see {@link #createJavaTokenizer(boolean)}
+	 */
 	public static CodeTokenizer createJavaTokenizer() {
-		return CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, createJavaTokenizers());
+		return createJavaTokenizer(false);
+	}
+
+
+	/**
+	 * @param trackLineColumns whether to store line and column numbers in each token, the parser only requires offsets
+	 * @see ParallelCodeTokenizer#minParallelSrcLength
+	 */
+	public static CodeTokenizer createJavaTokenizer(boolean trackLineColumns) {
+		if(ParallelCodeTokenizer.minParallelSrcLength > 0) {
+			return ParallelCodeTokenizer.createTokenizer(CodeLanguageOptions.JAVA, JavaFileTokenizer::createJavaTokenizers, trackLineColumns, true, ParallelCodeTokenizer.minParallelSrcLength, ParallelCodeTokenizer.minSegmentLength);
+		}
+		return CodeTokenizer.createTokenizer(CodeLanguageOptions.JAVA, createJavaTokenizers(), trackLineColumns);
 	}
 
 
@@ -0,0 +1,270 @@
+package twg2.parser.codeParser.tools;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.KeywordUtil;
+import twg2.parser.codeParser.Operator;
+import twg2.parser.codeParser.OperatorUtil;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenFlag;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.textFragment.TextFragmentRef;
+
+/** Creates {@link CodeToken CodeTokens} with precomputed {@link CodeTokenFlag flags}, keyword, and operator values.
+ * Keyword, operator, and separator tokens are classified once per distinct token text using the language's
+ * {@link KeywordUtil} and {@link OperatorUtil} and the results are cached, all other token types (identifiers, blocks, strings, etc.)
+ * can't match any keyword category and are only marked {@link CodeTokenFlag#CLASSIFIED}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeTokenClassifier {
+	private static final ConcurrentHashMap<CodeLanguage, CodeTokenClassifier> classifiers = new ConcurrentHashMap<>();
+	/** the classification of all token types other than keywords, operators, and separators */
+	private static final Classification OTHER = new Classification(CodeTokenFlag.CLASSIFIED, null, null);
+
+	private final KeywordUtil<? extends Keyword> keywordUtil;
+	private final OperatorUtil<? extends Operator> operatorUtil;
+	private final ConcurrentHashMap<String, Classification> keywords = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Classification> operators = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Classification> separators = new ConcurrentHashMap<>();
+	private final CharRangeCache keywordChars = new CharRangeCache();
+	private final CharRangeCache operatorChars = new CharRangeCache();
+	private final CharRangeCache separatorChars = new CharRangeCache();
+
+
+	public CodeTokenClassifier(KeywordUtil<? extends Keyword> keywordUtil, OperatorUtil<? extends Operator> operatorUtil) {
+		this.keywordUtil = keywordUtil;
+		this.operatorUtil = operatorUtil;
+	}
+
+
+	/**
+	 * @return the shared classifier for a language or null if the language does not have a {@link KeywordUtil} and {@link OperatorUtil}
+	 */
+	public static CodeTokenClassifier of(CodeLanguage lang) {
+		if(lang == null || lang.getKeywordUtil() == null || lang.getOperatorUtil() == null) {
+			return null;
+		}
+		return classifiers.computeIfAbsent(lang, (l) -> new CodeTokenClassifier(l.getKeywordUtil(), l.getOperatorUtil()));
+	}
+
+
+	public CodeToken createToken(CodeTokenType type, TextFragmentRef textFrag, String text) {
+		var cls = classify(type, text);
+		return new CodeToken(type, textFrag, text, cls.flags, cls.keyword, cls.operator);
+	}
+
+
+	/** Classify a token without creating it
+	 * @return the flags, keyword, and operator of a token with the given type and text
+	 */
+	public Classification classify(CodeTokenType type, String text) {
+		if(type == CodeTokenType.KEYWORD) {
+			return lookup(keywords, type, text);
+		}
+		else if(type == CodeTokenType.OPERATOR) {
+			return lookup(operators, type, text);
+		}
+		else if(type == CodeTokenType.SEPARATOR) {
+			return lookup(separators, type, text);
+		}
+		return OTHER;
+	}
+
+
+	/** Classify a token from its source characters without creating it or its text (i.e. for {@link twg2.parser.fragment.CodeTokenTable}),
+	 * a string is only created the first time a distinct keyword, operator, or separator is seen
+	 * @return the flags, keyword, and operator of a token with the given type and the text {@code src[off, off + len)}
+	 */
+	public Classification classify(CodeTokenType type, char[] src, int off, int len) {
+		if(type == CodeTokenType.KEYWORD) {
+			return lookup(keywordChars, keywords, type, src, off, len);
+		}
+		else if(type == CodeTokenType.OPERATOR) {
+			return lookup(operatorChars, operators, type, src, off, len);
+		}
+		else if(type == CodeTokenType.SEPARATOR) {
+			return lookup(separatorChars, separators, type, src, off, len);
+		}
+		return OTHER;
+	}
+
+
+	private Classification lookup(CharRangeCache charCache, ConcurrentHashMap<String, Classification> cache, CodeTokenType type, char[] src, int off, int len) {
+		var cls = charCache.get(src, off, len);
+		if(cls == null) {
+			var text = new String(src, off, len);
+			cls = lookup(cache, type, text);
+			charCache.put(text, cls);
+		}
+		return cls;
+	}
+
+
+	private Classification lookup(ConcurrentHashMap<String, Classification> cache, CodeTokenType type, String text) {
+		var cls = cache.get(text);
+		if(cls == null) {
+			cls = computeClassification(type, text);
+			cache.put(text, cls);
+		}
+		return cls;
+	}
+
+
+	private Classification computeClassification(CodeTokenType type, String text) {
+		// classify using the same checks the extractors previously ran on each token
+		var token = new CodeToken(type, null, text);
+		int flags = CodeTokenFlag.CLASSIFIED;
+		flags |= keywordUtil.isKeyword(text) ? CodeTokenFlag.KEYWORD : 0;
+		flags |= keywordUtil.isDataTypeKeyword(text) ? CodeTokenFlag.DATA_TYPE_KEYWORD : 0;
+		flags |= keywordUtil.blockModifiers().is(token) ? CodeTokenFlag.BLOCK_MODIFIER : 0;
+		flags |= keywordUtil.classModifiers().is(token) ? CodeTokenFlag.CLASS_MODIFIER : 0;
+		flags |= keywordUtil.fieldModifiers().is(token) ? CodeTokenFlag.FIELD_MODIFIER : 0;
+		flags |= keywordUtil.methodModifiers().is(token) ? CodeTokenFlag.METHOD_MODIFIER : 0;
+		flags |= keywordUtil.parameterModifiers().is(token) ? CodeTokenFlag.PARAMETER_MODIFIER : 0;
+		flags |= keywordUtil.operators().is(token) ? CodeTokenFlag.OPERATOR_KEYWORD : 0;
+		flags |= keywordUtil.typeLiterals().is(token) ? CodeTokenFlag.TYPE_LITERAL : 0;
+		flags |= keywordUtil.isInheritanceKeyword(text) ? CodeTokenFlag.INHERITANCE_KEYWORD : 0;
+
+		Keyword keyword = type == CodeTokenType.KEYWORD ? keywordUtil.tryToKeyword(text) : null;
+		Operator operator = type == CodeTokenType.OPERATOR ? findOperator(token) : null;
+
+		return new Classification(flags, keyword, operator);
+	}
+
+
+	private Operator findOperator(CodeToken token) {
+		CodeTokenEnumSubSet<?>[] opSets = {
+			operatorUtil.arithmeticOperators(), operatorUtil.assignmentOperators(), operatorUtil.bitwiseOperators(), operatorUtil.concatOperators(),
+			operatorUtil.conditionalOperators(), operatorUtil.equalityOperators(), operatorUtil.typeCheckOperators(), operatorUtil.unaryOperators()
+		};
+		for(var opSet : opSets) {
+			var op = opSet.parse(token);
+			if(op != null) {
+				return (Operator)op;
+			}
+		}
+		return null;
+	}
+
+
+
+
+	/** The precomputed classification of a token text
+	 */
+	public static class Classification {
+		/** {@link CodeTokenFlag} bits */
+		public final int flags;
+		public final Keyword keyword;
+		public final Operator operator;
+
+
+		Classification(int flags, Keyword keyword, Operator operator) {
+			this.flags = flags;
+			this.keyword = keyword;
+			this.operator = operator;
+		}
+
+	}
+
+
+
+
+	/** A copy-on-write, open addressing, hash table of the texts already classified, which can be searched by a char range without creating a string.
+	 * Only keywords, operators, and separators are cached and there are few distinct ones, so the table stops changing after the first few files
+	 */
+	static class CharRangeCache {
+		private volatile Entry[] entries = new Entry[32];
+		private int size;
+
+
+		/**
+		 * @return the cached classification of the text {@code src[off, off + len)}, null if the text has not been cached
+		 */
+		public Classification get(char[] src, int off, int len) {
+			var table = entries;
+			int mask = table.length - 1;
+			for(int i = hash(src, off, len) & mask; ; i = (i + 1) & mask) {
+				var entry = table[i];
+				if(entry == null) {
+					return null;
+				}
+				if(entry.matches(src, off, len)) {
+					return entry.value;
+				}
+			}
+		}
+
+
+		public synchronized void put(String text, Classification value) {
+			var table = entries;
+			char[] chars = text.toCharArray();
+			if(get(chars, 0, chars.length) != null) {
+				return;
+			}
+			// keep the table at most half full
+			var newTable = new Entry[(size + 1) * 2 > table.length ? table.length * 2 : table.length];
+			for(var entry : table) {
+				if(entry != null) {
+					insert(newTable, entry);
+				}
+			}
+			insert(newTable, new Entry(text, value));
+			size++;
+			entries = newTable;
+		}
+
+
+		private static void insert(Entry[] table, Entry entry) {
+			int mask = table.length - 1;
+			int i = entry.text.hashCode() & mask;
+			while(table[i] != null) {
+				i = (i + 1) & mask;
+			}
+			table[i] = entry;
+		}
+
+
+		/** The same hash as {@link String#hashCode()}
+		 */
+		private static int hash(char[] src, int off, int len) {
+			int h = 0;
+			for(int i = off, end = off + len; i < end; i++) {
+				h = 31 * h + src[i];
+			}
+			return h;
+		}
+
+
+
+
+		private static class Entry {
+			final String text;
+			final Classification value;
+
+
+			Entry(String text, Classification value) {
+				this.text = text;
+				this.value = value;
+			}
+
+
+			boolean matches(char[] src, int off, int len) {
+				if(text.length() != len) {
+					return false;
+				}
+				for(int i = 0; i < len; i++) {
+					if(text.charAt(i) != src[off + i]) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+		}
+
+	}
+
+}
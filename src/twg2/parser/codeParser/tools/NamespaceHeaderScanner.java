@@ -0,0 +1,416 @@
+package twg2.parser.codeParser.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import twg2.text.stringUtils.StringSplit;
+
+/** Fast, comment and string aware, character scanner which finds the namespace/package declarations and (optionally) the type names
+ * declared in a C# or Java source file without tokenizing it.
+ * Used to skip parsing files which cannot contain any classes in a set of namespaces.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class NamespaceHeaderScanner {
+
+	private NamespaceHeaderScanner() { throw new AssertionError("cannot instantiate static class NamespaceHeaderScanner"); }
+
+
+	/** The result of a scan
+	 */
+	public static class Result {
+		/** Namespace/package names declared in the file, in order, empty if the file does not declare any (i.e. global namespace) */
+		public final List<String> namespaces;
+		/** Fully qualifying names of the type declarations found, empty unless {@code findTypeNames} was true */
+		public final List<List<String>> typeNames;
+		/** The keyword which declared each of the {@link #typeNames} ('class', 'interface', 'enum', 'struct', or 'record') */
+		public final List<String> typeKeywords;
+		/** The offset of the '{' or ';' which ends the first namespace/package declaration's name, -1 if the scanned chars
+		 * do not contain a complete declaration (i.e. the scanned chars are a prefix of a file which ends in the middle of the name) */
+		public final int firstDeclarationEnd;
+
+
+		public Result(List<String> namespaces, List<List<String>> typeNames, List<String> typeKeywords, int firstDeclarationEnd) {
+			this.namespaces = namespaces;
+			this.typeNames = typeNames;
+			this.typeKeywords = typeKeywords;
+			this.firstDeclarationEnd = firstDeclarationEnd;
+		}
+
+
+		/**
+		 * @param namespacePrefixes the namespaces to check, matched the same way as {@link twg2.parser.project.ProjectClassSet#getCompilationUnitsStartWith(List)}
+		 * @return true if a class declared in this file's namespaces could have a fully qualifying name starting with any of the {@code namespacePrefixes}
+		 */
+		public boolean canContainAny(Collection<String> namespacePrefixes) {
+			// global namespace, class names can be anything
+			if(namespaces.isEmpty()) {
+				return namespacePrefixes.size() > 0;
+			}
+
+			for(var namespace : namespaces) {
+				if(canContain(namespace, namespacePrefixes)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+
+		@Override
+		public String toString() {
+			return "namespaces: " + namespaces + (typeNames.size() > 0 ? ", types: " + typeNames : "");
+		}
+
+	}
+
+
+	/** Scan a source file for its namespace/package declaration.
+	 * If {@code findTypeNames} is false the scan stops at the first namespace/package declaration
+	 * (C# files with multiple sibling namespaces are judged by the first one), else the entire file is scanned
+	 * and the class, interface, enum, struct, and record names declared in it, including nested types, are returned.
+	 * @param src the source characters
+	 * @param isJava true to scan for a Java 'package', false to scan for C# 'namespace' declarations
+	 * @param findTypeNames true to scan the entire file for namespaces and type declarations
+	 */
+	public static Result scan(char[] src, int srcOff, int srcLen, boolean isJava, boolean findTypeNames) {
+		String namespaceKeyword = isJava ? "package" : "namespace";
+		var namespaces = new ArrayList<String>(2);
+		List<List<String>> typeNames = findTypeNames ? new ArrayList<>() : Collections.emptyList();
+		List<String> typeKeywords = findTypeNames ? new ArrayList<>() : Collections.emptyList();
+
+		// the stack of namespace and type names which contain the current position, and the brace depth each one's body started at
+		var scopeNames = new ArrayList<String>();
+		int[] scopeDepths = new int[8];
+		String fileScope = null; // Java package or C# file scoped namespace
+		String pendingScope = null; // a namespace/type name waiting for its opening '{'
+		boolean pendingIsNamespace = false;
+		int depth = 0;
+		char prevNonWs = 0;
+		int firstDeclarationEnd = -1;
+
+		int end = srcOff + srcLen;
+		int i = srcOff;
+		while(i < end) {
+			char ch = src[i];
+
+			if(ch == '/' && i + 1 < end && src[i + 1] == '/') {
+				i = skipLine(src, i, end);
+				continue;
+			}
+			if(ch == '/' && i + 1 < end && src[i + 1] == '*') {
+				i = skipBlockComment(src, i + 2, end);
+				continue;
+			}
+			if(ch == '#' && !isJava) {
+				// C# preprocessor directive
+				i = skipLine(src, i, end);
+				continue;
+			}
+			if(ch == '"') {
+				boolean verbatim = !isJava && i > srcOff && (src[i - 1] == '@' || (src[i - 1] == '$' && i - 1 > srcOff && src[i - 2] == '@'));
+				i = skipString(src, i, end, verbatim);
+				prevNonWs = '"';
+				continue;
+			}
+			if(ch == '\'') {
+				i = skipQuoted(src, i + 1, end, '\'');
+				prevNonWs = '\'';
+				continue;
+			}
+
+			if(ch == '{') {
+				depth++;
+				if(pendingScope != null) {
+					if(scopeNames.size() == scopeDepths.length) {
+						scopeDepths = Arrays.copyOf(scopeDepths, scopeDepths.length * 2);
+					}
+					scopeDepths[scopeNames.size()] = depth;
+					scopeNames.add(pendingScope);
+					pendingScope = null;
+				}
+			}
+			else if(ch == '}') {
+				int last = scopeNames.size() - 1;
+				if(last > -1 && scopeDepths[last] == depth) {
+					scopeNames.remove(last);
+				}
+				depth--;
+			}
+			else if(ch == ';') {
+				// C# file scoped namespace 'namespace A.B;'
+				if(pendingScope != null && pendingIsNamespace && scopeNames.isEmpty() && fileScope == null) {
+					fileScope = pendingScope;
+				}
+				pendingScope = null;
+			}
+			else if(Character.isJavaIdentifierStart(ch) && (i == srcOff || !Character.isJavaIdentifierPart(src[i - 1]))) {
+				int wordEnd = readIdentifier(src, i, end);
+				int wordLen = wordEnd - i;
+
+				if(equals(src, i, wordLen, namespaceKeyword) && prevNonWs != '.') {
+					int nameStart = skipWhitespace(src, wordEnd, end);
+					int nameEnd = readQualifiedName(src, nameStart, end);
+					String name = removeWhitespace(src, nameStart, nameEnd);
+					namespaces.add(name);
+
+					if(namespaces.size() == 1) {
+						int next = skipWhitespaceAndComments(src, nameEnd, end);
+						firstDeclarationEnd = next < end && (src[next] == '{' || src[next] == ';') ? next : -1;
+					}
+
+					if(!findTypeNames) {
+						break;
+					}
+
+					if(isJava) {
+						fileScope = name;
+					}
+					else {
+						pendingScope = name;
+						pendingIsNamespace = true;
+					}
+					i = nameEnd;
+					prevNonWs = 'a';
+					continue;
+				}
+
+				if(findTypeNames && prevNonWs != '.' && isTypeKeyword(src, i, wordLen, isJava)) {
+					int nameStart = skipWhitespace(src, wordEnd, end);
+					int nameEnd = readIdentifier(src, nameStart, end);
+					// ignore keyword uses that aren't declarations (i.e. C# 'where T : class where U : struct') and types declared inside method bodies
+					int scopeDepth = scopeNames.size() > 0 ? scopeDepths[scopeNames.size() - 1] : 0;
+					if(depth == scopeDepth && isDeclarationName(src, nameStart, nameEnd, end, isJava)) {
+						String name = new String(src, nameStart, nameEnd - nameStart);
+						var fullName = new ArrayList<String>(NameUtil.estimatedFqPartsCount);
+						if(fileScope != null) {
+							StringSplit.split(fileScope, '.', 0, fullName);
+						}
+						for(var scopeName : scopeNames) {
+							StringSplit.split(scopeName, '.', 0, fullName);
+						}
+						fullName.add(name);
+						typeNames.add(fullName);
+						typeKeywords.add(new String(src, i, wordLen));
+						pendingScope = name;
+						pendingIsNamespace = false;
+						i = nameEnd;
+						prevNonWs = 'a';
+						continue;
+					}
+				}
+
+				i = wordEnd;
+				prevNonWs = 'a';
+				continue;
+			}
+
+			if(!Character.isWhitespace(ch)) {
+				prevNonWs = ch;
+			}
+			i++;
+		}
+
+		return new Result(namespaces, typeNames, typeKeywords, firstDeclarationEnd);
+	}
+
+
+	/**
+	 * @return true if a class in {@code namespace} could have a fully qualifying name starting with one of the {@code namespacePrefixes}
+	 */
+	public static boolean canContain(String namespace, Collection<String> namespacePrefixes) {
+		// class names are 'namespace.rest', so they can start with a prefix if the prefix is a prefix of 'namespace.' or if 'namespace.' is a prefix of the prefix
+		String nsDot = namespace + ".";
+		for(var prefix : namespacePrefixes) {
+			if(nsDot.startsWith(prefix) || prefix.startsWith(nsDot)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/** Check whether the identifier following a type keyword is a type declaration's name: not a contextual keyword
+	 * (i.e. 'where' in 'where T : class where U : struct') and followed by the start of a declaration's body, type parameters,
+	 * base types, or record parameters
+	 */
+	private static boolean isDeclarationName(char[] src, int nameStart, int nameEnd, int end, boolean isJava) {
+		int nameLen = nameEnd - nameStart;
+		if(nameLen == 0 || equals(src, nameStart, nameLen, "where") || equals(src, nameStart, nameLen, "new")) {
+			return false;
+		}
+		int next = skipWhitespaceAndComments(src, nameEnd, end);
+		if(next >= end) {
+			return false;
+		}
+		char ch = src[next];
+		if(ch == '{' || ch == ':' || ch == '<' || ch == '(') {
+			return true;
+		}
+		if(isJava) {
+			int wordEnd = readIdentifier(src, next, end);
+			int wordLen = wordEnd - next;
+			return equals(src, next, wordLen, "extends") || equals(src, next, wordLen, "implements") || equals(src, next, wordLen, "permits");
+		}
+		return false;
+	}
+
+
+	private static boolean isTypeKeyword(char[] src, int off, int len, boolean isJava) {
+		return equals(src, off, len, "class") || equals(src, off, len, "interface") || equals(src, off, len, "enum") || equals(src, off, len, "record") ||
+				(!isJava && equals(src, off, len, "struct"));
+	}
+
+
+	private static boolean equals(char[] src, int off, int len, String str) {
+		if(len != str.length()) {
+			return false;
+		}
+		for(int i = 0; i < len; i++) {
+			if(src[off + i] != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static int readIdentifier(char[] src, int off, int end) {
+		// C# verbatim identifiers, i.e. '@class'
+		if(off < end && src[off] == '@') {
+			off++;
+		}
+		if(off >= end || !Character.isJavaIdentifierStart(src[off])) {
+			return off;
+		}
+		int i = off + 1;
+		while(i < end && Character.isJavaIdentifierPart(src[i])) {
+			i++;
+		}
+		return i;
+	}
+
+
+	/** Read a dotted name which may contain whitespace around the dots
+	 */
+	private static int readQualifiedName(char[] src, int off, int end) {
+		int i = readIdentifier(src, off, end);
+		while(i > off) {
+			int dot = skipWhitespace(src, i, end);
+			if(dot >= end || src[dot] != '.') {
+				break;
+			}
+			int next = readIdentifier(src, skipWhitespace(src, dot + 1, end), end);
+			if(next == dot + 1) {
+				break;
+			}
+			i = next;
+		}
+		return i;
+	}
+
+
+	private static String removeWhitespace(char[] src, int off, int end) {
+		var sb = new StringBuilder(end - off);
+		for(int i = off; i < end; i++) {
+			if(!Character.isWhitespace(src[i]) && src[i] != '@') {
+				sb.append(src[i]);
+			}
+		}
+		return sb.toString();
+	}
+
+
+	private static int skipWhitespace(char[] src, int off, int end) {
+		while(off < end && Character.isWhitespace(src[off])) {
+			off++;
+		}
+		return off;
+	}
+
+
+	private static int skipWhitespaceAndComments(char[] src, int off, int end) {
+		while(true) {
+			off = skipWhitespace(src, off, end);
+			if(off + 1 < end && src[off] == '/' && src[off + 1] == '/') {
+				off = skipLine(src, off, end);
+			}
+			else if(off + 1 < end && src[off] == '/' && src[off + 1] == '*') {
+				off = skipBlockComment(src, off + 2, end);
+			}
+			else {
+				return off;
+			}
+		}
+	}
+
+
+	private static int skipLine(char[] src, int off, int end) {
+		while(off < end && src[off] != '\n' && src[off] != '\r') {
+			off++;
+		}
+		return off;
+	}
+
+
+	private static int skipBlockComment(char[] src, int off, int end) {
+		while(off + 1 < end && !(src[off] == '*' && src[off + 1] == '/')) {
+			off++;
+		}
+		return Math.min(off + 2, end);
+	}
+
+
+	/** Skip a string literal starting at {@code off}, supports Java text blocks and C# raw ('"""') and verbatim ('@"') strings
+	 * @return the offset after the closing quote
+	 */
+	private static int skipString(char[] src, int off, int end, boolean verbatim) {
+		// text block/raw string
+		if(off + 2 < end && src[off + 1] == '"' && src[off + 2] == '"') {
+			int i = off + 3;
+			while(i + 2 < end && !(src[i] == '"' && src[i + 1] == '"' && src[i + 2] == '"')) {
+				i += (src[i] == '\\' ? 2 : 1);
+			}
+			return Math.min(i + 3, end);
+		}
+
+		if(verbatim) {
+			int i = off + 1;
+			while(i < end) {
+				if(src[i] == '"') {
+					// '""' is an escaped quote
+					if(i + 1 < end && src[i + 1] == '"') {
+						i += 2;
+						continue;
+					}
+					return i + 1;
+				}
+				i++;
+			}
+			return end;
+		}
+
+		return skipQuoted(src, off + 1, end, '"');
+	}
+
+
+	private static int skipQuoted(char[] src, int off, int end, char quote) {
+		int i = off;
+		while(i < end) {
+			char ch = src[i];
+			if(ch == '\\') {
+				i += 2;
+				continue;
+			}
+			if(ch == quote || ch == '\n' || ch == '\r') {
+				return i + 1;
+			}
+			i++;
+		}
+		return end;
+	}
+
+}
@@ -13,7 +13,12 @@ import twg2.treeLike.simpleTree.SimpleTree;
 public class AstFragType {
 
 	public static final boolean isOperator(CodeToken node, Operator op) {
-		return node != null && node.getTokenType() == CodeTokenType.OPERATOR && op.toSrc().equals(node.getText());
+		if(node == null || node.getTokenType() != CodeTokenType.OPERATOR) {
+			return false;
+		}
+		// classified tokens store the matching operator
+		var nodeOp = node.getOperator();
+		return nodeOp != null ? nodeOp == op : op.toSrc().equals(node.getText());
 	}
 
 
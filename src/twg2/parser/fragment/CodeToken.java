@@ -1,5 +1,7 @@
 package twg2.parser.fragment;
 
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.Operator;
 import twg2.parser.textFragment.TextFragmentRef;
 
 /**
@@ -7,9 +9,85 @@ import twg2.parser.textFragment.TextFragmentRef;
  * @since 2016-4-12
  */
 public class CodeToken extends TextFragmentRefToken<CodeTokenType> {
+	/** final except for the {@link CodeTokenFlag#SUBTREE_MASK} bits set by the tokenizer once a compound token's children are known */
+	int flags;
+	final Keyword keyword;
+	final Operator operator;
+
 
 	public CodeToken(CodeTokenType type, TextFragmentRef textFrag, String text) {
+		this(type, textFrag, text, 0, null, null);
+	}
+
+
+	/**
+	 * @param flags {@link CodeTokenFlag} bits, 0 if this token has not been classified
+	 * @param keyword the keyword matching this token's text, null if not a keyword
+	 * @param operator the operator matching this token's text, null if not an operator
+	 */
+	public CodeToken(CodeTokenType type, TextFragmentRef textFrag, String text, int flags, Keyword keyword, Operator operator) {
 		super(type, textFrag, text);
+		this.flags = flags;
+		this.keyword = keyword;
+		this.operator = operator;
+	}
+
+
+	/**
+	 * @return this token's {@link CodeTokenFlag} bits
+	 */
+	public int getFlags() {
+		return flags;
+	}
+
+
+	/**
+	 * @return true if this token's {@link CodeTokenFlag flags}, {@link #getKeyword()}, and {@link #getOperator()} were computed by the tokenizer
+	 */
+	public boolean isClassified() {
+		return (flags & CodeTokenFlag.CLASSIFIED) != 0;
+	}
+
+
+	/**
+	 * @param flag one or more {@link CodeTokenFlag} bits
+	 * @return true if any of the {@code flag} bits are set on this token, only valid if {@link #isClassified()}
+	 */
+	public boolean hasFlag(int flag) {
+		return (flags & flag) != 0;
+	}
+
+
+	/** Set this compound token's {@code SUBTREE_*} summary bits, called by the tokenizer after the token's children are added
+	 * @param subtreeFlags {@link CodeTokenFlag#SUBTREE_MASK} bits, other bits are ignored
+	 */
+	public void setSubtreeSummary(int subtreeFlags) {
+		this.flags = (this.flags & ~CodeTokenFlag.SUBTREE_MASK) | (subtreeFlags & CodeTokenFlag.SUBTREE_MASK);
+	}
+
+
+	/**
+	 * @return false if this token's flags prove that neither it nor any token inside it is a block modifier (e.g. 'class', 'interface', 'namespace'),
+	 * true if it is one or may contain one, see {@link CodeTokenFlag#mayContainBlockModifier(int, boolean)}
+	 */
+	public boolean mayContainBlockModifier() {
+		return CodeTokenFlag.mayContainBlockModifier(flags, getTokenType().isCompound());
+	}
+
+
+	/**
+	 * @return the keyword matching this token's text, null if this token is not a keyword or not {@link #isClassified() classified}
+	 */
+	public Keyword getKeyword() {
+		return keyword;
+	}
+
+
+	/**
+	 * @return the operator matching this token's text, null if this token is not an operator or not {@link #isClassified() classified}
+	 */
+	public Operator getOperator() {
+		return operator;
 	}
 
 }
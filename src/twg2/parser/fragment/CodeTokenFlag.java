@@ -0,0 +1,58 @@
+package twg2.parser.fragment;
+
+/** {@link CodeToken#getFlags()} classification bits, precomputed by the tokenizer from a language's
+ * {@link twg2.parser.codeParser.KeywordUtil} and {@link twg2.parser.codeParser.OperatorUtil} so that keyword
+ * category checks are a field read and bit test instead of a search on the token text.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class CodeTokenFlag {
+
+	private CodeTokenFlag() { throw new AssertionError("cannot instantiate static class CodeTokenFlag"); }
+
+
+	/** Set on every token classified by the tokenizer, if not set the other flags are not valid and the token text must be checked instead */
+	public static final int CLASSIFIED = 1;
+	/** A language keyword, see {@link twg2.parser.codeParser.KeywordUtil#isKeyword(String)} */
+	public static final int KEYWORD = 1 << 1;
+	/** A data type keyword, see {@link twg2.parser.codeParser.KeywordUtil#isDataTypeKeyword(String)} */
+	public static final int DATA_TYPE_KEYWORD = 1 << 2;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#blockModifiers()} */
+	public static final int BLOCK_MODIFIER = 1 << 3;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#classModifiers()} */
+	public static final int CLASS_MODIFIER = 1 << 4;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#fieldModifiers()} */
+	public static final int FIELD_MODIFIER = 1 << 5;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#methodModifiers()} */
+	public static final int METHOD_MODIFIER = 1 << 6;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#parameterModifiers()} */
+	public static final int PARAMETER_MODIFIER = 1 << 7;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#operators()} */
+	public static final int OPERATOR_KEYWORD = 1 << 8;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#typeLiterals()} */
+	public static final int TYPE_LITERAL = 1 << 9;
+	/** See {@link twg2.parser.codeParser.KeywordUtil#isInheritanceKeyword(String)} */
+	public static final int INHERITANCE_KEYWORD = 1 << 10;
+
+	/** Set on compound tokens (blocks and the document) once the tokenizer has summarized their children into the {@code SUBTREE_*} bits */
+	public static final int SUBTREE_SUMMARIZED = 1 << 11;
+	/** Set on summarized compound tokens which contain a {@link #BLOCK_MODIFIER} (or an unclassified) token at any depth,
+	 * i.e. which may contain a class, interface, enum, or namespace declaration */
+	public static final int SUBTREE_BLOCK_MODIFIER = 1 << 12;
+	/** All of the {@code SUBTREE_*} bits */
+	public static final int SUBTREE_MASK = SUBTREE_SUMMARIZED | SUBTREE_BLOCK_MODIFIER;
+
+
+	/** Check whether a token, or any token inside it, may be a {@link #BLOCK_MODIFIER}.
+	 * Unclassified tokens and compound tokens which have not been summarized may contain one.
+	 * @param flags the token's flags
+	 * @param compound whether the token is a compound token (i.e. a block)
+	 * @return false if the token's flags prove there is no block modifier in the token or its subtree
+	 */
+	public static boolean mayContainBlockModifier(int flags, boolean compound) {
+		return compound
+				? (flags & SUBTREE_SUMMARIZED) == 0 || (flags & SUBTREE_BLOCK_MODIFIER) != 0
+				: (flags & CLASSIFIED) == 0 || (flags & BLOCK_MODIFIER) != 0;
+	}
+
+}
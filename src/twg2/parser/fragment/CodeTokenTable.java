@@ -0,0 +1,599 @@
+package twg2.parser.fragment;
+
+import java.util.Arrays;
+
+import twg2.collections.interfaces.ListReadOnly;
+import twg2.collections.primitiveCollections.IntListSorted;
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.Operator;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.textFragment.TextFragmentRefImpl;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.simpleTree.SimpleTree;
+import twg2.treeLike.simpleTree.SimpleTreeImpl;
+
+/** A compact, struct-of-arrays, alternative to a {@code SimpleTree<CodeToken>} token tree.
+ * Each token is an index into parallel {@code int[]} arrays (type, start/end offset, parent/first-child/next-sibling index, flags,
+ * keyword ordinal, and operator ordinal) instead of a {@link SimpleTreeImpl} node, {@link CodeToken}, {@link TextFragmentRefImpl}, and {@link String}.
+ * Token text is read from {@link #src} on demand.<br>
+ * Index 0 is the document token, a token's children are linked in source order.
+ * Walk a table with a {@link Cursor} or view it as a tree with {@link #toTree()}, the tree's nodes and tokens are only created when they are read.<br>
+ * Tokens are added in the order a tokenizer completes them, compound tokens (blocks) adopt the preceding top level tokens inside their range,
+ * the same as {@link twg2.parser.tokenizers.CodeTokenizer#tokenizeDocument(String, twg2.parser.textParser.TextParser, char[], int, int, twg2.parser.codeParser.analytics.ParserActionLogger, twg2.collections.dataStructures.PairList, TextToken, twg2.functions.TriFunction, java.util.function.Function, twg2.parser.tokenizers.IsParentChild)}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeTokenTable {
+	private static final CodeTokenType[] tokenTypes = CodeTokenType.values();
+
+	public final char[] src;
+	public final int srcOff;
+	public final int srcLen;
+	public final CodeLanguage language;
+	private IntListSorted lineStartOffsets;
+	private int size;
+	private int[] types;
+	private int[] starts;
+	private int[] ends;
+	private int[] parents;
+	private int[] firstChildren;
+	private int[] nextSiblings;
+	private int[] flags;
+	private int[] keywords;
+	private int[] operators;
+	private Keyword[] keywordValues;
+	private Operator[] operatorValues;
+	/** the top level tokens, while adding tokens */
+	private int[] topLevel;
+	private int topLevelCount;
+
+
+	/**
+	 * @param src the source the tokens are from
+	 * @param language optional
+	 * @param initialCapacity the initial number of tokens to allocate space for
+	 */
+	public CodeTokenTable(char[] src, int srcOff, int srcLen, CodeLanguage language, int initialCapacity) {
+		this.src = src;
+		this.srcOff = srcOff;
+		this.srcLen = srcLen;
+		this.language = language;
+		int capacity = Math.max(initialCapacity, 16);
+		this.types = new int[capacity];
+		this.starts = new int[capacity];
+		this.ends = new int[capacity];
+		this.parents = new int[capacity];
+		this.firstChildren = new int[capacity];
+		this.nextSiblings = new int[capacity];
+		this.flags = new int[capacity];
+		this.keywords = new int[capacity];
+		this.operators = new int[capacity];
+		this.topLevel = new int[64];
+
+		// the document token
+		addEntry(CodeTokenType.DOCUMENT, srcOff, srcOff + srcLen, 0, -1, -1);
+	}
+
+
+	/** Add a token, tokens must be added in the order a tokenizer completes them
+	 * @param type the token type, compound types adopt the preceding top level tokens inside this token's range
+	 * @param start the token's start offset in {@link #src}
+	 * @param end the token's end offset (exclusive)
+	 * @param flags the token's {@link CodeTokenFlag} bits
+	 * @param keyword optional keyword matching the token's text, must be an enum constant
+	 * @param operator optional operator matching the token's text, must be an enum constant
+	 * @return the index of the new token
+	 */
+	public int add(CodeTokenType type, int start, int end, int flags, Keyword keyword, Operator operator) {
+		int keywordOrdinal = -1;
+		if(keyword != null) {
+			var keywordEnum = (Enum<?>)keyword;
+			if(keywordValues == null) {
+				keywordValues = (Keyword[])keywordEnum.getDeclaringClass().getEnumConstants();
+			}
+			keywordOrdinal = keywordEnum.ordinal();
+		}
+		int operatorOrdinal = -1;
+		if(operator != null) {
+			var operatorEnum = (Enum<?>)operator;
+			if(operatorValues == null) {
+				operatorValues = (Operator[])operatorEnum.getDeclaringClass().getEnumConstants();
+			}
+			operatorOrdinal = operatorEnum.ordinal();
+		}
+
+		int index = addEntry(type, start, end, flags, keywordOrdinal, operatorOrdinal);
+
+		if(type.isCompound()) {
+			// tokens are completed in order, so the top level tokens inside this one are the trailing top level tokens starting at or after this one
+			int firstInside = topLevelCount;
+			while(firstInside > 0 && starts[topLevel[firstInside - 1]] >= start && ends[topLevel[firstInside - 1]] <= end) {
+				firstInside--;
+			}
+			int prev = -1;
+			int summary = CodeTokenFlag.SUBTREE_SUMMARIZED;
+			for(int i = firstInside; i < topLevelCount; i++) {
+				int child = topLevel[i];
+				parents[child] = index;
+				if(prev < 0) {
+					firstChildren[index] = child;
+				}
+				else {
+					nextSiblings[prev] = child;
+				}
+				summary |= subtreeSummaryOf(child);
+				prev = child;
+			}
+			this.flags[index] |= summary;
+			topLevelCount = firstInside;
+		}
+
+		if(topLevelCount == topLevel.length) {
+			topLevel = Arrays.copyOf(topLevel, topLevelCount * 2);
+		}
+		topLevel[topLevelCount++] = index;
+
+		return index;
+	}
+
+
+	/** Link the remaining top level tokens to the document token, call once after adding all tokens
+	 * @param lineStartOffsets the source's line start offsets from the tokenizer
+	 */
+	public void complete(IntListSorted lineStartOffsets) {
+		this.lineStartOffsets = lineStartOffsets;
+		int prev = -1;
+		int summary = CodeTokenFlag.SUBTREE_SUMMARIZED;
+		for(int i = 0; i < topLevelCount; i++) {
+			int child = topLevel[i];
+			parents[child] = 0;
+			if(prev < 0) {
+				firstChildren[0] = child;
+			}
+			else {
+				nextSiblings[prev] = child;
+			}
+			summary |= subtreeSummaryOf(child);
+			prev = child;
+		}
+		flags[0] |= summary;
+		topLevelCount = 0;
+		topLevel = null;
+	}
+
+
+	/**
+	 * @return the number of tokens, including the document token
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	public IntListSorted getLineStartOffsets() {
+		return lineStartOffsets;
+	}
+
+
+	public CodeTokenType getType(int index) {
+		return tokenTypes[types[index]];
+	}
+
+
+	public int getStart(int index) {
+		return starts[index];
+	}
+
+
+	public int getEnd(int index) {
+		return ends[index];
+	}
+
+
+	/**
+	 * @return the index of the token's parent, -1 for the document token
+	 */
+	public int getParent(int index) {
+		return parents[index];
+	}
+
+
+	/**
+	 * @return the index of the token's first child, -1 if the token has no children
+	 */
+	public int getFirstChild(int index) {
+		return firstChildren[index];
+	}
+
+
+	/**
+	 * @return the index of the token's next sibling, -1 if the token is its parent's last child
+	 */
+	public int getNextSibling(int index) {
+		return nextSiblings[index];
+	}
+
+
+	public int getChildCount(int index) {
+		int count = 0;
+		for(int child = firstChildren[index]; child > -1; child = nextSiblings[child]) {
+			count++;
+		}
+		return count;
+	}
+
+
+	/**
+	 * @return the token's {@link CodeTokenFlag} bits
+	 */
+	public int getFlags(int index) {
+		return flags[index];
+	}
+
+
+	public boolean hasFlag(int index, int flag) {
+		return (flags[index] & flag) != 0;
+	}
+
+
+	/**
+	 * @return false if the token's flags prove that neither it nor any token inside it is a block modifier, see {@link CodeToken#mayContainBlockModifier()}
+	 */
+	public boolean mayContainBlockModifier(int index) {
+		return subtreeSummaryOf(index) != 0;
+	}
+
+
+	/**
+	 * @return the keyword matching the token's text, null if the token is not a keyword
+	 */
+	public Keyword getKeyword(int index) {
+		int ordinal = keywords[index];
+		return ordinal > -1 ? keywordValues[ordinal] : null;
+	}
+
+
+	/**
+	 * @return the operator matching the token's text, null if the token is not an operator
+	 */
+	public Operator getOperator(int index) {
+		int ordinal = operators[index];
+		return ordinal > -1 ? operatorValues[ordinal] : null;
+	}
+
+
+	/**
+	 * @return a new string containing the token's text
+	 */
+	public String getText(int index) {
+		return new String(src, starts[index], ends[index] - starts[index]);
+	}
+
+
+	/**
+	 * @return true if the token's text equals {@code str}, without creating a string
+	 */
+	public boolean textEquals(int index, String str) {
+		int start = starts[index];
+		int len = ends[index] - start;
+		if(len != str.length()) {
+			return false;
+		}
+		for(int i = 0; i < len; i++) {
+			if(src[start + i] != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * @return a cursor positioned at the document token
+	 */
+	public Cursor cursor() {
+		return new Cursor(0);
+	}
+
+
+	/** Create a {@link CodeToken} for one token in this table (token line and column numbers are -1, see {@link CodeFileSrc#getLineIndex(int)})
+	 */
+	public CodeToken createToken(int index) {
+		return new CodeToken(getType(index), new TextFragmentRefImpl(starts[index], ends[index], -1, -1, -1, -1), getText(index), flags[index], getKeyword(index), getOperator(index));
+	}
+
+
+	/** View this table as the same {@code SimpleTree<CodeToken>} the tree based tokenizer creates, for callers which require a tree.
+	 * Nodes are created the first time they are reached through {@link SimpleTree#getChildren()}, so subtrees which are never visited (i.e. method bodies) are never converted to objects
+	 * @return the {@link Node} for the document token
+	 */
+	public SimpleTree<CodeToken> toTree() {
+		return new Node(0);
+	}
+
+
+	/** Create a {@link CodeFileSrc} containing {@link #toTree()}
+	 * @param srcName optional
+	 */
+	public CodeFileSrc toCodeFileSrc(String srcName) {
+		return new CodeFileSrc(toTree(), srcName, src, srcOff, srcLen, lineStartOffsets, language);
+	}
+
+
+	@Override
+	public String toString() {
+		return "tokens: " + size + " (" + (src != null ? srcLen : 0) + " chars)";
+	}
+
+
+	/**
+	 * @return the {@link CodeTokenFlag#SUBTREE_BLOCK_MODIFIER} bit if the token may be or contain a block modifier, else 0
+	 */
+	private int subtreeSummaryOf(int index) {
+		return CodeTokenFlag.mayContainBlockModifier(flags[index], tokenTypes[types[index]].isCompound()) ? CodeTokenFlag.SUBTREE_BLOCK_MODIFIER : 0;
+	}
+
+
+	private int addEntry(CodeTokenType type, int start, int end, int tokenFlags, int keywordOrdinal, int operatorOrdinal) {
+		if(size == types.length) {
+			int capacity = size * 2;
+			types = Arrays.copyOf(types, capacity);
+			starts = Arrays.copyOf(starts, capacity);
+			ends = Arrays.copyOf(ends, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			firstChildren = Arrays.copyOf(firstChildren, capacity);
+			nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+			flags = Arrays.copyOf(flags, capacity);
+			keywords = Arrays.copyOf(keywords, capacity);
+			operators = Arrays.copyOf(operators, capacity);
+		}
+		int index = size;
+		types[index] = type.ordinal();
+		starts[index] = start;
+		ends[index] = end;
+		parents[index] = -1;
+		firstChildren[index] = -1;
+		nextSiblings[index] = -1;
+		flags[index] = tokenFlags;
+		keywords[index] = keywordOrdinal;
+		operators[index] = operatorOrdinal;
+		size++;
+		return index;
+	}
+
+
+
+
+	/** A movable position in a {@link CodeTokenTable}, used to walk the tokens without creating objects per token
+	 */
+	public class Cursor {
+		private int index;
+
+
+		Cursor(int index) {
+			this.index = index;
+		}
+
+
+		public int getIndex() {
+			return index;
+		}
+
+
+		public void moveTo(int index) {
+			this.index = index;
+		}
+
+
+		/** Move to the current token's first child
+		 * @return true if the token has children, false (and the cursor doesn't move) if not
+		 */
+		public boolean firstChild() {
+			int child = firstChildren[index];
+			if(child < 0) {
+				return false;
+			}
+			index = child;
+			return true;
+		}
+
+
+		/** Move to the current token's next sibling
+		 * @return true if there is a next sibling, false (and the cursor doesn't move) if not
+		 */
+		public boolean nextSibling() {
+			int sibling = nextSiblings[index];
+			if(sibling < 0) {
+				return false;
+			}
+			index = sibling;
+			return true;
+		}
+
+
+		/** Move to the current token's parent
+		 * @return true if the token has a parent, false (and the cursor doesn't move) if this is the document token
+		 */
+		public boolean parent() {
+			int parent = parents[index];
+			if(parent < 0) {
+				return false;
+			}
+			index = parent;
+			return true;
+		}
+
+
+		public CodeTokenType getType() {
+			return tokenTypes[types[index]];
+		}
+
+
+		public int getStart() {
+			return starts[index];
+		}
+
+
+		public int getEnd() {
+			return ends[index];
+		}
+
+
+		public int getFlags() {
+			return flags[index];
+		}
+
+
+		public boolean hasFlag(int flag) {
+			return (flags[index] & flag) != 0;
+		}
+
+
+		public boolean mayContainBlockModifier() {
+			return subtreeSummaryOf(index) != 0;
+		}
+
+
+		public boolean hasChildren() {
+			return firstChildren[index] > -1;
+		}
+
+
+		public Keyword getKeyword() {
+			return CodeTokenTable.this.getKeyword(index);
+		}
+
+
+		public Operator getOperator() {
+			return CodeTokenTable.this.getOperator(index);
+		}
+
+
+		public String getText() {
+			return CodeTokenTable.this.getText(index);
+		}
+
+
+		public boolean textEquals(String str) {
+			return CodeTokenTable.this.textEquals(index, str);
+		}
+
+
+		public Cursor copy() {
+			return new Cursor(index);
+		}
+
+
+		@Override
+		public String toString() {
+			return getType() + " '" + getText() + "' [" + getStart() + ", " + getEnd() + ")";
+		}
+
+	}
+
+
+
+
+	/** A {@code SimpleTree<CodeToken>} node for one token in a {@link CodeTokenTable}.
+	 * The node's {@link CodeToken} and child nodes are created the first time they are read and then reused,
+	 * so the same node instances are returned by repeated {@link #getChildren()} calls (extractors use nodes as keys).
+	 * Nodes are {@link SimpleTreeImpl}s, adding or removing children first creates the node's child nodes and then modifies them like any other tree,
+	 * the table itself is not modified
+	 */
+	public class Node extends SimpleTreeImpl<CodeToken> {
+		private final int index;
+		private CodeToken data;
+		private boolean childrenCreated;
+
+
+		Node(int index) {
+			super(null);
+			this.index = index;
+		}
+
+
+		/**
+		 * @return the index of this node's token in the table
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+
+		/**
+		 * @return the table this node's token belongs to
+		 */
+		public CodeTokenTable getTable() {
+			return CodeTokenTable.this;
+		}
+
+
+		@Override
+		public CodeToken getData() {
+			var token = data;
+			if(token == null) {
+				token = createToken(index);
+				data = token;
+			}
+			return token;
+		}
+
+
+		@Override
+		public boolean hasChildren() {
+			return childrenCreated ? super.hasChildren() : firstChildren[index] > -1;
+		}
+
+
+		@Override
+		public int size() {
+			return childrenCreated ? super.size() : getChildCount(index);
+		}
+
+
+		@Override
+		public ListReadOnly<SimpleTree<CodeToken>> getChildren() {
+			createChildren();
+			return super.getChildren();
+		}
+
+
+		@Override
+		public SimpleTreeImpl<CodeToken> addChild(CodeToken data) {
+			createChildren();
+			return super.addChild(data);
+		}
+
+
+		@Override
+		public SimpleTreeImpl<CodeToken> addChildTree(SimpleTreeImpl<CodeToken> tree) {
+			createChildren();
+			return super.addChildTree(tree);
+		}
+
+
+		@Override
+		public boolean removeChildRef(SimpleTree<CodeToken> child) {
+			createChildren();
+			return super.removeChildRef(child);
+		}
+
+
+		@Override
+		public String toString() {
+			return getData().toString();
+		}
+
+
+		private void createChildren() {
+			if(!childrenCreated) {
+				childrenCreated = true;
+				for(int child = firstChildren[index]; child > -1; child = nextSiblings[child]) {
+					super.addChildTree(new Node(child));
+				}
+			}
+		}
+
+	}
+
+}
@@ -1,11 +1,12 @@
 package twg2.parser.main;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import twg2.io.files.FileFormatException;
+import twg2.parser.codeParser.analytics.ParseTimes;
 import twg2.parser.codeParser.analytics.PerformanceTrackers;
 import twg2.parser.workflow.ParserWorkflow;
 
@@ -19,10 +20,15 @@ import twg2.parser.workflow.ParserWorkflow;
 public class MainParser {
 
 	public static void main(String[] args) throws IOException, FileFormatException {
+		// estimate when the JVM started relative to System.nanoTime(), includes JVM initialization and class loading before main()
+		long jvmStartNs = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1000000L;
+		long mainStartNs = System.nanoTime();
 		var parserWorkflow = ParserWorkflow.parseArgs(args);
 		int threads = parserWorkflow.getThreadCount();
 		boolean logPerformance = parserWorkflow.isDebug();
-		ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		var ioMode = parserWorkflow.getIoMode();
+		ExecutorService executor = ioMode.createExecutor(threads);
+		ExecutorService ioExecutor = ioMode.createIoExecutor();
 		PerformanceTrackers perfTracking = logPerformance ? new PerformanceTrackers() : null;
 
 		// TODO for VisualVM pause
@@ -30,7 +36,15 @@ public class MainParser {
 		//System.out.print("press enter to continue: ");
 		//in.nextLine();
 
-		parserWorkflow.run(Level.INFO, executor, perfTracking);
+		parserWorkflow.run(Level.INFO, executor, ioExecutor, perfTracking);
+
+		// parsed by test/twg2/parser/benchmark/StartupBenchmark.java
+		if(logPerformance) {
+			long firstFileNs = ParseCodeFile.firstFileParsedNs;
+			System.out.println("startup: main() " + ParseTimes.roundNsToMs(mainStartNs - jvmStartNs, 0) + " ms" +
+					", first file parsed " + (firstFileNs != 0 ? ParseTimes.roundNsToMs(firstFileNs - jvmStartNs, 0) : -1) + " ms" +
+					", total " + ParseTimes.roundNsToMs(System.nanoTime() - jvmStartNs, 0) + " ms (since JVM start)");
+		}
 
 		// TODO for VisualVM pause
 		//System.out.print("press enter to end: ");
@@ -44,8 +58,10 @@ public class MainParser {
 			System.out.println("CodeTokenizer frags=" + (twg2.parser.tokenizers.CodeTokenizer.Stats.parentFrags + twg2.parser.tokenizers.CodeTokenizer.Stats.frags) + " (parentFrags=" + twg2.parser.tokenizers.CodeTokenizer.Stats.parentFrags + ", frags=" + twg2.parser.tokenizers.CodeTokenizer.Stats.frags + ")");
 			System.out.println("BlockExtractor.acceptNext() cnt=" + twg2.parser.codeParser.extractors.BlockExtractor.acceptNextCalls);
 			System.out.println("TypeExtractor.isPossiblyType() cnt=" + twg2.parser.codeParser.extractors.TypeExtractor.isPossiblyType);
-			System.out.println("CsBlockParser tree cnt=" + twg2.parser.codeParser.csharp.CsBlockParser.treeCount);
+			System.out.println("CsBlockParser tree cnt=" + twg2.parser.codeParser.csharp.CsBlockParser.treeCount + " (pruned=" + twg2.parser.codeParser.csharp.CsBlockParser.prunedTreeCount + ")");
 			System.out.println("CsBlockParser loop cnt=" + twg2.parser.codeParser.csharp.CsBlockParser.blockLoopCount);
+			System.out.println("JavaBlockParser tree cnt=" + twg2.parser.codeParser.java.JavaBlockParser.treeCount + " (pruned=" + twg2.parser.codeParser.java.JavaBlockParser.prunedTreeCount + ")");
+			System.out.println("JavaBlockParser loop cnt=" + twg2.parser.codeParser.java.JavaBlockParser.blockLoopCount);
 			System.out.println("AnnotationExtractor accept token cnt=" + (twg2.parser.codeParser.csharp.CsAnnotationExtractor.acceptNextCalls + twg2.parser.codeParser.java.JavaAnnotationExtractor.acceptNextCalls) + " (c#=" + twg2.parser.codeParser.csharp.CsAnnotationExtractor.acceptNextCalls + ", Java=" + twg2.parser.codeParser.java.JavaAnnotationExtractor.acceptNextCalls + ")");
 
 			System.out.println("\n==== Parse Timings (slowest 10 in millis) ====");
@@ -56,6 +72,11 @@ public class MainParser {
 			perfData = perfTracking.getTopParseActions(true, -10);
 			System.out.println(PerformanceTrackers.toString(perfData));
 
+			System.out.println("\n==== Top Allocators (most 10, thread allocated bytes and CPU time) ====");
+			System.out.println(perfTracking.toAllocationSummary());
+			perfData = perfTracking.getTopAllocators(false, 10);
+			System.out.println(PerformanceTrackers.toAllocationString(perfData));
+
 			//System.out.println("\n==== All Performance Data ====\n");
 			//var writeSettings = new twg2.parser.output.WriteSettings(true, false, false, true);
 			//perfTracking.toJson(System.out, writeSettings);
@@ -64,6 +85,9 @@ public class MainParser {
 		if(executor != null) {
 			executor.shutdown();
 		}
+		if(ioExecutor != null) {
+			ioExecutor.shutdown();
+		}
 	}
 
 
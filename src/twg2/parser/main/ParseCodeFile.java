@@ -3,6 +3,7 @@ package twg2.parser.main;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -12,6 +13,7 @@ import java.util.List;
 import twg2.io.files.FileFormatException;
 import twg2.io.files.FileReadUtil;
 import twg2.io.json.Json;
+import twg2.parser.codeParser.analytics.ParseEvents;
 import twg2.parser.codeParser.analytics.ParseTimes;
 import twg2.parser.codeParser.analytics.PerformanceTrackers;
 import twg2.parser.codeParser.analytics.ParserActionLogger;
@@ -27,6 +29,9 @@ import twg2.text.stringUtils.StringSplit;
  * @since 2015-11-22
  */
 public class ParseCodeFile {
+	/** {@link System#nanoTime()} when the first call to {@link #parseFile(File, FileReadUtil, PerformanceTrackers)} completed, 0 until then,
+	 * read by {@link MainParser} to print startup times with '-debug' */
+	static volatile long firstFileParsedNs;
 
 	public static List<CodeFileSrc> parseFiles(List<Path> files, FileReadUtil fileReader, PerformanceTrackers perfTracking) throws IOException {
 		var parsedFiles = new ArrayList<CodeFileSrc>(files.size());
@@ -42,15 +47,36 @@ public class ParseCodeFile {
 
 
 	public static CodeFileSrc parseFile(File file, FileReadUtil fileReader, PerformanceTrackers perfTracking) throws IOException {
+		return parseFile(file, new FileInputStream(file), fileReader, perfTracking);
+	}
+
+
+	/** Parse a file's contents from an input stream, i.e. a {@link java.io.ByteArrayInputStream} of contents already read on another thread
+	 * @param file the file, used for the source name and to pick the language from the file extension
+	 * @param input the file's contents
+	 */
+	public static CodeFileSrc parseFile(File file, InputStream input, FileReadUtil fileReader, PerformanceTrackers perfTracking) throws IOException {
 		String fileStr = file.toString();
 		var perfTracker = perfTracking != null ? perfTracking.getOrCreateParseTimes(fileStr) : null;
 		var stepsTracker = perfTracking != null ? perfTracking.getOrCreateParseActions(fileStr) : null;
 		long start = (perfTracker != null ? System.nanoTime() : 0);
+		long cpuStart = (perfTracker != null ? ParseTimes.currentThreadCpuNs() : 0);
+		long allocStart = (perfTracker != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
+		var readEvent = new ParseEvents.FileRead();
+		readEvent.begin();
 
-		char[] src = fileReader.readChars(new FileInputStream(file));
+		char[] src = fileReader.readChars(input);
 
 		if(perfTracker != null) {
 			perfTracker.setTimeRead(System.nanoTime() - start);
+			perfTracker.setThreadUsageRead(ParseTimes.currentThreadCpuNs() - cpuStart, ParseTimes.currentThreadAllocatedBytes() - allocStart);
+		}
+		readEvent.end();
+		if(readEvent.shouldCommit()) {
+			readEvent.file = fileStr;
+			readEvent.bytes = file.length();
+			readEvent.chars = src.length;
+			readEvent.commit();
 		}
 
 		if(perfTracking != null) { perfTracking.setSrcSize(fileStr, src.length); }
@@ -60,6 +86,9 @@ public class ParseCodeFile {
 		var lang = CodeLanguageOptions.tryFromFileExtension(fileExt);
 		if(lang != null) {
 			var parsedFileInfo = parseCode(fileStr, lang, src, 0, src.length, perfTracker, stepsTracker);
+			if(firstFileParsedNs == 0) {
+				firstFileParsedNs = System.nanoTime();
+			}
 			return parsedFileInfo;
 		}
 		else {
@@ -1,37 +1,72 @@
 package twg2.parser.main;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import twg2.ast.interm.classes.ClassAst;
+import twg2.ast.interm.classes.ClassSigSimple;
 import twg2.dataUtil.dataUtils.ParallelWork;
 import twg2.dataUtil.dataUtils.ParallelWork.WorkBlockPolicy;
 import twg2.io.files.FileFormatException;
 import twg2.io.files.FileReadUtil;
 import twg2.parser.codeParser.AstExtractor;
 import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.analytics.ParseEvents;
+import twg2.parser.codeParser.analytics.ParseTimes;
 import twg2.parser.codeParser.analytics.PerformanceTrackers;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.codeParser.csharp.CsKeyword;
+import twg2.parser.codeParser.java.JavaBlock;
+import twg2.parser.codeParser.java.JavaKeyword;
+import twg2.parser.codeParser.tools.NamespaceHeaderScanner;
 import twg2.parser.fragment.CodeToken;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.output.ModelPart;
 import twg2.parser.project.ProjectClassSet;
 import twg2.parser.tokenizers.CodeTreeToSource;
+import twg2.parser.workflow.AdaptiveThreadPool;
 import twg2.parser.workflow.CodeFileParsed;
 import twg2.parser.workflow.CodeFileSrc;
+import twg2.parser.workflow.ProgressReporter;
 import twg2.text.stringUtils.StringJoin;
+import twg2.text.stringUtils.StringSplit;
 import twg2.treeLike.TreeTraversalOrder;
 import twg2.treeLike.simpleTree.SimpleTree;
 import twg2.treeLike.simpleTree.SimpleTreeUtil;
+import twg2.tuple.Tuples;
 
 /**
  * @author TeamworkGuy2
  * @since 2015-12-8
  */
 public class ParserMisc {
+	/** The maximum number of files read, but not yet tokenized, at a time by {@link #parseFileSet(List, ProjectClassSet.Intermediate, ExecutorService, ExecutorService, ThreadLocal, PerformanceTrackers)} */
+	public static int maxReadsInFlight = 256;
+	/** The number of chars {@link #prescanFileSet(List, Collection, boolean, ExecutorService)} first reads from each file to find its namespace/package declaration,
+	 * doubled until the declaration is found */
+	public static int prescanReadChars = 4096;
 
 
 	public static void printParseFileInfo(String fileName, CodeFileSrc parsedFile, boolean printParsedTokens, boolean printUnparsedSrcCode,
@@ -82,15 +117,28 @@ public class ParserMisc {
 
 	public static <T_BLOCK extends BlockType> void parseFileSet(List<Path> paths, ProjectClassSet.Intermediate<T_BLOCK> dstFileSet,
 			ExecutorService executor, ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking) throws IOException, FileFormatException {
+		parseFileSet(paths, dstFileSet, executor, fileReader, perfTracking, ModelPart.ALL, null);
+	}
+
+
+	/** Parse a set of files, only extracting the given parts of each class
+	 * @param parts the parts of each class to extract, see {@link AstExtractor#extractClassFieldsAndMethodSignatures(SimpleTree, Set)}
+	 * @param progress optional, the reporter updated as each file is parsed
+	 */
+	public static <T_BLOCK extends BlockType> void parseFileSet(List<Path> paths, ProjectClassSet.Intermediate<T_BLOCK> dstFileSet,
+			ExecutorService executor, ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking, Set<ModelPart> parts, ProgressReporter progress) throws IOException, FileFormatException {
 		@SuppressWarnings("unchecked")
 		var dstFiles = (ProjectClassSet.Intermediate<BlockType>)dstFileSet;
 
 		if(executor != null) {
 			var dst = new ArrayList<CodeFileParsed.Intermediate<BlockType>>();
 			var processedFiles = new HashSet<Path>();
+			// an adaptive pool needs smaller tasks so thread count changes take effect and measures each file
+			var adaptivePool = executor instanceof AdaptiveThreadPool ? (AdaptiveThreadPool)executor : null;
+			int blockSize = adaptivePool != null ? adaptivePool.getTaskFileCount(paths.size(), 40) : 40;
 
 			// TODO should add a consumeBlocks or similar function, since we don't have a result to return
-			ParallelWork.transformBlocks(WorkBlockPolicy.newFixedBlockSize(40, executor), paths, (path) -> {
+			ParallelWork.transformBlocks(WorkBlockPolicy.newFixedBlockSize(blockSize, executor), paths, (path) -> {
 				synchronized(processedFiles) {
 					if(processedFiles.contains(path)) {
 						System.err.println("already parsed '" + path + "'");
@@ -100,13 +148,22 @@ public class ParserMisc {
 				try {
 					File file = path.toFile();
 					var perfTracker = perfTracking != null ? perfTracking.getOrCreateParseTimes(file.toString()) : null;
+					long cpuStart = adaptivePool != null ? adaptivePool.fileStarted() : 0;
 
 					CodeFileSrc parsedFile = ParseCodeFile.parseFile(file, fileReader.get(), perfTracking);
 
 					long start = (perfTracking != null ? System.nanoTime() : 0);
+					long extractCpuStart = (perfTracking != null ? ParseTimes.currentThreadCpuNs() : 0);
+					long extractAllocStart = (perfTracking != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
 
+					var extractEvent = new ParseEvents.ExtractBlocks();
+					extractEvent.begin();
 					@SuppressWarnings("unchecked")
-					List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>> blockDeclarations = ((AstExtractor<BlockType>)parsedFile.language.getExtractor()).extractClassFieldsAndMethodSignatures(parsedFile.astTree);
+					List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>> blockDeclarations = ((AstExtractor<BlockType>)parsedFile.language.getExtractor()).extractClassFieldsAndMethodSignatures(parsedFile.astTree, parts);
+					commitExtractEvent(extractEvent, parsedFile, blockDeclarations.size());
+					if(progress != null) {
+						progress.fileParsed(parsedFile.srcLen, blockDeclarations.size());
+					}
 
 					for(var block : blockDeclarations) {
 						var fileParsed = new CodeFileParsed.Intermediate<>(parsedFile, block.getValue(), block.getKey());
@@ -117,6 +174,10 @@ public class ParserMisc {
 
 					if(perfTracker != null) {
 						perfTracker.setTimeExtractAst(System.nanoTime() - start);
+						perfTracker.setThreadUsageExtractAst(ParseTimes.currentThreadCpuNs() - extractCpuStart, ParseTimes.currentThreadAllocatedBytes() - extractAllocStart);
+					}
+					if(adaptivePool != null) {
+						adaptivePool.fileCompleted(cpuStart, parsedFile.srcLen);
 					}
 
 					return parsedFile;
@@ -141,9 +202,17 @@ public class ParserMisc {
 
 				try {
 					long start = (perfTracking != null ? System.nanoTime() : 0);
+					long extractCpuStart = (perfTracking != null ? ParseTimes.currentThreadCpuNs() : 0);
+					long extractAllocStart = (perfTracking != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
 
+					var extractEvent = new ParseEvents.ExtractBlocks();
+					extractEvent.begin();
 					@SuppressWarnings("unchecked")
-					List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>> blockDeclarations = ((AstExtractor<BlockType>)parsedFile.language.getExtractor()).extractClassFieldsAndMethodSignatures(parsedFile.astTree);
+					List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>> blockDeclarations = ((AstExtractor<BlockType>)parsedFile.language.getExtractor()).extractClassFieldsAndMethodSignatures(parsedFile.astTree, parts);
+					commitExtractEvent(extractEvent, parsedFile, blockDeclarations.size());
+					if(progress != null) {
+						progress.fileParsed(parsedFile.srcLen, blockDeclarations.size());
+					}
 
 					for(var block : blockDeclarations) {
 						var fileParsed = new CodeFileParsed.Intermediate<>(parsedFile, block.getValue(), block.getKey());
@@ -152,6 +221,7 @@ public class ParserMisc {
 
 					if(perfTracker != null) {
 						perfTracker.setTimeExtractAst(System.nanoTime() - start);
+						perfTracker.setThreadUsageExtractAst(ParseTimes.currentThreadCpuNs() - extractCpuStart, ParseTimes.currentThreadAllocatedBytes() - extractAllocStart);
 					}
 				} catch(Exception e) {
 					throw new FileFormatException(parsedFile.srcName, null, e);
@@ -160,4 +230,278 @@ public class ParserMisc {
 		}
 	}
 
+
+
+	/** Parse a set of files, reading each file on {@code ioExecutor} (i.e. virtual threads, so many blocking reads can be in flight on
+	 * a network mounted or cold cache checkout) and tokenizing and extracting it on {@code executor} (a platform thread pool sized to the CPU work).
+	 * At most {@link #maxReadsInFlight} files are read but not yet parsed at a time.
+	 * Compilation units are added to {@code dstFileSet} in {@code paths} order.
+	 * Same as {@link #parseFileSet(List, ProjectClassSet.Intermediate, ExecutorService, ThreadLocal, PerformanceTrackers)} if either executor is null.
+	 * @param ioExecutor optional, the executor which reads the files
+	 */
+	public static <T_BLOCK extends BlockType> void parseFileSet(List<Path> paths, ProjectClassSet.Intermediate<T_BLOCK> dstFileSet,
+			ExecutorService executor, ExecutorService ioExecutor, ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking) throws IOException, FileFormatException {
+		parseFileSet(paths, dstFileSet, executor, ioExecutor, fileReader, perfTracking, ModelPart.ALL, null);
+	}
+
+
+	/** Same as {@link #parseFileSet(List, ProjectClassSet.Intermediate, ExecutorService, ExecutorService, ThreadLocal, PerformanceTrackers)},
+	 * only extracting the given parts of each class
+	 * @param parts the parts of each class to extract, see {@link AstExtractor#extractClassFieldsAndMethodSignatures(SimpleTree, Set)}
+	 * @param progress optional, the reporter updated as each file is parsed
+	 */
+	public static <T_BLOCK extends BlockType> void parseFileSet(List<Path> paths, ProjectClassSet.Intermediate<T_BLOCK> dstFileSet,
+			ExecutorService executor, ExecutorService ioExecutor, ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking, Set<ModelPart> parts,
+			ProgressReporter progress) throws IOException, FileFormatException {
+		if(executor == null || ioExecutor == null) {
+			parseFileSet(paths, dstFileSet, executor, fileReader, perfTracking, parts, progress);
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		var dstFiles = (ProjectClassSet.Intermediate<BlockType>)dstFileSet;
+		var readsInFlight = new Semaphore(maxReadsInFlight);
+		var adaptivePool = executor instanceof AdaptiveThreadPool ? (AdaptiveThreadPool)executor : null;
+		var tasks = new ArrayList<CompletableFuture<List<CodeFileParsed.Intermediate<BlockType>>>>(paths.size());
+
+		for(var path : paths) {
+			var task = CompletableFuture.supplyAsync(() -> {
+				readsInFlight.acquireUninterruptibly();
+				try {
+					long start = System.nanoTime();
+					var readEvent = new ParseEvents.BlockingRead();
+					readEvent.begin();
+					byte[] bytes = Files.readAllBytes(path);
+					readEvent.end();
+					if(readEvent.shouldCommit()) {
+						readEvent.file = path.toString();
+						readEvent.bytes = bytes.length;
+						readEvent.commit();
+					}
+					return Tuples.of(bytes, System.nanoTime() - start);
+				} catch(IOException e) {
+					readsInFlight.release();
+					throw new UncheckedIOException(e);
+				}
+			}, ioExecutor).thenApplyAsync((read) -> {
+				try {
+					File file = path.toFile();
+					long cpuStart = adaptivePool != null ? adaptivePool.fileStarted() : 0;
+					CodeFileSrc parsedFile = ParseCodeFile.parseFile(file, new ByteArrayInputStream(read.getKey()), fileReader.get(), perfTracking);
+
+					var perfTracker = perfTracking != null ? perfTracking.getOrCreateParseTimes(file.toString()) : null;
+					if(perfTracker != null) {
+						// blocking read time plus decode time
+						perfTracker.setTimeRead(read.getValue() + perfTracker.getReadNs());
+					}
+
+					long start = (perfTracking != null ? System.nanoTime() : 0);
+					long extractCpuStart = (perfTracking != null ? ParseTimes.currentThreadCpuNs() : 0);
+					long extractAllocStart = (perfTracking != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
+
+					var extractEvent = new ParseEvents.ExtractBlocks();
+					extractEvent.begin();
+					@SuppressWarnings("unchecked")
+					List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>> blockDeclarations = ((AstExtractor<BlockType>)parsedFile.language.getExtractor()).extractClassFieldsAndMethodSignatures(parsedFile.astTree, parts);
+					commitExtractEvent(extractEvent, parsedFile, blockDeclarations.size());
+					if(progress != null) {
+						progress.fileParsed(parsedFile.srcLen, blockDeclarations.size());
+					}
+
+					var res = new ArrayList<CodeFileParsed.Intermediate<BlockType>>(blockDeclarations.size());
+					for(var block : blockDeclarations) {
+						res.add(new CodeFileParsed.Intermediate<>(parsedFile, block.getValue(), block.getKey()));
+					}
+
+					if(perfTracker != null) {
+						perfTracker.setTimeExtractAst(System.nanoTime() - start);
+						perfTracker.setThreadUsageExtractAst(ParseTimes.currentThreadCpuNs() - extractCpuStart, ParseTimes.currentThreadAllocatedBytes() - extractAllocStart);
+					}
+					if(adaptivePool != null) {
+						adaptivePool.fileCompleted(cpuStart, parsedFile.srcLen);
+					}
+					return res;
+				} catch(IOException e) {
+					throw new UncheckedIOException(e);
+				} finally {
+					readsInFlight.release();
+				}
+			}, executor);
+			tasks.add(task);
+		}
+
+		for(int i = 0, size = tasks.size(); i < size; i++) {
+			List<CodeFileParsed.Intermediate<BlockType>> fileRes;
+			try {
+				fileRes = tasks.get(i).join();
+			} catch(CompletionException e) {
+				var cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+				throw new FileFormatException(paths.get(i).toString(), null, cause);
+			}
+			for(var res : fileRes) {
+				dstFiles.addCompilationUnit(res.parsedClass.getSignature().getFullName(), res);
+			}
+		}
+	}
+
+
+	private static void commitExtractEvent(ParseEvents.ExtractBlocks event, CodeFileSrc parsedFile, int classes) {
+		event.end();
+		if(event.shouldCommit()) {
+			event.file = parsedFile.srcName;
+			event.chars = parsedFile.srcLen;
+			event.classes = classes;
+			event.commit();
+		}
+	}
+
+
+	/** Scan the namespace/package declaration of each C# and Java file (without tokenizing) and remove the files which cannot contain classes in any of the {@code namespaces}.
+	 * Files in other languages are always kept.
+	 * @param namespaces namespace prefixes, matched the same way as {@link ProjectClassSet#getCompilationUnitsStartWith(List)}
+	 * @param indexSkippedTypes true to scan the entire contents of skipped files and return stub entries (name and declaration only) for the types they declare,
+	 * so that references to them can still be resolved, else only the start of each file, up to its first namespace/package declaration, is read
+	 * (plus the rest of skipped C# files, which may declare more namespaces), see {@link #prescanReadChars}
+	 * @param executor optional, if non-null, files are scanned in parallel
+	 * @return the files to parse and the stub entries for the types declared in skipped files (empty if {@code indexSkippedTypes} is false)
+	 */
+	public static Entry<List<Path>, List<CodeFileParsed.Intermediate<BlockType>>> prescanFileSet(List<Path> paths, Collection<String> namespaces, boolean indexSkippedTypes,
+			ExecutorService executor) throws IOException {
+		// null = file must be parsed, else the type stubs for a skipped file
+		var results = new ArrayList<List<CodeFileParsed.Intermediate<BlockType>>>(paths.size());
+
+		if(executor == null) {
+			for(var path : paths) {
+				results.add(prescanFile(path, namespaces, indexSkippedTypes));
+			}
+		}
+		else {
+			var tasks = new ArrayList<Future<List<CodeFileParsed.Intermediate<BlockType>>>>(paths.size());
+			for(var path : paths) {
+				tasks.add(executor.submit(() -> prescanFile(path, namespaces, indexSkippedTypes)));
+			}
+
+			for(var task : tasks) {
+				try {
+					results.add(task.get());
+				} catch(InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted while prescanning files", ie);
+				} catch(ExecutionException ee) {
+					var cause = ee.getCause();
+					if(cause instanceof IOException) {
+						throw (IOException)cause;
+					}
+					throw new RuntimeException(cause);
+				}
+			}
+		}
+
+		var parsePaths = new ArrayList<Path>();
+		var indexedTypes = new ArrayList<CodeFileParsed.Intermediate<BlockType>>();
+		for(int i = 0, size = paths.size(); i < size; i++) {
+			var res = results.get(i);
+			if(res == null) {
+				parsePaths.add(paths.get(i));
+			}
+			else {
+				indexedTypes.addAll(res);
+			}
+		}
+
+		return Tuples.of(parsePaths, indexedTypes);
+	}
+
+
+	/**
+	 * @return null if the file must be parsed, else a (possibly empty) list of type stubs for the types declared in the skipped file
+	 */
+	private static List<CodeFileParsed.Intermediate<BlockType>> prescanFile(Path path, Collection<String> namespaces, boolean indexSkippedTypes) throws IOException {
+		File file = path.toFile();
+		CodeLanguage lang = CodeLanguageOptions.tryFromFileExtension(StringSplit.lastMatch(file.getName(), '.'));
+		boolean isJava = lang == CodeLanguageOptions.JAVA;
+		if(lang != CodeLanguageOptions.C_SHARP && !isJava) {
+			return null;
+		}
+
+		char[] src = new char[prescanReadChars];
+		int srcLen = 0;
+		try(var reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+			// only read until the first namespace/package declaration, files which are parsed are read again by the parse step
+			boolean eof = false;
+			NamespaceHeaderScanner.Result scan;
+			while(true) {
+				int read = reader.read(src, srcLen, src.length - srcLen);
+				eof = read < 0;
+				if(!eof) {
+					srcLen += read;
+				}
+				if(eof || srcLen == src.length) {
+					scan = NamespaceHeaderScanner.scan(src, 0, srcLen, isJava, false);
+					if(eof || scan.firstDeclarationEnd > -1) {
+						break;
+					}
+					src = Arrays.copyOf(src, src.length * 2);
+				}
+			}
+
+			if(scan.canContainAny(namespaces)) {
+				return null;
+			}
+
+			if(isJava && !indexSkippedTypes) {
+				return Collections.emptyList();
+			}
+
+			// C# files may contain multiple namespaces and skipped types are indexed from the entire file, read the rest of it
+			while(!eof) {
+				if(srcLen == src.length) {
+					src = Arrays.copyOf(src, src.length * 2);
+				}
+				int read = reader.read(src, srcLen, src.length - srcLen);
+				eof = read < 0;
+				if(!eof) {
+					srcLen += read;
+				}
+			}
+		}
+
+		// the full scan might find a namespace which is needed
+		var fullScan = NamespaceHeaderScanner.scan(src, 0, srcLen, isJava, true);
+		if(fullScan.canContainAny(namespaces)) {
+			return null;
+		}
+
+		if(!indexSkippedTypes) {
+			return Collections.emptyList();
+		}
+
+		var fileId = new CodeFileSrc(null, file.toString(), null, 0, 0, null, lang);
+		var stubs = new ArrayList<CodeFileParsed.Intermediate<BlockType>>(fullScan.typeNames.size());
+		for(int i = 0, size = fullScan.typeNames.size(); i < size; i++) {
+			var typeKeyword = fullScan.typeKeywords.get(i);
+			var sig = new ClassSigSimple(fullScan.typeNames.get(i), Collections.emptyList(), isJava ? JavaKeyword.PUBLIC : CsKeyword.PUBLIC, Collections.emptyList(), typeKeyword, Collections.emptyList());
+			var classAst = new ClassAst.SimpleImpl<BlockType>(sig, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), null, toStubBlockType(typeKeyword, isJava));
+			stubs.add(new CodeFileParsed.Intermediate<>(fileId, classAst, null));
+		}
+		return stubs;
+	}
+
+
+	/**
+	 * @return the block type of a type declared by {@code typeKeyword} (see {@link NamespaceHeaderScanner.Result#typeKeywords}), records are classes
+	 */
+	private static BlockType toStubBlockType(String typeKeyword, boolean isJava) {
+		switch(typeKeyword) {
+		case "interface":
+			return isJava ? JavaBlock.INTERFACE : CsBlock.INTERFACE;
+		case "enum":
+			return isJava ? JavaBlock.ENUM : CsBlock.ENUM;
+		case "struct":
+			return CsBlock.STRUCT;
+		default:
+			return isJava ? JavaBlock.CLASS : CsBlock.CLASS;
+		}
+	}
+
 }
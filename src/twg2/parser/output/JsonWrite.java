@@ -0,0 +1,122 @@
+package twg2.parser.output;
+
+import java.io.IOException;
+import java.util.List;
+
+import twg2.text.stringEscape.StringEscapeJson;
+
+/** Allocation free JSON writing helpers for the {@link JsonWritableSig#toJson(Appendable, WriteSettings)} implementations.
+ * Values are escaped and appended directly to the destination instead of building temporary strings
+ * (i.e. a fully qualifying name is written part by part rather than joined first), numbers use {@link StringBuilder#append(int)}
+ * when the destination is a {@link StringBuilder}.
+ * Properties are written in the same '"name": value' format as {@link twg2.io.json.stringify.JsonStringify}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class JsonWrite {
+
+	private JsonWrite() { throw new AssertionError("cannot instantiate static class JsonWrite"); }
+
+
+	/** Write a property name followed by a colon, i.e. '"name": '.
+	 * The name is appended as is, it must be a constant which does not need JSON escaping, see {@link #toEscapedProp(String, String, Appendable)}
+	 */
+	public static void propName(String name, Appendable dst) throws IOException {
+		dst.append('"').append(name).append("\": ");
+	}
+
+
+	/** Write a string property, i.e. '"name": "value"'
+	 */
+	public static void toProp(String name, String value, Appendable dst) throws IOException {
+		propName(name, dst);
+		toString(value, dst);
+	}
+
+
+	/** Write a string property with a name which is not a constant (i.e. a source code identifier), escaping both the name and value, i.e. '"name": "value"'
+	 */
+	public static void toEscapedProp(String name, String value, Appendable dst) throws IOException {
+		toString(name, dst);
+		dst.append(": ");
+		toString(value, dst);
+	}
+
+
+	/** Write a fully qualifying name property, i.e. '"name": "a.b.C"', without joining the name parts first
+	 */
+	public static void toPropFqName(String name, List<String> fullName, Appendable dst) throws IOException {
+		propName(name, dst);
+		dst.append('"');
+		for(int i = 0, size = fullName.size(); i < size; i++) {
+			if(i > 0) {
+				dst.append('.');
+			}
+			StringEscapeJson.toJsonString(fullName.get(i), dst);
+		}
+		dst.append('"');
+	}
+
+
+	/** Write a name property, either the fully qualifying name or only the simple (last) name, i.e. '"name": "a.b.C"' or '"name": "C"'
+	 */
+	public static void toPropName(String name, List<String> fullName, boolean fullyQualifying, Appendable dst) throws IOException {
+		if(fullyQualifying) {
+			toPropFqName(name, fullName, dst);
+		}
+		else {
+			toProp(name, fullName.get(fullName.size() - 1), dst);
+		}
+	}
+
+
+	/** Write an int property, i.e. '"name": 3'
+	 */
+	public static void toProp(String name, int value, Appendable dst) throws IOException {
+		propName(name, dst);
+		toNumber(value, dst);
+	}
+
+
+	/** Write a boolean property, i.e. '"name": true'
+	 */
+	public static void toProp(String name, boolean value, Appendable dst) throws IOException {
+		propName(name, dst);
+		dst.append(value ? "true" : "false");
+	}
+
+
+	/** Write a quoted and escaped string
+	 */
+	public static void toString(String value, Appendable dst) throws IOException {
+		dst.append('"');
+		StringEscapeJson.toJsonString(value, dst);
+		dst.append('"');
+	}
+
+
+	/** Write an int without creating a string
+	 */
+	public static void toNumber(int value, Appendable dst) throws IOException {
+		if(dst instanceof StringBuilder) {
+			((StringBuilder)dst).append(value);
+			return;
+		}
+		if(value < 0) {
+			if(value == Integer.MIN_VALUE) {
+				dst.append("-2147483648");
+				return;
+			}
+			dst.append('-');
+			value = -value;
+		}
+		int divisor = 1;
+		while(value / divisor >= 10) {
+			divisor *= 10;
+		}
+		for(; divisor > 0; divisor /= 10) {
+			dst.append((char)('0' + (value / divisor) % 10));
+		}
+	}
+
+}
@@ -0,0 +1,56 @@
+package twg2.parser.output;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/** The optional parts of a class model which a destination can include, class signatures are always included.
+ * The union of the parts needed by every destination is pushed down by {@code ParserWorkflow} so parts which no destination needs
+ * are not extracted ({@link twg2.parser.codeParser.AstExtractor#extractClassFieldsAndMethodSignatures(twg2.treeLike.simpleTree.SimpleTree, Set)}) or resolved.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public enum ModelPart {
+	/** Field and method doc comments */
+	COMMENTS,
+	/** Field, method, parameter, and class annotations */
+	ANNOTATIONS,
+	/** Class fields */
+	FIELDS,
+	/** Class methods */
+	METHODS,
+	/** Field initializer values/expressions */
+	INITIALIZERS,
+	/** Enum members */
+	ENUM_MEMBERS;
+
+	/** Every part, the default */
+	public static final Set<ModelPart> ALL = Collections.unmodifiableSet(EnumSet.allOf(ModelPart.class));
+
+
+	/** Parse a part name, i.e. 'fields' or 'enumMembers' (case insensitive, '_' optional)
+	 */
+	public static ModelPart parse(String str, String argName) {
+		var name = str.trim().replace("_", "");
+		for(var part : values()) {
+			if(part.name().replace("_", "").equalsIgnoreCase(name)) {
+				return part;
+			}
+		}
+		throw new IllegalArgumentException("'" + argName + "' model part should be one of 'comments', 'annotations', 'fields', 'methods', 'initializers', or 'enumMembers', found '" + str + "'");
+	}
+
+
+	/**
+	 * @return the union of the parts in {@code partSets}, an empty set if there are none
+	 */
+	public static Set<ModelPart> union(Collection<? extends Set<ModelPart>> partSets) {
+		var res = EnumSet.noneOf(ModelPart.class);
+		for(var parts : partSets) {
+			res.addAll(parts);
+		}
+		return res;
+	}
+
+}
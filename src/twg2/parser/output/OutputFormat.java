@@ -0,0 +1,76 @@
+package twg2.parser.output;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/** Destination file formats supported by {@link twg2.parser.workflow.ParserWorkflow.WriteResult}.
+ * The format of a destination is chosen by its file extension, see {@link #fromFileName(String)}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public enum OutputFormat {
+	/** Text JSON, the default for any file extension not associated with another format */
+	JSON(".json"),
+	/** Jackson's binary JSON format, same data model as {@link #JSON} but smaller and faster to read */
+	SMILE(".smile");
+
+
+	private final String fileExtension;
+
+
+	OutputFormat(String fileExtension) {
+		this.fileExtension = fileExtension;
+	}
+
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+
+	public boolean isBinary() {
+		return this != JSON;
+	}
+
+
+	/**
+	 * @return a thread-safe, shared, Jackson factory for reading and writing this format
+	 */
+	public JsonFactory getJsonFactory() {
+		switch(this) {
+		case JSON: return Factories.json;
+		// separate holder so the Smile library is only loaded if a Smile destination is used
+		case SMILE: return SmileFactories.smile;
+		default: throw new IllegalStateException("unknown output format " + this);
+		}
+	}
+
+
+	/**
+	 * @return the output format associated with the {@code fileName}'s extension (case insensitive), or {@link #JSON} if none match
+	 */
+	public static OutputFormat fromFileName(String fileName) {
+		String lowerName = fileName.toLowerCase();
+		for(var format : values()) {
+			if(lowerName.endsWith(format.fileExtension)) {
+				return format;
+			}
+		}
+		return JSON;
+	}
+
+
+
+
+	static class Factories {
+		static final JsonFactory json = new JsonFactory();
+	}
+
+
+
+
+	static class SmileFactories {
+		static final JsonFactory smile = new SmileFactory();
+	}
+
+}
@@ -0,0 +1,56 @@
+package twg2.parser.output;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import twg2.io.files.FileFormatException;
+
+/** Reads destination files written by {@link twg2.parser.workflow.ParserWorkflow.WriteResult} in any {@link OutputFormat}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ParsedOutputReader {
+
+	private ParsedOutputReader() { throw new AssertionError("cannot instantiate static class ParsedOutputReader"); }
+
+
+	/** Read a destination file, the {@link OutputFormat} is determined from the file name
+	 * @return map of fully qualifying class names to their JSON trees, in file order
+	 */
+	public static Map<String, JsonNode> readClasses(Path file) throws IOException, FileFormatException {
+		var format = OutputFormat.fromFileName(file.getFileName().toString());
+		try(var input = Files.newInputStream(file)) {
+			return readClasses(input, format, file.toString());
+		}
+	}
+
+
+	/** Read destination data in the specified format
+	 * @param srcName the name of the input, used in error messages
+	 * @return map of fully qualifying class names to their JSON trees, in input order
+	 */
+	public static Map<String, JsonNode> readClasses(InputStream input, OutputFormat format, String srcName) throws IOException, FileFormatException {
+		var mapper = new ObjectMapper(format.getJsonFactory());
+		JsonNode root = mapper.readTree(input);
+		JsonNode files = root != null ? root.get("files") : null;
+		if(files == null || !files.isObject()) {
+			throw new FileFormatException(srcName, "expected an object with a 'files' property", null);
+		}
+
+		var res = new LinkedHashMap<String, JsonNode>();
+		for(Iterator<Map.Entry<String, JsonNode>> it = files.fields(); it.hasNext(); ) {
+			var entry = it.next();
+			res.put(entry.getKey(), entry.getValue());
+		}
+		return res;
+	}
+
+}
@@ -1,5 +1,8 @@
 package twg2.parser.output;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /** Code AST serialization settings
  * @author TeamworkGuy2
  * @since 2015-12-10
@@ -9,13 +12,49 @@ public class WriteSettings {
 	public final boolean fullFieldName;
 	public final boolean fullMethodName;
 	public final boolean includeEmptyAnnotationArguments;
+	/** The optional parts of each class to write, properties for other parts are omitted */
+	public final Set<ModelPart> parts;
 
 
 	public WriteSettings(boolean fullClassName, boolean fullMethodName, boolean fullFieldName, boolean includeEmptyAnnotationArguments) {
+		this(fullClassName, fullMethodName, fullFieldName, includeEmptyAnnotationArguments, ModelPart.ALL);
+	}
+
+
+	/**
+	 * @param parts the optional parts of each class to write, see {@link ModelPart}
+	 */
+	public WriteSettings(boolean fullClassName, boolean fullMethodName, boolean fullFieldName, boolean includeEmptyAnnotationArguments, Set<ModelPart> parts) {
 		this.fullClassName = fullClassName;
 		this.fullMethodName = fullMethodName;
 		this.fullFieldName = fullFieldName;
 		this.includeEmptyAnnotationArguments = includeEmptyAnnotationArguments;
+		this.parts = parts.size() > 0 ? EnumSet.copyOf(parts) : EnumSet.noneOf(ModelPart.class);
+	}
+
+
+	public boolean includes(ModelPart part) {
+		return parts.contains(part);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return ((fullClassName ? 1 : 0) | (fullFieldName ? 2 : 0) | (fullMethodName ? 4 : 0) | (includeEmptyAnnotationArguments ? 8 : 0)) * 31 + parts.hashCode();
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(obj == null || this.getClass() != obj.getClass()) {
+			return false;
+		}
+		var other = (WriteSettings)obj;
+		return fullClassName == other.fullClassName && fullFieldName == other.fullFieldName && fullMethodName == other.fullMethodName &&
+				includeEmptyAnnotationArguments == other.includeEmptyAnnotationArguments && parts.equals(other.parts);
 	}
 
 }
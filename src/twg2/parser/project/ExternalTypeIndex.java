@@ -0,0 +1,455 @@
+package twg2.parser.project;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.main.ParserMisc;
+
+/** A prebuilt, read-only index of fully qualifying type names declared outside of a project (i.e. 'System.Collections.Generic.List' or 'java.util.List'),
+ * consulted by {@link ProjectClassSet} so framework types resolve to fully qualifying names and their namespaces are not reported missing.
+ * <p>
+ * The index is built once from a name list (one fully qualifying type name per line, '#' comment lines) or from stub source files
+ * via {@link #build(Collection, Path)} or {@link #main(String[])}, then memory mapped by {@link #load(Path)}, so loading doesn't depend on the index size.
+ * Lookups hash the name parts without joining them and compare them against the mapped chars, so a lookup is O(1) and doesn't allocate
+ * (a successful {@link #resolve(String, List)} only allocates the returned name).
+ * <p>
+ * Format: a header ('JPTI' magic, version, type slot count, namespace slot count, type count, namespace count),
+ * two open addressing hash tables (types, then namespaces) of (name hash, string offset + 1, 0 if empty) int pairs,
+ * then the strings, each as a char length followed by UTF-16 chars.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ExternalTypeIndex {
+	private static final int MAGIC = 0x4A505449; // 'JPTI'
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 6 * 4;
+
+	private final ByteBuffer buf;
+	private final String srcName;
+	private final int typeSlots;
+	private final int namespaceSlots;
+	private final int typeCount;
+	private final int namespaceCount;
+	private final int typeTableOffset;
+	private final int namespaceTableOffset;
+	private final int stringsOffset;
+
+
+	ExternalTypeIndex(ByteBuffer buf, String srcName) throws FileFormatException {
+		this.buf = buf;
+		this.srcName = srcName;
+		if(buf.capacity() < HEADER_SIZE || buf.getInt(0) != MAGIC) {
+			throw new FileFormatException(srcName, "not an external type index file", null);
+		}
+		int version = buf.getInt(4);
+		if(version != VERSION) {
+			throw new FileFormatException(srcName, "unsupported external type index version " + version + ", expected " + VERSION, null);
+		}
+		this.typeSlots = buf.getInt(8);
+		this.namespaceSlots = buf.getInt(12);
+		this.typeCount = buf.getInt(16);
+		this.namespaceCount = buf.getInt(20);
+		if(Integer.bitCount(typeSlots) != 1 || Integer.bitCount(namespaceSlots) != 1 || HEADER_SIZE + (typeSlots + namespaceSlots) * 8L > buf.capacity()) {
+			throw new FileFormatException(srcName, "invalid external type index table sizes " + typeSlots + ", " + namespaceSlots, null);
+		}
+		this.typeTableOffset = HEADER_SIZE;
+		this.namespaceTableOffset = typeTableOffset + typeSlots * 8;
+		this.stringsOffset = namespaceTableOffset + namespaceSlots * 8;
+	}
+
+
+	public String getSrcName() {
+		return srcName;
+	}
+
+
+	public int getTypeCount() {
+		return typeCount;
+	}
+
+
+	public int getNamespaceCount() {
+		return namespaceCount;
+	}
+
+
+	/**
+	 * @return true if the index contains a type named {@code simpleName} in the namespace {@code namespace} (an empty string for no namespace)
+	 */
+	public boolean containsType(String namespace, String simpleName) {
+		int hash = namespace.length() > 0 ? hashAppend(hashAppend(namespace.hashCode(), '.'), simpleName) : simpleName.hashCode();
+		return find(typeTableOffset, typeSlots, hash, namespace, simpleName);
+	}
+
+
+	/**
+	 * @return true if the index contains a type with the fully qualifying name {@code fullName}
+	 */
+	public boolean containsType(String fullName) {
+		return find(typeTableOffset, typeSlots, fullName.hashCode(), "", fullName);
+	}
+
+
+	/**
+	 * @return true if the index contains at least one type declared directly in {@code namespace}
+	 */
+	public boolean hasNamespace(String namespace) {
+		return find(namespaceTableOffset, namespaceSlots, namespace.hashCode(), "", namespace);
+	}
+
+
+	/** Check whether a 'using'/import statement refers to this index, i.e. a namespace ('System.Collections.Generic'),
+	 * a package wildcard ('java.util.*'), or a single type ('java.util.List')
+	 * @param name the joined namespace/import name
+	 */
+	public boolean containsNamespaceOrType(String name) {
+		if(name.endsWith(".*")) {
+			return hasNamespace(name.substring(0, name.length() - 2));
+		}
+		return hasNamespace(name) || containsType(name);
+	}
+
+
+	/** Resolve a simple name against one namespace or 'using'/import statement, without joining the namespace's name parts
+	 * @param simpleName the type name to resolve
+	 * @param namespace the namespace/import name parts
+	 * @return the fully qualifying name parts of the matching type, or null if no indexed type matches
+	 */
+	public List<String> resolve(String simpleName, List<String> namespace) {
+		int size = namespace.size();
+		if(size > 0) {
+			String last = namespace.get(size - 1);
+			// single type import, i.e. 'java.util.List'
+			if(last.equals(simpleName) && containsType(namespace, size, null)) {
+				return new ArrayList<>(namespace);
+			}
+			// wildcard import, i.e. 'java.util.*'
+			if("*".equals(last)) {
+				return containsType(namespace, size - 1, simpleName) ? NameUtil.newFqName(namespace.subList(0, size - 1), simpleName) : null;
+			}
+		}
+		return containsType(namespace, size, simpleName) ? NameUtil.newFqName(namespace, simpleName) : null;
+	}
+
+
+	@Override
+	public String toString() {
+		return "external types: " + typeCount + " in " + namespaceCount + " namespaces from '" + srcName + "'";
+	}
+
+
+	/**
+	 * @return true if the index contains the type named by the first {@code count} parts of {@code nameParts}, followed by {@code simpleName} if it is not null, joined with '.'
+	 */
+	private boolean containsType(List<String> nameParts, int count, String simpleName) {
+		int hash = 0;
+		int len = 0;
+		for(int i = 0; i < count; i++) {
+			var part = nameParts.get(i);
+			if(i > 0) {
+				hash = hashAppend(hash, '.');
+				len++;
+			}
+			hash = hashAppend(hash, part);
+			len += part.length();
+		}
+		if(simpleName != null) {
+			if(count > 0) {
+				hash = hashAppend(hash, '.');
+				len++;
+			}
+			hash = hashAppend(hash, simpleName);
+			len += simpleName.length();
+		}
+
+		int mask = typeSlots - 1;
+		for(int i = mix(hash) & mask, probes = 0; probes < typeSlots; i = (i + 1) & mask, probes++) {
+			int pos = typeTableOffset + i * 8;
+			int strOff = buf.getInt(pos + 4);
+			if(strOff == 0) {
+				return false;
+			}
+			if(buf.getInt(pos) == hash && partsEqualAt(stringsOffset + strOff - 1, len, nameParts, count, simpleName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	private boolean partsEqualAt(int offset, int expectLen, List<String> nameParts, int count, String simpleName) {
+		if(buf.getInt(offset) != expectLen) {
+			return false;
+		}
+		int pos = offset + 4;
+		for(int i = 0; i < count; i++) {
+			if(i > 0) {
+				if(buf.getChar(pos) != '.') {
+					return false;
+				}
+				pos += 2;
+			}
+			var part = nameParts.get(i);
+			for(int j = 0, size = part.length(); j < size; j++, pos += 2) {
+				if(buf.getChar(pos) != part.charAt(j)) {
+					return false;
+				}
+			}
+		}
+		if(simpleName != null) {
+			if(count > 0) {
+				if(buf.getChar(pos) != '.') {
+					return false;
+				}
+				pos += 2;
+			}
+			for(int j = 0, size = simpleName.length(); j < size; j++, pos += 2) {
+				if(buf.getChar(pos) != simpleName.charAt(j)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/** Linear probe a hash table for the string {@code prefix + (prefix not empty ? '.' : '') + name}
+	 */
+	private boolean find(int tableOffset, int slots, int hash, String prefix, String name) {
+		int mask = slots - 1;
+		int expectLen = prefix.length() > 0 ? prefix.length() + 1 + name.length() : name.length();
+		for(int i = mix(hash) & mask, probes = 0; probes < slots; i = (i + 1) & mask, probes++) {
+			int pos = tableOffset + i * 8;
+			int strOff = buf.getInt(pos + 4);
+			if(strOff == 0) {
+				return false;
+			}
+			if(buf.getInt(pos) == hash && equalsAt(stringsOffset + strOff - 1, expectLen, prefix, name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	private boolean equalsAt(int offset, int expectLen, String prefix, String name) {
+		if(buf.getInt(offset) != expectLen) {
+			return false;
+		}
+		int pos = offset + 4;
+		int prefixLen = prefix.length();
+		for(int i = 0; i < prefixLen; i++, pos += 2) {
+			if(buf.getChar(pos) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		if(prefixLen > 0) {
+			if(buf.getChar(pos) != '.') {
+				return false;
+			}
+			pos += 2;
+		}
+		for(int i = 0, size = name.length(); i < size; i++, pos += 2) {
+			if(buf.getChar(pos) != name.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/** Memory map an index file written by {@link #build(Collection, Path)}
+	 */
+	public static ExternalTypeIndex load(Path file) throws IOException, FileFormatException {
+		try(var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			var buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new ExternalTypeIndex(buf, file.toString());
+		}
+	}
+
+
+	/** Write an index file containing the fully qualifying type names {@code fullNames} (duplicates are ignored)
+	 */
+	public static void build(Collection<String> fullNames, Path dst) throws IOException {
+		var names = new TreeSet<String>(fullNames);
+		var namespaces = new TreeSet<String>();
+		for(var name : names) {
+			int dot = name.lastIndexOf('.');
+			if(dot > 0) {
+				namespaces.add(name.substring(0, dot));
+			}
+		}
+
+		int typeSlots = tableSize(names.size());
+		int namespaceSlots = tableSize(namespaces.size());
+		int[] typeTable = new int[typeSlots * 2];
+		int[] namespaceTable = new int[namespaceSlots * 2];
+		var strings = new ArrayList<String>(names.size() + namespaces.size());
+		int stringsSize = 0;
+		for(var name : names) {
+			insert(typeTable, typeSlots, name.hashCode(), stringsSize + 1);
+			strings.add(name);
+			stringsSize += 4 + name.length() * 2;
+		}
+		for(var namespace : namespaces) {
+			insert(namespaceTable, namespaceSlots, namespace.hashCode(), stringsSize + 1);
+			strings.add(namespace);
+			stringsSize += 4 + namespace.length() * 2;
+		}
+
+		Path tmp = Files.createTempFile(dst.toAbsolutePath().getParent(), dst.getFileName().toString(), ".tmp");
+		try {
+			try(var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(typeSlots);
+				out.writeInt(namespaceSlots);
+				out.writeInt(names.size());
+				out.writeInt(namespaces.size());
+				for(int value : typeTable) {
+					out.writeInt(value);
+				}
+				for(int value : namespaceTable) {
+					out.writeInt(value);
+				}
+				for(var str : strings) {
+					out.writeInt(str.length());
+					out.writeChars(str);
+				}
+			}
+			Files.move(tmp, dst, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+
+	/** Read a name list file, one fully qualifying type name per line, blank lines and lines starting with '#' are ignored
+	 */
+	public static List<String> readNameList(Path file) throws IOException {
+		var res = new ArrayList<String>();
+		for(var line : Files.readAllLines(file)) {
+			line = line.trim();
+			if(line.length() > 0 && !line.startsWith("#")) {
+				res.add(line);
+			}
+		}
+		return res;
+	}
+
+
+	/** Parse stub source files (i.e. reference assembly or JDK API stubs) and return the fully qualifying names of the classes they declare
+	 */
+	public static List<String> readStubSources(List<Path> files) throws IOException, FileFormatException {
+		var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(files, fileSet, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+		var res = new ArrayList<String>();
+		for(var file : fileSet.getCompilationUnitsStartWith(List.of(""))) {
+			res.add(NameUtil.joinFqName(file.parsedClass.getSignature().getFullName()));
+		}
+		return res;
+	}
+
+
+	/** Build an index file.<br>
+	 * Arguments: the index file to write, followed by one or more name list files ('.txt') or stub source directories (C# and Java files are parsed recursively)
+	 */
+	public static void main(String[] args) throws IOException, FileFormatException {
+		if(args.length < 2) {
+			System.out.println("usage: ExternalTypeIndex <index file> <name list .txt file or stub source directory>...");
+			return;
+		}
+
+		var names = new ArrayList<String>();
+		for(int i = 1; i < args.length; i++) {
+			var src = Paths.get(args[i]);
+			if(Files.isDirectory(src)) {
+				List<Path> files;
+				try(var paths = Files.walk(src)) {
+					files = paths.filter(ExternalTypeIndex::isStubSource).sorted().collect(Collectors.toList());
+				}
+				names.addAll(readStubSources(files));
+			}
+			else {
+				names.addAll(readNameList(src));
+			}
+		}
+
+		var dst = Paths.get(args[0]);
+		build(names, dst);
+		System.out.println(load(dst));
+	}
+
+
+	private static boolean isStubSource(Path file) {
+		var name = file.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		if(dot < 0 || !Files.isRegularFile(file)) {
+			return false;
+		}
+		var lang = CodeLanguageOptions.tryFromFileExtension(name.substring(dot + 1));
+		return lang == CodeLanguageOptions.C_SHARP || lang == CodeLanguageOptions.JAVA;
+	}
+
+
+	private static void insert(int[] table, int slots, int hash, int strOff) {
+		int mask = slots - 1;
+		int i = mix(hash) & mask;
+		while(table[i * 2 + 1] != 0) {
+			i = (i + 1) & mask;
+		}
+		table[i * 2] = hash;
+		table[i * 2 + 1] = strOff;
+	}
+
+
+	/** A power of 2 slot count with a load factor of at most 0.5 so lookups of missing names end quickly
+	 */
+	private static int tableSize(int count) {
+		return Math.max(2, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1);
+	}
+
+
+	/** Continue a {@link String#hashCode()} with the chars of {@code str}
+	 */
+	private static int hashAppend(int hash, String str) {
+		for(int i = 0, size = str.length(); i < size; i++) {
+			hash = 31 * hash + str.charAt(i);
+		}
+		return hash;
+	}
+
+
+	private static int hashAppend(int hash, char ch) {
+		return 31 * hash + ch;
+	}
+
+
+	private static int mix(int hash) {
+		// names in a namespace share long prefixes, spread String.hashCode()'s low bits
+		hash ^= (hash >>> 16);
+		hash *= 0x85EBCA6B;
+		hash ^= (hash >>> 13);
+		return hash;
+	}
+
+}
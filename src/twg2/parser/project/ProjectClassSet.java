@@ -2,20 +2,27 @@ package twg2.parser.project;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import twg2.ast.interm.classes.ClassAst;
 import twg2.ast.interm.classes.ClassSig;
 import twg2.ast.interm.classes.ClassSigSimple;
+import twg2.ast.interm.field.FieldDefResolved;
+import twg2.ast.interm.method.MethodSigResolved;
 import twg2.collections.builder.ListUtil;
 import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.analytics.ParseEvents;
 import twg2.parser.codeParser.csharp.CsBlock;
 import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.output.ModelPart;
 import twg2.parser.resolver.ClassSigResolver;
 import twg2.parser.resolver.FieldSigResolver;
 import twg2.parser.resolver.MethodSigResolver;
+import twg2.parser.resolver.ResolutionCache;
 import twg2.parser.workflow.CodeFileParsed;
 
 /** A group of classes/interfaces representing all of the compilation units in a project.
@@ -26,9 +33,18 @@ import twg2.parser.workflow.CodeFileParsed;
 public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? extends BlockType>, T_CODE_FILE extends CodeFileParsed<?, ? extends T_CLASS>> {
 	Map<String, T_CODE_FILE> entryByFullyQualifyingName = new HashMap<>();
 	Map<String, List<T_CODE_FILE>> entriesByNamespaces = new HashMap<>();
+	/** Memoized {@link #resolveSimpleNameToClass(String, ClassAst.SimpleImpl, Collection)} results, null if disabled,
+	 * only {@link Intermediate} sets (the lookup scope for resolution) create one by default */
+	ResolutionCache<T_CLASS> resolutionCache;
+	/** Optional index of types declared outside of this project, see {@link #resolveSimpleNameToExternalType(String, ClassAst.SimpleImpl)} */
+	ExternalTypeIndex externalTypes;
 
 
 	public void addCompilationUnit(List<String> fullyQualifyingName, T_CODE_FILE classUnit) {
+		if(resolutionCache != null) {
+			resolutionCache.clear();
+		}
+
 		String fullName = NameUtil.joinFqName(fullyQualifyingName);
 		entryByFullyQualifyingName.put(fullName, classUnit);
 
@@ -42,12 +58,62 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 	}
 
 
+	/**
+	 * @return the name resolution cache or null if caching is disabled
+	 */
+	public ResolutionCache<T_CLASS> getResolutionCache() {
+		return resolutionCache;
+	}
+
+
+	/** Enable (default for {@link Intermediate} sets) or disable memoization of name resolution results, see {@link ResolutionCache}
+	 */
+	public void setResolutionCacheEnabled(boolean enable) {
+		if(!enable) {
+			resolutionCache = null;
+		}
+		else if(resolutionCache == null) {
+			resolutionCache = new ResolutionCache<>();
+		}
+	}
+
+
+	public ExternalTypeIndex getExternalTypeIndex() {
+		return externalTypes;
+	}
+
+
+	/** Set the index of types declared outside of this project (null to remove it).
+	 * Namespaces and imports found in the index are not reported as missing by the resolve methods
+	 * and {@link #resolveSimpleNameToExternalType(String, ClassAst.SimpleImpl)} resolves names against it
+	 */
+	public void setExternalTypeIndex(ExternalTypeIndex externalTypes) {
+		if(resolutionCache != null) {
+			resolutionCache.clear();
+		}
+		this.externalTypes = externalTypes;
+	}
+
+
+	public boolean hasCompilationUnit(List<String> fullyQualifyingName) {
+		return entryByFullyQualifyingName.containsKey(NameUtil.joinFqName(fullyQualifyingName));
+	}
+
+
 	public T_CLASS getCompilationUnit(List<String> fullyQualifyingName) {
 		String fullName = NameUtil.joinFqName(fullyQualifyingName);
 		return entryByFullyQualifyingName.get(fullName).parsedClass;
 	}
 
 
+	/**
+	 * @return the compilation unit file entry with the matching fully qualifying name or null if none exists
+	 */
+	public T_CODE_FILE getCompilationUnitFile(List<String> fullyQualifyingName) {
+		return entryByFullyQualifyingName.get(NameUtil.joinFqName(fullyQualifyingName));
+	}
+
+
 	public List<T_CODE_FILE> getCompilationUnitsStartWith(List<String> startOfFullyQualifyingName) {
 		String startName = NameUtil.joinFqName(startOfFullyQualifyingName);
 		List<T_CODE_FILE> resBlocks = new ArrayList<>();
@@ -68,7 +134,8 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 	 * @param simpleName the simple name to lookup
 	 * @param namespaces the list of namespaces to search (this might be the list of imports from the top of the compilation unit's source code file)
 	 * @param missingNamespacesDst option (can be null), if provided, when this project class set contains no entries for one of the {@code namespaces},
-	 * the namespace is added this {@code missingNamespacesDst} parameter, else throw an {@link IllegalStateException}
+	 * the namespace is added this {@code missingNamespacesDst} parameter, else throw an {@link IllegalStateException}.
+	 * Namespaces found in the {@link #setExternalTypeIndex(ExternalTypeIndex) external type index} are never missing
 	 */
 	public T_CLASS resolveClassNameAgainstNamespaces(String simpleName, List<List<String>> namespaces, Collection<List<String>> missingNamespacesDst) {
 		T_CODE_FILE match = null;
@@ -77,7 +144,7 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 			String nsName = NameUtil.joinFqName(namespace);
 			var nsEntries = entriesByNamespaces.get(nsName);
 
-			if(nsEntries == null) {
+			if(nsEntries == null && !isExternal(nsName)) {
 				if(missingNamespacesDst != null) {
 					missingNamespacesDst.add(namespace);
 				}
@@ -109,7 +176,7 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 		String nsName = NameUtil.joinFqName(namespace);
 		var nsEntries = entriesByNamespaces.get(nsName);
 
-		if(nsEntries == null) {
+		if(nsEntries == null && !isExternal(nsName)) {
 			if(missingNamespacesDst != null) {
 				missingNamespacesDst.add(namespace);
 			}
@@ -141,8 +208,74 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 		// try resolve using the class name (for nested/in-file classes)
 		T_CLASS resolvedClass = resolveClassNameAgainstNamespace(simpleName, classSig.getFullName(), missingNamespacesDst);
 
+		if(resolvedClass == null) {
+			if(resolutionCache != null) {
+				resolvedClass = resolutionCache.resolveName(classScope, searchParentNamespaces, simpleName, missingNamespacesDst,
+						(missingDst) -> resolveSimpleNameInScope(simpleName, classScope, searchParentNamespaces, missingDst));
+			}
+			else {
+				resolvedClass = resolveSimpleNameInScope(simpleName, classScope, searchParentNamespaces, missingNamespacesDst);
+			}
+		}
+
+		// TODO support resolution of types that are generic class params
+		//if(resolvedClass == null && classSig.isGeneric()) {
+		//	resolvedClass = resolveSimpleNameToClass(simpleName, Arrays.asList(classSig.getGenericParams().get(0)), missingNamespacesDst);
+		//}
+		return resolvedClass;
+	}
+
+
+	/** Resolve a simple name which did not match any class in this project against the {@link #setExternalTypeIndex(ExternalTypeIndex) external type index},
+	 * searching the class' parent namespace(s) and 'using'/import statements in the same order as {@link #resolveSimpleNameToClass(String, ClassAst.SimpleImpl, Collection)}
+	 * @return the fully qualifying name of the external type, or null if there is no index or no indexed type matches
+	 */
+	public List<String> resolveSimpleNameToExternalType(String simpleName, ClassAst.SimpleImpl<? extends BlockType> classScope) {
+		if(externalTypes == null) {
+			return null;
+		}
+		// already fully qualified, i.e. 'System.IO.Stream'
+		if(simpleName.indexOf('.') > 0 && externalTypes.containsType(simpleName)) {
+			return NameUtil.splitFqName(simpleName);
+		}
+		boolean searchParentNamespaces = classScope.getBlockType().getClass() == CsBlock.class;
+
+		var fullName = classScope.getSignature().getFullName();
+		for(int size = fullName.size() - 1; size > 0; size--) {
+			var resolvedName = externalTypes.resolve(simpleName, fullName.subList(0, size));
+			if(resolvedName != null) {
+				return resolvedName;
+			}
+			if(!searchParentNamespaces) {
+				break;
+			}
+		}
+
+		var usingStatements = classScope.getUsingStatements();
+		if(usingStatements != null) {
+			for(var namespace : usingStatements) {
+				var resolvedName = externalTypes.resolve(simpleName, namespace);
+				if(resolvedName != null) {
+					return resolvedName;
+				}
+			}
+		}
+		return null;
+	}
+
+
+	private boolean isExternal(String nsName) {
+		return externalTypes != null && externalTypes.containsNamespaceOrType(nsName);
+	}
+
+
+	/** Resolve a simple name using a class' parent namespace(s) and 'using'/import statements, the result only depends on the class' scope, not the class' name
+	 */
+	private T_CLASS resolveSimpleNameInScope(String simpleName, ClassAst.SimpleImpl<? extends BlockType> classScope, boolean searchParentNamespaces, Collection<List<String>> missingNamespacesDst) {
+		T_CLASS resolvedClass = null;
+
 		// try resolve using the class' parent packages/namespaces
-		var fullNamespace = new ArrayList<>(classSig.getFullName());
+		var fullNamespace = new ArrayList<>(classScope.getSignature().getFullName());
 		while(resolvedClass == null && fullNamespace.size() > 0) {
 			resolvedClass = resolveClassNameAgainstNamespace(simpleName, NameUtil.allExceptLastFqName(fullNamespace), missingNamespacesDst);
 			fullNamespace.remove(fullNamespace.size() - 1);
@@ -155,11 +288,6 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 		if(resolvedClass == null) {
 			resolvedClass = resolveClassNameAgainstNamespaces(simpleName, classScope.getUsingStatements(), missingNamespacesDst);
 		}
-
-		// TODO support resolution of types that are generic class params
-		//if(resolvedClass == null && classSig.isGeneric()) {
-		//	resolvedClass = resolveSimpleNameToClass(simpleName, Arrays.asList(classSig.getGenericParams().get(0)), missingNamespacesDst);
-		//}
 		return resolvedClass;
 	}
 
@@ -180,6 +308,11 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 
 	public static class Intermediate<T_BLOCK extends BlockType> extends ProjectClassSet<ClassAst.SimpleImpl<T_BLOCK>, CodeFileParsed.Intermediate<T_BLOCK>> {
 
+		public Intermediate() {
+			this.resolutionCache = new ResolutionCache<>();
+		}
+
+
 		@Override
 		public void addCompilationUnit(List<String> fullyQualifyingName, CodeFileParsed.Intermediate<T_BLOCK> classUnit) {
 			super.addCompilationUnit(fullyQualifyingName, classUnit);
@@ -214,19 +347,61 @@ public class ProjectClassSet<T_CLASS extends ClassAst<? extends ClassSig, ? exte
 		// TODO annotations and class names need type signature and generic type parsing
 
 		for(var fileEntry : projFiles.entryByFullyQualifyingName.entrySet()) {
-			var file = fileEntry.getValue().parsedClass;
-			var namespaces = file.getUsingStatements();
-			var lang = fileEntry.getValue().id.language;
-			var resSig = ClassSigResolver.resolveClassSigFrom(lang.getKeywordUtil(), file.getSignature(), file, projFiles, defaultBlockType, missingNamespacesDst);
-			var resMethods = ListUtil.map(file.getMethods(), (mthd) -> MethodSigResolver.resolveFrom(lang.getKeywordUtil(), mthd, file, projFiles, missingNamespacesDst));
-			var resFields = ListUtil.map(file.getFields(), (fld) -> FieldSigResolver.resolveFrom(fld, file, projFiles, missingNamespacesDst));
-			var resEnumMembers = file.getEnumMembers() != null ? ListUtil.map(file.getEnumMembers(), (fld) -> FieldSigResolver.resolveFrom(fld, file, projFiles, missingNamespacesDst)) : null;
+			var resFile = resolveClass(fileEntry.getValue(), projFiles, defaultBlockType, missingNamespacesDst);
+			resFiles.addCompilationUnit(resFile.parsedClass.getSignature().getFullName(), resFile);
+		}
+		return resFiles;
+	}
 
-			var resClass = new ClassAst.ResolvedImpl<_T_BLOCK>(resSig, namespaces, resFields, resMethods, resEnumMembers, file.getBlockType());
 
-			resFiles.addCompilationUnit(resSig.getFullName(), new CodeFileParsed.Resolved<_T_BLOCK>(fileEntry.getValue().id, resClass, fileEntry.getValue().astTree));
+	/** Resolve the simple names in a single compilation unit using {@code projFiles} as the lookup scope.
+	 * {@code fileEntry} does not need to be one of the {@code projFiles}' compilation units.
+	 * @see #resolveClasses(Intermediate, BlockType, Collection)
+	 */
+	public static <_T_BLOCK extends BlockType> CodeFileParsed.Resolved<_T_BLOCK> resolveClass(CodeFileParsed.Intermediate<_T_BLOCK> fileEntry, ProjectClassSet.Intermediate<_T_BLOCK> projFiles,
+			_T_BLOCK defaultBlockType, Collection<List<String>> missingNamespacesDst) {
+		return resolveClass(fileEntry, projFiles, defaultBlockType, missingNamespacesDst, ModelPart.ALL);
+	}
+
+
+	/** Resolve the simple names in a single compilation unit, only resolving the fields, methods, and enum members included in {@code parts}
+	 * (the other parts are left empty, enum members null).
+	 * @param parts the parts of the class needed by the caller, see {@link ModelPart}
+	 * @see #resolveClass(CodeFileParsed.Intermediate, Intermediate, BlockType, Collection)
+	 */
+	public static <_T_BLOCK extends BlockType> CodeFileParsed.Resolved<_T_BLOCK> resolveClass(CodeFileParsed.Intermediate<_T_BLOCK> fileEntry, ProjectClassSet.Intermediate<_T_BLOCK> projFiles,
+			_T_BLOCK defaultBlockType, Collection<List<String>> missingNamespacesDst, Set<ModelPart> parts) {
+		var event = new ParseEvents.ResolveClass();
+		event.begin();
+		var file = fileEntry.parsedClass;
+		var namespaces = file.getUsingStatements();
+		var lang = fileEntry.id.language;
+		var resSig = ClassSigResolver.resolveClassSigFrom(lang.getKeywordUtil(), file.getSignature(), file, projFiles, defaultBlockType, missingNamespacesDst);
+		List<MethodSigResolved> resMethods = Collections.emptyList();
+		List<FieldDefResolved> resFields = Collections.emptyList();
+		List<FieldDefResolved> resEnumMembers = null;
+		if(parts.contains(ModelPart.METHODS)) {
+			resMethods = ListUtil.map(file.getMethods(), (mthd) -> MethodSigResolver.resolveFrom(lang.getKeywordUtil(), mthd, file, projFiles, missingNamespacesDst));
 		}
-		return resFiles;
+		if(parts.contains(ModelPart.FIELDS)) {
+			resFields = ListUtil.map(file.getFields(), (fld) -> FieldSigResolver.resolveFrom(fld, file, projFiles, missingNamespacesDst));
+		}
+		if(parts.contains(ModelPart.ENUM_MEMBERS) && file.getEnumMembers() != null) {
+			resEnumMembers = ListUtil.map(file.getEnumMembers(), (fld) -> FieldSigResolver.resolveFrom(fld, file, projFiles, missingNamespacesDst));
+		}
+
+		var resClass = new ClassAst.ResolvedImpl<_T_BLOCK>(resSig, namespaces, resFields, resMethods, resEnumMembers, file.getBlockType());
+
+		event.end();
+		if(event.shouldCommit()) {
+			event.className = NameUtil.joinFqName(resSig.getFullName());
+			event.file = fileEntry.id.srcName;
+			event.fields = resFields.size();
+			event.methods = resMethods.size();
+			event.commit();
+		}
+
+		return new CodeFileParsed.Resolved<_T_BLOCK>(fileEntry.id, resClass, fileEntry.astTree);
 	}
 
 }
@@ -0,0 +1,227 @@
+package twg2.parser.resolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import twg2.ast.interm.classes.ClassAst;
+import twg2.ast.interm.type.TypeSig;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.tools.NameUtil;
+
+/** Memoizes simple name and type signature resolution results.
+ * Simple names are cached per scope (a class' parent namespace chain and 'using'/import statements), so classes with identical scopes share results.
+ * Resolved {@link TypeSig.TypeSigResolved} instances are cached per class and reused for identical {@link TypeSig.TypeSigSimple} inputs.<br>
+ * Each entry records the namespaces reported missing when it was computed and replays them on cache hits, so the missing namespace results are unchanged.<br>
+ * Not thread safe, same as {@link twg2.parser.project.ProjectClassSet}.
+ * @param <T_CLASS> the type of resolved classes
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ResolutionCache<T_CLASS> {
+	private final HashMap<String, HashMap<String, CacheEntry<T_CLASS>>> namesByScope = new HashMap<>();
+	private final IdentityHashMap<ClassAst.SimpleImpl<? extends BlockType>, String> scopeKeys = new IdentityHashMap<>();
+	private final IdentityHashMap<ClassAst.SimpleImpl<? extends BlockType>, HashMap<String, CacheEntry<TypeSig.TypeSigResolved>>> typesByClass = new IdentityHashMap<>();
+	private long nameHits;
+	private long nameMisses;
+	private long typeHits;
+	private long typeMisses;
+
+
+	/** Lookup a simple name in {@code classScope}'s scope, calling {@code resolver} if the name has not been resolved in an identical scope yet
+	 * @param searchParentNamespaces whether {@code resolver} searches all parent namespaces of the class or only the class' namespace (part of the scope key)
+	 * @param resolver called with the missing namespace destination to use (null if {@code missingNamespacesDst} is null) and returns the resolved class or null
+	 */
+	public T_CLASS resolveName(ClassAst.SimpleImpl<? extends BlockType> classScope, boolean searchParentNamespaces, String simpleName,
+			Collection<List<String>> missingNamespacesDst, Function<Collection<List<String>>, T_CLASS> resolver) {
+		String scopeKey = scopeKeys.get(classScope);
+		if(scopeKey == null) {
+			scopeKey = createScopeKey(classScope, searchParentNamespaces);
+			scopeKeys.put(classScope, scopeKey);
+		}
+
+		var names = namesByScope.get(scopeKey);
+		if(names == null) {
+			names = new HashMap<>();
+			namesByScope.put(scopeKey, names);
+		}
+
+		var entry = names.get(simpleName);
+		if(entry != null) {
+			nameHits++;
+			return entry.get(missingNamespacesDst);
+		}
+		nameMisses++;
+		entry = compute(missingNamespacesDst, resolver);
+		names.put(simpleName, entry);
+		return entry.value;
+	}
+
+
+	/** Lookup a type signature resolved in {@code classScope}, calling {@code resolver} if an identical type signature has not been resolved in the class yet
+	 * @param resolver called with the missing namespace destination to use (null if {@code missingNamespacesDst} is null) and returns the resolved type
+	 */
+	public TypeSig.TypeSigResolved resolveType(ClassAst.SimpleImpl<? extends BlockType> classScope, TypeSig.TypeSigSimple type,
+			Collection<List<String>> missingNamespacesDst, Function<Collection<List<String>>, TypeSig.TypeSigResolved> resolver) {
+		var types = typesByClass.get(classScope);
+		if(types == null) {
+			types = new HashMap<>();
+			typesByClass.put(classScope, types);
+		}
+
+		var sb = new StringBuilder();
+		appendTypeKey(type, sb);
+		String typeKey = sb.toString();
+
+		var entry = types.get(typeKey);
+		if(entry != null) {
+			typeHits++;
+			return entry.get(missingNamespacesDst);
+		}
+		typeMisses++;
+		entry = compute(missingNamespacesDst, resolver);
+		types.put(typeKey, entry);
+		return entry.value;
+	}
+
+
+	/** Remove all cached results (i.e. because a compilation unit was added to the project), hit/miss counts are kept
+	 */
+	public void clear() {
+		if(!namesByScope.isEmpty()) {
+			namesByScope.clear();
+		}
+		if(!scopeKeys.isEmpty()) {
+			scopeKeys.clear();
+		}
+		if(!typesByClass.isEmpty()) {
+			typesByClass.clear();
+		}
+	}
+
+
+	public long getNameHits() {
+		return nameHits;
+	}
+
+
+	public long getNameLookups() {
+		return nameHits + nameMisses;
+	}
+
+
+	public long getTypeHits() {
+		return typeHits;
+	}
+
+
+	public long getTypeLookups() {
+		return typeHits + typeMisses;
+	}
+
+
+	public int getScopeCount() {
+		return namesByScope.size();
+	}
+
+
+	@Override
+	public String toString() {
+		return "name lookups: " + getNameLookups() + " (hit rate " + hitRatePercent(nameHits, nameMisses) + "%, " + namesByScope.size() + " scopes)" +
+				", type lookups: " + getTypeLookups() + " (hit rate " + hitRatePercent(typeHits, typeMisses) + "%)";
+	}
+
+
+	private static <T> CacheEntry<T> compute(Collection<List<String>> missingNamespacesDst, Function<Collection<List<String>>, T> resolver) {
+		var missing = missingNamespacesDst != null ? new ArrayList<List<String>>() : null;
+		T value = resolver.apply(missing);
+		if(missing != null && missing.size() > 0) {
+			missingNamespacesDst.addAll(missing);
+			return new CacheEntry<>(value, missing);
+		}
+		return new CacheEntry<>(value, Collections.emptyList());
+	}
+
+
+	private static String createScopeKey(ClassAst.SimpleImpl<? extends BlockType> classScope, boolean searchParentNamespaces) {
+		var sb = new StringBuilder();
+		sb.append(searchParentNamespaces ? '+' : '-');
+		sb.append(NameUtil.joinFqNameExceptLast(classScope.getSignature().getFullName()));
+		var usingStatements = classScope.getUsingStatements();
+		if(usingStatements != null) {
+			for(var using : usingStatements) {
+				sb.append(';').append(NameUtil.joinFqName(using));
+			}
+		}
+		return sb.toString();
+	}
+
+
+	/** Append a key which uniquely identifies the properties of a type signature used by {@link TypeSigResolver}
+	 */
+	private static void appendTypeKey(TypeSig.TypeSigSimple type, StringBuilder dst) {
+		dst.append(type.getTypeName());
+		if(type.isGeneric()) {
+			dst.append('<');
+			var params = type.getParams();
+			for(int i = 0, size = params.size(); i < size; i++) {
+				if(i > 0) {
+					dst.append(',');
+				}
+				appendTypeKey(params.get(i), dst);
+			}
+			dst.append('>');
+		}
+		for(int i = 0, dims = type.getArrayDimensions(); i < dims; i++) {
+			dst.append("[]");
+		}
+		if(type.isNullable()) {
+			dst.append('?');
+		}
+		if(type.isPrimitive()) {
+			dst.append('!');
+		}
+	}
+
+
+	private static String hitRatePercent(long hits, long misses) {
+		long total = hits + misses;
+		return total > 0 ? String.format("%.1f", hits * 100.0 / total) : "0";
+	}
+
+
+
+
+	/** A cached result and the namespaces which were missing when it was computed
+	 * @param <T> the type of cached value
+	 */
+	static class CacheEntry<T> {
+		final T value;
+		final List<List<String>> missingNamespaces;
+
+
+		CacheEntry(T value, List<List<String>> missingNamespaces) {
+			this.value = value;
+			this.missingNamespaces = missingNamespaces;
+		}
+
+
+		/** Replay the missing namespaces into {@code missingNamespacesDst}, or throw the same error the resolver would have if {@code missingNamespacesDst} is null
+		 */
+		T get(Collection<List<String>> missingNamespacesDst) {
+			if(missingNamespaces.size() > 0) {
+				if(missingNamespacesDst == null) {
+					throw new IllegalStateException("could not find namespace '" + NameUtil.joinFqName(missingNamespaces.get(0)) + "'");
+				}
+				missingNamespacesDst.addAll(missingNamespaces);
+			}
+			return value;
+		}
+
+	}
+
+}
@@ -19,10 +19,21 @@ import twg2.parser.workflow.CodeFileParsed;
  */
 public class TypeSigResolver {
 
-	/** Resolves simple name fields from {@link twg2.ast.interm.type.TypeSig.TypeSigSimple} into fully qualifying names and creates a new {@link ClassSig} with all other fields the same
+	/** Resolves simple name fields from {@link twg2.ast.interm.type.TypeSig.TypeSigSimple} into fully qualifying names and creates a new {@link ClassSig} with all other fields the same.
+	 * If {@code projFiles} has a {@link ProjectClassSet#getResolutionCache() resolution cache}, the same {@link TypeSig.TypeSigResolved} instance is returned for identical type signatures in the same class
 	 */
 	public static <T_BLOCK extends BlockType> TypeSig.TypeSigResolved resolveFrom(TypeSig.TypeSigSimple intermSig, ClassAst.SimpleImpl<? extends BlockType> namespaceClass,
 			ProjectClassSet<ClassAst.SimpleImpl<T_BLOCK>, CodeFileParsed.Intermediate<T_BLOCK>> projFiles, Collection<List<String>> missingNamespacesDst) {
+		var cache = projFiles.getResolutionCache();
+		if(cache != null) {
+			return cache.resolveType(namespaceClass, intermSig, missingNamespacesDst, (missingDst) -> resolveUncached(intermSig, namespaceClass, projFiles, missingDst));
+		}
+		return resolveUncached(intermSig, namespaceClass, projFiles, missingNamespacesDst);
+	}
+
+
+	private static <T_BLOCK extends BlockType> TypeSig.TypeSigResolved resolveUncached(TypeSig.TypeSigSimple intermSig, ClassAst.SimpleImpl<? extends BlockType> namespaceClass,
+			ProjectClassSet<ClassAst.SimpleImpl<T_BLOCK>, CodeFileParsed.Intermediate<T_BLOCK>> projFiles, Collection<List<String>> missingNamespacesDst) {
 
 		List<TypeSig.TypeSigResolved> childSigs = Collections.emptyList();
 		if(intermSig.isGeneric()) {
@@ -36,6 +47,10 @@ public class TypeSigResolver {
 		var resolvedClass = projFiles.resolveSimpleNameToClass(intermSig.getTypeName(), namespaceClass, missingNamespacesDst);
 		List<String> resolvedType = resolvedClass != null ? resolvedClass.getSignature().getFullName() : null;
 
+		if(resolvedType == null) {
+			resolvedType = projFiles.resolveSimpleNameToExternalType(intermSig.getTypeName(), namespaceClass);
+		}
+
 		if(resolvedType == null) {
 			resolvedType = ListBuilder.mutable(intermSig.getTypeName());
 		}
@@ -20,4 +20,17 @@ public abstract class AstMemberInClassParserReusable<T_STATE, T_RESULT> extends
 		this.parentBlock = parentBlock;
 	}
 
+
+	public BlockAst<? extends BlockType> getParentBlock() {
+		return parentBlock;
+	}
+
+
+	/** Point this parser at a different block, used when recycling a parser between blocks
+	 * @param parentBlock the block that the members passed to this parser are part of
+	 */
+	public void setParentBlock(BlockAst<? extends BlockType> parentBlock) {
+		this.parentBlock = parentBlock;
+	}
+
 }
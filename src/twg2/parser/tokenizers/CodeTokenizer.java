@@ -1,15 +1,22 @@
 package twg2.parser.tokenizers;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import twg2.collections.dataStructures.PairList;
 import twg2.functions.TriFunction;
+import twg2.parser.codeParser.analytics.ParseEvents;
+import twg2.parser.codeParser.analytics.ParseTimes;
 import twg2.parser.codeParser.analytics.ParserActionLogger;
+import twg2.parser.codeParser.tools.CodeTokenClassifier;
 import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenFlag;
+import twg2.parser.fragment.CodeTokenTable;
 import twg2.parser.fragment.CodeTokenType;
 import twg2.parser.fragment.TextToken;
 import twg2.parser.language.CodeLanguage;
@@ -51,10 +58,33 @@ public interface CodeTokenizer {
 	public CodeFileSrc tokenizeDocument(char[] src, int srcOff, int srcLen, String srcName, ParserActionLogger stepsDetails);
 
 
-	/** Create a document tokenizer from the specified {@link CodeLanguage} and {@link PairList} of tokenizers
+	/** Create a document tokenizer from the specified {@link CodeLanguage} and {@link PairList} of tokenizers.
+	 * Tokens include line and column numbers, see {@link #createTokenizer(CodeLanguage, PairList, boolean)}
 	 */
 	public static CodeTokenizer createTokenizer(CodeLanguage lang, PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers) {
-		return (src, srcOff, srcLen, srcName, stepDetails) -> tokenizeCodeFile(tokenizers, src, srcOff, srcLen, lang, srcName, stepDetails);
+		return createTokenizer(lang, tokenizers, true);
+	}
+
+
+	/** Create a document tokenizer from the specified {@link CodeLanguage} and {@link PairList} of tokenizers
+	 * @param trackLineColumns true to store line and column numbers in each token, false to only store offsets (line and column values are -1),
+	 * positions can still be looked up on demand via {@link CodeFileSrc#getLineIndex(int)} and {@link CodeFileSrc#getColumnIndex(int)}
+	 */
+	public static CodeTokenizer createTokenizer(CodeLanguage lang, PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers, boolean trackLineColumns) {
+		return createTokenizer(lang, tokenizers, trackLineColumns, false);
+	}
+
+
+	/** Create a document tokenizer from the specified {@link CodeLanguage} and {@link PairList} of tokenizers
+	 * @param trackLineColumns true to store line and column numbers in each token, false to only store offsets
+	 * @param useTokenTable opt-in, tokenize offset only sources into a {@link CodeTokenTable} and return its lazily created {@link CodeTokenTable#toTree()} view
+	 * instead of a {@link SimpleTreeImpl} tree, ignored if {@code trackLineColumns} is true since tables do not contain line and column numbers
+	 */
+	public static CodeTokenizer createTokenizer(CodeLanguage lang, PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers, boolean trackLineColumns, boolean useTokenTable) {
+		if(useTokenTable && !trackLineColumns) {
+			return (src, srcOff, srcLen, srcName, stepDetails) -> tokenizeCodeFileTable(tokenizers, src, srcOff, srcLen, lang, stepDetails).toCodeFileSrc(srcName);
+		}
+		return (src, srcOff, srcLen, srcName, stepDetails) -> tokenizeCodeFile(tokenizers, src, srcOff, srcLen, lang, srcName, stepDetails, trackLineColumns);
 	}
 
 
@@ -66,10 +96,23 @@ public interface CodeTokenizer {
 		return (params) -> {
 			try {
 				long start = (params.parseTimes() != null ? System.nanoTime() : 0);
+				long cpuStart = (params.parseTimes() != null ? ParseTimes.currentThreadCpuNs() : 0);
+				long allocStart = (params.parseTimes() != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
+				var setupEvent = new ParseEvents.TokenizerSetup();
+				setupEvent.begin();
 
 				var parser = parserConstructor.get();
 
 				long setupDone = (params.parseTimes() != null ? System.nanoTime() : 0);
+				long cpuSetupDone = (params.parseTimes() != null ? ParseTimes.currentThreadCpuNs() : 0);
+				long allocSetupDone = (params.parseTimes() != null ? ParseTimes.currentThreadAllocatedBytes() : 0);
+				setupEvent.end();
+				if(setupEvent.shouldCommit()) {
+					setupEvent.file = params.fileName();
+					setupEvent.commit();
+				}
+				var tokenizeEvent = new ParseEvents.Tokenize();
+				tokenizeEvent.begin();
 
 				var fileName = params.fileName();
 				var res = parser.tokenizeDocument(params.src(), params.srcOff(), params.srcLen(), fileName, params.parserStepsTracker());
@@ -77,6 +120,16 @@ public interface CodeTokenizer {
 				if(params.parseTimes() != null) {
 					params.parseTimes().setTimeSetup(setupDone - start);
 					params.parseTimes().setTimeTokenize(System.nanoTime() - setupDone);
+					params.parseTimes().setThreadUsageSetup(cpuSetupDone - cpuStart, allocSetupDone - allocStart);
+					params.parseTimes().setThreadUsageTokenize(ParseTimes.currentThreadCpuNs() - cpuSetupDone, ParseTimes.currentThreadAllocatedBytes() - allocSetupDone);
+				}
+				tokenizeEvent.end();
+				if(tokenizeEvent.shouldCommit()) {
+					tokenizeEvent.file = fileName;
+					tokenizeEvent.language = res.language != null ? res.language.displayName() : null;
+					tokenizeEvent.chars = params.srcLen();
+					tokenizeEvent.tokens = ParseEvents.countTokens(res.astTree);
+					tokenizeEvent.commit();
 				}
 
 				return res;
@@ -100,24 +153,135 @@ public interface CodeTokenizer {
 	 */
 	public static <_T_LANG extends CodeLanguage> CodeFileSrc tokenizeCodeFile(PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers,
 			char[] src, int srcOff, int srcLen, _T_LANG lang, String srcName, ParserActionLogger stepsDetails) {
+		return tokenizeCodeFile(tokenizers, src, srcOff, srcLen, lang, srcName, stepsDetails, true);
+	}
+
 
+	/** Tokenize a source string using the {@code tokenizers} provided
+	 * @see #tokenizeCodeFile(PairList, char[], int, int, CodeLanguage, String, ParserActionLogger)
+	 * @param trackLineColumns true to store line and column numbers in each token, false to only store offsets (line and column values are -1)
+	 */
+	public static <_T_LANG extends CodeLanguage> CodeFileSrc tokenizeCodeFile(PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers,
+			char[] src, int srcOff, int srcLen, _T_LANG lang, String srcName, ParserActionLogger stepsDetails, boolean trackLineColumns) {
 		var input = TextCharsParser.of(src, srcOff, srcLen);
 
-		var docTextFragment = new TextFragmentRefImplMut(srcOff, srcOff + srcLen, 0, 0, -1, -1);
+		var docTextFragment = new TextFragmentRefImplMut(srcOff, srcOff + srcLen, trackLineColumns ? 0 : -1, trackLineColumns ? 0 : -1, -1, -1);
 		var docRoot = new CodeToken(CodeTokenType.DOCUMENT, docTextFragment, docTextFragment.getText(0, src, srcOff, srcLen).toString());
 
 		SimpleTree<CodeToken> docTree = tokenizeDocument(srcName, input, src, srcOff, srcLen, stepsDetails, tokenizers, docRoot,
-				(type, frag, text) -> new CodeToken(type, frag, text),
+				createTokenConstructor(lang),
 				(docFrag) -> docFrag.getTokenType().isCompound(),
-				(parent, child) -> parent != child && parent.getToken().contains(child.getToken()));
-
-		docTextFragment.setLineEnd(input.getLineNumber() - 1);
-		docTextFragment.setColumnEnd(input.getColumnNumber() - 1);
+				createIsInside(trackLineColumns),
+				trackLineColumns,
+				0,
+				CodeTokenizer::summarizeSubtree);
+
+		if(trackLineColumns) {
+			docTextFragment.setLineEnd(input.getLineNumber() - 1);
+			docTextFragment.setColumnEnd(input.getColumnNumber() - 1);
+		}
 
 		return new CodeFileSrc(docTree, srcName, src, srcOff, srcLen, input.getLineNumbers().getRawCompletedLineOffsets(), lang);
 	}
 
 
+	/** Tokenize a source string into a compact {@link CodeTokenTable} instead of a {@link SimpleTree} of {@link CodeToken} objects.
+	 * The table contains the same tokens and structure as the tree tokenizer, without line and column numbers, see {@link CodeTokenTable#toTree()}.
+	 * Token text is only created for transformers which read it (i.e. not {@link #ofType(CodeTokenType)} transformers) and for the first occurrence of each distinct keyword, operator, and separator
+	 * @param tokenizers the {@link PairList} of {@link CharParserFactory} and {@link TextTransformer}s to use for tokenizing a source string
+	 * @param src the source string
+	 * @param srcOff (0-based) offset in {@code src} at which to start tokenizing
+	 * @param srcLen number of characters to tokenize from {@code src}
+	 * @param stepsDetails optional
+	 */
+	public static CodeTokenTable tokenizeCodeFileTable(PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers,
+			char[] src, int srcOff, int srcLen, CodeLanguage lang, ParserActionLogger stepsDetails) {
+		var input = TextCharsParser.of(src, srcOff, srcLen);
+		var classifier = CodeTokenClassifier.of(lang);
+		// rough estimate of 1 token per 6 chars
+		var table = new CodeTokenTable(src, srcOff, srcLen, lang, srcLen / 6);
+
+		List<Entry<CharParserFactory, TextFragmentConsumer>> conditions = new ArrayList<>();
+
+		for(int i = 0, size = tokenizers.size(); i < size; i++) {
+			TextTransformer<CodeTokenType> transformer = tokenizers.getValue(i);
+			CodeTokenType fixedType = fixedTypeOf(transformer);
+
+			conditions.add(Tuples.of(tokenizers.getKey(i), (off, len, lineStart, columnStart, lineEnd, columnEnd) -> {
+				CodeTokenType type = fixedType != null ? fixedType : transformer.apply(TextFragmentRef.getText(srcOff, src, srcOff, srcLen, off, off + len), off, len);
+				if(classifier != null) {
+					var cls = classifier.classify(type, src, off, len);
+					table.add(type, off, off + len, cls.flags, cls.keyword, cls.operator);
+				}
+				else {
+					table.add(type, off, off + len, 0, null, null);
+				}
+
+				if(type.isCompound()) {
+					Stats.parentFrags++;
+				}
+				else {
+					Stats.frags++;
+				}
+			}));
+		}
+
+		var parser = new CharMultiConditionParser(stepsDetails, conditions);
+
+		while(input.hasNext()) {
+			char ch = input.nextChar();
+			parser.parse(ch, input);
+		}
+
+		if(stepsDetails != null) {
+			stepsDetails.logCharParserFactoryReuse(tokenizers.keyList());
+		}
+
+		table.complete(input.getLineNumbers().getRawCompletedLineOffsets());
+		return table;
+	}
+
+
+	/** Create the {@link CodeToken} constructor used by {@link #tokenizeCodeFile(PairList, char[], int, int, CodeLanguage, String, ParserActionLogger, boolean)}.
+	 * Precomputes keyword/operator flags on each token (if the language supports it) so extractors don't have to search keyword lists by token text
+	 */
+	public static TriFunction<CodeTokenType, TextFragmentRefImpl, String, CodeToken> createTokenConstructor(CodeLanguage lang) {
+		var classifier = CodeTokenClassifier.of(lang);
+		return classifier != null
+				? (type, frag, text) -> classifier.createToken(type, frag, text)
+				: (type, frag, text) -> new CodeToken(type, frag, text);
+	}
+
+
+	/** Set a compound token's {@link CodeTokenFlag#SUBTREE_MASK SUBTREE_*} summary bits from its (already summarized) children,
+	 * so that extractors can skip subtrees which can't contain class/interface/enum/namespace declarations, see {@link CodeToken#mayContainBlockModifier()}
+	 * @param token the compound token
+	 * @param children the token's children
+	 */
+	public static void summarizeSubtree(CodeToken token, List<? extends SimpleTree<CodeToken>> children) {
+		int summary = CodeTokenFlag.SUBTREE_SUMMARIZED;
+		for(int i = 0, size = children.size(); i < size; i++) {
+			var child = children.get(i).getData();
+			if(CodeTokenFlag.mayContainBlockModifier(child.getFlags(), child.getTokenType().isCompound())) {
+				summary |= CodeTokenFlag.SUBTREE_BLOCK_MODIFIER;
+				break;
+			}
+		}
+		token.setSubtreeSummary(summary);
+	}
+
+
+	/** Create the parent/child check used by {@link #tokenizeCodeFile(PairList, char[], int, int, CodeLanguage, String, ParserActionLogger, boolean)}
+	 * @param trackLineColumns whether tokens contain line and column numbers, if false, only offsets are compared
+	 */
+	public static IsParentChild<CodeToken> createIsInside(boolean trackLineColumns) {
+		return trackLineColumns
+				? (parent, child) -> parent != child && parent.getToken().contains(child.getToken())
+				// offsets-only tokens, only compare offsets
+				: (parent, child) -> parent != child && parent.getToken().getOffsetStart() <= child.getToken().getOffsetStart() && child.getToken().getOffsetEnd() <= parent.getToken().getOffsetEnd();
+	}
+
+
 	/** Consumes a {@link TextParser}, pass the text through this document parser's list of {@link TextTransformer TextTransformers}
 	 * @param srcName an optional name of the source being parsed, can be null
 	 * @param input the TextParser to read text from
@@ -137,6 +301,71 @@ public interface CodeTokenizer {
 		TriFunction<T, TextFragmentRefImpl, String, ? extends D> fragmentConstructor,
 		Function<? super D, Boolean> isParent,
 		IsParentChild<? super D> isInside
+	) {
+		return tokenizeDocument(srcName, input, src, srcOff, srcLen, stepsDetails, tokenizers, root, fragmentConstructor, isParent, isInside, true);
+	}
+
+
+	/** Consumes a {@link TextParser}, pass the text through this document parser's list of {@link TextTransformer TextTransformers}
+	 * @see #tokenizeDocument(String, TextParser, char[], int, int, ParserActionLogger, PairList, TextToken, TriFunction, Function, IsParentChild)
+	 * @param trackLineColumns true to store line and column numbers in each token's {@link TextFragmentRefImpl}, false to set them to -1
+	 */
+	public static <D extends TextToken<S, T>, T, S> SimpleTree<D> tokenizeDocument(
+		String srcName,
+		TextParser input,
+		char[] src, int srcOff, int srcLen,
+		ParserActionLogger stepsDetails,
+		PairList<? extends CharParserFactory, ? extends TextTransformer<T>> tokenizers,
+		D root,
+		TriFunction<T, TextFragmentRefImpl, String, ? extends D> fragmentConstructor,
+		Function<? super D, Boolean> isParent,
+		IsParentChild<? super D> isInside,
+		boolean trackLineColumns
+	) {
+		return tokenizeDocument(srcName, input, src, srcOff, srcLen, stepsDetails, tokenizers, root, fragmentConstructor, isParent, isInside, trackLineColumns, 0);
+	}
+
+
+	/** Consumes a {@link TextParser}, pass the text through this document parser's list of {@link TextTransformer TextTransformers}
+	 * @see #tokenizeDocument(String, TextParser, char[], int, int, ParserActionLogger, PairList, TextToken, TriFunction, Function, IsParentChild, boolean)
+	 * @param lineOffset added to the line numbers stored in each token (if {@code trackLineColumns} is true),
+	 * used when {@code input} starts at the beginning of a line other than the first line of the source
+	 */
+	public static <D extends TextToken<S, T>, T, S> SimpleTree<D> tokenizeDocument(
+		String srcName,
+		TextParser input,
+		char[] src, int srcOff, int srcLen,
+		ParserActionLogger stepsDetails,
+		PairList<? extends CharParserFactory, ? extends TextTransformer<T>> tokenizers,
+		D root,
+		TriFunction<T, TextFragmentRefImpl, String, ? extends D> fragmentConstructor,
+		Function<? super D, Boolean> isParent,
+		IsParentChild<? super D> isInside,
+		boolean trackLineColumns,
+		int lineOffset
+	) {
+		return tokenizeDocument(srcName, input, src, srcOff, srcLen, stepsDetails, tokenizers, root, fragmentConstructor, isParent, isInside, trackLineColumns, lineOffset, null);
+	}
+
+
+	/** Consumes a {@link TextParser}, pass the text through this document parser's list of {@link TextTransformer TextTransformers}
+	 * @see #tokenizeDocument(String, TextParser, char[], int, int, ParserActionLogger, PairList, TextToken, TriFunction, Function, IsParentChild, boolean, int)
+	 * @param parentCompleted optional, called with each parent fragment and its children once the children have been added, and with the {@code root} and
+	 * the top level fragments after the input has been consumed (i.e. parents are passed to this function in post-order)
+	 */
+	public static <D extends TextToken<S, T>, T, S> SimpleTree<D> tokenizeDocument(
+		String srcName,
+		TextParser input,
+		char[] src, int srcOff, int srcLen,
+		ParserActionLogger stepsDetails,
+		PairList<? extends CharParserFactory, ? extends TextTransformer<T>> tokenizers,
+		D root,
+		TriFunction<T, TextFragmentRefImpl, String, ? extends D> fragmentConstructor,
+		Function<? super D, Boolean> isParent,
+		IsParentChild<? super D> isInside,
+		boolean trackLineColumns,
+		int lineOffset,
+		BiConsumer<? super D, List<? extends SimpleTreeImpl<D>>> parentCompleted
 	) {
 		SimpleTreeImpl<D> tree = new SimpleTreeImpl<>(root);
 
@@ -148,7 +377,9 @@ public interface CodeTokenizer {
 			conditions.add(Tuples.of(tokenizers.getKey(i), (off, len, lineStart, columnStart, lineEnd, columnEnd) -> {
 				var text = TextFragmentRef.getText(srcOff, src, srcOff, srcLen, off, off + len);
 				T elemType = transformer.apply(text, off, len);
-				var textFragment = new TextFragmentRefImpl(off, off + len, lineStart, columnStart, lineEnd, columnEnd);
+				var textFragment = trackLineColumns
+						? new TextFragmentRefImpl(off, off + len, lineStart + lineOffset, columnStart, lineEnd + lineOffset, columnEnd)
+						: new TextFragmentRefImpl(off, off + len, -1, -1, -1, -1);
 
 				D docFrag = fragmentConstructor.apply(elemType, textFragment, text);
 
@@ -163,6 +394,9 @@ public interface CodeTokenizer {
 					for(int ii = 0, sizeI = subChildren.size(); ii < sizeI; ii++) {
 						subTree.addChildTree(subChildren.get(ii));
 					}
+					if(parentCompleted != null) {
+						parentCompleted.accept(docFrag, subChildren);
+					}
 				}
 				else {
 					Stats.frags++;
@@ -183,6 +417,10 @@ public interface CodeTokenizer {
 			stepsDetails.logCharParserFactoryReuse(tokenizers.keyList());
 		}
 
+		if(parentCompleted != null) {
+			parentCompleted.accept(root, tree.getChildrenRaw());
+		}
+
 		return tree;
 	}
 
@@ -223,9 +461,42 @@ public interface CodeTokenizer {
 
 
 	/** Creates a {@link TextTransformer} which simply returns the {@code type} given.
+	 * The same transformer is returned for each type, see {@link #fixedTypeOf(TextTransformer)}
 	 */
 	public static TextTransformer<CodeTokenType> ofType(CodeTokenType type) {
-		return (text, off, len) -> type;
+		return FixedTypes.transformers.get(type);
+	}
+
+
+	/**
+	 * @return the type returned by a {@link #ofType(CodeTokenType)} transformer, or null if the transformer was not created by {@link #ofType(CodeTokenType)} and may read the token text
+	 */
+	public static CodeTokenType fixedTypeOf(TextTransformer<?> transformer) {
+		for(var entry : FixedTypes.transformers.entrySet()) {
+			if(entry.getValue() == transformer) {
+				return entry.getKey();
+			}
+		}
+		return null;
+	}
+
+
+
+
+	/** The shared {@link CodeTokenizer#ofType(CodeTokenType)} transformers
+	 */
+	public static final class FixedTypes {
+		private static final EnumMap<CodeTokenType, TextTransformer<CodeTokenType>> transformers = new EnumMap<>(CodeTokenType.class);
+
+		static {
+			for(var type : CodeTokenType.values()) {
+				transformers.put(type, (text, off, len) -> type);
+			}
+		}
+
+
+		private FixedTypes() { throw new AssertionError("cannot instantiate static class FixedTypes"); }
+
 	}
 
 }
@@ -0,0 +1,562 @@
+package twg2.parser.tokenizers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import twg2.collections.dataStructures.PairList;
+import twg2.collections.primitiveCollections.IntListSorted;
+import twg2.functions.TriFunction;
+import twg2.parser.codeParser.analytics.ParserActionLogger;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.textFragment.TextFragmentRef;
+import twg2.parser.textFragment.TextFragmentRefImpl;
+import twg2.parser.textFragment.TextFragmentRefImplMut;
+import twg2.parser.textFragment.TextTransformer;
+import twg2.parser.textParser.TextCharsParser;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.text.tokenizer.CharParserFactory;
+import twg2.treeLike.simpleTree.SimpleTreeImpl;
+
+/** Tokenizes very large source files (i.e. generated code) using multiple threads.
+ * A fast, comment, string, and char literal aware pre-scan finds line starts between statements/blocks which are not inside
+ * any '{', '(', or '[' block, the source is split at those points into segments which are tokenized in parallel
+ * (each with its own tokenizers from the supplier) and the segment trees and line start offsets are stitched back together,
+ * producing the same {@link CodeFileSrc} as {@link CodeTokenizer#tokenizeCodeFile(PairList, char[], int, int, CodeLanguage, String, ParserActionLogger, boolean)}.<br>
+ * Most C# and Java files contain a single namespace/class block, so when one '{' block makes up most of a segment which is too large,
+ * the pre-scan descends into it: the block's braces are masked (replaced with spaces in a copy of the source) so the statements
+ * inside the block can be split apart and the block token is recreated around the stitched tokens.
+ * Descending is only done for offsets-only tokenizers since the recreated block tokens don't have line/column numbers.<br>
+ * The pre-scan mirrors the tokenizers' comment and string rules (strings and char literals end at a quote not preceded by a '\').
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ParallelCodeTokenizer {
+	/** Minimum source length, in chars, at which C# and Java files are tokenized in parallel, 0 or less to always tokenize files sequentially */
+	public static int minParallelSrcLength = 0;
+	/** Minimum length, in chars, of each segment tokenized in parallel */
+	public static int minSegmentLength = 64 * 1024;
+	/** Maximum number of blocks to descend into when searching for split points */
+	static int maxMaskedBlocks = 8;
+
+
+	private ParallelCodeTokenizer() { throw new AssertionError("cannot instantiate static class ParallelCodeTokenizer"); }
+
+
+	/** Create a document tokenizer which tokenizes sources of {@code minParallelSrcLength} or more chars in parallel segments
+	 * and smaller sources sequentially, see {@link CodeTokenizer#createTokenizer(CodeLanguage, PairList, boolean)}
+	 * @param tokenizers supplies a new set of tokenizers for each segment (tokenizers are not thread safe)
+	 * @param angleBracketBlocks true if the tokenizers include a '<' block tokenizer (Java), splits are not made while a '<' is unmatched
+	 * @param minParallelSrcLength minimum source length to tokenize in parallel
+	 * @param minSegmentLength minimum length of each segment
+	 */
+	public static CodeTokenizer createTokenizer(CodeLanguage lang, Supplier<? extends PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>>> tokenizers,
+			boolean trackLineColumns, boolean angleBracketBlocks, int minParallelSrcLength, int minSegmentLength) {
+		return (src, srcOff, srcLen, srcName, stepsDetails) -> {
+			if(minParallelSrcLength > 0 && srcLen >= minParallelSrcLength) {
+				// several segments per thread so one slow segment doesn't determine the total time
+				int segmentLength = Math.max(minSegmentLength, srcLen / (ForkJoinPool.getCommonPoolParallelism() * 4));
+				var segments = findSegments(src, srcOff, srcLen, segmentLength, !trackLineColumns, angleBracketBlocks);
+				if(segments.size() > 1) {
+					return tokenizeSegments(tokenizers, src, srcOff, srcLen, lang, srcName, trackLineColumns, segments);
+				}
+			}
+			return CodeTokenizer.tokenizeCodeFile(tokenizers.get(), src, srcOff, srcLen, lang, srcName, stepsDetails, trackLineColumns);
+		};
+	}
+
+
+	/** Tokenize each segment in parallel using {@link ForkJoinPool#commonPool()} and stitch the results together
+	 * @param segments the segments to tokenize, from {@link #findSegments(char[], int, int, int, boolean, boolean)}
+	 */
+	public static CodeFileSrc tokenizeSegments(Supplier<? extends PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>>> tokenizers,
+			char[] src, int srcOff, int srcLen, CodeLanguage lang, String srcName, boolean trackLineColumns, Segments segments) {
+		var masked = segments.maskedBlocks;
+
+		// tokenize a copy with the masked blocks' braces replaced by spaces, so the segment tokenizers don't see the partial blocks
+		char[] chars = src;
+		if(masked.length > 0) {
+			chars = Arrays.copyOf(src, srcOff + srcLen);
+			for(int i = 0; i < masked.length; i++) {
+				chars[masked[i]] = ' ';
+			}
+		}
+
+		var tokenConstructor = CodeTokenizer.createTokenConstructor(lang);
+		var isInside = CodeTokenizer.createIsInside(trackLineColumns);
+
+		int count = segments.size();
+		var tasks = new ArrayList<ForkJoinTask<SegmentResult>>(count);
+		var segmentChars = chars;
+		for(int i = 0; i < count; i++) {
+			int segOff = segments.bounds[i];
+			int segLen = segments.bounds[i + 1] - segOff;
+			int lineOffset = segments.startLines[i];
+			tasks.add(ForkJoinPool.commonPool().submit(() -> tokenizeSegment(tokenizers.get(), segmentChars, segOff, segLen, srcName, tokenConstructor, isInside, trackLineColumns, lineOffset)));
+		}
+
+		var docTextFragment = new TextFragmentRefImplMut(srcOff, srcOff + srcLen, trackLineColumns ? 0 : -1, trackLineColumns ? 0 : -1, -1, -1);
+		var docRoot = new CodeToken(CodeTokenType.DOCUMENT, docTextFragment, docTextFragment.getText(0, src, srcOff, srcLen).toString());
+		var docTree = new SimpleTreeImpl<CodeToken>(docRoot);
+		var lineStartOffsets = new IntListSorted();
+
+		// the recreated blocks containing the current token, docTree is the bottom of the stack
+		@SuppressWarnings("unchecked")
+		SimpleTreeImpl<CodeToken>[] parents = new SimpleTreeImpl[masked.length / 2 + 1];
+		int[] parentEnds = new int[parents.length];
+		parents[0] = docTree;
+		parentEnds[0] = Integer.MAX_VALUE;
+		int depth = 0;
+		int nextMasked = 0;
+		var recreatedBlocks = new ArrayList<SimpleTreeImpl<CodeToken>>(masked.length / 2);
+
+		SegmentResult res = null;
+		for(int i = 0; i < count; i++) {
+			res = tasks.get(i).join();
+
+			// segments start at line starts, some line offsets may be reported by two adjacent segments
+			var lineOffsets = res.lineStartOffsets;
+			for(int j = 0, size = lineOffsets.size(); j < size; j++) {
+				int lineOff = lineOffsets.get(j);
+				if(lineStartOffsets.size() == 0 || lineStartOffsets.get(lineStartOffsets.size() - 1) < lineOff) {
+					lineStartOffsets.add(lineOff);
+				}
+			}
+
+			var children = res.tree.getChildrenRaw();
+			for(int j = 0, size = children.size(); j <= size; j++) {
+				var child = j < size ? children.get(j) : null;
+				// after the last child of the last segment, add any remaining masked blocks
+				int childOff = child != null ? child.getData().getToken().getOffsetStart() : (i == count - 1 ? Integer.MAX_VALUE : -1);
+
+				// close recreated blocks ending before this token and recreate the masked blocks starting before it
+				while(true) {
+					while(parentEnds[depth] < childOff) {
+						depth--;
+					}
+					if(nextMasked < masked.length && masked[nextMasked] < childOff) {
+						int open = masked[nextMasked];
+						int close = masked[nextMasked + 1];
+						while(parentEnds[depth] < open) {
+							depth--;
+						}
+						var blockTree = parents[depth].addChild(createBlockToken(tokenConstructor, src, srcOff, srcLen, open, close));
+						CodeTokenizer.Stats.parentFrags++;
+						recreatedBlocks.add(blockTree);
+						depth++;
+						parents[depth] = blockTree;
+						parentEnds[depth] = close;
+						nextMasked += 2;
+						continue;
+					}
+					break;
+				}
+
+				if(child != null) {
+					parents[depth].addChildTree(child);
+				}
+			}
+		}
+
+		// summarize the recreated blocks once all their children are added, nested blocks are created after the blocks containing them
+		for(int i = recreatedBlocks.size() - 1; i >= 0; i--) {
+			var blockTree = recreatedBlocks.get(i);
+			CodeTokenizer.summarizeSubtree(blockTree.getData(), blockTree.getChildrenRaw());
+		}
+		CodeTokenizer.summarizeSubtree(docRoot, docTree.getChildrenRaw());
+
+		if(trackLineColumns) {
+			docTextFragment.setLineEnd(segments.startLines[count - 1] + res.lineNumber - 1);
+			docTextFragment.setColumnEnd(res.columnNumber - 1);
+		}
+
+		return new CodeFileSrc(docTree, srcName, src, srcOff, srcLen, lineStartOffsets, lang);
+	}
+
+
+	/** Pre-scan a source and find the points at which it can be split into segments which tokenize independently
+	 * @param segmentLength the minimum length of each segment
+	 * @param descend whether to descend into large blocks to find split points, see {@link ParallelCodeTokenizer}
+	 * @param angleBracketBlocks true if the tokenizers include a '<' block tokenizer
+	 * @return the segments, a single segment if the source can't be split
+	 */
+	public static Segments findSegments(char[] src, int srcOff, int srcLen, int segmentLength, boolean descend, boolean angleBracketBlocks) {
+		var scan = new PreScan(src, srcOff, srcLen, angleBracketBlocks);
+		int end = srcOff + srcLen;
+
+		// descend into the largest block of the largest unsplittable range until the ranges are small enough
+		var masked = new ArrayList<Integer>();
+		while(descend && masked.size() < maxMaskedBlocks) {
+			int gapStart = srcOff;
+			int gapEnd = srcOff;
+			int prev = srcOff;
+			for(int i = 0; i <= scan.candidateCount; i++) {
+				if(i < scan.candidateCount && !scan.isSplitPoint(i, masked)) {
+					continue;
+				}
+				int off = i < scan.candidateCount ? scan.candidateOffsets[i] : end;
+				if(off - prev > gapEnd - gapStart) {
+					gapStart = prev;
+					gapEnd = off;
+				}
+				prev = off;
+			}
+
+			if(gapEnd - gapStart <= segmentLength * 2) {
+				break;
+			}
+
+			int block = scan.findLargestBlock(gapStart, gapEnd, masked);
+			if(block < 0 || scan.blockCloses[block] - scan.blockOpens[block] < (gapEnd - gapStart) / 2) {
+				break;
+			}
+			masked.add(block);
+		}
+
+		// group the split points into segments
+		var bounds = new int[8];
+		var startLines = new int[8];
+		int size = 0;
+		bounds[0] = srcOff;
+		startLines[0] = 0;
+		for(int i = 0; i < scan.candidateCount; i++) {
+			int off = scan.candidateOffsets[i];
+			if(off - bounds[size] >= segmentLength && end - off >= segmentLength / 2 && scan.isSplitPoint(i, masked)) {
+				size++;
+				if(size + 1 >= bounds.length) {
+					bounds = Arrays.copyOf(bounds, bounds.length * 2);
+					startLines = Arrays.copyOf(startLines, startLines.length * 2);
+				}
+				bounds[size] = off;
+				startLines[size] = scan.candidateLines[i];
+			}
+		}
+		bounds[size + 1] = end;
+
+		masked.sort((a, b) -> Integer.compare(scan.blockOpens[a], scan.blockOpens[b]));
+		var maskedBlocks = new int[masked.size() * 2];
+		for(int i = 0, sizeI = masked.size(); i < sizeI; i++) {
+			maskedBlocks[i * 2] = scan.blockOpens[masked.get(i)];
+			maskedBlocks[i * 2 + 1] = scan.blockCloses[masked.get(i)];
+		}
+
+		return new Segments(Arrays.copyOf(bounds, size + 2), Arrays.copyOf(startLines, size + 1), maskedBlocks);
+	}
+
+
+	private static SegmentResult tokenizeSegment(PairList<? extends CharParserFactory, ? extends TextTransformer<CodeTokenType>> tokenizers,
+			char[] chars, int segOff, int segLen, String srcName, TriFunction<CodeTokenType, TextFragmentRefImpl, String, CodeToken> tokenConstructor,
+			IsParentChild<CodeToken> isInside, boolean trackLineColumns, int lineOffset) {
+		var input = TextCharsParser.of(chars, segOff, segLen);
+		var segRoot = new CodeToken(CodeTokenType.DOCUMENT, new TextFragmentRefImpl(segOff, segOff + segLen, -1, -1, -1, -1), "");
+
+		var tree = (SimpleTreeImpl<CodeToken>)CodeTokenizer.tokenizeDocument(srcName, input, chars, segOff, segLen, null, tokenizers, segRoot,
+				tokenConstructor,
+				(docFrag) -> docFrag.getTokenType().isCompound(),
+				isInside,
+				trackLineColumns,
+				lineOffset,
+				CodeTokenizer::summarizeSubtree);
+
+		return new SegmentResult(tree, input.getLineNumbers().getRawCompletedLineOffsets(), input.getLineNumber(), input.getColumnNumber());
+	}
+
+
+	private static CodeToken createBlockToken(TriFunction<CodeTokenType, TextFragmentRefImpl, String, CodeToken> tokenConstructor,
+			char[] src, int srcOff, int srcLen, int open, int close) {
+		var text = TextFragmentRef.getText(srcOff, src, srcOff, srcLen, open, close + 1);
+		return tokenConstructor.apply(CodeTokenType.BLOCK, new TextFragmentRefImpl(open, close + 1, -1, -1, -1, -1), text);
+	}
+
+
+
+
+	/** The segments a source is split into
+	 */
+	public static class Segments {
+		/** The start offset of each segment followed by the end offset of the last segment (length is {@link #size()} + 1) */
+		public final int[] bounds;
+		/** The 0-based line index of the first line of each segment */
+		public final int[] startLines;
+		/** Pairs of opening and closing brace offsets of the blocks which were masked, ordered by opening brace offset */
+		public final int[] maskedBlocks;
+
+
+		public Segments(int[] bounds, int[] startLines, int[] maskedBlocks) {
+			this.bounds = bounds;
+			this.startLines = startLines;
+			this.maskedBlocks = maskedBlocks;
+		}
+
+
+		public int size() {
+			return bounds.length - 1;
+		}
+
+
+		@Override
+		public String toString() {
+			return "segments: " + Arrays.toString(bounds) + ", masked blocks: " + Arrays.toString(maskedBlocks);
+		}
+
+	}
+
+
+
+
+	/** A tokenized segment
+	 */
+	static class SegmentResult {
+		final SimpleTreeImpl<CodeToken> tree;
+		final IntListSorted lineStartOffsets;
+		final int lineNumber;
+		final int columnNumber;
+
+
+		SegmentResult(SimpleTreeImpl<CodeToken> tree, IntListSorted lineStartOffsets, int lineNumber, int columnNumber) {
+			this.tree = tree;
+			this.lineStartOffsets = lineStartOffsets;
+			this.lineNumber = lineNumber;
+			this.columnNumber = columnNumber;
+		}
+
+	}
+
+
+
+
+	/** The possible split points and '{' blocks found by a single pass over a source.
+	 * Possible split points are line starts, outside comments and strings, following a line ending with a ';', '{', or '}'
+	 * (a line ending with an identifier may be part of a multi-line generic type or statement).
+	 * Whether a possible split point is used depends on which blocks are masked.
+	 */
+	static class PreScan {
+		int candidateCount;
+		int[] candidateOffsets = new int[64];
+		int[] candidateLines = new int[64];
+		/** the '{', '(', '[' nesting depth at each possible split point, -1 if inside an unmatched '<' */
+		int[] candidateDepths = new int[64];
+		int blockCount;
+		int[] blockOpens = new int[64];
+		int[] blockCloses = new int[64];
+		/** the nesting depth outside each block, -1 if the block can't be masked (inside an unmatched '<' or not closed) */
+		int[] blockDepths = new int[64];
+
+
+		PreScan(char[] src, int srcOff, int srcLen, boolean angleBracketBlocks) {
+			int end = srcOff + srcLen;
+			int depth = 0;
+			int angleDepth = 0;
+			int line = 0;
+			char lastCh = 0; // last significant char, 0 after a comment
+			int[] openBlocks = new int[16]; // stack of unclosed '{' block indexes, -1 for '(' and '['
+			int openCount = 0;
+
+			int i = srcOff;
+			while(i < end) {
+				char ch = src[i];
+
+				if(ch == '/' && i + 1 < end && src[i + 1] == '/') {
+					while(i < end && src[i] != '\n' && src[i] != '\r') {
+						i++;
+					}
+					lastCh = 0;
+					continue;
+				}
+				if(ch == '/' && i + 1 < end && src[i + 1] == '*') {
+					int commentEnd = i + 2;
+					while(commentEnd + 1 < end && !(src[commentEnd] == '*' && src[commentEnd + 1] == '/')) {
+						commentEnd++;
+					}
+					commentEnd = Math.min(commentEnd + 2, end);
+					line += countLines(src, i, commentEnd);
+					i = commentEnd;
+					lastCh = 0;
+					continue;
+				}
+				if(ch == '"' || ch == '\'') {
+					int strEnd = i + 1;
+					while(strEnd < end && !(src[strEnd] == ch && src[strEnd - 1] != '\\')) {
+						strEnd++;
+					}
+					strEnd = Math.min(strEnd + 1, end);
+					line += countLines(src, i, strEnd);
+					i = strEnd;
+					lastCh = ch;
+					continue;
+				}
+				if(ch == '\n' || ch == '\r') {
+					i += (ch == '\r' && i + 1 < end && src[i + 1] == '\n') ? 2 : 1;
+					line++;
+					if(i < end && (lastCh == ';' || lastCh == '{' || lastCh == '}')) {
+						addCandidate(i, line, angleDepth > 0 ? -1 : depth);
+					}
+					continue;
+				}
+
+				switch(ch) {
+				case '{':
+					if(openCount == openBlocks.length) {
+						openBlocks = Arrays.copyOf(openBlocks, openCount * 2);
+					}
+					openBlocks[openCount++] = addBlock(i, angleDepth > 0 ? -1 : depth);
+					depth++;
+					break;
+				case '(':
+				case '[':
+					if(openCount == openBlocks.length) {
+						openBlocks = Arrays.copyOf(openBlocks, openCount * 2);
+					}
+					openBlocks[openCount++] = -1;
+					depth++;
+					break;
+				case '}':
+				case ')':
+				case ']':
+					// ignore unmatched closing brackets
+					if(openCount > 0) {
+						int block = openBlocks[--openCount];
+						if(block > -1) {
+							blockCloses[block] = i;
+							// mismatched brackets, don't mask
+							if(ch != '}') {
+								blockDepths[block] = -1;
+							}
+						}
+						depth--;
+					}
+					break;
+				case '<':
+					angleDepth += (angleBracketBlocks ? 1 : 0);
+					break;
+				case '>':
+					// a '>' only closes a '<' which is open, same as a '<' block tokenizer
+					angleDepth -= (angleDepth > 0 ? 1 : 0);
+					break;
+				default:
+					break;
+				}
+
+				if(!Character.isWhitespace(ch)) {
+					lastCh = ch;
+				}
+				i++;
+			}
+
+			// blocks which are not closed can't be masked
+			for(int j = 0; j < openCount; j++) {
+				if(openBlocks[j] > -1) {
+					blockDepths[openBlocks[j]] = -1;
+				}
+			}
+		}
+
+
+		/**
+		 * @return true if the possible split point at {@code index} is outside of all blocks other than the {@code masked} blocks
+		 */
+		boolean isSplitPoint(int index, ArrayList<Integer> masked) {
+			int depth = candidateDepths[index];
+			return depth > -1 && depth == countEnclosing(candidateOffsets[index], masked);
+		}
+
+
+		/**
+		 * @return the index of the longest block in the range [{@code rangeStart}, {@code rangeEnd}) which is outside of all blocks
+		 * other than the {@code masked} blocks, -1 if there are no such blocks
+		 */
+		int findLargestBlock(int rangeStart, int rangeEnd, ArrayList<Integer> masked) {
+			int largest = -1;
+			int i = findFirstBlock(rangeStart);
+			while(i < blockCount && blockOpens[i] < rangeEnd) {
+				int depth = blockDepths[i];
+				if(depth > -1 && depth == countEnclosing(blockOpens[i], masked)) {
+					if(blockCloses[i] < rangeEnd && (largest < 0 || blockCloses[i] - blockOpens[i] > blockCloses[largest] - blockOpens[largest])) {
+						largest = i;
+					}
+					// skip the blocks nested inside this one
+					i = findFirstBlock(blockCloses[i]);
+				}
+				else {
+					i++;
+				}
+			}
+			return largest;
+		}
+
+
+		private int countEnclosing(int offset, ArrayList<Integer> masked) {
+			int count = 0;
+			for(int i = 0, size = masked.size(); i < size; i++) {
+				int block = masked.get(i);
+				if(blockOpens[block] < offset && offset < blockCloses[block]) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+
+		/**
+		 * @return the index of the first block opening at or after {@code offset}
+		 */
+		private int findFirstBlock(int offset) {
+			int low = 0;
+			int high = blockCount;
+			while(low < high) {
+				int mid = (low + high) >>> 1;
+				if(blockOpens[mid] < offset) {
+					low = mid + 1;
+				}
+				else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+
+		private void addCandidate(int offset, int line, int depth) {
+			if(candidateCount == candidateOffsets.length) {
+				candidateOffsets = Arrays.copyOf(candidateOffsets, candidateCount * 2);
+				candidateLines = Arrays.copyOf(candidateLines, candidateCount * 2);
+				candidateDepths = Arrays.copyOf(candidateDepths, candidateCount * 2);
+			}
+			candidateOffsets[candidateCount] = offset;
+			candidateLines[candidateCount] = line;
+			candidateDepths[candidateCount] = depth;
+			candidateCount++;
+		}
+
+
+		private int addBlock(int open, int depth) {
+			if(blockCount == blockOpens.length) {
+				blockOpens = Arrays.copyOf(blockOpens, blockCount * 2);
+				blockCloses = Arrays.copyOf(blockCloses, blockCount * 2);
+				blockDepths = Arrays.copyOf(blockDepths, blockCount * 2);
+			}
+			blockOpens[blockCount] = open;
+			blockCloses[blockCount] = -1;
+			blockDepths[blockCount] = depth;
+			return blockCount++;
+		}
+
+
+		private static int countLines(char[] src, int off, int end) {
+			int lines = 0;
+			for(int i = off; i < end; i++) {
+				char ch = src[i];
+				if(ch == '\n' || (ch == '\r' && (i + 1 >= end || src[i + 1] != '\n'))) {
+					lines++;
+				}
+			}
+			return lines;
+		}
+
+	}
+
+}
@@ -0,0 +1,271 @@
+package twg2.parser.workflow;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import twg2.io.fileLoading.DirectorySearchInfo;
+
+/** A parse thread pool for '-threads auto'. The initial thread count is picked from the number and total size of the source files
+ * (see {@link #initialThreadCount(int, long, int)}, small projects are parsed sequentially since thread startup would dominate)
+ * and then adjusted while files are parsed.
+ * Each parsed file reports its size and the CPU time of the thread which parsed it via {@link #fileStarted()} and {@link #fileCompleted(long, long)}.
+ * Every {@link #adjustIntervalNs} the pool compares the throughput (source chars/second) and CPU utilization (thread CPU time / (wall time * threads))
+ * of the last interval with the previous interval and hill climbs:
+ * busy threads ({@link #highCpuUtilization}) on a machine with idle processors try one more thread,
+ * mostly waiting threads ({@link #lowCpuUtilization}) try one less thread,
+ * and a change which doesn't improve throughput by {@link #minImprovement} is reverted.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class AdaptiveThreadPool extends ThreadPoolExecutor {
+	/** Projects with fewer source bytes than this are parsed sequentially */
+	public static long minParallelBytes = 512 * 1024;
+	/** Projects with fewer files than this are parsed sequentially */
+	public static int minParallelFiles = 16;
+	/** Minimum source bytes per thread when picking the initial thread count */
+	public static long minBytesPerThread = 128 * 1024;
+	/** Minimum files per thread when picking the initial thread count */
+	public static int minFilesPerThread = 8;
+	/** Minimum time between thread count adjustments */
+	public static long adjustIntervalNs = TimeUnit.MILLISECONDS.toNanos(250);
+	/** CPU utilization, per thread, above which another thread is tried */
+	public static double highCpuUtilization = 0.85;
+	/** CPU utilization, per thread, below which one less thread is tried */
+	public static double lowCpuUtilization = 0.5;
+	/** Machine CPU load above which no more threads are tried */
+	public static double maxSystemCpuLoad = 0.9;
+	/** Minimum relative throughput improvement for a thread count change to be kept */
+	public static double minImprovement = 0.05;
+	/** Number of intervals to wait after a reverted change before trying another change */
+	public static int settleIntervals = 4;
+
+	private final ThreadMXBean threadBean;
+	private final com.sun.management.OperatingSystemMXBean osBean;
+	private final int initialThreads;
+	private final int maxThreads;
+	private final List<String> adjustments = new ArrayList<>();
+
+	// the current interval
+	private long intervalStartNs;
+	private long intervalChars;
+	private long intervalCpuNs;
+	private int intervalFiles;
+	// the last change, +1 or -1 while a change is being evaluated, else 0
+	private int probe;
+	private int probeFromThreads;
+	private double probeFromThroughput;
+	private int settleCountdown;
+	private int peakThreads;
+	private long totalFiles;
+	private long totalChars;
+
+
+	/**
+	 * @param initialThreads the starting number of threads
+	 * @param maxThreads the maximum number of threads
+	 */
+	public AdaptiveThreadPool(int initialThreads, int maxThreads) {
+		super(initialThreads, initialThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+		this.threadBean = ManagementFactory.getThreadMXBean();
+		var os = ManagementFactory.getOperatingSystemMXBean();
+		this.osBean = os instanceof com.sun.management.OperatingSystemMXBean ? (com.sun.management.OperatingSystemMXBean)os : null;
+		this.initialThreads = initialThreads;
+		this.maxThreads = Math.max(initialThreads, maxThreads);
+		this.peakThreads = initialThreads;
+		this.intervalStartNs = System.nanoTime();
+	}
+
+
+	public int getInitialThreads() {
+		return initialThreads;
+	}
+
+
+	public int getMaxThreads() {
+		return maxThreads;
+	}
+
+
+	public synchronized int getPeakThreads() {
+		return peakThreads;
+	}
+
+
+	/**
+	 * @return a description of each thread count change made so far
+	 */
+	public synchronized List<String> getAdjustments() {
+		return new ArrayList<>(adjustments);
+	}
+
+
+	/**
+	 * @param fileCount the number of files which will be parsed
+	 * @param maxFilesPerTask the maximum number of files per task
+	 * @return the number of files per task, small enough that every thread (up to {@link #getMaxThreads()}) gets several tasks
+	 * so thread count changes take effect before the run ends
+	 */
+	public int getTaskFileCount(int fileCount, int maxFilesPerTask) {
+		return Math.max(1, Math.min(maxFilesPerTask, fileCount / (maxThreads * 8)));
+	}
+
+
+	/** Call on the parsing thread before parsing a file
+	 * @return the current thread's CPU time, pass to {@link #fileCompleted(long, long)}
+	 */
+	public long fileStarted() {
+		return threadBean.getCurrentThreadCpuTime();
+	}
+
+
+	/** Call on the parsing thread after parsing a file
+	 * @param cpuStartNs the value returned by {@link #fileStarted()}
+	 * @param srcChars the number of chars in the file
+	 */
+	public void fileCompleted(long cpuStartNs, long srcChars) {
+		long cpuNs = threadBean.getCurrentThreadCpuTime() - cpuStartNs;
+		synchronized(this) {
+			intervalChars += srcChars;
+			intervalCpuNs += cpuNs;
+			intervalFiles++;
+			totalFiles++;
+			totalChars += srcChars;
+
+			long now = System.nanoTime();
+			if(now - intervalStartNs >= adjustIntervalNs && intervalFiles >= getCorePoolSize()) {
+				adjust(now);
+			}
+		}
+	}
+
+
+	/** Pick the initial thread count for a set of files
+	 * @param fileCount the number of files
+	 * @param totalBytes the total size of the files
+	 * @param processors the number of logical processors
+	 * @return the number of threads, 1 to parse the files sequentially
+	 */
+	public static int initialThreadCount(int fileCount, long totalBytes, int processors) {
+		if(processors < 2 || fileCount < minParallelFiles || totalBytes < minParallelBytes) {
+			return 1;
+		}
+		long byBytes = totalBytes / minBytesPerThread;
+		long byFiles = fileCount / minFilesPerThread;
+		return (int)Math.max(2, Math.min(processors, Math.min(byBytes, byFiles)));
+	}
+
+
+	/**
+	 * @return the number of files and their total size in bytes
+	 */
+	public static long[] countFiles(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups) throws IOException {
+		long fileCount = 0;
+		long totalBytes = 0;
+		for(var group : fileGroups) {
+			for(var path : group.getValue()) {
+				fileCount++;
+				totalBytes += Files.size(path);
+			}
+		}
+		return new long[] { fileCount, totalBytes };
+	}
+
+
+	private void adjust(long now) {
+		long wallNs = Math.max(1, now - intervalStartNs);
+		int threads = getCorePoolSize();
+		double throughput = intervalChars * 1e9 / wallNs;
+		double cpuUtilization = intervalCpuNs / ((double)wallNs * threads);
+		double systemLoad = osBean != null ? osBean.getCpuLoad() : -1;
+		int next = threads;
+		String reason = null;
+
+		if(probe != 0) {
+			// keep an added thread only if it improved throughput, keep a removed thread only if throughput didn't drop
+			boolean keep = probe > 0 ? throughput >= probeFromThroughput * (1 + minImprovement) : throughput >= probeFromThroughput * (1 - minImprovement);
+			if(!keep) {
+				next = probeFromThreads;
+				reason = "revert, throughput " + round(throughput) + " chars/s vs " + round(probeFromThroughput) + " chars/s with " + probeFromThreads + " threads";
+				probe = 0;
+				settleCountdown = settleIntervals;
+			}
+			else if(probe > 0 && cpuUtilization >= highCpuUtilization && threads < maxThreads && !(systemLoad > maxSystemCpuLoad)) {
+				next = threads + 1;
+				reason = "throughput improved to " + round(throughput) + " chars/s, cpu " + percent(cpuUtilization);
+				probeFromThreads = threads;
+				probeFromThroughput = throughput;
+			}
+			else {
+				probe = 0;
+			}
+		}
+		else if(settleCountdown > 0) {
+			settleCountdown--;
+		}
+		else if(cpuUtilization >= highCpuUtilization && threads < maxThreads && !(systemLoad > maxSystemCpuLoad)) {
+			next = threads + 1;
+			reason = "cpu " + percent(cpuUtilization) + ", system load " + percent(systemLoad);
+			probe = 1;
+			probeFromThreads = threads;
+			probeFromThroughput = throughput;
+		}
+		else if(cpuUtilization < lowCpuUtilization && threads > 1) {
+			next = threads - 1;
+			reason = "cpu " + percent(cpuUtilization) + ", threads waiting";
+			probe = -1;
+			probeFromThreads = threads;
+			probeFromThroughput = throughput;
+		}
+
+		if(next != threads) {
+			setThreads(next);
+			adjustments.add(threads + " -> " + next + " threads after " + totalFiles + " files (" + reason + ")");
+		}
+
+		intervalStartNs = now;
+		intervalChars = 0;
+		intervalCpuNs = 0;
+		intervalFiles = 0;
+	}
+
+
+	private void setThreads(int threads) {
+		// order matters, the core size can't exceed the max size
+		if(threads > getMaximumPoolSize()) {
+			setMaximumPoolSize(threads);
+			setCorePoolSize(threads);
+		}
+		else {
+			setCorePoolSize(threads);
+			setMaximumPoolSize(threads);
+		}
+		peakThreads = Math.max(peakThreads, threads);
+	}
+
+
+	@Override
+	public synchronized String toString() {
+		return "adaptive threads: initial " + initialThreads + ", final " + getCorePoolSize() + ", peak " + peakThreads + ", max " + maxThreads +
+				", " + totalFiles + " files, " + totalChars + " chars" + (adjustments.size() > 0 ? ", adjustments: " + adjustments : "");
+	}
+
+
+	private static String round(double value) {
+		return Long.toString(Math.round(value));
+	}
+
+
+	private static String percent(double value) {
+		return value < 0 ? "n/a" : Math.round(value * 100) + "%";
+	}
+
+}
@@ -20,6 +20,8 @@ public class CodeFileSrc {
 	public final int srcLen;
 	public final IntListSorted lineStartOffsets;
 	public final CodeLanguage language;
+	/** last line index found by {@link #getLineIndex(int)}, a lookup hint, since lookups tend to be sequential, not part of this object's state */
+	private int lastLineIndex;
 
 
 	/**
@@ -39,9 +41,71 @@ public class CodeFileSrc {
 	}
 
 
+	/** Find the line containing a source offset, computed on demand from {@link #lineStartOffsets} (tokens may not store line numbers).
+	 * Uses a binary search, starting with the line found by the previous call.
+	 * @param offset an offset in {@link #src}
+	 * @return the 0-based index of the line containing {@code offset}
+	 */
+	public int getLineIndex(int offset) {
+		var lineStarts = this.lineStartOffsets;
+		int size = lineStarts.size();
+		if(size == 0 || offset < lineStarts.get(0)) {
+			return 0;
+		}
+
+		// check the last line found and the next line before searching
+		int last = this.lastLineIndex;
+		if(last < size && lineStarts.get(last) <= offset) {
+			if(last + 1 >= size || offset < lineStarts.get(last + 1)) {
+				return last;
+			}
+			if(last + 2 >= size || offset < lineStarts.get(last + 2)) {
+				this.lastLineIndex = last + 1;
+				return last + 1;
+			}
+		}
+
+		// binary search for the last line start <= offset
+		int low = 0;
+		int high = size - 1;
+		while(low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if(lineStarts.get(mid) <= offset) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+
+		this.lastLineIndex = low;
+		return low;
+	}
+
+
+	/**
+	 * @param offset an offset in {@link #src}
+	 * @return the 0-based column of {@code offset} within its line
+	 * @see #getLineIndex(int)
+	 */
+	public int getColumnIndex(int offset) {
+		int line = getLineIndex(offset);
+		return lineStartOffsets.size() > 0 ? Math.max(0, offset - lineStartOffsets.get(line)) : offset - srcOff;
+	}
+
+
+	/**
+	 * @param offset an offset in {@link #src}
+	 * @return a 'srcName:line:column' string with 1-based line and column numbers, for error messages
+	 */
+	public String getPositionDescription(int offset) {
+		return srcName + ":" + (getLineIndex(offset) + 1) + ":" + (getColumnIndex(offset) + 1);
+	}
+
+
 	@Override
 	public String toString() {
-		return srcName + " (" + language + ", " + lineStartOffsets.size() + " lines)";
+		return srcName + " (" + language + ", " + (lineStartOffsets != null ? lineStartOffsets.size() : 0) + " lines)";
 	}
 
 }
@@ -1,25 +1,41 @@
 package twg2.parser.workflow;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 
 import twg2.ast.interm.classes.ClassAst;
+import twg2.collections.builder.ListUtil;
 import twg2.collections.builder.MapBuilder;
 import twg2.collections.dataStructures.PairList;
 import twg2.io.fileLoading.DirectorySearchInfo;
@@ -31,13 +47,18 @@ import twg2.logging.LogPrefixFormat;
 import twg2.logging.LogService;
 import twg2.logging.LogServiceImpl;
 import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.analytics.ParseEvents;
 import twg2.parser.codeParser.analytics.ParseTimes;
 import twg2.parser.codeParser.analytics.PerformanceTrackers;
 import twg2.parser.codeParser.csharp.CsBlock;
 import twg2.parser.codeParser.tools.NameUtil;
 import twg2.parser.main.ParserMisc;
+import twg2.parser.output.ModelPart;
+import twg2.parser.output.OutputFormat;
 import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ExternalTypeIndex;
 import twg2.parser.project.ProjectClassSet;
+import twg2.parser.tokenizers.ParallelCodeTokenizer;
 import twg2.text.stringUtils.StringJoin;
 import twg2.text.stringUtils.StringSplit;
 import twg2.text.stringUtils.StringTrim;
@@ -48,20 +69,49 @@ import twg2.text.stringUtils.StringTrim;
  */
 public class ParserWorkflow {
 	static String newline = System.lineSeparator();
+	/** '-threads auto', pick the thread count from the source files and adjust it while parsing, see {@link AdaptiveThreadPool} */
+	public static final int THREADS_AUTO = -1;
 
 	final List<DirectorySearchInfo> sources;
 	final List<DestinationInfo> destinations;
 	final Path logFile;
 	final int threadCount;
 	final boolean debug;
+	final PrescanMode prescan;
+	final int parallelTokenizeMinKb;
+	final IoMode ioMode;
+	final Shard shard;
+	final Path shardOutput;
+	final List<Path> mergeShards;
+	final Path externalTypes;
+	final ProgressReporter.Output progress;
 
 
 	public ParserWorkflow(List<DirectorySearchInfo> sources, List<DestinationInfo> destinations, Path log, int threads, boolean debug) {
-		this.sources = Collections.unmodifiableList(sources);
-		this.destinations = Collections.unmodifiableList(destinations);
-		this.logFile = log;
-		this.threadCount = threads;
-		this.debug = debug;
+		this(new Builder(sources, destinations).log(log).threads(threads).debug(debug));
+	}
+
+
+	private ParserWorkflow(Builder bldr) {
+		if(bldr.shard != null && bldr.shardOutput == null) {
+			throw new IllegalArgumentException("a shard output file is required to run a shard");
+		}
+		if(bldr.shard != null && bldr.mergeShards.size() > 0) {
+			throw new IllegalArgumentException("cannot run a shard and merge shards at the same time");
+		}
+		this.sources = Collections.unmodifiableList(bldr.sources);
+		this.destinations = Collections.unmodifiableList(bldr.destinations);
+		this.logFile = bldr.log;
+		this.threadCount = bldr.threads;
+		this.debug = bldr.debug;
+		this.prescan = bldr.prescan;
+		this.parallelTokenizeMinKb = bldr.parallelTokenizeMinKb;
+		this.ioMode = bldr.ioMode;
+		this.shard = bldr.shard;
+		this.shardOutput = bldr.shardOutput;
+		this.mergeShards = Collections.unmodifiableList(bldr.mergeShards);
+		this.externalTypes = bldr.externalTypes;
+		this.progress = bldr.progress;
 	}
 
 
@@ -95,9 +145,70 @@ public class ParserWorkflow {
 	}
 
 
+	public PrescanMode getPrescan() {
+		return prescan;
+	}
+
+
+	public int getParallelTokenizeMinKb() {
+		return parallelTokenizeMinKb;
+	}
+
+
+	public IoMode getIoMode() {
+		return ioMode;
+	}
+
+
+	public Shard getShard() {
+		return shard;
+	}
+
+
+	public Path getShardOutput() {
+		return shardOutput;
+	}
+
+
+	public List<Path> getMergeShards() {
+		return mergeShards;
+	}
+
+
+	public Path getExternalTypes() {
+		return externalTypes;
+	}
+
+
+	public ProgressReporter.Output getProgress() {
+		return progress;
+	}
+
+
 	public void run(Level logLevel, ExecutorService executor, PerformanceTrackers perfTracking) throws IOException, FileFormatException {
+		run(logLevel, executor, null, perfTracking);
+	}
+
+
+	/**
+	 * @param executor optional, the executor which parses files
+	 * @param ioExecutor optional, the executor which reads files before they are parsed on {@code executor}, see {@link IoMode#VIRTUAL}
+	 */
+	public void run(Level logLevel, ExecutorService executor, ExecutorService ioExecutor, PerformanceTrackers perfTracking) throws IOException, FileFormatException {
+		if(this.progress == null) {
+			runStages(logLevel, executor, ioExecutor, perfTracking, null);
+			return;
+		}
+		try(var progressReporter = ProgressReporter.start(this.progress)) {
+			runStages(logLevel, executor, ioExecutor, perfTracking, progressReporter);
+		}
+	}
+
+
+	private void runStages(Level logLevel, ExecutorService executor, ExecutorService ioExecutor, PerformanceTrackers perfTracking, ProgressReporter progress) throws IOException, FileFormatException {
 		// TODO educated guess at average namespace name parts
 		NameUtil.estimatedFqPartsCount = 5;
+		ParallelCodeTokenizer.minParallelSrcLength = this.parallelTokenizeMinKb * 1024;
 
 		var log = this.logFile != null ? new LogServiceImpl(logLevel, new PrintStream(this.logFile.toFile()), LogPrefixFormat.DATETIME_LEVEL_AND_CLASS) : null;
 		var fileReaders = new ConcurrentHashMap<FileReadUtil, Object>();
@@ -109,17 +220,72 @@ public class ParserWorkflow {
 
 		long start = System.nanoTime();
 
+		// merge the parsed classes of a sharded run instead of parsing
+		if(this.mergeShards.size() > 0) {
+			var parseRes = ShardFile.merge(this.mergeShards);
+			if(log != null) {
+				log.log(logLevel, this.getClass(), "merge() time: " + ParseTimes.roundNsToMs(System.nanoTime() - start, 0) + " ms, " + this.mergeShards.size() + " shards");
+			}
+			resolveAndWrite(parseRes, log, logLevel, progress);
+			return;
+		}
+
 		var loadRes = SourceFiles.load(this.sources);
 		if(log != null) {
 			loadRes.log(log, logLevel, true);
 		}
 
+		var fileGroups = this.shard != null ? this.shard.select(loadRes.getSources()) : loadRes.getSources();
+
+		boolean adaptiveThreads = this.threadCount == THREADS_AUTO && executor == null;
+		long[] fileStats = adaptiveThreads || progress != null ? AdaptiveThreadPool.countFiles(fileGroups) : null;
+
+		AdaptiveThreadPool adaptivePool = null;
+		if(adaptiveThreads) {
+			int processors = Runtime.getRuntime().availableProcessors();
+			int threads = AdaptiveThreadPool.initialThreadCount((int)fileStats[0], fileStats[1], processors);
+			if(threads > 1) {
+				adaptivePool = new AdaptiveThreadPool(threads, processors);
+				executor = adaptivePool;
+			}
+			var configMsg = "threads auto: " + fileStats[0] + " files, " + fileStats[1] + " bytes, " + processors + " processors, " +
+					(threads > 1 ? "starting with " + threads + " threads (max " + processors + ")" : "parsing sequentially");
+			if(log != null) {
+				log.log(logLevel, this.getClass(), configMsg);
+			}
+		}
+
 		long postLoad = System.nanoTime();
 
-		ParsedResult parseRes = ParsedResult.parse(loadRes.getSources(), executor, fileReader, perfTracking);
+		var dstNamespaces = new ArrayList<String>();
+		for(var dst : this.destinations) {
+			dstNamespaces.addAll(dst.namespaces);
+		}
+
+		// only extract the class parts which at least one destination writes
+		var extractParts = this.destinations.size() > 0 ? DestinationInfo.unionParts(this.destinations) : ModelPart.ALL;
+
+		if(progress != null) {
+			progress.startParse(fileStats[0], fileStats[1]);
+		}
+
+		ParsedResult parseRes;
+		try {
+			parseRes = ParsedResult.parse(fileGroups, executor, ioExecutor, fileReader, perfTracking, this.prescan, dstNamespaces, extractParts, progress);
+		} finally {
+			if(adaptivePool != null) {
+				adaptivePool.shutdown();
+			}
+		}
 
 		long end = System.nanoTime();
 
+		if(adaptivePool != null) {
+			if(log != null) {
+				log.log(logLevel, this.getClass(), adaptivePool.toString());
+			}
+		}
+
 		String parseTimeBreakdownStr = null;
 		if(perfTracking != null) {
 			var parserStats = perfTracking.getParseStats().entrySet();
@@ -160,7 +326,8 @@ public class ParserWorkflow {
 				"\ncompoundCharParserAcceptNext=" + totalCompoundCharParserAcceptNext +
 				"\ncreateParser=" + totalCreateParser +
 				"\ntextFragmentsConsumed=" + totalTextFragmentsConsumed +
-				"\ntotalParserReuseCount=" + totalParserReuseCount + " (peak pool sizes: " + maxSizePools + ")";
+				"\ntotalParserReuseCount=" + totalParserReuseCount + " (peak pool sizes: " + maxSizePools + ")" +
+				"\nthread usage: " + perfTracking.toAllocationSummary();
 		}
 
 		// TODO debugging
@@ -168,23 +335,185 @@ public class ParserWorkflow {
 		System.out.println("parse() time: " + ParseTimes.roundNsToMs(end - postLoad, 0) + " ms" + (parseTimeBreakdownStr != null ? parseTimeBreakdownStr : ""));
 
 		if(log != null) {
+			if(this.prescan != PrescanMode.NONE) {
+				log.log(logLevel, this.getClass(), "prescan: skipped " + parseRes.prescanSkippedFiles + " of " + parseRes.prescanTotalFiles + " files" + (this.prescan == PrescanMode.INDEX ? ", indexed " + parseRes.prescanIndexedTypes + " types" : ""));
+			}
 			parseRes.log(log, logLevel, true, 1);
 		}
 
+		if(this.shard != null) {
+			ShardFile.write(this.shardOutput, this.shard, loadRes.getSources(), parseRes);
+			if(log != null) {
+				log.log(logLevel, this.getClass(), "shard " + this.shard + ": parsed " + parseRes.compilationUnits.getCompilationUnitsStartWith(Arrays.asList("")).size() + " classes, written to '" + this.shardOutput + "'");
+			}
+			return;
+		}
+
+		resolveAndWrite(parseRes, log, logLevel, progress);
+	}
+
+
+	private void resolveAndWrite(ParsedResult parseRes, LogService log, Level logLevel, ProgressReporter progress) throws IOException, FileFormatException {
+		if(this.externalTypes != null) {
+			var externalTypeIndex = ExternalTypeIndex.load(this.externalTypes);
+			parseRes.compilationUnits.setExternalTypeIndex(externalTypeIndex);
+			if(log != null) {
+				log.log(logLevel, this.getClass(), externalTypeIndex.toString());
+			}
+		}
+
 		var missingNamespaces = new HashSet<List<String>>();
-		var resolvedRes = ResolvedResult.resolve(parseRes.compilationUnits, missingNamespaces);
+		// only resolve the classes which are written to a destination, the full parsed set is still used to lookup names
+		var resolvedRes = ResolvedResult.resolve(parseRes.compilationUnits, this.destinations, missingNamespaces, progress);
 
 		if(log != null) {
+			var resolutionCache = parseRes.compilationUnits.getResolutionCache();
+			if(resolutionCache != null) {
+				log.log(logLevel, this.getClass(), "resolve() " + resolutionCache);
+			}
 			resolvedRes.log(log, logLevel, true);
 		}
 
-		var filterRes = FilterResult.filter(resolvedRes.compilationUnits, this.destinations);
+		var filterRes = FilterResult.filter(parseRes.compilationUnits, resolvedRes.compilationUnits, this.destinations);
 
 		if(log != null) {
 			filterRes.log(log, logLevel, true);
 		}
 
-		WriteResult.write(filterRes.filterSets, missingNamespaces);
+		var writeRes = WriteResult.write(filterRes.filterSets, missingNamespaces, progress);
+
+		if(log != null) {
+			writeRes.log(log, logLevel, true);
+		}
+	}
+
+
+
+
+	/** Builds a {@link ParserWorkflow}, only the sources and destinations are required, the other settings default to the same values as the command line arguments
+	 */
+	public static class Builder {
+		List<DirectorySearchInfo> sources;
+		List<DestinationInfo> destinations;
+		Path log = null;
+		int threads = 1;
+		boolean debug = false;
+		PrescanMode prescan = PrescanMode.NONE;
+		int parallelTokenizeMinKb = 0;
+		IoMode ioMode = IoMode.PLATFORM;
+		Shard shard = null;
+		Path shardOutput = null;
+		List<Path> mergeShards = Collections.emptyList();
+		Path externalTypes = null;
+		ProgressReporter.Output progress = null;
+
+
+		public Builder(List<DirectorySearchInfo> sources, List<DestinationInfo> destinations) {
+			this.sources = sources;
+			this.destinations = destinations;
+		}
+
+
+		/**
+		 * @param log optional, the log file to write
+		 */
+		public Builder log(Path log) {
+			this.log = log;
+			return this;
+		}
+
+
+		/**
+		 * @param threads the number of threads which parse files, or {@link ParserWorkflow#THREADS_AUTO}
+		 */
+		public Builder threads(int threads) {
+			this.threads = threads;
+			return this;
+		}
+
+
+		public Builder debug(boolean debug) {
+			this.debug = debug;
+			return this;
+		}
+
+
+		/**
+		 * @param prescan whether to scan each file's namespace/package declaration and skip parsing files which cannot contain classes in any of the destinations
+		 */
+		public Builder prescan(PrescanMode prescan) {
+			this.prescan = prescan;
+			return this;
+		}
+
+
+		/**
+		 * @param parallelTokenizeMinKb minimum file size, in KB, at which a single file is tokenized in parallel segments, 0 to tokenize each file on one thread,
+		 * see {@link ParallelCodeTokenizer}
+		 */
+		public Builder parallelTokenizeMinKb(int parallelTokenizeMinKb) {
+			this.parallelTokenizeMinKb = parallelTokenizeMinKb;
+			return this;
+		}
+
+
+		/**
+		 * @param ioMode whether files are read on the same platform threads which parse them or on virtual threads, see {@link IoMode}
+		 */
+		public Builder ioMode(IoMode ioMode) {
+			this.ioMode = ioMode;
+			return this;
+		}
+
+
+		/**
+		 * @param shard optional, only parse the source files belonging to this shard and write the parsed classes to {@code shardOutput}
+		 * instead of resolving them and writing the destinations, see {@link ShardFile}
+		 * @param shardOutput the file to write the shard's parsed classes to, required if {@code shard} is not null
+		 */
+		public Builder shard(Shard shard, Path shardOutput) {
+			this.shard = shard;
+			this.shardOutput = shardOutput;
+			return this;
+		}
+
+
+		/**
+		 * @param mergeShards instead of parsing the sources, load the parsed classes of every shard of a run from these files,
+		 * then resolve them and write the destinations
+		 */
+		public Builder mergeShards(List<Path> mergeShards) {
+			this.mergeShards = mergeShards;
+			return this;
+		}
+
+
+		/**
+		 * @param externalTypes optional, an {@link ExternalTypeIndex} file of types declared outside of the sources (i.e. framework types),
+		 * used to resolve their fully qualifying names instead of reporting their namespaces as missing
+		 */
+		public Builder externalTypes(Path externalTypes) {
+			this.externalTypes = externalTypes;
+			return this;
+		}
+
+
+		/**
+		 * @param progress optional, periodically print the run's progress in this format, see {@link ProgressReporter}
+		 */
+		public Builder progress(ProgressReporter.Output progress) {
+			this.progress = progress;
+			return this;
+		}
+
+
+		/**
+		 * @throws IllegalArgumentException if a shard is set without a shard output file, or with merge shards
+		 */
+		public ParserWorkflow build() {
+			return new ParserWorkflow(this);
+		}
+
 	}
 
 
@@ -193,11 +522,26 @@ public class ParserWorkflow {
 	public static class DestinationInfo {
 		String path;
 		List<String> namespaces;
+		/** The parts of each class written to this destination, see {@link ModelPart} */
+		Set<ModelPart> parts = ModelPart.ALL;
+
+
+		public Set<ModelPart> getParts() {
+			return parts;
+		}
+
+
+		/**
+		 * @return the union of the parts written by the {@code destinations}, see {@link ModelPart#union(java.util.Collection)}
+		 */
+		public static Set<ModelPart> unionParts(List<DestinationInfo> destinations) {
+			return ModelPart.union(ListUtil.map(destinations, (dst) -> dst.parts));
+		}
 
 
 		@Override
 		public String toString() {
-			return path + ": " + namespaces.toString();
+			return path + ": " + namespaces.toString() + (parts.size() < ModelPart.ALL.size() ? " " + parts.toString() : "");
 		}
 
 
@@ -213,11 +557,27 @@ public class ParserWorkflow {
 			dstInfo.path = values[0];
 
 			if(values[1] != null) {
-				if(!values[1].startsWith("[") || !values[1].endsWith("]")) {
-					throw new IllegalArgumentException("'" + argName + "' value should be a '[namespace_string,..]'");
+				int namespacesEnd = values[1].indexOf(']');
+				if(!values[1].startsWith("[") || namespacesEnd < 0) {
+					throw new IllegalArgumentException("'" + argName + "' value should be a '[namespace_string,..]' optionally followed by ',[model_part,..]'");
 				}
-				List<String> namespaces = StringSplit.split(values[1].substring(1, values[1].length() - 1), ',');
+				List<String> namespaces = StringSplit.split(values[1].substring(1, namespacesEnd), ',');
 				dstInfo.namespaces = namespaces;
+
+				// optional model parts, i.e. '[App.Models],[fields,annotations]'
+				String partsStr = values[1].substring(namespacesEnd + 1);
+				if(partsStr.length() > 0) {
+					if(!partsStr.startsWith(",[") || !partsStr.endsWith("]")) {
+						throw new IllegalArgumentException("'" + argName + "' model parts should be a ',[model_part,..]' following the namespaces, found '" + partsStr + "'");
+					}
+					var parts = EnumSet.noneOf(ModelPart.class);
+					for(var partName : StringSplit.split(partsStr.substring(2, partsStr.length() - 1), ',')) {
+						if(partName.trim().length() > 0) {
+							parts.add(ModelPart.parse(partName, argName));
+						}
+					}
+					dstInfo.parts = parts;
+				}
 			}
 			return dstInfo;
 		}
@@ -227,9 +587,85 @@ public class ParserWorkflow {
 
 
 
+	/** Whether to scan each source file's namespace/package declaration before parsing and skip files which cannot contain classes belonging to any destination
+	 */
+	public static enum PrescanMode {
+		/** Parse all files */
+		NONE,
+		/** Skip files outside the destination namespaces, types declared in skipped files are not available for type resolution */
+		SKIP,
+		/** Skip files outside the destination namespaces, but index the names of the types they declare for type resolution */
+		INDEX;
+
+
+		public static PrescanMode parse(String str, String argName) {
+			for(var mode : values()) {
+				if(mode.name().equalsIgnoreCase(str)) {
+					return mode;
+				}
+			}
+			throw new IllegalArgumentException("'" + argName + "' value should be one of " + Arrays.toString(values()) + ", found '" + str + "'");
+		}
+
+	}
+
+
+
+
+	/** How files are read, see {@link ParserMisc#parseFileSet(List, ProjectClassSet.Intermediate, ExecutorService, ExecutorService, ThreadLocal, PerformanceTrackers)} */
+	public static enum IoMode {
+		/** Read each file on the platform thread which parses it ('-threads' pool) */
+		PLATFORM,
+		/** Read files on virtual threads (many blocking reads in flight) and tokenize/extract them on a platform thread pool sized to the number of processors */
+		VIRTUAL;
+
+
+		public static IoMode parse(String str, String argName) {
+			for(var mode : values()) {
+				if(mode.name().equalsIgnoreCase(str)) {
+					return mode;
+				}
+			}
+			throw new IllegalArgumentException("'" + argName + "' value should be one of " + Arrays.toString(values()) + ", found '" + str + "'");
+		}
+
+
+		/**
+		 * @param threads the '-threads' argument
+		 * @return the parse executor for this mode, null to parse files sequentially (or to let {@link ParserWorkflow#run(Level, ExecutorService, ExecutorService, PerformanceTrackers)}
+		 * pick the thread count if {@code threads} is {@link ParserWorkflow#THREADS_AUTO})
+		 */
+		public ExecutorService createExecutor(int threads) {
+			if(threads == THREADS_AUTO) {
+				return null;
+			}
+			if(this == VIRTUAL) {
+				return Executors.newFixedThreadPool(threads > 1 ? threads : Runtime.getRuntime().availableProcessors());
+			}
+			return threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		}
+
+
+		/**
+		 * @return the file read executor for this mode, null to read files on the parse executor
+		 */
+		public ExecutorService createIoExecutor() {
+			return this == VIRTUAL ? Executors.newVirtualThreadPerTaskExecutor() : null;
+		}
+
+	}
+
+
+
+
 	public static class ParsedResult {
 		/** The set of all parsed files */
 		ProjectClassSet.Intermediate<BlockType> compilationUnits;
+		int prescanTotalFiles;
+		int prescanSkippedFiles;
+		int prescanIndexedTypes;
+		/** The prescan type stubs of skipped files, including any not added to {@link #compilationUnits} because a parsed class has the same name */
+		List<CodeFileParsed.Intermediate<BlockType>> prescanIndexed = Collections.emptyList();
 
 
 		@SuppressWarnings({ "unchecked" })
@@ -275,13 +711,84 @@ public class ParserWorkflow {
 
 		public static ParsedResult parse(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups, ExecutorService executor,
 				ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking) throws IOException, FileFormatException {
+			return parse(fileGroups, executor, fileReader, perfTracking, PrescanMode.NONE, Collections.emptyList());
+		}
+
+
+		/**
+		 * @param prescan whether to skip parsing files which cannot contain classes in {@code namespaces}
+		 * @param namespaces the destination namespaces, only used if {@code prescan} is not {@link PrescanMode#NONE}
+		 */
+		public static ParsedResult parse(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups, ExecutorService executor,
+				ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking, PrescanMode prescan, Collection<String> namespaces) throws IOException, FileFormatException {
+			return parse(fileGroups, executor, null, fileReader, perfTracking, prescan, namespaces);
+		}
+
+
+		/**
+		 * @param ioExecutor optional, the executor which reads files before they are parsed on {@code executor}, see {@link IoMode#VIRTUAL}
+		 * @param prescan whether to skip parsing files which cannot contain classes in {@code namespaces}
+		 * @param namespaces the destination namespaces, only used if {@code prescan} is not {@link PrescanMode#NONE}
+		 */
+		public static ParsedResult parse(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups, ExecutorService executor, ExecutorService ioExecutor,
+				ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking, PrescanMode prescan, Collection<String> namespaces) throws IOException, FileFormatException {
+			return parse(fileGroups, executor, ioExecutor, fileReader, perfTracking, prescan, namespaces, ModelPart.ALL, null);
+		}
+
+
+		/**
+		 * @param ioExecutor optional, the executor which reads files before they are parsed on {@code executor}, see {@link IoMode#VIRTUAL}
+		 * @param prescan whether to skip parsing files which cannot contain classes in {@code namespaces}
+		 * @param namespaces the destination namespaces, only used if {@code prescan} is not {@link PrescanMode#NONE}
+		 * @param parts the parts of each class to extract, see {@link DestinationInfo#unionParts(List)}
+		 * @param progress optional, the reporter updated as files are skipped and parsed
+		 */
+		public static ParsedResult parse(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups, ExecutorService executor, ExecutorService ioExecutor,
+				ThreadLocal<FileReadUtil> fileReader, PerformanceTrackers perfTracking, PrescanMode prescan, Collection<String> namespaces, Set<ModelPart> parts,
+				ProgressReporter progress) throws IOException, FileFormatException {
 			var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+			var indexedTypes = new ArrayList<CodeFileParsed.Intermediate<BlockType>>();
+			int totalFiles = 0;
+			int skippedFiles = 0;
 
 			for(var filesWithSrc : fileGroups) {
-				ParserMisc.parseFileSet(filesWithSrc.getValue(), fileSet, executor, fileReader, perfTracking);
+				var paths = filesWithSrc.getValue();
+				if(prescan != PrescanMode.NONE) {
+					totalFiles += paths.size();
+					var prescanRes = ParserMisc.prescanFileSet(paths, namespaces, prescan == PrescanMode.INDEX, executor);
+					paths = prescanRes.getKey();
+					skippedFiles += filesWithSrc.getValue().size() - paths.size();
+					if(progress != null && paths.size() < filesWithSrc.getValue().size()) {
+						var keptPaths = new HashSet<Path>(paths);
+						long skippedBytes = 0;
+						for(var path : filesWithSrc.getValue()) {
+							if(!keptPaths.contains(path)) {
+								skippedBytes += Files.size(path);
+							}
+						}
+						progress.filesSkipped(filesWithSrc.getValue().size() - paths.size(), skippedBytes);
+					}
+					indexedTypes.addAll(prescanRes.getValue());
+				}
+				ParserMisc.parseFileSet(paths, fileSet, executor, ioExecutor, fileReader, perfTracking, parts, progress);
 			}
 
-			return new ParsedResult(fileSet);
+			// add index entries last so fully parsed classes take precedence
+			int indexedCnt = 0;
+			for(var indexedType : indexedTypes) {
+				var fullName = indexedType.parsedClass.getSignature().getFullName();
+				if(!fileSet.hasCompilationUnit(fullName)) {
+					fileSet.addCompilationUnit(fullName, indexedType);
+					indexedCnt++;
+				}
+			}
+
+			var res = new ParsedResult(fileSet);
+			res.prescanTotalFiles = totalFiles;
+			res.prescanSkippedFiles = skippedFiles;
+			res.prescanIndexedTypes = indexedCnt;
+			res.prescanIndexed = indexedTypes;
+			return res;
 		}
 
 	}
@@ -301,6 +808,11 @@ public class ParserWorkflow {
 		}
 
 
+		public ProjectClassSet.Resolved<BlockType> getCompilationUnits() {
+			return compilationUnits;
+		}
+
+
 		public void log(LogService log, Level level, boolean includeHeader) {
 			if(LogService.wouldLog(log, level)) {
 				int cnt = 0;
@@ -350,6 +862,52 @@ public class ParserWorkflow {
 			return new ResolvedResult(resFileSet, missingNamespaces);
 		}
 
+
+		/** Resolve only the classes which belong to one of the {@code destinations}, names are resolved against the entire {@code simpleFileSet}.
+		 * The resolved classes are identical to those produced by {@link #resolve(ProjectClassSet.Intermediate, HashSet)}, but resolution cost is proportional
+		 * to the number of classes written rather than the number of classes parsed
+		 */
+		public static ResolvedResult resolve(ProjectClassSet.Intermediate<BlockType> simpleFileSet, List<DestinationInfo> destinations, HashSet<List<String>> missingNamespaces) throws IOException {
+			return resolve(simpleFileSet, destinations, missingNamespaces, null);
+		}
+
+
+		/** Same as {@link #resolve(ProjectClassSet.Intermediate, List, HashSet)}
+		 * @param progress optional, the reporter updated as classes are resolved
+		 */
+		public static ResolvedResult resolve(ProjectClassSet.Intermediate<BlockType> simpleFileSet, List<DestinationInfo> destinations, HashSet<List<String>> missingNamespaces,
+				ProgressReporter progress) throws IOException {
+			var resFileSet = new ProjectClassSet.Resolved<BlockType>();
+
+			// destinations may overlap, resolve each class once
+			var files = new LinkedHashMap<List<String>, CodeFileParsed.Intermediate<BlockType>>();
+			for(var dstInfo : destinations) {
+				for(var namespace : dstInfo.namespaces) {
+					for(var file : simpleFileSet.getCompilationUnitsStartWith(StringSplit.split(namespace, '.'))) {
+						files.putIfAbsent(file.parsedClass.getSignature().getFullName(), file);
+					}
+				}
+			}
+
+			if(progress != null) {
+				progress.startResolve(files.size());
+			}
+
+			// parts which no destination writes are not resolved
+			var parts = DestinationInfo.unionParts(destinations);
+
+			for(var file : files.values()) {
+				// TODO shouldn't be using CsBlock, should use language block type
+				var resFile = ProjectClassSet.resolveClass(file, simpleFileSet, CsBlock.CLASS, missingNamespaces, parts);
+				resFileSet.addCompilationUnit(resFile.parsedClass.getSignature().getFullName(), resFile);
+				if(progress != null) {
+					progress.classResolved();
+				}
+			}
+
+			return new ResolvedResult(resFileSet, missingNamespaces);
+		}
+
 	}
 
 
@@ -366,6 +924,11 @@ public class ParserWorkflow {
 		}
 
 
+		public Map<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>> getFilterSets() {
+			return filterSets;
+		}
+
+
 		public void log(LogService log, Level level, boolean includeHeader) {
 			if(LogService.wouldLog(log, level)) {
 				var sb = new StringBuilder();
@@ -401,24 +964,119 @@ public class ParserWorkflow {
 			return new FilterResult(resSets);
 		}
 
+
+		/** Group resolved classes by destination, the classes are selected from the unresolved {@code simpleFileSet} (so they are in the same order
+		 * as {@link #filter(ProjectClassSet.Resolved, List)} would produce) and looked up in {@code resFileSet}
+		 * @param simpleFileSet the parsed classes
+		 * @param resFileSet the resolved classes, must contain every class which belongs to one of the {@code destinations},
+		 * see {@link ResolvedResult#resolve(ProjectClassSet.Intermediate, List, HashSet)}
+		 */
+		public static FilterResult filter(ProjectClassSet.Intermediate<BlockType> simpleFileSet, ProjectClassSet.Resolved<BlockType> resFileSet, List<DestinationInfo> destinations) throws IOException {
+			Map<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>> resSets = new HashMap<>();
+			for(var dstInfo : destinations) {
+				var matchingNamespaces = new ArrayList<CodeFileParsed.Resolved<BlockType>>();
+				for(var namespace : dstInfo.namespaces) {
+					for(var file : simpleFileSet.getCompilationUnitsStartWith(StringSplit.split(namespace, '.'))) {
+						var resFile = resFileSet.getCompilationUnitFile(file.parsedClass.getSignature().getFullName());
+						if(resFile == null) {
+							throw new IllegalStateException("class '" + NameUtil.joinFqName(file.parsedClass.getSignature().getFullName()) + "' for destination '" + dstInfo + "' was not resolved");
+						}
+						matchingNamespaces.add(resFile);
+					}
+				}
+				resSets.put(dstInfo, matchingNamespaces);
+			}
+
+			return new FilterResult(resSets);
+		}
+
 	}
 
 
 
 
 	public static class WriteResult {
+		/** Destination file paths which were (re)written because their content changed */
+		List<String> writtenFiles = new ArrayList<>();
+		/** Destination file paths which were not rewritten because their existing content was identical */
+		List<String> skippedFiles = new ArrayList<>();
+		long writtenBytes;
+		long skippedBytes;
+		/** The serialized classes, shared by the destinations which include the same class */
+		SerializedClassCache serializedClasses = new SerializedClassCache();
+
+
+		public List<String> getWrittenFiles() {
+			return writtenFiles;
+		}
+
+
+		public List<String> getSkippedFiles() {
+			return skippedFiles;
+		}
+
+
+		public long getWrittenBytes() {
+			return writtenBytes;
+		}
+
+
+		public long getSkippedBytes() {
+			return skippedBytes;
+		}
+
+
+		public SerializedClassCache getSerializedClasses() {
+			return serializedClasses;
+		}
+
+
+		@Override
+		public String toString() {
+			return "destinations written=" + writtenFiles.size() + " (" + writtenBytes + " bytes), skipped unchanged=" + skippedFiles.size() + " (" + skippedBytes + " bytes), " + serializedClasses;
+		}
+
+
+		public void log(LogService log, Level level, boolean includeHeader) {
+			if(LogService.wouldLog(log, level)) {
+				var sb = new StringBuilder();
+				if(includeHeader) {
+					sb.append(newline);
+					sb.append("write results:");
+					sb.append(newline);
+				}
+				sb.append(this.toString());
+				sb.append(newline);
+				sb.append("written: ").append(writtenFiles);
+				sb.append(newline);
+				sb.append("skipped: ").append(skippedFiles);
+				sb.append(newline);
+				log.log(level, this.getClass(), sb.toString());
+			}
+		}
+
 
-		public static void write(Map<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>> resSets, Collection<List<String>> missingNamespaces) throws IOException {
-			var writeSettings = new WriteSettings(true, false, false, true);
+		public static WriteResult write(Map<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>> resSets, Collection<List<String>> missingNamespaces) throws IOException {
+			return write(resSets, missingNamespaces, null);
+		}
+
+
+		/**
+		 * @param progress optional, the reporter updated as destinations are written
+		 */
+		public static WriteResult write(Map<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>> resSets, Collection<List<String>> missingNamespaces,
+				ProgressReporter progress) throws IOException {
 			// associates file paths with how many times each has been written to (so we can append on subsequent writes)
 			var definitionsByOutputFile = new HashMap<String, PairList<String, char[]>>();
 
+			var res = new WriteResult();
 			var tmpSb = new StringBuilder(2048);
 
 			// write class definitions to JSON strings and group by output file
 			for(var dstSet : resSets.entrySet()) {
 				var dst = dstSet.getKey();
 				var classes = dstSet.getValue();
+				var writeSettings = new WriteSettings(true, false, false, true, dst.parts);
 				
 				PairList<String, char[]> definitionStrs = definitionsByOutputFile.get(dst.path);
 				if(definitionStrs == null) {
@@ -427,39 +1085,320 @@ public class ParserWorkflow {
 				}
 
 				for(var classInfo : classes) {
-					tmpSb.setLength(0);
 					String classNameFq = NameUtil.joinFqName(classInfo.parsedClass.getSignature().getFullName());
-					tmpSb.append("\"" + classNameFq + "\": ");
-					classInfo.parsedClass.toJson(tmpSb, writeSettings);
-					char[] dstChars = new char[tmpSb.length()];
-					tmpSb.getChars(0, tmpSb.length(), dstChars, 0);
+					// destinations may overlap, each class is only serialized once
+					char[] dstChars = res.serializedClasses.toJson(classInfo.parsedClass, writeSettings, tmpSb);
 					definitionStrs.add(classNameFq, dstChars);
 				}
 			}
 
+			if(progress != null) {
+				progress.startWrite(definitionsByOutputFile.size());
+			}
+
 			for(var dstData : definitionsByOutputFile.entrySet()) {
+				var event = new ParseEvents.WriteDestination();
+				event.begin();
 				List<Entry<String, char[]>> defs = new ArrayList<>(MapBuilder.mutable(dstData.getValue().keyList(), dstData.getValue().valueList(), true).entrySet());
 				Collections.sort(defs, (c1, c2) -> c1.getKey().compareTo(c2.getKey()));
 
-				try(var output = Files.newBufferedWriter(Paths.get(dstData.getKey()), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-					boolean first = true;
-					output.write("{\n\"files\": {");
+				var dstPath = Paths.get(dstData.getKey());
+				var format = OutputFormat.fromFileName(dstPath.getFileName().toString());
 
-					for(var def : defs) {
-						if(!first) {
-							output.append(",\n");
-						}
-						output.write(def.getValue(), 0, def.getValue().length);
-						first = false;
+				// hash the would-be output and only replace the destination file if its content differs, so file watchers and downstream builds aren't triggered needlessly
+				var hashOut = new HashingOutputStream(newDigest());
+				writeDefinitions(defs, format, hashOut);
+
+				if(isFileContentEqual(dstPath, hashOut.byteCount, hashOut.digest.digest())) {
+					res.skippedFiles.add(dstData.getKey());
+					res.skippedBytes += hashOut.byteCount;
+					commitWriteEvent(event, dstData.getKey(), format, defs.size(), hashOut.byteCount, false);
+					if(progress != null) {
+						progress.destinationWritten();
+					}
+					continue;
+				}
+
+				// write to a temp file in the same directory, then move it over the destination so readers never see a partially written file
+				var tmpPath = newTempFilePath(dstPath);
+				try {
+					try(var output = Files.newOutputStream(tmpPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+						writeDefinitions(defs, format, output);
+					}
+					copyPosixPermissions(dstPath, tmpPath);
+
+					try {
+						Files.move(tmpPath, dstPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+					} catch(AtomicMoveNotSupportedException amnse) {
+						Files.move(tmpPath, dstPath, StandardCopyOption.REPLACE_EXISTING);
 					}
+				} finally {
+					Files.deleteIfExists(tmpPath);
+				}
 
-					output.write("}\n}");
-					//String[] nonSystemMissingNamespaces = missingNamespaces.stream().filter((ns) -> !"System".equals(ns.get(0))).map((ns) -> NameUtil.joinFqName(ns)).toArray((n) -> new String[n]);
-					//System.out.println("missing non-system namespaces: (" + nonSystemMissingNamespaces.length + "): " + Arrays.toString(nonSystemMissingNamespaces));
-				} catch(IOException ioe) {
-					throw ioe;
+				res.writtenFiles.add(dstData.getKey());
+				res.writtenBytes += hashOut.byteCount;
+				commitWriteEvent(event, dstData.getKey(), format, defs.size(), hashOut.byteCount, true);
+				if(progress != null) {
+					progress.destinationWritten();
 				}
 			}
+
+			return res;
+		}
+
+
+		private static void commitWriteEvent(ParseEvents.WriteDestination event, String dst, OutputFormat format, int classes, long bytes, boolean written) {
+			event.end();
+			if(event.shouldCommit()) {
+				event.destination = dst;
+				event.format = format.name();
+				event.classes = classes;
+				event.bytes = bytes;
+				event.written = written;
+				event.commit();
+			}
+		}
+
+
+		/** Write a destination file's content, a 'files' object containing class names associated with their serialized JSON
+		 * @param defs fully qualifying class names and their JSON serialized class definitions
+		 * @param format the destination format, binary formats are transcoded from the JSON definitions
+		 * @param output the destination stream, closed when this method returns
+		 */
+		static void writeDefinitions(List<Entry<String, char[]>> defs, OutputFormat format, OutputStream output) throws IOException {
+			if(format.isBinary()) {
+				writeDefinitionsTranscoded(defs, format, output);
+				return;
+			}
+
+			try(var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+				boolean first = true;
+				writer.write("{\n\"files\": {");
+
+				for(var def : defs) {
+					if(!first) {
+						writer.append(",\n");
+					}
+					writer.append('"').append(def.getKey()).append("\": ");
+					writer.write(def.getValue(), 0, def.getValue().length);
+					first = false;
+				}
+
+				writer.write("}\n}");
+				//String[] nonSystemMissingNamespaces = missingNamespaces.stream().filter((ns) -> !"System".equals(ns.get(0))).map((ns) -> NameUtil.joinFqName(ns)).toArray((n) -> new String[n]);
+				//System.out.println("missing non-system namespaces: (" + nonSystemMissingNamespaces.length + "): " + Arrays.toString(nonSystemMissingNamespaces));
+			}
+		}
+
+
+		/** Stream each JSON class definition through a Jackson parser into a generator for the {@code format}
+		 */
+		static void writeDefinitionsTranscoded(List<Entry<String, char[]>> defs, OutputFormat format, OutputStream output) throws IOException {
+			var jsonFactory = OutputFormat.JSON.getJsonFactory();
+
+			try(var generator = format.getJsonFactory().createGenerator(output)) {
+				generator.writeStartObject();
+				generator.writeFieldName("files");
+				generator.writeStartObject();
+
+				for(var def : defs) {
+					generator.writeFieldName(def.getKey());
+					try(var parser = jsonFactory.createParser(def.getValue(), 0, def.getValue().length)) {
+						parser.nextToken();
+						generator.copyCurrentStructure(parser);
+					}
+				}
+
+				generator.writeEndObject();
+				generator.writeEndObject();
+			}
+		}
+
+
+		/** A temp file name next to {@code dstPath} which doesn't exist yet, the file is created with {@link StandardOpenOption#CREATE_NEW}
+		 * (not {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute...)}, which creates owner only (0600) POSIX files)
+		 * so new destinations get the default (umask) permissions
+		 */
+		static Path newTempFilePath(Path dstPath) {
+			var dstDir = dstPath.toAbsolutePath().getParent();
+			String name = dstPath.getFileName().toString();
+			Path tmpPath;
+			do {
+				tmpPath = dstDir.resolve(name + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+			} while(Files.exists(tmpPath));
+			return tmpPath;
+		}
+
+
+		/** Copy an existing destination's POSIX permissions to the temp file replacing it, so regenerated destinations keep their permissions
+		 */
+		static void copyPosixPermissions(Path dstPath, Path tmpPath) throws IOException {
+			if(Files.exists(dstPath) && Files.getFileStore(tmpPath).supportsFileAttributeView(PosixFileAttributeView.class)) {
+				Files.setPosixFilePermissions(tmpPath, Files.getPosixFilePermissions(dstPath));
+			}
+		}
+
+
+		/**
+		 * @return true if the file exists, is {@code expectedSize} bytes long, and its content hashes to {@code expectedHash}
+		 */
+		static boolean isFileContentEqual(Path file, long expectedSize, byte[] expectedHash) throws IOException {
+			if(!Files.isRegularFile(file) || Files.size(file) != expectedSize) {
+				return false;
+			}
+
+			var digest = newDigest();
+			var buf = new byte[8192];
+			try(var input = Files.newInputStream(file)) {
+				int read;
+				while((read = input.read(buf)) > 0) {
+					digest.update(buf, 0, read);
+				}
+			}
+			return MessageDigest.isEqual(expectedHash, digest.digest());
+		}
+
+
+		static MessageDigest newDigest() {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			} catch(NoSuchAlgorithmException e) {
+				// every Java platform implementation is required to support SHA-256
+				throw new IllegalStateException(e);
+			}
+		}
+
+
+
+
+		/** Discards written bytes after adding them to a message digest and byte count
+		 */
+		static class HashingOutputStream extends OutputStream {
+			final MessageDigest digest;
+			long byteCount;
+
+
+			HashingOutputStream(MessageDigest digest) {
+				this.digest = digest;
+			}
+
+
+			@Override
+			public void write(int b) {
+				digest.update((byte)b);
+				byteCount++;
+			}
+
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				digest.update(b, off, len);
+				byteCount += len;
+			}
+
+		}
+
+
+
+
+		/** Serialized class JSON per (class, {@link WriteSettings}) for one write phase, so a class included in several overlapping destinations
+		 * (i.e. 'all.json=[App]' and 'models.json=[App.Models]') is only serialized once. Classes are compared by identity,
+		 * every destination's classes come from the same resolved class set.
+		 * Tracks cache hits and the serialization time saved (the time it took to serialize each reused class the first time).
+		 */
+		public static class SerializedClassCache {
+			private final HashMap<WriteSettings, IdentityHashMap<ClassAst<?, ?>, SerializedClass>> classesBySettings = new HashMap<>();
+			private int serializedCount;
+			private int hitCount;
+			private long serializeNs;
+			private long savedNs;
+
+
+			/** Serialize a class, or return the cached serialized chars if the class was already serialized with equal settings.
+			 * The returned array is shared and must not be modified
+			 * @param tmpSb a reusable buffer
+			 */
+			public char[] toJson(ClassAst<?, ?> cls, WriteSettings st, StringBuilder tmpSb) throws IOException {
+				var classes = classesBySettings.get(st);
+				if(classes == null) {
+					classes = new IdentityHashMap<>();
+					classesBySettings.put(st, classes);
+				}
+
+				var cached = classes.get(cls);
+				if(cached != null) {
+					hitCount++;
+					savedNs += cached.serializeNs;
+					return cached.json;
+				}
+
+				long start = System.nanoTime();
+				tmpSb.setLength(0);
+				cls.toJson(tmpSb, st);
+				char[] json = new char[tmpSb.length()];
+				tmpSb.getChars(0, tmpSb.length(), json, 0);
+				long ns = System.nanoTime() - start;
+
+				classes.put(cls, new SerializedClass(json, ns));
+				serializedCount++;
+				serializeNs += ns;
+				return json;
+			}
+
+
+			/**
+			 * @return the number of classes serialized
+			 */
+			public int getSerializedCount() {
+				return serializedCount;
+			}
+
+
+			/**
+			 * @return the number of times a class was reused instead of serialized again
+			 */
+			public int getHitCount() {
+				return hitCount;
+			}
+
+
+			/**
+			 * @return the time spent serializing classes, in nanoseconds
+			 */
+			public long getSerializeNs() {
+				return serializeNs;
+			}
+
+
+			/**
+			 * @return the estimated serialization time saved by cache hits, in nanoseconds
+			 */
+			public long getSavedNs() {
+				return savedNs;
+			}
+
+
+			@Override
+			public String toString() {
+				return "serialized classes=" + serializedCount + " (" + ParseTimes.roundNsToMs(serializeNs) + " ms), cache hits=" + hitCount + " (~" + ParseTimes.roundNsToMs(savedNs) + " ms saved)";
+			}
+
+
+
+
+			static class SerializedClass {
+				final char[] json;
+				final long serializeNs;
+
+
+				SerializedClass(char[] json, long serializeNs) {
+					this.json = json;
+					this.serializeNs = serializeNs;
+				}
+
+			}
+
 		}
 
 	}
@@ -481,16 +1420,32 @@ public class ParserWorkflow {
 
 		Map<String, String> argNames = new HashMap<>();
 		argNames.put("sources", "sources - a semicolon separated list of strings in the format 'path=depth,[fileExt,fileExt,...];path=depth,[fileExt,fileExt,...];...'.  Example: '/project/myApp/Models=3,[java,json]'");
-		argNames.put("destinations", "destinations - a semicolon separated list of strings in the format 'path=[namespace,namespace,...], ...'.  Example: '/project/tmp_files/models.json=[MyApp.Models]'");
+		argNames.put("destinations", "destinations - a semicolon separated list of strings in the format 'path=[namespace,namespace,...], ...' optionally followed by the model parts to write ',[part,part,...]' (comments, annotations, fields, methods, initializers, enumMembers; default all).  Example: '/project/tmp_files/models.json=[MyApp.Models]' or '/project/tmp_files/models.json=[MyApp.Models],[fields,annotations]'");
 		argNames.put("log", "log - a log file path in the format 'path'.  Example: '/project/tmp_files/parser-log.log'");
-		argNames.put("threads", "threads - the number of threads to use, 0 for thread count equal to number of logical processors, default 1");
+		argNames.put("threads", "threads - the number of threads to use, 0 for thread count equal to number of logical processors, 'auto' to pick the thread count from the number and size of the source files and adjust it while parsing, default 1");
 		argNames.put("debug", "debug - log detailed debug and performance info");
+		argNames.put("parallelTokenize", "parallelTokenize - minimum file size, in KB, at which a single C# or Java file is split into segments which are tokenized in parallel, default 0 (tokenize each file on one thread)");
+		argNames.put("io", "io - 'platform' or 'virtual', 'virtual' reads files on virtual threads and parses them on a platform thread pool sized to the number of processors (or '-threads'), for network mounted or cold cache sources, default 'platform'");
+		argNames.put("shard", "shard - 'index/count', only parse the source files whose path hash falls in this 0-based shard and write the parsed classes to 'shardOutput' instead of the destinations, run every shard with the same 'sources', then combine them with 'merge'");
+		argNames.put("shardOutput", "shardOutput - the file to write a shard's parsed classes to, required with 'shard'");
+		argNames.put("merge", "merge - a semicolon separated list of the 'shardOutput' files of every shard of a run, the classes are loaded instead of parsing 'sources', then resolved and written to the 'destinations'");
+		argNames.put("externalTypes", "externalTypes - an external type index file (built by 'twg2.parser.project.ExternalTypeIndex' from a type name list or stub sources), types declared outside of the sources, i.e. 'System.Collections.Generic.List', resolve to their fully qualifying names and their namespaces are not reported as missing");
+		argNames.put("progress", "progress - 'text' or 'json', optionally followed by '=path' to write to a file instead of standard out, print the run's progress every " + ProgressReporter.intervalMs + " ms: stage, files parsed/total, MB/s, classes/s, and ETA, 'json' prints a JSON object per line for CI dashboards.  Example: 'json=/project/tmp_files/progress.jsonl'");
+		argNames.put("prescan", "prescan - 'skip' or 'index', scan each file's namespace/package before parsing and skip files which can't contain classes in any destination namespace, 'index' also indexes skipped files' type names for type resolution, default 'none'");
 
 		List<DirectorySearchInfo> srcs = new ArrayList<>();
 		List<DestinationInfo> dsts = new ArrayList<>();
 		Path log = null;
 		int threads = 1;
 		boolean debug = false;
+		PrescanMode prescan = PrescanMode.NONE;
+		int parallelTokenizeMinKb = 0;
+		IoMode ioMode = IoMode.PLATFORM;
+		Shard shard = null;
+		Path shardOutput = null;
+		List<Path> mergeShards = new ArrayList<>();
+		Path externalTypes = null;
+		ProgressReporter.Output progress = null;
 
 		// TODO debugging
 		System.out.println("args:");
@@ -505,6 +1460,7 @@ public class ParserWorkflow {
 			if(desc != null) {
 				if("debug".equals(name)) {
 					debug = true;
+					i--; // flag without a value, only advance to the next argument
 					continue; // skip further argument parsing
 				}
 
@@ -516,9 +1472,48 @@ public class ParserWorkflow {
 					log = Paths.get(args[i + 1]);
 				}
 
+				if("prescan".equals(name)) {
+					prescan = PrescanMode.parse(args[i + 1], name);
+				}
+
+				if("io".equals(name)) {
+					ioMode = IoMode.parse(args[i + 1], name);
+				}
+
+				if("shard".equals(name)) {
+					shard = Shard.parse(args[i + 1], name);
+				}
+
+				if("shardOutput".equals(name)) {
+					shardOutput = Paths.get(args[i + 1]);
+				}
+
+				if("merge".equals(name)) {
+					for(var value : StringSplit.split(args[i + 1], ';')) {
+						mergeShards.add(Paths.get(value));
+					}
+				}
+
+				if("externalTypes".equals(name)) {
+					externalTypes = Paths.get(args[i + 1]);
+				}
+
+				if("progress".equals(name)) {
+					progress = ProgressReporter.Output.parse(args[i + 1], name);
+				}
+
+				if("parallelTokenize".equals(name)) {
+					parallelTokenizeMinKb = Integer.parseInt(args[i + 1]);
+				}
+
 				if("threads".equals(name)) {
-					threads = Integer.parseInt(args[i + 1]);
-					threads = (threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+					if("auto".equalsIgnoreCase(args[i + 1])) {
+						threads = THREADS_AUTO;
+					}
+					else {
+						threads = Integer.parseInt(args[i + 1]);
+						threads = (threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+					}
 				}
 
 				if("sources".equals(name)) {
@@ -539,7 +1534,18 @@ public class ParserWorkflow {
 			}
 		}
 
-		return new ParserWorkflow(srcs, dsts, log, threads, debug);
+		return new Builder(srcs, dsts)
+			.log(log)
+			.threads(threads)
+			.debug(debug)
+			.prescan(prescan)
+			.parallelTokenizeMinKb(parallelTokenizeMinKb)
+			.ioMode(ioMode)
+			.shard(shard, shardOutput)
+			.mergeShards(mergeShards)
+			.externalTypes(externalTypes)
+			.progress(progress)
+			.build();
 	}
 
 }
@@ -0,0 +1,332 @@
+package twg2.parser.workflow;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import twg2.text.stringUtils.StringSplit;
+
+/** Periodically prints the progress of a long run ('-progress'): the current stage, files parsed out of the total, MB/s, classes/s, and an ETA,
+ * as a text line or a JSON object per line (for CI dashboards).
+ * <p>
+ * The reporter is passed down from {@code ParserWorkflow.run()} to the stages, which only increment counters ({@link LongAdder}s)
+ * and are passed null when progress reporting is disabled,
+ * the rates and ETA are calculated and printed every {@link #intervalMs} on a separate daemon thread.
+ * Rates are calculated since the start of the current stage, the ETA from the rate of the stage's main counter
+ * (source bytes while parsing, classes while resolving, destination files while writing).
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ProgressReporter implements AutoCloseable {
+	/** Time between progress reports */
+	public static long intervalMs = 2000;
+
+	private final Format format;
+	private final PrintStream out;
+	private final boolean closeOut;
+	private final ScheduledExecutorService timer;
+	private final long runStartNs;
+
+	private final LongAdder filesDone = new LongAdder();
+	private final LongAdder bytesDone = new LongAdder();
+	private final LongAdder classesExtracted = new LongAdder();
+	private final LongAdder classesResolved = new LongAdder();
+	private final LongAdder destinationsWritten = new LongAdder();
+	private volatile long filesTotal = -1;
+	private volatile long bytesTotal = -1;
+	private volatile long classesToResolve = -1;
+	private volatile long destinationsTotal = -1;
+	private volatile Stage stage = Stage.LOAD;
+	private volatile long stageStartNs;
+	private volatile long stageStartCount;
+
+
+	/**
+	 * @param format the report format
+	 * @param out the stream to print reports to
+	 * @param closeOut whether to close {@code out} when this reporter is closed
+	 */
+	public ProgressReporter(Format format, PrintStream out, boolean closeOut) {
+		this.format = format;
+		this.out = out;
+		this.closeOut = closeOut;
+		this.runStartNs = System.nanoTime();
+		this.stageStartNs = runStartNs;
+		this.timer = Executors.newSingleThreadScheduledExecutor((task) -> {
+			var thread = new Thread(task, "progress-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+
+	/** Create a reporter for an {@link Output} and start printing reports
+	 */
+	public static ProgressReporter start(Output output) throws IOException {
+		var out = output.file != null ? new PrintStream(new FileOutputStream(output.file.toFile()), true) : System.out;
+		var reporter = new ProgressReporter(output.format, out, output.file != null);
+		reporter.timer.scheduleAtFixedRate(reporter::print, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+		return reporter;
+	}
+
+
+	public Stage getStage() {
+		return stage;
+	}
+
+
+	/** Start the parse stage
+	 * @param files the number of files which will be parsed
+	 * @param bytes the total size of the files
+	 */
+	public void startParse(long files, long bytes) {
+		this.filesTotal = files;
+		this.bytesTotal = bytes;
+		startStage(Stage.PARSE, bytesDone.sum());
+	}
+
+
+	/** Start the resolve stage
+	 * @param classes the number of classes which will be resolved
+	 */
+	public void startResolve(long classes) {
+		this.classesToResolve = classes;
+		startStage(Stage.RESOLVE, classesResolved.sum());
+	}
+
+
+	/** Start the write stage
+	 * @param destinations the number of destination files which will be written
+	 */
+	public void startWrite(long destinations) {
+		this.destinationsTotal = destinations;
+		startStage(Stage.WRITE, destinationsWritten.sum());
+	}
+
+
+	/** Files which will not be parsed after all (i.e. skipped by '-prescan'), removed from the parse totals
+	 */
+	public void filesSkipped(long files, long bytes) {
+		this.filesTotal -= files;
+		this.bytesTotal -= bytes;
+	}
+
+
+	/** Called by each thread which parses a file, after its classes are extracted
+	 * @param srcLength the file's size
+	 * @param classes the number of classes extracted from the file
+	 */
+	public void fileParsed(long srcLength, int classes) {
+		filesDone.increment();
+		bytesDone.add(srcLength);
+		classesExtracted.add(classes);
+	}
+
+
+	public void classResolved() {
+		classesResolved.increment();
+	}
+
+
+	public void destinationWritten() {
+		destinationsWritten.increment();
+	}
+
+
+	/**
+	 * @return the current progress in this reporter's {@link Format}
+	 */
+	public String report() {
+		return report(format, System.nanoTime());
+	}
+
+
+	/** Stop reporting and print a final report
+	 */
+	@Override
+	public void close() {
+		timer.shutdownNow();
+		stage = Stage.DONE;
+		print();
+		if(closeOut) {
+			out.close();
+		}
+		else {
+			out.flush();
+		}
+	}
+
+
+	private synchronized void startStage(Stage stage, long stageCount) {
+		this.stageStartNs = System.nanoTime();
+		this.stageStartCount = stageCount;
+		this.stage = stage;
+	}
+
+
+	private synchronized void print() {
+		out.println(report());
+	}
+
+
+	String report(Format format, long now) {
+		var stage = this.stage;
+		long files = filesDone.sum();
+		long bytes = bytesDone.sum();
+		long extracted = classesExtracted.sum();
+		long resolved = classesResolved.sum();
+		long written = destinationsWritten.sum();
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(now - runStartNs);
+		double stageSec = Math.max(1, now - stageStartNs) / 1e9;
+
+		// the stage's main counter drives the ETA
+		long done;
+		long total;
+		switch(stage) {
+			case PARSE: done = bytes; total = bytesTotal; break;
+			case RESOLVE: done = resolved; total = classesToResolve; break;
+			case WRITE: done = written; total = destinationsTotal; break;
+			default: done = 0; total = -1; break;
+		}
+		double rate = (done - stageStartCount) / stageSec;
+		long etaMs = total >= 0 && rate > 0 ? (long)(Math.max(0, total - done) / rate * 1000) : -1;
+		double mbPerSec = stage == Stage.PARSE ? rate / (1024 * 1024) : 0;
+		double classesPerSec = stage == Stage.PARSE ? extracted / stageSec : (stage == Stage.RESOLVE ? rate : 0);
+
+		if(format == Format.JSON) {
+			return "{\"stage\":\"" + stage.name().toLowerCase() + "\"" +
+					",\"elapsedMs\":" + elapsedMs +
+					",\"filesDone\":" + files + ",\"filesTotal\":" + filesTotal +
+					",\"bytesDone\":" + bytes + ",\"bytesTotal\":" + bytesTotal +
+					",\"mbPerSec\":" + format("%.3f", mbPerSec) +
+					",\"classesExtracted\":" + extracted + ",\"classesPerSec\":" + format("%.1f", classesPerSec) +
+					",\"classesResolved\":" + resolved + ",\"classesToResolve\":" + classesToResolve +
+					",\"destinationsWritten\":" + written + ",\"destinationsTotal\":" + destinationsTotal +
+					",\"etaMs\":" + etaMs + "}";
+		}
+
+		var sb = new StringBuilder("progress: ").append(stage.name().toLowerCase());
+		if(stage == Stage.PARSE || stage == Stage.DONE) {
+			sb.append(", ").append(files).append('/').append(Math.max(filesTotal, files)).append(" files");
+			if(bytesTotal > 0) {
+				sb.append(" (").append(format("%.1f", Math.min(100, bytes * 100.0 / bytesTotal))).append("%)");
+			}
+			sb.append(", ").append(format("%.1f", bytes / (1024.0 * 1024.0))).append(" MB, ").append(extracted).append(" classes");
+		}
+		if(stage == Stage.RESOLVE || stage == Stage.DONE) {
+			sb.append(", ").append(resolved).append('/').append(Math.max(classesToResolve, resolved)).append(" classes resolved");
+		}
+		if(stage == Stage.WRITE || stage == Stage.DONE) {
+			sb.append(", ").append(written).append('/').append(Math.max(destinationsTotal, written)).append(" destinations written");
+		}
+		if(stage == Stage.PARSE) {
+			sb.append(", ").append(format("%.2f", mbPerSec)).append(" MB/s");
+		}
+		if(stage == Stage.PARSE || stage == Stage.RESOLVE) {
+			sb.append(", ").append(format("%.0f", classesPerSec)).append(" classes/s");
+		}
+		sb.append(", elapsed ").append(formatDuration(elapsedMs));
+		if(etaMs >= 0) {
+			sb.append(", ETA ").append(formatDuration(etaMs));
+		}
+		return sb.toString();
+	}
+
+
+	private static String format(String fmt, double value) {
+		return String.format(Locale.ROOT, fmt, value);
+	}
+
+
+	private static String formatDuration(long ms) {
+		long sec = (ms + 500) / 1000;
+		return (sec / 60) + ":" + (sec % 60 < 10 ? "0" : "") + (sec % 60);
+	}
+
+
+
+
+	/** The stages of a run, in order */
+	public static enum Stage {
+		LOAD,
+		PARSE,
+		RESOLVE,
+		WRITE,
+		DONE;
+	}
+
+
+
+
+	/** Progress report formats */
+	public static enum Format {
+		/** A human readable line, i.e. 'progress: parse, 1200/5000 files (24.0%), 12.3 MB, 3400 classes, 3.20 MB/s, 850 classes/s, elapsed 0:15, ETA 0:42' */
+		TEXT,
+		/** A JSON object per line with the raw counters, rates, and ETA (-1 for unknown totals/ETA) */
+		JSON;
+
+
+		public static Format parse(String str, String argName) {
+			for(var format : values()) {
+				if(format.name().equalsIgnoreCase(str)) {
+					return format;
+				}
+			}
+			throw new IllegalArgumentException("'" + argName + "' value should be one of " + Arrays.toString(values()) + ", found '" + str + "'");
+		}
+
+	}
+
+
+
+
+	/** A progress report format and the optional file to write the reports to (standard out if null)
+	 */
+	public static class Output {
+		final Format format;
+		final Path file;
+
+
+		public Output(Format format, Path file) {
+			this.format = format;
+			this.file = file;
+		}
+
+
+		public Format getFormat() {
+			return format;
+		}
+
+
+		public Path getFile() {
+			return file;
+		}
+
+
+		@Override
+		public String toString() {
+			return format.name().toLowerCase() + (file != null ? "=" + file : "");
+		}
+
+
+		/** Parse a progress argument
+		 * @param str the format and optional file in the format 'format[=path]', i.e. 'text' or 'json=/ci/progress.jsonl'
+		 * @param argName the argument name, used in error messages
+		 */
+		public static Output parse(String str, String argName) {
+			String[] values = StringSplit.split(str, '=', 2);
+			var format = Format.parse(values[0], argName);
+			return new Output(format, values[1] != null && values[1].length() > 0 ? Paths.get(values[1]) : null);
+		}
+
+	}
+
+}
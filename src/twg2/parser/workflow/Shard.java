@@ -0,0 +1,129 @@
+package twg2.parser.workflow;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import twg2.io.fileLoading.DirectorySearchInfo;
+import twg2.tuple.Tuples;
+
+/** One of N deterministic partitions of a set of source files, selected by a hash of each file's path ('-shard i/N').
+ * The hash only depends on the path string (with '/' separators) found by the directory walk, so every shard of a run
+ * must be given the same '-sources', but shards can run in separate processes or on separate machines sharing a file system.
+ * See {@link ShardFile} for writing and merging each shard's parsed classes.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class Shard {
+	private final int index;
+	private final int count;
+
+
+	/**
+	 * @param index this shard's 0-based index, less than {@code count}
+	 * @param count the total number of shards
+	 */
+	public Shard(int index, int count) {
+		if(count < 1 || index < 0 || index >= count) {
+			throw new IllegalArgumentException("shard index must be in the range [0, count), found " + index + "/" + count);
+		}
+		this.index = index;
+		this.count = count;
+	}
+
+
+	public int getIndex() {
+		return index;
+	}
+
+
+	public int getCount() {
+		return count;
+	}
+
+
+	/**
+	 * @return true if the file belongs to this shard
+	 */
+	public boolean contains(Path file) {
+		return shardOf(file, count) == index;
+	}
+
+
+	/** Select the files belonging to this shard
+	 * @param fileGroups the source directories and their files, in directory walk order
+	 * @return the same groups (including empty ones) containing only this shard's files, in the same order
+	 */
+	public List<Entry<DirectorySearchInfo, List<Path>>> select(List<Entry<DirectorySearchInfo, List<Path>>> fileGroups) {
+		var res = new ArrayList<Entry<DirectorySearchInfo, List<Path>>>(fileGroups.size());
+		for(var group : fileGroups) {
+			var paths = new ArrayList<Path>();
+			for(var path : group.getValue()) {
+				if(contains(path)) {
+					paths.add(path);
+				}
+			}
+			res.add(Tuples.of(group.getKey(), paths));
+		}
+		return res;
+	}
+
+
+	@Override
+	public int hashCode() {
+		return index * 31 + count;
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof Shard)) {
+			return false;
+		}
+		var other = (Shard)obj;
+		return index == other.index && count == other.count;
+	}
+
+
+	@Override
+	public String toString() {
+		return index + "/" + count;
+	}
+
+
+	/**
+	 * @return the 0-based shard index of a file for a shard count
+	 */
+	public static int shardOf(Path file, int count) {
+		// String.hashCode() is specified by the JLS so it's the same in every JVM, mix the bits since paths share long prefixes
+		int h = file.toString().replace('\\', '/').hashCode();
+		h ^= (h >>> 16);
+		h *= 0x85EBCA6B;
+		h ^= (h >>> 13);
+		h *= 0xC2B2AE35;
+		h ^= (h >>> 16);
+		return Math.floorMod(h, count);
+	}
+
+
+	/** Parse a shard argument
+	 * @param str the shard in the format 'index/count', i.e. '0/4'
+	 * @param argName the argument name, used in error messages
+	 */
+	public static Shard parse(String str, String argName) {
+		int slash = str.indexOf('/');
+		if(slash < 1 || slash == str.length() - 1) {
+			throw new IllegalArgumentException("'" + argName + "' value should be in the format 'index/count', found '" + str + "'");
+		}
+		try {
+			return new Shard(Integer.parseInt(str.substring(0, slash).trim()), Integer.parseInt(str.substring(slash + 1).trim()));
+		} catch(NumberFormatException nfe) {
+			throw new IllegalArgumentException("'" + argName + "' value should be in the format 'index/count', found '" + str + "'", nfe);
+		}
+	}
+
+}
@@ -0,0 +1,586 @@
+package twg2.parser.workflow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import twg2.ast.interm.annotation.AnnotationSig;
+import twg2.ast.interm.classes.ClassAst;
+import twg2.ast.interm.classes.ClassSigSimple;
+import twg2.ast.interm.field.FieldDef;
+import twg2.ast.interm.method.MethodSigSimple;
+import twg2.ast.interm.method.ParameterSig;
+import twg2.ast.interm.type.TypeSig;
+import twg2.ast.interm.type.TypeSig.TypeSigSimple;
+import twg2.io.fileLoading.DirectorySearchInfo;
+import twg2.io.files.FileFormatException;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.KeywordUtil;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.codeParser.java.JavaBlock;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.textFragment.TextFragmentRefImpl;
+import twg2.parser.workflow.ParserWorkflow.ParsedResult;
+import twg2.treeLike.simpleTree.SimpleTree;
+import twg2.treeLike.simpleTree.SimpleTreeImpl;
+
+/** Writes the parsed (unresolved) classes of one {@link Shard} to a binary file and merges the files of all shards back into
+ * one {@link ParsedResult}, which is then resolved and written to the destinations like a single process run.
+ * <p>
+ * Each class is stored with the ordinal of its file in the full (unsharded) directory walk and its offset in the file,
+ * so the merge adds the classes in the same order as a single process run parsing the files sequentially and the
+ * resolved output is identical. Source text and token trees are not stored, only the parsed classes
+ * (field initializer tokens are kept since they are written to the destinations), so each compilation unit's
+ * {@link CodeFileSrc} is a stub with only a name and language and {@link CodeFileParsed#astTree} is null.
+ * <p>
+ * Format: a header ('JPCS' magic, version, shard index/count, prescan counts) then the parsed files and the prescan indexed files,
+ * each as a count followed by (file ordinal, file name, language name, class count, (class offset, class)...).
+ * Strings are written as a UTF-8 byte length (-1 for null) and bytes, lists as a size (-1 for null) and elements.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ShardFile {
+	private static final int MAGIC = 0x4A504353; // 'JPCS'
+	private static final int VERSION = 1;
+
+	private ShardFile() { throw new AssertionError("cannot instantiate static class ShardFile"); }
+
+
+	/** Write a shard's parsed classes
+	 * @param dst the file to write, replaced atomically (written to a temp file in the same directory first)
+	 * @param shard the shard which was parsed
+	 * @param allFileGroups the source files of the full (unsharded) directory walk, used to order the classes
+	 * @param parseRes the shard's parse result
+	 */
+	public static void write(Path dst, Shard shard, List<Entry<DirectorySearchInfo, List<Path>>> allFileGroups, ParsedResult parseRes) throws IOException {
+		var fileOrdinals = new HashMap<String, Integer>();
+		int ordinal = 0;
+		for(var group : allFileGroups) {
+			for(var path : group.getValue()) {
+				fileOrdinals.put(path.toString(), ordinal++);
+			}
+		}
+
+		var indexedSet = new IdentityHashMap<CodeFileParsed.Intermediate<BlockType>, Boolean>();
+		for(var indexed : parseRes.prescanIndexed) {
+			indexedSet.put(indexed, Boolean.TRUE);
+		}
+
+		var parsed = new ArrayList<CodeFileParsed.Intermediate<BlockType>>();
+		for(var unit : parseRes.compilationUnits.getCompilationUnitsStartWith(Collections.singletonList(""))) {
+			if(!indexedSet.containsKey(unit)) {
+				parsed.add(unit);
+			}
+		}
+
+		Path tmp = Files.createTempFile(dst.toAbsolutePath().getParent(), dst.getFileName().toString(), ".tmp");
+		try {
+			try(var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(shard.getIndex());
+				out.writeInt(shard.getCount());
+				out.writeInt(parseRes.prescanTotalFiles);
+				out.writeInt(parseRes.prescanSkippedFiles);
+
+				writeFiles(out, groupByFile(parsed, fileOrdinals), fileOrdinals);
+				writeFiles(out, groupByFile(parseRes.prescanIndexed, fileOrdinals), fileOrdinals);
+			}
+			Files.move(tmp, dst, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+
+	/** Load the files written by every shard of a run and combine their classes
+	 * @param shardFiles one file per shard, in any order
+	 * @return the parsed classes of all shards, added in the same order as a single process run would add them
+	 * @throws FileFormatException if a file isn't a shard file, the files have different shard counts, or a shard is missing or duplicated
+	 */
+	public static ParsedResult merge(List<Path> shardFiles) throws IOException, FileFormatException {
+		if(shardFiles.isEmpty()) {
+			throw new IllegalArgumentException("no shard files to merge");
+		}
+		var parsed = new ArrayList<OrderedUnit>();
+		var indexed = new ArrayList<OrderedUnit>();
+		int totalFiles = 0;
+		int skippedFiles = 0;
+		int shardCount = -1;
+		var seenShards = new HashMap<Integer, Path>();
+
+		for(var shardFile : shardFiles) {
+			try(var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(shardFile)))) {
+				if(in.readInt() != MAGIC) {
+					throw new FileFormatException(shardFile.toString(), "not a shard file", null);
+				}
+				int version = in.readInt();
+				if(version != VERSION) {
+					throw new FileFormatException(shardFile.toString(), "unsupported shard file version " + version + ", expected " + VERSION, null);
+				}
+				int index = in.readInt();
+				int count = in.readInt();
+				if(shardCount > -1 && count != shardCount) {
+					throw new FileFormatException(shardFile.toString(), "shard " + index + "/" + count + " is from a run with a different shard count than " + shardCount, null);
+				}
+				shardCount = count;
+				var prevFile = seenShards.put(index, shardFile);
+				if(prevFile != null) {
+					throw new FileFormatException(shardFile.toString(), "shard " + index + "/" + count + " is duplicated by '" + prevFile + "'", null);
+				}
+				totalFiles += in.readInt();
+				skippedFiles += in.readInt();
+
+				readFiles(in, parsed);
+				readFiles(in, indexed);
+			}
+		}
+
+		if(seenShards.size() != shardCount) {
+			var missing = new ArrayList<Integer>();
+			for(int i = 0; i < shardCount; i++) {
+				if(!seenShards.containsKey(i)) {
+					missing.add(i);
+				}
+			}
+			throw new FileFormatException(String.valueOf(shardFiles), "missing shards " + missing + " of " + shardCount, null);
+		}
+
+		var order = Comparator.<OrderedUnit>comparingInt((u) -> u.fileOrdinal).thenComparingInt((u) -> u.offset);
+		parsed.sort(order);
+		indexed.sort(order);
+
+		var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+		for(var unit : parsed) {
+			fileSet.addCompilationUnit(unit.unit.parsedClass.getSignature().getFullName(), unit.unit);
+		}
+
+		// same as ParsedResult.parse(), add index entries last so fully parsed classes take precedence
+		int indexedCnt = 0;
+		var indexedUnits = new ArrayList<CodeFileParsed.Intermediate<BlockType>>(indexed.size());
+		for(var unit : indexed) {
+			var fullName = unit.unit.parsedClass.getSignature().getFullName();
+			indexedUnits.add(unit.unit);
+			if(!fileSet.hasCompilationUnit(fullName)) {
+				fileSet.addCompilationUnit(fullName, unit.unit);
+				indexedCnt++;
+			}
+		}
+
+		var res = new ParsedResult(fileSet);
+		res.prescanTotalFiles = totalFiles;
+		res.prescanSkippedFiles = skippedFiles;
+		res.prescanIndexedTypes = indexedCnt;
+		res.prescanIndexed = indexedUnits;
+		return res;
+	}
+
+
+	private static Map<CodeFileSrc, List<CodeFileParsed.Intermediate<BlockType>>> groupByFile(List<CodeFileParsed.Intermediate<BlockType>> units, Map<String, Integer> fileOrdinals) {
+		var res = new LinkedHashMap<CodeFileSrc, List<CodeFileParsed.Intermediate<BlockType>>>();
+		for(var unit : units) {
+			if(!fileOrdinals.containsKey(unit.id.srcName)) {
+				throw new IllegalStateException("compilation unit '" + unit.parsedClass.getSignature() + "' file '" + unit.id.srcName + "' is not one of the source files");
+			}
+			res.computeIfAbsent(unit.id, (k) -> new ArrayList<>()).add(unit);
+		}
+		return res;
+	}
+
+
+	private static void writeFiles(DataOutputStream out, Map<CodeFileSrc, List<CodeFileParsed.Intermediate<BlockType>>> files, Map<String, Integer> fileOrdinals) throws IOException {
+		out.writeInt(files.size());
+		for(var file : files.entrySet()) {
+			var fileId = file.getKey();
+			out.writeInt(fileOrdinals.get(fileId.srcName));
+			writeString(out, fileId.srcName);
+			writeString(out, fileId.language != null ? fileId.language.displayName() : null);
+			var units = file.getValue();
+			out.writeInt(units.size());
+			for(int i = 0, size = units.size(); i < size; i++) {
+				var unit = units.get(i);
+				// the class's offset in the file orders the classes of a file, index stubs don't have a tree so they keep their list order
+				out.writeInt(unit.astTree != null && unit.astTree.getData() != null ? unit.astTree.getData().getToken().getOffsetStart() : i);
+				writeClass(out, unit.parsedClass);
+			}
+		}
+	}
+
+
+	private static void readFiles(DataInputStream in, List<OrderedUnit> dst) throws IOException {
+		int fileCount = in.readInt();
+		for(int i = 0; i < fileCount; i++) {
+			int fileOrdinal = in.readInt();
+			String srcName = readString(in);
+			String langName = readString(in);
+			var lang = findLanguage(langName);
+			var fileId = new CodeFileSrc(null, srcName, null, 0, 0, null, lang);
+			int unitCount = in.readInt();
+			for(int j = 0; j < unitCount; j++) {
+				int offset = in.readInt();
+				var parsedClass = readClass(in, lang);
+				dst.add(new OrderedUnit(fileOrdinal, offset, new CodeFileParsed.Intermediate<>(fileId, parsedClass, null)));
+			}
+		}
+	}
+
+
+	private static void writeClass(DataOutputStream out, ClassAst.SimpleImpl<BlockType> cls) throws IOException {
+		var sig = cls.getSignature();
+		writeStrings(out, sig.getFullName());
+		writeList(out, sig.getParams(), ShardFile::writeType);
+		writeKeyword(out, sig.getAccessModifier());
+		writeList(out, sig.getAnnotations(), ShardFile::writeAnnotation);
+		writeString(out, sig.getDeclarationType());
+		writeStrings(out, sig.getExtendImplementSimpleNames());
+
+		writeList(out, cls.getUsingStatements(), ShardFile::writeStrings);
+		writeList(out, cls.getFields(), ShardFile::writeField);
+		writeList(out, cls.getMethods(), ShardFile::writeMethod);
+		writeList(out, cls.getEnumMembers(), ShardFile::writeField);
+		writeString(out, cls.getBlockType() != null ? ((Enum<?>)cls.getBlockType()).name() : null);
+	}
+
+
+	private static ClassAst.SimpleImpl<BlockType> readClass(DataInputStream in, CodeLanguage lang) throws IOException {
+		var keywordUtil = lang.getKeywordUtil();
+		var fullName = readStrings(in);
+		var params = readList(in, ShardFile::readType);
+		var accessModifier = readKeyword(in, keywordUtil);
+		var annotations = readList(in, ShardFile::readAnnotation);
+		var declarationType = readString(in);
+		var extendImplementNames = readStrings(in);
+		var sig = new ClassSigSimple(fullName, params, accessModifier, annotations, declarationType, extendImplementNames);
+
+		var usingStatements = readList(in, ShardFile::readStrings);
+		var fields = readList(in, (i) -> readField(i, keywordUtil));
+		var methods = readList(in, (i) -> readMethod(i, keywordUtil));
+		var enumMembers = readList(in, (i) -> readField(i, keywordUtil));
+		var blockType = toBlockType(lang, readString(in));
+		return new ClassAst.SimpleImpl<>(sig, usingStatements, fields, methods, enumMembers, blockType);
+	}
+
+
+	private static void writeField(DataOutputStream out, FieldDef field) throws IOException {
+		writeString(out, field.getName());
+		writeStrings(out, field.getFullName());
+		writeType(out, field.getFieldType());
+		writeList(out, field.getAccessModifiers(), ShardFile::writeKeyword);
+		writeList(out, field.getAnnotations(), ShardFile::writeAnnotation);
+		writeStrings(out, field.getComments());
+		writeList(out, field.getInitializer(), ShardFile::writeTree);
+	}
+
+
+	private static FieldDef readField(DataInputStream in, KeywordUtil<? extends Keyword> keywordUtil) throws IOException {
+		var name = readString(in);
+		var fullName = readStrings(in);
+		var type = readType(in);
+		var accessModifiers = readList(in, (i) -> readKeyword(i, keywordUtil));
+		var annotations = readList(in, ShardFile::readAnnotation);
+		var comments = readStrings(in);
+		var initializer = readList(in, ShardFile::readTree);
+		return new FieldDef(name, fullName, type, accessModifiers, annotations, comments, initializer);
+	}
+
+
+	private static void writeMethod(DataOutputStream out, MethodSigSimple method) throws IOException {
+		writeString(out, method.name);
+		writeStrings(out, method.fullName);
+		writeList(out, method.paramSigs, ShardFile::writeParameter);
+		writeType(out, method.returnType);
+		writeList(out, method.accessModifiers, ShardFile::writeKeyword);
+		writeList(out, method.typeParameters, ShardFile::writeType);
+		writeList(out, method.annotations, ShardFile::writeAnnotation);
+		writeStrings(out, method.comments);
+	}
+
+
+	private static MethodSigSimple readMethod(DataInputStream in, KeywordUtil<? extends Keyword> keywordUtil) throws IOException {
+		var name = readString(in);
+		var fullName = readStrings(in);
+		var params = readList(in, (i) -> readParameter(i, keywordUtil));
+		var returnType = readType(in);
+		var accessModifiers = readList(in, (i) -> readKeyword(i, keywordUtil));
+		var typeParameters = readList(in, ShardFile::readType);
+		var annotations = readList(in, ShardFile::readAnnotation);
+		var comments = readStrings(in);
+		return new MethodSigSimple(name, fullName, params, returnType, accessModifiers, typeParameters, annotations, comments);
+	}
+
+
+	private static void writeParameter(DataOutputStream out, ParameterSig param) throws IOException {
+		writeString(out, param.name);
+		writeString(out, param.typeSimpleName);
+		writeList(out, param.parameterModifiers, ShardFile::writeKeyword);
+		writeList(out, param.annotations, ShardFile::writeAnnotation);
+		out.writeBoolean(param.optional);
+		writeString(out, param.defaultValue);
+	}
+
+
+	private static ParameterSig readParameter(DataInputStream in, KeywordUtil<? extends Keyword> keywordUtil) throws IOException {
+		var name = readString(in);
+		var typeSimpleName = readString(in);
+		var modifiers = readList(in, (i) -> readKeyword(i, keywordUtil));
+		var annotations = readList(in, ShardFile::readAnnotation);
+		boolean optional = in.readBoolean();
+		var defaultValue = readString(in);
+		return new ParameterSig(name, typeSimpleName, modifiers, annotations, optional, defaultValue);
+	}
+
+
+	private static void writeType(DataOutputStream out, TypeSigSimple type) throws IOException {
+		if(type == null) {
+			out.writeByte(-1);
+			return;
+		}
+		out.writeByte(type.isGeneric() ? 1 : 0);
+		writeString(out, type.getTypeName());
+		out.writeInt(type.getArrayDimensions());
+		out.writeBoolean(type.isNullable());
+		out.writeBoolean(type.isPrimitive());
+		if(type.isGeneric()) {
+			writeList(out, type.getParams(), ShardFile::writeType);
+		}
+	}
+
+
+	private static TypeSigSimple readType(DataInputStream in) throws IOException {
+		byte kind = in.readByte();
+		if(kind < 0) {
+			return null;
+		}
+		var typeName = readString(in);
+		int arrayDimensions = in.readInt();
+		boolean nullable = in.readBoolean();
+		boolean primitive = in.readBoolean();
+		if(kind == 1) {
+			var params = readList(in, ShardFile::readType);
+			return new TypeSig.TypeSigSimpleGeneric(typeName, params, arrayDimensions, nullable, primitive);
+		}
+		return new TypeSig.TypeSigSimpleBase(typeName, arrayDimensions, nullable, primitive);
+	}
+
+
+	private static void writeAnnotation(DataOutputStream out, AnnotationSig annotation) throws IOException {
+		writeString(out, annotation.name);
+		writeStrings(out, annotation.fullName);
+		if(annotation.arguments == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(annotation.arguments.size());
+		for(var arg : annotation.arguments.entrySet()) {
+			writeString(out, arg.getKey());
+			writeString(out, arg.getValue());
+		}
+	}
+
+
+	private static AnnotationSig readAnnotation(DataInputStream in) throws IOException {
+		var name = readString(in);
+		var fullName = readStrings(in);
+		int argCount = in.readInt();
+		Map<String, String> arguments = null;
+		if(argCount > -1) {
+			// keep the written (original map iteration) order so the arguments are output in the same order
+			arguments = new LinkedHashMap<>();
+			for(int i = 0; i < argCount; i++) {
+				arguments.put(readString(in), readString(in));
+			}
+		}
+		return new AnnotationSig(name, fullName, arguments);
+	}
+
+
+	private static void writeTree(DataOutputStream out, SimpleTree<CodeToken> tree) throws IOException {
+		var token = tree.getData();
+		out.writeBoolean(token != null);
+		if(token != null) {
+			out.writeByte(token.getTokenType().ordinal());
+			writeString(out, token.getText());
+			out.writeInt(token.getToken().getOffsetStart());
+			out.writeInt(token.getToken().getOffsetEnd());
+		}
+		var children = tree.getChildren();
+		out.writeInt(children.size());
+		for(int i = 0, size = children.size(); i < size; i++) {
+			writeTree(out, children.get(i));
+		}
+	}
+
+
+	private static SimpleTree<CodeToken> readTree(DataInputStream in) throws IOException {
+		var tree = new SimpleTreeImpl<CodeToken>(readToken(in));
+		readChildTrees(in, tree);
+		return tree;
+	}
+
+
+	private static void readChildTrees(DataInputStream in, SimpleTreeImpl<CodeToken> tree) throws IOException {
+		int childCount = in.readInt();
+		for(int i = 0; i < childCount; i++) {
+			var child = tree.addChild(readToken(in));
+			readChildTrees(in, child);
+		}
+	}
+
+
+	private static CodeToken readToken(DataInputStream in) throws IOException {
+		if(!in.readBoolean()) {
+			return null;
+		}
+		var type = CodeTokenType.values()[in.readByte()];
+		var text = readString(in);
+		int start = in.readInt();
+		int end = in.readInt();
+		return new CodeToken(type, new TextFragmentRefImpl(start, end, -1, -1, -1, -1), text);
+	}
+
+
+	private static void writeKeyword(DataOutputStream out, Keyword keyword) throws IOException {
+		writeString(out, keyword != null ? keyword.toSrc() : null);
+	}
+
+
+	private static Keyword readKeyword(DataInputStream in, KeywordUtil<? extends Keyword> keywordUtil) throws IOException {
+		var src = readString(in);
+		return src != null ? keywordUtil.toKeyword(src) : null;
+	}
+
+
+	private static void writeStrings(DataOutputStream out, List<String> strs) throws IOException {
+		writeList(out, strs, ShardFile::writeString);
+	}
+
+
+	private static List<String> readStrings(DataInputStream in) throws IOException {
+		return readList(in, ShardFile::readString);
+	}
+
+
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		if(str == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+
+	private static String readString(DataInputStream in) throws IOException {
+		int len = in.readInt();
+		if(len < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[len];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+
+	private static <T> void writeList(DataOutputStream out, List<? extends T> list, IoWriter<T> writer) throws IOException {
+		if(list == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(list.size());
+		for(int i = 0, size = list.size(); i < size; i++) {
+			writer.write(out, list.get(i));
+		}
+	}
+
+
+	private static <T> List<T> readList(DataInputStream in, IoReader<T> reader) throws IOException {
+		int size = in.readInt();
+		if(size < 0) {
+			return null;
+		}
+		var res = new ArrayList<T>(size);
+		for(int i = 0; i < size; i++) {
+			res.add(reader.read(in));
+		}
+		return res;
+	}
+
+
+	private static CodeLanguage findLanguage(String displayName) throws IOException {
+		for(var lang : CodeLanguageOptions.getLanguagesCopy()) {
+			if(lang.displayName().equals(displayName)) {
+				return lang;
+			}
+		}
+		throw new IOException("unknown shard file language '" + displayName + "'");
+	}
+
+
+	private static BlockType toBlockType(CodeLanguage lang, String name) throws IOException {
+		if(name == null) {
+			return null;
+		}
+		if(lang == CodeLanguageOptions.C_SHARP) {
+			return CsBlock.valueOf(name);
+		}
+		if(lang == CodeLanguageOptions.JAVA) {
+			return JavaBlock.valueOf(name);
+		}
+		throw new IOException("unsupported shard file block type '" + name + "' for language '" + lang.displayName() + "'");
+	}
+
+
+
+
+	@FunctionalInterface
+	private static interface IoWriter<T> {
+		public void write(DataOutputStream out, T value) throws IOException;
+	}
+
+
+
+
+	@FunctionalInterface
+	private static interface IoReader<T> {
+		public T read(DataInputStream in) throws IOException;
+	}
+
+
+
+
+	private static class OrderedUnit {
+		final int fileOrdinal;
+		final int offset;
+		final CodeFileParsed.Intermediate<BlockType> unit;
+
+
+		OrderedUnit(int fileOrdinal, int offset, CodeFileParsed.Intermediate<BlockType> unit) {
+			this.fileOrdinal = fileOrdinal;
+			this.offset = offset;
+			this.unit = unit;
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+package twg2.parser.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.ParserWorkflow.IoMode;
+
+/** Parses a source tree with {@link IoMode#PLATFORM} (reads on the parse thread pool) and {@link IoMode#VIRTUAL}
+ * (reads on virtual threads) and reports the median wall time of each.
+ * The OS page cache is dropped before every run ({@code sync; echo 3 > /proc/sys/vm/drop_caches}, Linux only, requires root)
+ * so that file reads hit the disk; if the cache can't be dropped a warning is printed and the runs are warm cache runs.
+ * Best run against a large tree on a network or spinning disk where read latency dominates.
+ * <pre>
+ * usage: ColdCacheReadBenchmark [source_dir] [file_extension] [threads] [iterations]
+ * defaults: rsc/csharp/ParserExamples .cs 4 5
+ * </pre>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ColdCacheReadBenchmark {
+
+	public static void main(String[] args) throws IOException, InterruptedException, FileFormatException {
+		Path srcDir = Paths.get(args.length > 0 ? args[0] : "rsc/csharp/ParserExamples");
+		String fileExt = args.length > 1 ? args[1] : ".cs";
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+		int iterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+		List<Path> paths;
+		try(var files = Files.walk(srcDir)) {
+			paths = files.filter((p) -> p.toString().endsWith(fileExt)).collect(Collectors.toList());
+		}
+		System.out.println("parsing " + paths.size() + " files, " + threads + " threads, " + iterations + " iterations");
+
+		boolean cold = dropPageCache();
+		if(!cold) {
+			System.out.println("WARNING: could not drop the OS page cache (requires Linux and root), results are warm cache");
+		}
+
+		// warm up the JIT
+		parse(paths, IoMode.PLATFORM, threads);
+		parse(paths, IoMode.VIRTUAL, threads);
+
+		var platformMs = new ArrayList<Long>();
+		var virtualMs = new ArrayList<Long>();
+		for(int i = 0; i < iterations; i++) {
+			// alternate modes so both see similar disk state
+			dropPageCache();
+			platformMs.add(parse(paths, IoMode.PLATFORM, threads));
+			dropPageCache();
+			virtualMs.add(parse(paths, IoMode.VIRTUAL, threads));
+		}
+
+		System.out.println((cold ? "cold" : "warm") + " cache, platform threads: median " + median(platformMs) + " ms " + platformMs);
+		System.out.println((cold ? "cold" : "warm") + " cache, virtual thread reads: median " + median(virtualMs) + " ms " + virtualMs);
+	}
+
+
+	private static long parse(List<Path> paths, IoMode ioMode, int threads) throws IOException, FileFormatException {
+		var executor = ioMode.createExecutor(threads);
+		var ioExecutor = ioMode.createIoExecutor();
+		try {
+			var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+			long start = System.nanoTime();
+			ParserMisc.parseFileSet(paths, fileSet, executor, ioExecutor, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+			return (System.nanoTime() - start) / 1000000;
+		} finally {
+			if(executor != null) {
+				executor.shutdown();
+			}
+			if(ioExecutor != null) {
+				ioExecutor.shutdown();
+			}
+		}
+	}
+
+
+	private static boolean dropPageCache() throws InterruptedException {
+		try {
+			var proc = new ProcessBuilder(Arrays.asList("sh", "-c", "sync; echo 3 > /proc/sys/vm/drop_caches")).redirectErrorStream(true).start();
+			proc.getInputStream().readAllBytes();
+			return proc.waitFor() == 0;
+		} catch(IOException ex) {
+			return false;
+		}
+	}
+
+
+	private static long median(List<Long> values) {
+		var sorted = new ArrayList<>(values);
+		sorted.sort(null);
+		return sorted.get(sorted.size() / 2);
+	}
+
+}
@@ -0,0 +1,182 @@
+package twg2.parser.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import twg2.parser.codeParser.AstExtractor;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.extractors.BlockExtractor;
+import twg2.parser.codeParser.extractors.ExtractorSet;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.workflow.CodeFileSrc;
+
+/** Runs the block extractors ({@link AstExtractor#extractClassFieldsAndMethodSignatures(twg2.treeLike.simpleTree.SimpleTree)})
+ * over a set of already tokenized files with {@link BlockExtractor#reuseExtractors} off (new parsers for every block) and on
+ * (per-thread {@link ExtractorSet}), and reports the bytes allocated per iteration and the top allocated classes
+ * (sampled from JFR 'jdk.ObjectAllocationInNewTLAB' and 'jdk.ObjectAllocationOutsideTLAB' events).
+ * <pre>
+ * usage: ExtractorAllocationBenchmark [source_dir] [file_extension] [iterations]
+ * defaults: rsc/csharp/ParserExamples .cs 2000
+ * </pre>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ExtractorAllocationBenchmark {
+	private static final int TOP_CLASSES = 15;
+
+
+	public static void main(String[] args) throws IOException {
+		Path srcDir = Paths.get(args.length > 0 ? args[0] : "rsc/csharp/ParserExamples");
+		String fileExt = args.length > 1 ? args[1] : ".cs";
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		var lang = CodeLanguageOptions.fromFileExtension(fileExt);
+		@SuppressWarnings("unchecked")
+		var extractor = (AstExtractor<BlockType>)lang.getExtractor();
+
+		List<Path> paths;
+		try(var files = Files.walk(srcDir)) {
+			paths = files.filter((p) -> p.toString().endsWith(fileExt)).collect(Collectors.toList());
+		}
+
+		// tokenize once, only the extract step is measured
+		var files = new ArrayList<CodeFileSrc>();
+		for(var path : paths) {
+			char[] src = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+			var tokenizer = lang == CodeLanguageOptions.JAVA ? JavaFileTokenizer.createJavaTokenizer() : CsFileTokenizer.createCsTokenizer();
+			files.add(tokenizer.tokenizeDocument(src, 0, src.length, path.toString(), null));
+		}
+		System.out.println("tokenized " + files.size() + " files, " + iterations + " iterations");
+
+		boolean prevReuse = BlockExtractor.reuseExtractors;
+		try {
+			var before = measure("new extractors per block", false, extractor, files, iterations);
+			var after = measure("per-thread extractor set", true, extractor, files, iterations);
+
+			System.out.println(before);
+			System.out.println(after);
+			System.out.println("allocated bytes per iteration: " + before.bytesPerIteration + " -> " + after.bytesPerIteration +
+					" (" + (before.bytesPerIteration > 0 ? (100 - after.bytesPerIteration * 100 / before.bytesPerIteration) : 0) + "% less)");
+		} finally {
+			BlockExtractor.reuseExtractors = prevReuse;
+		}
+	}
+
+
+	private static Result measure(String name, boolean reuseExtractors, AstExtractor<BlockType> extractor, List<CodeFileSrc> files, int iterations) throws IOException {
+		BlockExtractor.reuseExtractors = reuseExtractors;
+
+		// warm up
+		for(int i = 0; i < iterations; i++) {
+			extractAll(extractor, files);
+		}
+
+		var threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		int setsCreatedStart = ExtractorSet.parserSetsCreated;
+
+		var allocByClass = new HashMap<String, Long>();
+		long allocatedBytes;
+		long elapsedNs;
+
+		try(var recording = new Recording()) {
+			recording.enable("jdk.ObjectAllocationInNewTLAB");
+			recording.enable("jdk.ObjectAllocationOutsideTLAB");
+			recording.start();
+
+			long startBytes = threadBean.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			for(int i = 0; i < iterations; i++) {
+				extractAll(extractor, files);
+			}
+			elapsedNs = System.nanoTime() - start;
+			allocatedBytes = threadBean.getCurrentThreadAllocatedBytes() - startBytes;
+
+			recording.stop();
+			Path jfrFile = Files.createTempFile("jparse-code-alloc", ".jfr");
+			try {
+				recording.dump(jfrFile);
+				for(RecordedEvent event : RecordingFile.readAllEvents(jfrFile)) {
+					var type = event.getClass("objectClass");
+					if(type == null || event.getThread() == null || event.getThread().getJavaThreadId() != threadId) {
+						continue;
+					}
+					// TLAB size approximates the bytes allocated by the class since the event is only sampled when a new TLAB is needed
+					long weight = event.hasField("tlabSize") ? event.getLong("tlabSize") : event.getLong("allocationSize");
+					allocByClass.merge(type.getName(), weight, Long::sum);
+				}
+			} finally {
+				Files.deleteIfExists(jfrFile);
+			}
+		}
+
+		return new Result(name, iterations, allocatedBytes / iterations, elapsedNs / iterations, ExtractorSet.parserSetsCreated - setsCreatedStart, allocByClass);
+	}
+
+
+	private static int extractAll(AstExtractor<BlockType> extractor, List<CodeFileSrc> files) {
+		int classes = 0;
+		for(var file : files) {
+			classes += extractor.extractClassFieldsAndMethodSignatures(file.astTree).size();
+		}
+		return classes;
+	}
+
+
+
+
+	static class Result {
+		final String name;
+		final int iterations;
+		final long bytesPerIteration;
+		final long nsPerIteration;
+		final int parserSetsCreated;
+		final HashMap<String, Long> allocByClass;
+
+
+		Result(String name, int iterations, long bytesPerIteration, long nsPerIteration, int parserSetsCreated, HashMap<String, Long> allocByClass) {
+			this.name = name;
+			this.iterations = iterations;
+			this.bytesPerIteration = bytesPerIteration;
+			this.nsPerIteration = nsPerIteration;
+			this.parserSetsCreated = parserSetsCreated;
+			this.allocByClass = allocByClass;
+		}
+
+
+		@Override
+		public String toString() {
+			long total = 0;
+			for(var bytes : allocByClass.values()) {
+				total += bytes;
+			}
+			var sb = new StringBuilder();
+			sb.append(name).append(": allocated=").append(bytesPerIteration).append(" bytes/iteration, time=").append(nsPerIteration / 1000).append(" us/iteration")
+				.append(", parser sets created=").append(parserSetsCreated).append('\n');
+			sb.append("  top allocated classes (JFR TLAB samples, bytes/iteration, % of sampled):\n");
+
+			var sorted = new ArrayList<>(allocByClass.entrySet());
+			sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+			for(int i = 0, size = Math.min(TOP_CLASSES, sorted.size()); i < size; i++) {
+				var entry = sorted.get(i);
+				sb.append("  ").append(String.format("%12d %5.1f%%  ", entry.getValue() / iterations, total > 0 ? entry.getValue() * 100.0 / total : 0.0)).append(entry.getKey()).append('\n');
+			}
+			return sb.toString();
+		}
+
+	}
+
+}
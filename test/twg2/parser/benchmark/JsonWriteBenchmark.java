@@ -0,0 +1,196 @@
+package twg2.parser.benchmark;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import twg2.ast.interm.classes.ClassAst;
+import twg2.ast.interm.type.TypeSig;
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.io.json.stringify.JsonStringify;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ProjectClassSet;
+
+/** Measures {@link ClassAst#toJson(Appendable, WriteSettings)} (the destination write path) over a set of parsed and resolved classes,
+ * reports the bytes allocated and time per class for the unresolved and resolved classes, written to a reused {@link StringBuilder}
+ * (the {@link JsonWrite} fast path used by {@code ParserWorkflow.WriteResult}) and to a generic {@link Appendable}.
+ * The resolved field types are also written by a baseline copy of the string concatenation {@code toJson()} used before {@link JsonWrite}
+ * for a before/after comparison.
+ * Each measurement runs warmup iterations first, then measured iterations, like a JMH single shot benchmark
+ * ({@code -prof gc} style 'bytes allocated per operation' from the thread's allocation counter).
+ * <pre>
+ * usage: JsonWriteBenchmark [source_dir] [file_extension] [iterations]
+ * defaults: rsc/csharp/ParserExamples .cs 5000
+ * </pre>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class JsonWriteBenchmark {
+
+	public static void main(String[] args) throws IOException, FileFormatException {
+		Path srcDir = Paths.get(args.length > 0 ? args[0] : "rsc/csharp/ParserExamples");
+		String fileExt = args.length > 1 ? args[1] : ".cs";
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+
+		List<Path> paths;
+		try(var files = Files.walk(srcDir)) {
+			paths = files.filter((p) -> p.toString().endsWith(fileExt)).collect(Collectors.toList());
+		}
+
+		var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(paths, fileSet, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+		var resFileSet = ProjectClassSet.resolveClasses(fileSet, CsBlock.CLASS, new HashSet<List<String>>());
+
+		var simpleClasses = fileSet.getCompilationUnitsStartWith(Arrays.asList("")).stream().map((f) -> f.parsedClass).collect(Collectors.toList());
+		var resolvedClasses = resFileSet.getCompilationUnitsStartWith(Arrays.asList("")).stream().map((f) -> f.parsedClass).collect(Collectors.toList());
+		System.out.println("parsed " + paths.size() + " files, " + simpleClasses.size() + " classes, " + iterations + " iterations");
+
+		var ws = new WriteSettings(true, false, false, true);
+		System.out.println(measureClasses("simple classes, StringBuilder", simpleClasses, ws, iterations, false));
+		System.out.println(measureClasses("simple classes, Appendable", simpleClasses, ws, iterations, true));
+		System.out.println(measureClasses("resolved classes, StringBuilder", resolvedClasses, ws, iterations, false));
+		System.out.println(measureClasses("resolved classes, Appendable", resolvedClasses, ws, iterations, true));
+
+		// before/after, the field types written by the previous string concatenation toJson() and by the current JsonWrite toJson()
+		var fieldTypes = new ArrayList<TypeSig.TypeSigResolved>();
+		for(var cls : resolvedClasses) {
+			for(var field : cls.getFields()) {
+				fieldTypes.add(field.getFieldType());
+			}
+		}
+		var sb = new StringBuilder(64 * 1024);
+		System.out.println(measure("resolved field types, baseline", fieldTypes.size(), iterations, () -> {
+			sb.setLength(0);
+			for(var type : fieldTypes) {
+				baselineToJson(type, sb, ws);
+			}
+			return sb.length();
+		}));
+		System.out.println(measure("resolved field types, JsonWrite", fieldTypes.size(), iterations, () -> {
+			sb.setLength(0);
+			for(var type : fieldTypes) {
+				type.toJson(sb, ws);
+			}
+			return sb.length();
+		}));
+	}
+
+
+	private static String measureClasses(String name, List<? extends ClassAst<?, ?>> classes, WriteSettings ws, int iterations, boolean genericAppendable) throws IOException {
+		var sb = new StringBuilder(64 * 1024);
+		var writer = new CharArrayWriter(64 * 1024);
+		Appendable dst = genericAppendable ? writer : sb;
+
+		return measure(name, classes.size(), iterations, () -> {
+			long chars = 0;
+			for(var cls : classes) {
+				// reuse the destination buffer, like WriteResult does for each class
+				sb.setLength(0);
+				writer.reset();
+				cls.toJson(dst, ws);
+				chars += sb.length() + writer.size();
+			}
+			return chars;
+		});
+	}
+
+
+	/** Run {@code writeAll} for warmup iterations then measured iterations
+	 * @param count the number of items (classes or types) written by each {@code writeAll} call
+	 */
+	private static String measure(String name, int count, int iterations, WriteAll writeAll) throws IOException {
+		// warm up
+		long chars = 0;
+		for(int i = 0; i < iterations; i++) {
+			chars = writeAll.write();
+		}
+
+		var threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long startBytes = threadBean.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		for(int i = 0; i < iterations; i++) {
+			writeAll.write();
+		}
+		long elapsedNs = System.nanoTime() - start;
+		long allocatedBytes = threadBean.getCurrentThreadAllocatedBytes() - startBytes;
+
+		long ops = (long)iterations * Math.max(1, count);
+		return name + ": allocated=" + (allocatedBytes / ops) + " bytes/item, time=" + (elapsedNs / ops) + " ns/item, output=" + (chars / Math.max(1, count)) + " chars/item";
+	}
+
+
+	/** The {@link TypeSig.TypeSigResolvedBase} and {@link TypeSig.TypeSigResolvedGeneric} {@code toJson()} implementations
+	 * from before {@link JsonWrite}, which joined the fully qualifying name and concatenated each property into a temporary string
+	 */
+	private static void baselineToJson(TypeSig.TypeSigResolved type, Appendable dst, WriteSettings st) throws IOException {
+		var json = JsonStringify.inst;
+
+		if(!type.isGeneric()) {
+			dst.append("{ ");
+			dst.append("\"typeName\": \"" + NameUtil.joinFqName(type.getFullName()) + "\"");
+
+			if(type.getArrayDimensions() > 0) {
+				dst.append(", ");
+				dst.append("\"arrayDimensions\": " + type.getArrayDimensions());
+			}
+
+			if(type.isNullable()) {
+				dst.append(", ");
+				dst.append("\"nullable\": " + type.isNullable());
+			}
+
+			if(type.isPrimitive()) {
+				dst.append(", ");
+				dst.append("\"primitive\": " + type.isPrimitive());
+			}
+
+			dst.append(" }");
+		}
+		else {
+			dst.append("{ ");
+			json.toProp("typeName", NameUtil.joinFqName(type.getFullName()), dst).comma(dst)
+				.propName("genericParameters", dst)
+					.toArrayConsume(type.getParams(), dst, (param) -> baselineToJson(param, dst, st));
+
+			if(type.getArrayDimensions() > 0) {
+				json.comma(dst).toProp("arrayDimensions", type.getArrayDimensions(), dst);
+			}
+
+			if(type.isNullable()) {
+				json.comma(dst).toProp("nullable", type.isNullable(), dst);
+			}
+
+			if(type.isPrimitive()) {
+				json.comma(dst).toProp("primitive", type.isPrimitive(), dst);
+			}
+
+			dst.append(" }");
+		}
+	}
+
+
+
+
+	@FunctionalInterface
+	private static interface WriteAll {
+		/**
+		 * @return the number of chars written
+		 */
+		public long write() throws IOException;
+	}
+
+}
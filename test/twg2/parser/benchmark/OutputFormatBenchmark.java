@@ -0,0 +1,91 @@
+package twg2.parser.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.OutputFormat;
+import twg2.parser.output.ParsedOutputReader;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.CodeFileParsed;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+import twg2.parser.workflow.ParserWorkflow.WriteResult;
+
+/** Compares output size, write time, and read time of each {@link OutputFormat} for the same parsed classes.
+ * <pre>
+ * usage: OutputFormatBenchmark [source_dir] [file_extension] [iterations]
+ * defaults: rsc/csharp/ParserExamples .cs 200
+ * </pre>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class OutputFormatBenchmark {
+
+	public static void main(String[] args) throws IOException, FileFormatException {
+		Path srcDir = Paths.get(args.length > 0 ? args[0] : "rsc/csharp/ParserExamples");
+		String fileExt = args.length > 1 ? args[1] : ".cs";
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+		List<Path> files;
+		try(var paths = Files.walk(srcDir)) {
+			files = paths.filter((p) -> p.toString().endsWith(fileExt)).collect(Collectors.toList());
+		}
+
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(files, projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+		var resFileSet = ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, new HashSet<>());
+		var classes = resFileSet.getCompilationUnitsStartWith(Arrays.asList(""));
+		System.out.println("parsed " + files.size() + " files, " + classes.size() + " classes, " + iterations + " iterations");
+
+		Path tmpDir = Files.createTempDirectory("jparse-code-output");
+		try {
+			for(var format : OutputFormat.values()) {
+				Path dstFile = tmpDir.resolve("bench" + format.getFileExtension());
+				var resSets = new HashMap<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>>();
+				resSets.put(DestinationInfo.parse(dstFile + "=[]", "destinations"), classes);
+
+				// warm up
+				for(int i = 0; i < iterations; i++) {
+					Files.deleteIfExists(dstFile);
+					WriteResult.write(resSets, Collections.emptyList());
+					ParsedOutputReader.readClasses(dstFile);
+				}
+
+				long writeNs = 0;
+				long readNs = 0;
+				for(int i = 0; i < iterations; i++) {
+					// delete the previous output so it is written instead of skipped as unchanged
+					Files.deleteIfExists(dstFile);
+					long start = System.nanoTime();
+					WriteResult.write(resSets, Collections.emptyList());
+					long mid = System.nanoTime();
+					ParsedOutputReader.readClasses(dstFile);
+					long end = System.nanoTime();
+					writeNs += mid - start;
+					readNs += end - mid;
+				}
+
+				System.out.println(format + ": size=" + Files.size(dstFile) + " bytes" +
+						", avg write=" + String.format("%.3f", writeNs / 1000000D / iterations) + " ms" +
+						", avg read=" + String.format("%.3f", readNs / 1000000D / iterations) + " ms");
+			}
+		} finally {
+			try(var paths = Files.walk(tmpDir)) {
+				paths.sorted((a, b) -> b.compareTo(a)).forEach((p) -> p.toFile().delete());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,150 @@
+package twg2.parser.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** Launches jparse_code.jar as a separate process against a tiny project (rsc/csharp/ParserExamples/Models)
+ * with and without an AppCDS archive (see bin/create-cds-archive.sh) and reports the median
+ * time-to-first-file-parsed (from the 'startup:' line printed by {@code MainParser} with '-debug') and total wall time.
+ * Every configuration runs with '-debug', so the performance tracking overhead is included equally in each measurement.
+ * <pre>
+ * usage: StartupBenchmark [jar_path] [archive_path] [iterations]
+ * defaults: bin/jparse_code.jar bin/jparse_code.jsa 10
+ * </pre>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class StartupBenchmark {
+	private static final Pattern STARTUP_LINE = Pattern.compile("startup: main\\(\\) (-?\\d+) ms, first file parsed (-?\\d+) ms, total (-?\\d+) ms");
+
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path jar = Paths.get(args.length > 0 ? args[0] : "bin/jparse_code.jar");
+		Path archive = Paths.get(args.length > 1 ? args[1] : "bin/jparse_code.jsa");
+		int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		Path tmpDir = Files.createTempDirectory("jparse-code-startup");
+		try {
+			Path dst = tmpDir.resolve("startup-bench.json");
+			var parserArgs = Arrays.asList(
+				"-jar", jar.toString(),
+				"-sources", "rsc/csharp/ParserExamples/Models=1,[cs]",
+				"-destinations", dst + "=[ParserExamples.Models]",
+				"-debug"
+			);
+
+			// warm up the OS file cache so the first measured run isn't penalized
+			runParser(Arrays.asList("-Xshare:off"), parserArgs);
+
+			var noArchive = measure("no archive", Arrays.asList("-Xshare:off"), parserArgs, iterations);
+			var defaultCds = measure("default JDK CDS", Arrays.asList(), parserArgs, iterations);
+
+			System.out.println(noArchive);
+			System.out.println(defaultCds);
+
+			if(Files.exists(archive)) {
+				var appCds = measure("AppCDS archive", Arrays.asList("-XX:SharedArchiveFile=" + archive, "-Xshare:auto"), parserArgs, iterations);
+				System.out.println(appCds);
+			}
+			else {
+				System.out.println("AppCDS archive '" + archive + "' not found, run bin/create-cds-archive.sh first");
+			}
+		} finally {
+			try(var files = Files.walk(tmpDir)) {
+				files.sorted((a, b) -> b.compareTo(a)).forEach((p) -> p.toFile().delete());
+			}
+		}
+	}
+
+
+	private static Result measure(String name, List<String> jvmArgs, List<String> parserArgs, int iterations) throws IOException, InterruptedException {
+		long[] firstFileMs = new long[iterations];
+		long[] totalMs = new long[iterations];
+		long[] wallMs = new long[iterations];
+
+		for(int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			var startupTimes = runParser(jvmArgs, parserArgs);
+			wallMs[i] = (System.nanoTime() - start) / 1000000L;
+			firstFileMs[i] = startupTimes[1];
+			totalMs[i] = startupTimes[2];
+		}
+
+		return new Result(name, median(firstFileMs), median(totalMs), median(wallMs), iterations);
+	}
+
+
+	/**
+	 * @return the [main(), first file parsed, total] milliseconds since JVM start reported by the parser process
+	 */
+	private static long[] runParser(List<String> jvmArgs, List<String> parserArgs) throws IOException, InterruptedException {
+		var cmd = new ArrayList<String>();
+		cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		cmd.addAll(jvmArgs);
+		cmd.addAll(parserArgs);
+
+		var proc = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+		long[] res = null;
+		var output = new StringBuilder();
+		try(var reader = new BufferedReader(new InputStreamReader(proc.getInputStream()))) {
+			String line;
+			while((line = reader.readLine()) != null) {
+				output.append(line).append('\n');
+				Matcher m = STARTUP_LINE.matcher(line);
+				if(m.find()) {
+					res = new long[] { Long.parseLong(m.group(1)), Long.parseLong(m.group(2)), Long.parseLong(m.group(3)) };
+				}
+			}
+		}
+
+		int exitCode = proc.waitFor();
+		if(exitCode != 0 || res == null) {
+			throw new IllegalStateException("parser process failed (exit code " + exitCode + "): " + cmd + "\n" + output);
+		}
+		return res;
+	}
+
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+
+
+
+	static class Result {
+		final String name;
+		final long firstFileMs;
+		final long totalMs;
+		final long wallMs;
+		final int iterations;
+
+
+		Result(String name, long firstFileMs, long totalMs, long wallMs, int iterations) {
+			this.name = name;
+			this.firstFileMs = firstFileMs;
+			this.totalMs = totalMs;
+			this.wallMs = wallMs;
+			this.iterations = iterations;
+		}
+
+
+		@Override
+		public String toString() {
+			return name + " (median of " + iterations + "): first file parsed=" + firstFileMs + " ms, total=" + totalMs + " ms, process wall time=" + wallMs + " ms";
+		}
+
+	}
+
+}
@@ -0,0 +1,66 @@
+package twg2.parser.codeParser.test;
+
+import static twg2.parser.test.utils.AnnotationAssert.assertAnnotation;
+import static twg2.parser.test.utils.TypeAssert.ls;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.java.JavaBlock;
+import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.project.ProjectClassSet;
+
+/** Parses Java files end to end through {@link ParserMisc#parseFileSet(List, ProjectClassSet.Intermediate, java.util.concurrent.ExecutorService, ThreadLocal, twg2.parser.codeParser.analytics.PerformanceTrackers)},
+ * the file's language picks the extractor, so '.java' files must be tagged {@link CodeLanguageOptions#JAVA} to be extracted by {@code JavaBlockParser}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class JavaParseFilesTest {
+
+	@Test
+	public void parseJavaFiles() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(ls(
+			Paths.get("rsc/java/ParserExamples/Models/AlbumInfo.java"),
+			Paths.get("rsc/java/ParserExamples/Models/TrackInfo.java")
+		), projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		var trackInfoFile = projFiles.getCompilationUnitFile(ls("ParserExamples", "Models", "TrackInfo"));
+		Assert.assertEquals(CodeLanguageOptions.JAVA, trackInfoFile.id.language);
+
+		// public class TrackInfo extends BaseClass implements Serializable, Comparable<TrackInfo>
+		var trackInfo = trackInfoFile.parsedClass;
+		Assert.assertEquals(JavaBlock.CLASS, trackInfo.getBlockType());
+		Assert.assertEquals(ls("BaseClass", "Serializable", "Comparable<TrackInfo>"), trackInfo.getSignature().getExtendImplementSimpleNames());
+		Assert.assertEquals(4, trackInfo.getFields().size());
+		Assert.assertEquals(2, trackInfo.getMethods().size());
+		Assert.assertEquals("ParserExamples.Models.TrackInfo.compareTo", NameUtil.joinFqName(trackInfo.getMethods().get(0).fullName));
+		Assert.assertEquals("ParserExamples.Models.TrackInfo.refresh", NameUtil.joinFqName(trackInfo.getMethods().get(1).fullName));
+
+		var artistMeta = projFiles.getCompilationUnit(ls("ParserExamples", "Models", "TrackInfo", "ArtistMeta"));
+		Assert.assertEquals(JavaBlock.CLASS, artistMeta.getBlockType());
+		Assert.assertEquals(3, artistMeta.getFields().size());
+
+		// '@DataContract' Java annotation
+		var albumInfo = projFiles.getCompilationUnit(ls("ParserExamples", "Models", "AlbumInfo"));
+		Assert.assertEquals(JavaBlock.CLASS, albumInfo.getBlockType());
+		assertAnnotation(albumInfo.getSignature().getAnnotations(), 0, "DataContract", new String[0]);
+
+		// public List<TrackInfo> Tracks
+		var resFileSet = ProjectClassSet.resolveClasses(projFiles, JavaBlock.CLASS, new HashSet<List<String>>());
+		var resAlbumInfo = resFileSet.getCompilationUnit(ls("ParserExamples", "Models", "AlbumInfo"));
+		var tracksType = resAlbumInfo.getFields().get(1).getFieldType();
+		Assert.assertEquals("ParserExamples.Models.TrackInfo", NameUtil.joinFqName(tracksType.getParams().get(0).getFullName()));
+	}
+
+}
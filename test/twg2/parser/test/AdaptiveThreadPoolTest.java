@@ -0,0 +1,100 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.AdaptiveThreadPool;
+import twg2.parser.workflow.ParserWorkflow;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class AdaptiveThreadPoolTest {
+
+	@Test
+	public void initialThreadCount() {
+		// small projects are parsed sequentially
+		Assert.assertEquals(1, AdaptiveThreadPool.initialThreadCount(5, 10 * 1024 * 1024, 8));
+		Assert.assertEquals(1, AdaptiveThreadPool.initialThreadCount(1000, 100 * 1024, 8));
+		Assert.assertEquals(1, AdaptiveThreadPool.initialThreadCount(1000, 100 * 1024 * 1024, 1));
+
+		// limited by file count, total size, and processors
+		Assert.assertEquals(4, AdaptiveThreadPool.initialThreadCount(32, 100 * 1024 * 1024, 8));
+		Assert.assertEquals(5, AdaptiveThreadPool.initialThreadCount(1000, 640 * 1024, 8));
+		Assert.assertEquals(8, AdaptiveThreadPool.initialThreadCount(1000, 100 * 1024 * 1024, 8));
+		Assert.assertEquals(2, AdaptiveThreadPool.initialThreadCount(16, 100 * 1024 * 1024, 8));
+	}
+
+
+	@Test
+	public void taskFileCount() {
+		var pool = new AdaptiveThreadPool(2, 4);
+		try {
+			Assert.assertEquals(1, pool.getTaskFileCount(10, 40));
+			Assert.assertEquals(10, pool.getTaskFileCount(320, 40));
+			Assert.assertEquals(40, pool.getTaskFileCount(100000, 40));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+
+	@Test
+	public void adaptivePoolMatchesSequential() throws IOException, FileFormatException {
+		List<Path> paths;
+		try(var files = Files.walk(Paths.get("rsc/csharp/ParserExamples"))) {
+			paths = files.filter((p) -> p.toString().endsWith(".cs")).sorted().collect(Collectors.toList());
+		}
+
+		var expect = parse(paths, null);
+		long prevInterval = AdaptiveThreadPool.adjustIntervalNs;
+		var pool = new AdaptiveThreadPool(2, Math.max(2, Runtime.getRuntime().availableProcessors()));
+		try {
+			// adjust after every file
+			AdaptiveThreadPool.adjustIntervalNs = 0;
+			var actual = parse(paths, pool);
+			Assert.assertEquals(expect, actual);
+		} finally {
+			AdaptiveThreadPool.adjustIntervalNs = prevInterval;
+			pool.shutdown();
+		}
+		Assert.assertTrue(pool.toString(), pool.toString().contains(paths.size() + " files"));
+		Assert.assertTrue(pool.getPeakThreads() <= pool.getMaxThreads());
+
+		// 'auto' doesn't create an executor up front
+		Assert.assertNull(ParserWorkflow.IoMode.PLATFORM.createExecutor(ParserWorkflow.THREADS_AUTO));
+	}
+
+
+	private static List<String> parse(List<Path> paths, ExecutorService executor) throws IOException, FileFormatException {
+		var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(paths, fileSet, executor, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		var ws = new WriteSettings(true, true, true, true);
+		var res = new ArrayList<String>();
+		for(var file : fileSet.getCompilationUnitsStartWith(List.of(""))) {
+			var sb = new StringBuilder();
+			file.parsedClass.toJson(sb, ws);
+			res.add(sb.toString());
+		}
+		res.sort(null);
+		return res;
+	}
+
+}
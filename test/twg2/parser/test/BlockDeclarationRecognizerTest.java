@@ -0,0 +1,103 @@
+package twg2.parser.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.csharp.CsKeyword;
+import twg2.parser.codeParser.extractors.BlockDeclarationRecognizer;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.simpleTree.SimpleTree;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BlockDeclarationRecognizerTest {
+
+	@Test
+	public void csDeclarations() {
+		var tree = csFile(
+			"public static partial class A : B, C { }\n" +
+			"internal interface I<T> { }\n" +
+			"partial public class P { }\n" +
+			"enum E { X }\n" +
+			"var x = new Abc { };\n" +
+			"var y = new { };\n" +
+			"void M<T>() where T : class { }\n" +
+			"if(z) { }\n"
+		);
+
+		Assert.assertEquals(List.of(
+			"class A : [B, C] [public, static, partial]",
+			"interface I<T> : [] [internal]",
+			"class P : [] [public]",
+			"enum E : [] []"
+		), recognize(new BlockDeclarationRecognizer(CodeLanguageOptions.C_SHARP.getKeywordUtil(), CsKeyword.NEW.toSrc(), false), tree));
+
+		try {
+			recognize(new BlockDeclarationRecognizer(CodeLanguageOptions.C_SHARP.getKeywordUtil(), CsKeyword.NEW.toSrc(), false), csFile("class : B { }"));
+			Assert.fail("expected class with no name to fail");
+		} catch(IllegalStateException ex) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void javaDeclarations() {
+		var tree = javaFile(
+			"public abstract class A<T> extends B implements C, D { }\n" +
+			"final class F { }\n" +
+			"interface I { }\n" +
+			"void m() { }\n" +
+			"static { }\n"
+		);
+
+		Assert.assertEquals(List.of(
+			"class A<T> : [B, C, D] [public, abstract]",
+			"class F : [] [final]",
+			"interface I : [] []"
+		), recognize(new BlockDeclarationRecognizer(CodeLanguageOptions.JAVA.getKeywordUtil(), null, true), tree));
+
+		try {
+			recognize(new BlockDeclarationRecognizer(CodeLanguageOptions.JAVA.getKeywordUtil(), null, true), javaFile("class A extends implements B { }"));
+			Assert.fail("expected adjacent 'extends implements' to fail");
+		} catch(IllegalStateException ex) {
+			// expected
+		}
+	}
+
+
+	private static List<String> recognize(BlockDeclarationRecognizer declarations, SimpleTree<CodeToken> tree) {
+		var res = new ArrayList<String>();
+		var children = tree.getChildren();
+		for(int i = 0, size = children.size(); i < size; i++) {
+			if(declarations.next(children, i)) {
+				res.add(declarations.getBlockModifier().getData().getText() + " " + declarations.getName() + " : " + declarations.getExtendImplementNames() + " " + declarations.getAccessModifiers());
+			}
+		}
+		return res;
+	}
+
+
+	private static SimpleTree<CodeToken> csFile(String src) {
+		char[] chars = src.toCharArray();
+		CodeFileSrc file = CsFileTokenizer.createCsTokenizer().tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		return file.astTree;
+	}
+
+
+	private static SimpleTree<CodeToken> javaFile(String src) {
+		char[] chars = src.toCharArray();
+		CodeFileSrc file = JavaFileTokenizer.createJavaTokenizer().tokenizeDocument(chars, 0, chars.length, "A.java", null);
+		return file.astTree;
+	}
+
+}
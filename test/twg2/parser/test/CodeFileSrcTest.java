@@ -0,0 +1,89 @@
+package twg2.parser.test;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.TreeTraversalOrder;
+import twg2.treeLike.simpleTree.SimpleTreeUtil;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeFileSrcTest {
+	private static final String src =
+		"namespace App.Models {\n" +
+		"  /// <summary>a class</summary>\n" +
+		"  public class A {\n" +
+		"\tpublic int B { get; set; }\n" +
+		"\n" +
+		"    public string C(int d) { return \"e\"; }\n" +
+		"  }\n" +
+		"}\n";
+
+
+	@Test
+	public void offsetsOnlyTokens() {
+		char[] chars = src.toCharArray();
+		CodeFileSrc withLines = CsFileTokenizer.createCsTokenizer(true).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		CodeFileSrc offsetsOnly = CsFileTokenizer.createCsTokenizer(false).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+
+		var lineTokens = flatten(withLines);
+		var offsetTokens = flatten(offsetsOnly);
+
+		// same tree structure and offsets, without line/column numbers
+		Assert.assertEquals(lineTokens.size(), offsetTokens.size());
+		for(int i = 0, size = lineTokens.size(); i < size; i++) {
+			var expect = lineTokens.get(i);
+			var actual = offsetTokens.get(i);
+			Assert.assertEquals(expect.getTokenType(), actual.getTokenType());
+			Assert.assertEquals(expect.getText(), actual.getText());
+			Assert.assertEquals(expect.getToken().getOffsetStart(), actual.getToken().getOffsetStart());
+			Assert.assertEquals(expect.getToken().getOffsetEnd(), actual.getToken().getOffsetEnd());
+			Assert.assertEquals(-1, actual.getToken().getLineStart());
+			Assert.assertEquals(-1, actual.getToken().getColumnStart());
+		}
+	}
+
+
+	@Test
+	public void offsetToLineAndColumn() {
+		char[] chars = src.toCharArray();
+		CodeFileSrc withLines = CsFileTokenizer.createCsTokenizer(true).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		CodeFileSrc offsetsOnly = CsFileTokenizer.createCsTokenizer(false).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+
+		// the lazily computed positions match the positions recorded by the tokenizer
+		for(var token : flatten(withLines)) {
+			int off = token.getToken().getOffsetStart();
+			Assert.assertEquals(token.getText(), token.getToken().getLineStart(), offsetsOnly.getLineIndex(off));
+			Assert.assertEquals(token.getText(), token.getToken().getColumnStart(), offsetsOnly.getColumnIndex(off));
+		}
+
+		// random access order, not just sequential
+		int publicOff = src.indexOf("public int");
+		int namespaceOff = src.indexOf("namespace");
+		int returnOff = src.indexOf("return");
+		Assert.assertEquals(3, offsetsOnly.getLineIndex(publicOff));
+		Assert.assertEquals(1, offsetsOnly.getColumnIndex(publicOff));
+		Assert.assertEquals(0, offsetsOnly.getLineIndex(namespaceOff));
+		Assert.assertEquals(5, offsetsOnly.getLineIndex(returnOff));
+		Assert.assertEquals(3, offsetsOnly.getLineIndex(publicOff));
+		Assert.assertEquals(7, offsetsOnly.getLineIndex(src.lastIndexOf('}')));
+		Assert.assertEquals("A.cs:6:30", offsetsOnly.getPositionDescription(returnOff));
+	}
+
+
+	private static ArrayList<CodeToken> flatten(CodeFileSrc file) {
+		var tokens = new ArrayList<CodeToken>();
+		SimpleTreeUtil.traverseNodesDepthFirst(file.astTree, TreeTraversalOrder.PRE_ORDER, (branch, idx, size, depth, parentBranch) -> tokens.add(branch));
+		// skip the document root
+		tokens.remove(0);
+		return tokens;
+	}
+
+}
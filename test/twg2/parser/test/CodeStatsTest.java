@@ -0,0 +1,97 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.codeStats.ParseDirectoryCodeFiles;
+import twg2.parser.codeParser.codeStats.ParsedFileStats;
+import twg2.parser.codeParser.extractors.CommentAndWhitespaceExtractor;
+import twg2.parser.language.CodeLanguageOptions;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeStatsTest {
+
+	@Test
+	public void streamingLineStatsMatchTreeStats() throws IOException {
+		String src =
+			"/** A class\n" +
+			" */\n" +
+			"\n" +
+			"public class A { // trailing comment\n" +
+			"  // line comment\n" +
+			"  String s = \"// not a comment\";\n" +
+			"  /* one */ /* two */\n" +
+			"   \n" +
+			"}\n";
+		char[] chars = src.toCharArray();
+
+		var tree = CommentAndWhitespaceExtractor.buildCommentsAndWhitespaceTreeFromFileExtension("A.java", "java", true, chars, 0, chars.length);
+		var treeStats = CommentAndWhitespaceExtractor.calcCommentsAndWhitespaceLinesTreeStats("A.java", chars, 0, chars.length, tree.lineStartOffsets, tree.astTree);
+		var streamStats = CommentAndWhitespaceExtractor.calcCommentsAndWhitespaceLinesStats("A.java", chars, 0, chars.length, tree.lineStartOffsets, tree.astTree);
+
+		assertStatsEqual(treeStats, streamStats);
+		Assert.assertTrue(streamStats.getCommentLineCount() > 0);
+		Assert.assertTrue(streamStats.getWhitespaceLineCount() > 0);
+	}
+
+
+	@Test
+	public void parallelStatsMatchSequential() throws IOException {
+		List<Path> files = Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/java/ParserExamples/BaseClass.java"),
+			Paths.get("rsc/java/ParserExamples/Models/AlbumInfo.java"),
+			Paths.get("rsc/java/ParserExamples/Models/TrackInfo.java")
+		);
+		var sequential = ParseDirectoryCodeFiles.parseFileStats(Paths.get("rsc"), files, new FileReadUtil());
+
+		var executor = Executors.newFixedThreadPool(3);
+		try {
+			var emitted = Collections.synchronizedList(new ArrayList<ParsedFileStats>());
+			var parallel = ParseDirectoryCodeFiles.parseFileStatsStreaming(Paths.get("rsc"), files, executor, ThreadLocal.withInitial(() -> new FileReadUtil()), emitted::add);
+
+			Assert.assertEquals(files.size(), emitted.size());
+			Assert.assertEquals(0, parallel.getFileStats().size());
+			Assert.assertEquals(sequential.getStatsPerCategory().keySet(), parallel.getStatsPerCategory().keySet());
+
+			for(var lang : Arrays.asList(CodeLanguageOptions.C_SHARP, CodeLanguageOptions.JAVA)) {
+				var expect = sequential.getStatsPerCategory().get(lang);
+				var actual = parallel.getStatsPerCategory().get(lang);
+				Assert.assertEquals(expect.getSrcId(), actual.getSrcId());
+				Assert.assertEquals(expect.getFileCount(), actual.getFileCount());
+				Assert.assertEquals(expect.getCharCount(), actual.getCharCount());
+				Assert.assertEquals(expect.getTotalLineCount(), actual.getTotalLineCount());
+				Assert.assertEquals(expect.getCommentLineCount(), actual.getCommentLineCount());
+				Assert.assertEquals(expect.getWhitespaceLineCount(), actual.getWhitespaceLineCount());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	private static void assertStatsEqual(ParsedFileStats expect, ParsedFileStats actual) {
+		Assert.assertEquals(expect.getSrcId(), actual.getSrcId());
+		Assert.assertEquals(expect.getCharCount(), actual.getCharCount());
+		Assert.assertEquals(expect.getTotalLineCount(), actual.getTotalLineCount());
+		Assert.assertEquals(expect.getCommentLineCount(), actual.getCommentLineCount());
+		Assert.assertEquals(expect.getWhitespaceLineCount(), actual.getWhitespaceLineCount());
+	}
+
+}
@@ -0,0 +1,126 @@
+package twg2.parser.test;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.Keyword;
+import twg2.parser.codeParser.KeywordUtil;
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.csharp.CsKeyword;
+import twg2.parser.codeParser.csharp.CsOperator;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.codeParser.java.JavaKeyword;
+import twg2.parser.fragment.AstFragType;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.TreeTraversalOrder;
+import twg2.treeLike.simpleTree.SimpleTreeUtil;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeTokenClassifierTest {
+
+	@Test
+	public void csTokenFlagsMatchKeywordChecks() {
+		String src =
+			"namespace App.Models {\n" +
+			"  [Annotation(true)]\n" +
+			"  public sealed class A : Base, IEntity {\n" +
+			"    private static readonly string B = null;\n" +
+			"    public virtual int C(ref int d, out bool e) { return d + 1; }\n" +
+			"    public int? F { get; set; }\n" +
+			"  }\n" +
+			"}\n";
+		char[] chars = src.toCharArray();
+		var file = CsFileTokenizer.createCsTokenizer().tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		Assert.assertEquals(CodeLanguageOptions.C_SHARP, file.language);
+
+		var tokens = flatten(file);
+		assertFlagsMatch(CsKeyword.check, tokens);
+
+		var classToken = find(tokens, "class");
+		Assert.assertEquals(CsKeyword.CLASS, classToken.getKeyword());
+		Assert.assertTrue(CsKeyword.check.isBlockModifier(classToken));
+		Assert.assertTrue(CsKeyword.check.isInheritanceKeyword(find(tokens, ":")));
+		Assert.assertTrue(AstFragType.isOperator(find(tokens, "="), CsOperator.ASSIGNMENT));
+		Assert.assertFalse(AstFragType.isOperator(find(tokens, "="), CsOperator.ADD));
+	}
+
+
+	@Test
+	public void javaTokenFlagsMatchKeywordChecks() {
+		String src =
+			"package app.models;\n" +
+			"\n" +
+			"public abstract class A extends Base implements IEntity {\n" +
+			"  private static final String B = null;\n" +
+			"  public synchronized int c(final int d) { return d + 1; }\n" +
+			"}\n";
+		char[] chars = src.toCharArray();
+		var file = JavaFileTokenizer.createJavaTokenizer().tokenizeDocument(chars, 0, chars.length, "A.java", null);
+		Assert.assertEquals(CodeLanguageOptions.JAVA, file.language);
+
+		var tokens = flatten(file);
+		assertFlagsMatch(JavaKeyword.check, tokens);
+
+		Assert.assertTrue(JavaKeyword.check.isInheritanceKeyword(find(tokens, "extends")));
+		Assert.assertTrue(JavaKeyword.check.isInheritanceKeyword(find(tokens, "implements")));
+		Assert.assertTrue(JavaKeyword.check.isFieldModifier(find(tokens, "final")));
+	}
+
+
+	@Test
+	public void unclassifiedTokensCheckText() {
+		var token = new CodeToken(CodeTokenType.KEYWORD, null, "class");
+		Assert.assertFalse(token.isClassified());
+		Assert.assertTrue(CsKeyword.check.isBlockModifier(token));
+		Assert.assertEquals(CsKeyword.CLASS, CsKeyword.check.tryToKeyword(token));
+		Assert.assertTrue(AstFragType.isOperator(new CodeToken(CodeTokenType.OPERATOR, null, "="), CsOperator.ASSIGNMENT));
+	}
+
+
+	private static void assertFlagsMatch(KeywordUtil<? extends Keyword> keywordUtil, ArrayList<CodeToken> tokens) {
+		for(var token : tokens) {
+			var text = token.getText();
+			var msg = token.getTokenType() + " '" + text + "'";
+			// compare against an unclassified copy, which uses the keyword util's text based checks
+			var plain = new CodeToken(token.getTokenType(), token.getToken(), text);
+			Assert.assertTrue(msg, token.isClassified());
+			Assert.assertEquals(msg, keywordUtil.isKeyword(plain), keywordUtil.isKeyword(token));
+			Assert.assertEquals(msg, keywordUtil.isDataTypeKeyword(plain), keywordUtil.isDataTypeKeyword(token));
+			Assert.assertEquals(msg, keywordUtil.isInheritanceKeyword(plain), keywordUtil.isInheritanceKeyword(token));
+			Assert.assertEquals(msg, keywordUtil.isBlockModifier(plain), keywordUtil.isBlockModifier(token));
+			Assert.assertEquals(msg, keywordUtil.isClassModifier(plain), keywordUtil.isClassModifier(token));
+			Assert.assertEquals(msg, keywordUtil.isFieldModifier(plain), keywordUtil.isFieldModifier(token));
+			Assert.assertEquals(msg, keywordUtil.isMethodModifier(plain), keywordUtil.isMethodModifier(token));
+			Assert.assertEquals(msg, keywordUtil.isTypeLiteral(plain), keywordUtil.isTypeLiteral(token));
+			Assert.assertEquals(msg, keywordUtil.tryToKeyword(plain), keywordUtil.tryToKeyword(token));
+		}
+	}
+
+
+	private static CodeToken find(ArrayList<CodeToken> tokens, String text) {
+		for(var token : tokens) {
+			if(text.equals(token.getText())) {
+				return token;
+			}
+		}
+		throw new AssertionError("no token '" + text + "'");
+	}
+
+
+	private static ArrayList<CodeToken> flatten(CodeFileSrc file) {
+		var tokens = new ArrayList<CodeToken>();
+		SimpleTreeUtil.traverseNodesDepthFirst(file.astTree, TreeTraversalOrder.PRE_ORDER, (branch, idx, size, depth, parentBranch) -> tokens.add(branch));
+		// skip the document root
+		tokens.remove(0);
+		return tokens;
+	}
+
+}
@@ -0,0 +1,136 @@
+package twg2.parser.test;
+
+import static twg2.parser.test.utils.CodeFileAssert.assertSameFile;
+import static twg2.parser.test.utils.CodeFileAssert.describe;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.csharp.CsKeyword;
+import twg2.parser.codeParser.csharp.CsOperator;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.fragment.CodeTokenFlag;
+import twg2.parser.fragment.CodeTokenTable;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.tokenizers.CodeTokenizer;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeTokenTableTest {
+	private static final String src =
+		"namespace App.Models {\n" +
+		"  /// <summary>a class</summary>\n" +
+		"  [Serializable]\n" +
+		"  public class A : Base {\n" +
+		"    public int B { get; set; } = 5;\n" +
+		"    public string C(int d) { return \"e\" + d; }\n" +
+		"  }\n" +
+		"}\n";
+
+
+	@Test
+	public void tableMatchesTree() throws IOException {
+		char[] chars = src.toCharArray();
+		var tree = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), true).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		var table = CodeTokenizer.tokenizeCodeFileTable(CsFileTokenizer.createCsTokenizers(), chars, 0, chars.length, CodeLanguageOptions.C_SHARP, null);
+
+		assertSameFile(tree, table.toCodeFileSrc("A.cs"), false);
+		Assert.assertEquals(describe(tree, false).size(), table.size());
+
+		// a real file and a Java file
+		chars = new String(Files.readAllBytes(Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")), StandardCharsets.UTF_8).toCharArray();
+		tree = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), true).tokenizeDocument(chars, 0, chars.length, "TrackInfo.cs", null);
+		table = CodeTokenizer.tokenizeCodeFileTable(CsFileTokenizer.createCsTokenizers(), chars, 0, chars.length, CodeLanguageOptions.C_SHARP, null);
+		assertSameFile(tree, table.toCodeFileSrc("TrackInfo.cs"), false);
+
+		chars = "package a;\n\npublic class B<T> extends C implements D {\n  private final List<T> e = null;\n  public int f(final int g) { return g; }\n}\n".toCharArray();
+		tree = CodeTokenizer.createTokenizer(CodeLanguageOptions.JAVA, JavaFileTokenizer.createJavaTokenizers(), true).tokenizeDocument(chars, 0, chars.length, "B.java", null);
+		table = CodeTokenizer.tokenizeCodeFileTable(JavaFileTokenizer.createJavaTokenizers(), chars, 0, chars.length, CodeLanguageOptions.JAVA, null);
+		assertSameFile(tree, table.toCodeFileSrc("B.java"), false);
+	}
+
+
+	@Test
+	public void tokenTableTokenizer() {
+		char[] chars = src.toCharArray();
+		var treeFile = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), false).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		Assert.assertFalse(treeFile.astTree instanceof CodeTokenTable.Node);
+
+		var file = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), false, true).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		Assert.assertTrue(file.astTree instanceof CodeTokenTable.Node);
+		assertSameFile(treeFile, file, false);
+
+		// nodes are created once and reused, extractors use them as map keys
+		var children = file.astTree.getChildren();
+		Assert.assertEquals(3, file.astTree.size());
+		Assert.assertSame(children.get(2), file.astTree.getChildren().get(2));
+		var block = children.get(2);
+		Assert.assertSame(block.getData(), block.getData());
+		Assert.assertSame(block, block.getChildren().get(0).getParent());
+		Assert.assertEquals("App.Models", children.get(1).getData().getText());
+
+		// nodes can be modified like any other tree, the table is not
+		var blockChildCount = block.size();
+		var added = block.addChild(children.get(1).getData());
+		Assert.assertEquals(blockChildCount + 1, block.size());
+		Assert.assertSame(block, added.getParent());
+		Assert.assertEquals(blockChildCount, ((CodeTokenTable.Node)block).getTable().getChildCount(((CodeTokenTable.Node)block).getIndex()));
+	}
+
+
+	@Test
+	public void cursorWalk() {
+		char[] chars = src.toCharArray();
+		var table = CodeTokenizer.tokenizeCodeFileTable(CsFileTokenizer.createCsTokenizers(), chars, 0, chars.length, CodeLanguageOptions.C_SHARP, null);
+
+		// namespace App.Models { ... }
+		var cursor = table.cursor();
+		Assert.assertEquals(CodeTokenType.DOCUMENT, cursor.getType());
+		Assert.assertFalse(cursor.parent());
+		Assert.assertTrue(cursor.firstChild());
+		Assert.assertEquals(CsKeyword.NAMESPACE, cursor.getKeyword());
+		Assert.assertTrue(cursor.nextSibling());
+		Assert.assertTrue(cursor.textEquals("App.Models"));
+		Assert.assertTrue(cursor.nextSibling());
+		Assert.assertEquals(CodeTokenType.BLOCK, cursor.getType());
+		Assert.assertFalse(cursor.nextSibling());
+
+		// the class declaration inside the namespace block
+		var block = cursor.copy();
+		Assert.assertTrue(cursor.firstChild());
+		int classCount = 0;
+		do {
+			if(cursor.getKeyword() == CsKeyword.CLASS) {
+				Assert.assertTrue(cursor.hasFlag(CodeTokenFlag.BLOCK_MODIFIER));
+				Assert.assertEquals("class", cursor.getText());
+				classCount++;
+			}
+			if(cursor.textEquals(":")) {
+				Assert.assertTrue(cursor.hasFlag(CodeTokenFlag.INHERITANCE_KEYWORD));
+			}
+		} while(cursor.nextSibling());
+		Assert.assertEquals(1, classCount);
+		Assert.assertTrue(cursor.parent());
+		Assert.assertEquals(block.getIndex(), cursor.getIndex());
+
+		// '=' operator inside the class block
+		int assignments = 0;
+		for(int i = 0, size = table.size(); i < size; i++) {
+			if(table.getOperator(i) == CsOperator.ASSIGNMENT) {
+				Assert.assertEquals("=", table.getText(i));
+				assignments++;
+			}
+		}
+		Assert.assertEquals(1, assignments);
+	}
+
+}
@@ -0,0 +1,122 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.project.ExternalTypeIndex;
+import twg2.parser.project.ProjectClassSet;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ExternalTypeIndexTest {
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void lookup() throws IOException, FileFormatException {
+		var index = build("System.String", "System.Collections.Generic.List", "System.Collections.Generic.IList", "java.util.List", "java.util.Map.Entry", "Global");
+
+		Assert.assertEquals(6, index.getTypeCount());
+		Assert.assertEquals(4, index.getNamespaceCount());
+
+		Assert.assertTrue(index.containsType("System", "String"));
+		Assert.assertTrue(index.containsType("System.Collections.Generic", "IList"));
+		Assert.assertTrue(index.containsType("", "Global"));
+		Assert.assertTrue(index.containsType("java.util.Map.Entry"));
+		Assert.assertFalse(index.containsType("System", "List"));
+		Assert.assertFalse(index.containsType("System.Collections", "Generic"));
+		Assert.assertFalse(index.containsType("System.Collections.Generic", "Lis"));
+
+		Assert.assertTrue(index.hasNamespace("System.Collections.Generic"));
+		Assert.assertTrue(index.hasNamespace("java.util.Map"));
+		Assert.assertFalse(index.hasNamespace("System.Collections"));
+
+		Assert.assertTrue(index.containsNamespaceOrType("java.util.*"));
+		Assert.assertTrue(index.containsNamespaceOrType("java.util.List"));
+		Assert.assertFalse(index.containsNamespaceOrType("java.io.*"));
+
+		// namespace, wildcard, and single type imports
+		Assert.assertEquals(List.of("System", "Collections", "Generic", "List"), resolve(index, "List", "System.Collections.Generic"));
+		Assert.assertEquals(List.of("java", "util", "List"), resolve(index, "List", "java.util.*"));
+		Assert.assertEquals(List.of("java", "util", "List"), resolve(index, "List", "java.util.List"));
+		Assert.assertNull(resolve(index, "Map", "java.util.List"));
+		Assert.assertNull(resolve(index, "List", "System"));
+	}
+
+
+	@Test
+	public void resolveProjectAgainstIndex() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		), projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		var missing = new HashSet<List<String>>();
+		ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, missing);
+		Assert.assertTrue(missing.contains(List.of("System", "Runtime", "Serialization")));
+
+		projFiles.setExternalTypeIndex(build("System.Runtime.Serialization.DataContractAttribute", "System.Runtime.Serialization.DataMemberAttribute"));
+		var missingWithIndex = new HashSet<List<String>>();
+		ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, missingWithIndex);
+
+		// indexed namespaces are no longer missing, others still are
+		var expectMissing = new HashSet<>(missing);
+		expectMissing.remove(List.of("System", "Runtime", "Serialization"));
+		Assert.assertEquals(expectMissing, missingWithIndex);
+
+		var albumInfo = projFiles.getCompilationUnit(List.of("ParserExamples", "Models", "AlbumInfo"));
+		Assert.assertEquals(List.of("System", "Runtime", "Serialization", "DataMemberAttribute"), projFiles.resolveSimpleNameToExternalType("DataMemberAttribute", albumInfo));
+		Assert.assertEquals(List.of("System", "Runtime", "Serialization", "DataMemberAttribute"), projFiles.resolveSimpleNameToExternalType("System.Runtime.Serialization.DataMemberAttribute", albumInfo));
+		Assert.assertNull(projFiles.resolveSimpleNameToExternalType("TrackInfo", albumInfo));
+	}
+
+
+	@Test
+	public void invalidFile() throws IOException {
+		var file = tmpDir.newFile("names.txt").toPath();
+		Files.writeString(file, "System.String\n");
+		try {
+			ExternalTypeIndex.load(file);
+			Assert.fail("expected a name list to fail to load as an index");
+		} catch(FileFormatException ex) {
+			// expected
+		}
+	}
+
+
+	private ExternalTypeIndex build(String... names) throws IOException, FileFormatException {
+		var nameList = tmpDir.newFile().toPath();
+		Files.writeString(nameList, "# test types\n\n" + String.join("\n", names) + "\n");
+		Path indexFile = tmpDir.newFile().toPath();
+		ExternalTypeIndex.build(ExternalTypeIndex.readNameList(nameList), indexFile);
+		return ExternalTypeIndex.load(indexFile);
+	}
+
+
+	private static List<String> resolve(ExternalTypeIndex index, String simpleName, String namespace) {
+		return index.resolve(simpleName, namespace.length() > 0 ? Arrays.asList(namespace.split("\\.")) : List.of());
+	}
+
+}
@@ -0,0 +1,115 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.ast.interm.classes.ClassAst;
+import twg2.parser.codeParser.AstExtractor;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.extractors.BlockExtractor;
+import twg2.parser.codeParser.extractors.ExtractorSet;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.language.CodeLanguage;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.simpleTree.SimpleTree;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ExtractorSetTest {
+
+	@Test
+	public void recycledParsersMatchNewParsers() throws IOException {
+		checkRecycledParsers(CodeLanguageOptions.C_SHARP, "rsc/csharp/ParserExamples", ".cs");
+		checkRecycledParsers(CodeLanguageOptions.JAVA, "rsc/java/ParserExamples", ".java");
+	}
+
+
+	@Test
+	public void nestedUseCreatesNewSet() {
+		var parsers = new ExtractorSet<BlockType>();
+		Assert.assertTrue(parsers.acquire());
+		Assert.assertFalse(parsers.acquire());
+		parsers.release();
+		Assert.assertTrue(parsers.acquire());
+		parsers.release();
+	}
+
+
+	private static void checkRecycledParsers(CodeLanguage lang, String dir, String fileExt) throws IOException {
+		@SuppressWarnings("unchecked")
+		var extractor = (AstExtractor<BlockType>)lang.getExtractor();
+		var files = tokenizeFiles(lang, dir, fileExt);
+		Assert.assertTrue(files.size() > 1);
+
+		boolean prevReuse = BlockExtractor.reuseExtractors;
+		try {
+			BlockExtractor.reuseExtractors = false;
+			var expect = extractAll(extractor, files);
+
+			BlockExtractor.reuseExtractors = true;
+			int setsCreated = ExtractorSet.parserSetsCreated;
+			var actual = extractAll(extractor, files);
+			// one set of parsers for every block in every file on this thread
+			Assert.assertTrue(ExtractorSet.parserSetsCreated - setsCreated <= 1);
+
+			Assert.assertEquals(expect, actual);
+			// results from earlier files aren't cleared when the parsers are recycled
+			Assert.assertEquals(expect, extractAll(extractor, files));
+		} finally {
+			BlockExtractor.reuseExtractors = prevReuse;
+		}
+	}
+
+
+	private static List<String> extractAll(AstExtractor<BlockType> extractor, List<CodeFileSrc> files) throws IOException {
+		var ws = new WriteSettings(true, true, true, true);
+		var blocks = new ArrayList<List<Entry<SimpleTree<CodeToken>, ClassAst.SimpleImpl<BlockType>>>>();
+		for(var file : files) {
+			blocks.add(extractor.extractClassFieldsAndMethodSignatures(file.astTree));
+		}
+
+		// serialize after all the files have been extracted
+		var res = new ArrayList<String>();
+		for(var fileBlocks : blocks) {
+			for(var block : fileBlocks) {
+				var sb = new StringBuilder();
+				block.getValue().toJson(sb, ws);
+				res.add(sb.toString());
+			}
+		}
+		return res;
+	}
+
+
+	private static List<CodeFileSrc> tokenizeFiles(CodeLanguage lang, String dir, String fileExt) throws IOException {
+		List<Path> paths;
+		try(var files = Files.walk(Paths.get(dir))) {
+			paths = files.filter((p) -> p.toString().endsWith(fileExt)).sorted().collect(Collectors.toList());
+		}
+
+		var res = new ArrayList<CodeFileSrc>();
+		for(var path : paths) {
+			char[] src = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+			var tokenizer = lang == CodeLanguageOptions.JAVA ? JavaFileTokenizer.createJavaTokenizer() : CsFileTokenizer.createCsTokenizer();
+			res.add(tokenizer.tokenizeDocument(src, 0, src.length, path.toString(), null));
+		}
+		return res;
+	}
+
+}
@@ -0,0 +1,81 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.ast.interm.annotation.AnnotationSig;
+import twg2.ast.interm.type.TypeSig;
+import twg2.parser.output.JsonWrite;
+import twg2.parser.output.WriteSettings;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class JsonWriteTest {
+
+	@Test
+	public void numbers() throws IOException {
+		for(int value : new int[] { 0, 7, 10, 99, 100, 12345, -1, -305, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+			var sb = new StringBuilder();
+			JsonWrite.toNumber(value, sb);
+			Assert.assertEquals(Integer.toString(value), sb.toString());
+
+			// non-StringBuilder destination
+			var writer = new StringWriter();
+			JsonWrite.toNumber(value, writer);
+			Assert.assertEquals(Integer.toString(value), writer.toString());
+		}
+	}
+
+
+	@Test
+	public void props() throws IOException {
+		var sb = new StringBuilder();
+		JsonWrite.toPropFqName("typeName", Arrays.asList("App", "Models", "Track"), sb);
+		Assert.assertEquals("\"typeName\": \"App.Models.Track\"", sb.toString());
+
+		sb.setLength(0);
+		JsonWrite.toPropName("name", Arrays.asList("App", "Models", "Track"), false, sb);
+		Assert.assertEquals("\"name\": \"Track\"", sb.toString());
+
+		sb.setLength(0);
+		JsonWrite.toProp("nullable", true, sb);
+		sb.append(", ");
+		JsonWrite.toProp("arrayDimensions", 2, sb);
+		Assert.assertEquals("\"nullable\": true, \"arrayDimensions\": 2", sb.toString());
+	}
+
+
+	@Test
+	public void typeSigs() throws IOException {
+		var st = new WriteSettings(true, true, true, true);
+
+		var sb = new StringBuilder();
+		new TypeSig.TypeSigSimpleBase("int", 1, true, true).toJson(sb, st);
+		Assert.assertEquals("{ \"typeName\": \"int\", \"arrayDimensions\": 1, \"nullable\": true, \"primitive\": true }", sb.toString());
+
+		sb.setLength(0);
+		new TypeSig.TypeSigResolvedBase(Arrays.asList("System", "String"), 0, false, false).toJson(sb, st);
+		Assert.assertEquals("{ \"typeName\": \"System.String\" }", sb.toString());
+	}
+
+
+	@Test
+	public void annotationArgumentsEscaped() throws IOException {
+		var args = new LinkedHashMap<String, String>();
+		args.put("Pattern", "^\\d+\"$");
+		args.put("Length", "10");
+		var annotation = new AnnotationSig("Regex", Arrays.asList("App", "Regex"), args);
+
+		var sb = new StringBuilder();
+		annotation.toJson(sb, new WriteSettings(true, true, true, true));
+		Assert.assertEquals(" {\"name\": \"App.Regex\", \"arguments\": { \"Pattern\": \"^\\\\d+\\\"$\", \"Length\": \"10\" } }", sb.toString());
+	}
+
+}
@@ -0,0 +1,126 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.ModelPart;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+import twg2.parser.workflow.ParserWorkflow.FilterResult;
+import twg2.parser.workflow.ParserWorkflow.ResolvedResult;
+import twg2.parser.workflow.ParserWorkflow.WriteResult;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ModelPartTest {
+	private static final List<Path> files = Arrays.asList(
+		Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+		Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+		Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+	);
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void parseDestinationParts() {
+		var dst = DestinationInfo.parse("out.json=[App.Models,App.Services]", "destinations");
+		Assert.assertEquals(ModelPart.ALL, dst.getParts());
+
+		dst = DestinationInfo.parse("out.json=[App.Models,App.Services],[fields, enum_members,Annotations]", "destinations");
+		Assert.assertEquals(EnumSet.of(ModelPart.FIELDS, ModelPart.ENUM_MEMBERS, ModelPart.ANNOTATIONS), dst.getParts());
+
+		dst = DestinationInfo.parse("out.json=[App.Models],[]", "destinations");
+		Assert.assertEquals(EnumSet.noneOf(ModelPart.class), dst.getParts());
+
+		Assert.assertEquals(EnumSet.of(ModelPart.FIELDS, ModelPart.METHODS), DestinationInfo.unionParts(Arrays.asList(
+			DestinationInfo.parse("a.json=[App],[fields]", "destinations"),
+			DestinationInfo.parse("b.json=[App],[methods]", "destinations")
+		)));
+
+		for(var invalid : Arrays.asList("out.json=[App],[properties]", "out.json=[App],fields", "out.json=[App]fields]")) {
+			try {
+				DestinationInfo.parse(invalid, "destinations");
+				Assert.fail("expected '" + invalid + "' to fail");
+			} catch(IllegalArgumentException iae) {
+				// expected
+			}
+		}
+	}
+
+
+	@Test
+	public void extractOnlyDestinationParts() throws IOException, FileFormatException {
+		var allFiles = parse(ModelPart.ALL);
+		var fieldFiles = parse(EnumSet.of(ModelPart.FIELDS));
+
+		var allTrack = allFiles.getCompilationUnit(Arrays.asList("ParserExamples", "Models", "TrackInfo"));
+		var fieldTrack = fieldFiles.getCompilationUnit(Arrays.asList("ParserExamples", "Models", "TrackInfo"));
+		Assert.assertTrue(allTrack.getMethods().size() > 0);
+		Assert.assertEquals(0, fieldTrack.getMethods().size());
+		Assert.assertEquals(allTrack.getFields().size(), fieldTrack.getFields().size());
+		Assert.assertEquals(allTrack.getSignature().getFullName(), fieldTrack.getSignature().getFullName());
+
+		// class signatures are still extracted when no member parts are needed
+		var sigFiles = parse(EnumSet.noneOf(ModelPart.class));
+		var sigTrack = sigFiles.getCompilationUnit(Arrays.asList("ParserExamples", "Models", "TrackInfo"));
+		Assert.assertEquals(0, sigTrack.getFields().size());
+		Assert.assertEquals(0, sigTrack.getMethods().size());
+		Assert.assertEquals(allTrack.getSignature().getExtendImplementSimpleNames(), sigTrack.getSignature().getExtendImplementSimpleNames());
+	}
+
+
+	@Test
+	public void writeOnlyDestinationParts() throws IOException, FileFormatException {
+		var projFiles = parse(ModelPart.ALL);
+
+		Path fieldsFile = tmpDir.getRoot().toPath().resolve("fields.json");
+		Path allFile = tmpDir.getRoot().toPath().resolve("all.json");
+		var dsts = Arrays.asList(
+			DestinationInfo.parse(fieldsFile.toString() + "=[ParserExamples.Models],[fields]", "destinations"),
+			DestinationInfo.parse(allFile.toString() + "=[ParserExamples.Models]", "destinations")
+		);
+		var resolvedRes = ResolvedResult.resolve(projFiles, dsts, new HashSet<>());
+		var filterRes = FilterResult.filter(projFiles, resolvedRes.getCompilationUnits(), dsts);
+		WriteResult.write(filterRes.getFilterSets(), Collections.emptyList());
+
+		var fieldsJson = Files.readString(fieldsFile);
+		Assert.assertTrue(fieldsJson.contains("\"fields\""));
+		Assert.assertFalse(fieldsJson.contains("\"methods\""));
+		Assert.assertFalse(fieldsJson.contains("\"comments\""));
+		Assert.assertFalse(fieldsJson.contains("\"annotations\""));
+
+		var allJson = Files.readString(allFile);
+		Assert.assertTrue(allJson.contains("\"methods\""));
+		Assert.assertTrue(allJson.contains("\"comments\""));
+		Assert.assertTrue(allJson.contains("\"annotations\""));
+	}
+
+
+	private static ProjectClassSet.Intermediate<BlockType> parse(Set<ModelPart> parts) throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(files, projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null, parts, null);
+		return projFiles;
+	}
+
+}
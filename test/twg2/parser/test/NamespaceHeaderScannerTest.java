@@ -0,0 +1,144 @@
+package twg2.parser.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.tools.NamespaceHeaderScanner;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class NamespaceHeaderScannerTest {
+
+	@Test
+	public void csNamespaces() {
+		String src =
+			"// namespace Fake.Comment\n" +
+			"using System;\n" +
+			"/* namespace Fake.Block { } */\n" +
+			"namespace App . Models {\n" +
+			"  public class A<T> where T : class {\n" +
+			"    string s = \"namespace Fake.String { class B { } }\";\n" +
+			"    string v = @\"class \"\"C\"\"\";\n" +
+			"    public enum E { X, Y }\n" +
+			"    void M() { var t = typeof(A<int>).Name; }\n" +
+			"  }\n" +
+			"  struct S { }\n" +
+			"}\n" +
+			"namespace App.Other {\n" +
+			"  interface I { }\n" +
+			"}\n";
+		char[] chars = src.toCharArray();
+
+		var first = NamespaceHeaderScanner.scan(chars, 0, chars.length, false, false);
+		Assert.assertEquals(Arrays.asList("App.Models"), first.namespaces);
+		Assert.assertEquals(0, first.typeNames.size());
+
+		var full = NamespaceHeaderScanner.scan(chars, 0, chars.length, false, true);
+		Assert.assertEquals(Arrays.asList("App.Models", "App.Other"), full.namespaces);
+		Assert.assertEquals(Arrays.asList(
+			Arrays.asList("App", "Models", "A"),
+			Arrays.asList("App", "Models", "A", "E"),
+			Arrays.asList("App", "Models", "S"),
+			Arrays.asList("App", "Other", "I")
+		), full.typeNames);
+
+		Assert.assertEquals(Arrays.asList("class", "enum", "struct", "interface"), full.typeKeywords);
+
+		Assert.assertTrue(full.canContainAny(Arrays.asList("App.Other")));
+		Assert.assertFalse(first.canContainAny(Arrays.asList("App.Other")));
+	}
+
+
+	@Test
+	public void csConstraintChains() {
+		String src =
+			"namespace App.Models {\n" +
+			"  public class Cls {\n" +
+			"    void M<T, U>() where T : class where U : struct { }\n" +
+			"    void N<T>() where T : class, new() { }\n" +
+			"    public record Rec(int Id);\n" +
+			"    public interface IFace // comment\n" +
+			"    {\n" +
+			"    }\n" +
+			"  }\n" +
+			"}\n";
+		char[] chars = src.toCharArray();
+
+		var res = NamespaceHeaderScanner.scan(chars, 0, chars.length, false, true);
+		Assert.assertEquals(Arrays.asList(
+			Arrays.asList("App", "Models", "Cls"),
+			Arrays.asList("App", "Models", "Cls", "Rec"),
+			Arrays.asList("App", "Models", "Cls", "IFace")
+		), res.typeNames);
+		Assert.assertEquals(Arrays.asList("class", "record", "interface"), res.typeKeywords);
+	}
+
+
+	@Test
+	public void csFileScopedNamespace() {
+		char[] chars = ("namespace App.Services;\n\npublic class TrackService { }\n").toCharArray();
+		var res = NamespaceHeaderScanner.scan(chars, 0, chars.length, false, true);
+		Assert.assertEquals(Arrays.asList("App.Services"), res.namespaces);
+		Assert.assertEquals(Arrays.asList(Arrays.asList("App", "Services", "TrackService")), res.typeNames);
+	}
+
+
+	@Test
+	public void javaPackage() {
+		// '\r' only line endings
+		char[] chars = ("// package fake;\rpackage app.models;\r\rimport java.util.List;\r\rpublic class A {\r  static class B { }\r}\r").toCharArray();
+		var res = NamespaceHeaderScanner.scan(chars, 0, chars.length, true, true);
+		Assert.assertEquals(Arrays.asList("app.models"), res.namespaces);
+		Assert.assertEquals(Arrays.asList(Arrays.asList("app", "models", "A"), Arrays.asList("app", "models", "A", "B")), res.typeNames);
+
+		// default package
+		chars = "public class Main { }".toCharArray();
+		res = NamespaceHeaderScanner.scan(chars, 0, chars.length, true, false);
+		Assert.assertEquals(0, res.namespaces.size());
+		Assert.assertTrue(res.canContainAny(Arrays.asList("app")));
+		Assert.assertFalse(res.canContainAny(Collections.emptyList()));
+	}
+
+
+	@Test
+	public void firstDeclarationEndInPrefix() {
+		char[] chars = "/* header */\npackage app.models;\n\npublic class A { }\n".toCharArray();
+		int semicolon = new String(chars).indexOf(';');
+		Assert.assertEquals(semicolon, NamespaceHeaderScanner.scan(chars, 0, chars.length, true, false).firstDeclarationEnd);
+
+		// prefixes which end inside the comment, the keyword, the name, or before the ';' don't contain a complete declaration
+		for(int len : new int[] { 6, 16, 25, semicolon }) {
+			var res = NamespaceHeaderScanner.scan(chars, 0, len, true, false);
+			Assert.assertEquals("prefix " + len, -1, res.firstDeclarationEnd);
+		}
+		Assert.assertEquals(semicolon, NamespaceHeaderScanner.scan(chars, 0, semicolon + 1, true, false).firstDeclarationEnd);
+
+		// C# block namespace
+		chars = "namespace App . Models\n{\n  class A { }\n}\n".toCharArray();
+		var res = NamespaceHeaderScanner.scan(chars, 0, chars.length, false, false);
+		Assert.assertEquals(Arrays.asList("App.Models"), res.namespaces);
+		Assert.assertEquals(new String(chars).indexOf('{'), res.firstDeclarationEnd);
+		Assert.assertEquals(-1, NamespaceHeaderScanner.scan(chars, 0, 15, false, false).firstDeclarationEnd);
+	}
+
+
+	@Test
+	public void canContain() {
+		// the namespace is inside a destination namespace
+		Assert.assertTrue(NamespaceHeaderScanner.canContain("App.Models.Sub", Arrays.asList("App.Models")));
+		// a destination namespace is inside the namespace
+		Assert.assertTrue(NamespaceHeaderScanner.canContain("App", Arrays.asList("App.Models")));
+		// an empty prefix matches everything
+		Assert.assertTrue(NamespaceHeaderScanner.canContain("Other", Arrays.asList("")));
+		// prefixes are plain string prefixes of the fully qualifying class name, same as ProjectClassSet.getCompilationUnitsStartWith()
+		Assert.assertTrue(NamespaceHeaderScanner.canContain("App", Arrays.asList("App.Mod")));
+		Assert.assertFalse(NamespaceHeaderScanner.canContain("App.Services", Arrays.asList("App.Models", "Other")));
+		Assert.assertFalse(NamespaceHeaderScanner.canContain("Application", Arrays.asList("App.Models")));
+	}
+
+}
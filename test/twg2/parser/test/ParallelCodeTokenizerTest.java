@@ -0,0 +1,91 @@
+package twg2.parser.test;
+
+import static twg2.parser.test.utils.CodeFileAssert.assertSameFile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.tokenizers.CodeTokenizer;
+import twg2.parser.tokenizers.ParallelCodeTokenizer;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ParallelCodeTokenizerTest {
+
+	@Test
+	public void csDescendIntoNamespaceAndClass() {
+		var sb = new StringBuilder();
+		sb.append("using System;\n\nnamespace App.Generated {\n  /// <summary>generated { class</summary>\n  public partial class Snapshot : Base {\n");
+		for(int i = 0; i < 60; i++) {
+			sb.append("    [Column(\"c" + i + "\")]\n");
+			sb.append("    public string F" + i + " { get; set; } = \"}\\\" {\";\n");
+			sb.append("    /* block { comment\n     } */\n");
+			sb.append("    public int M" + i + "(int a, char b = '}') {\n      return a + " + i + ";\n    }\n\n");
+		}
+		sb.append("  }\n}\n");
+		char[] chars = sb.toString().toCharArray();
+
+		var segments = ParallelCodeTokenizer.findSegments(chars, 0, chars.length, 600, true, false);
+		Assert.assertTrue(segments.toString(), segments.size() > 4);
+		// descended into the namespace and class blocks
+		Assert.assertEquals(4, segments.maskedBlocks.length);
+		Assert.assertEquals(sb.indexOf("{"), segments.maskedBlocks[0]);
+		Assert.assertEquals(sb.lastIndexOf("}"), segments.maskedBlocks[1]);
+		Assert.assertEquals(sb.indexOf("Base {") + 5, segments.maskedBlocks[2]);
+
+		var expect = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), false).tokenizeDocument(chars, 0, chars.length, "Snapshot.cs", null);
+		var actual = ParallelCodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer::createCsTokenizers, false, false, 1, 600).tokenizeDocument(chars, 0, chars.length, "Snapshot.cs", null);
+
+		assertSameFile(expect, actual, true);
+	}
+
+
+	@Test
+	public void javaTopLevelSplitsWithLineNumbers() {
+		var sb = new StringBuilder();
+		sb.append("package app.generated;\n\nimport java.util.List;\n\n");
+		for(int i = 0; i < 40; i++) {
+			sb.append("class Proxy" + i + " {\r\n");
+			sb.append("  List<String> names = null; // { comment\r\n");
+			sb.append("  String s = \"} {\";\r\n");
+			sb.append("  int m(int a) { return a > " + i + " ? a : -a; }\r\n");
+			sb.append("}\r\n\r\n");
+		}
+		char[] chars = sb.toString().toCharArray();
+
+		// no descending, only top level split points
+		var segments = ParallelCodeTokenizer.findSegments(chars, 0, chars.length, 500, false, true);
+		Assert.assertTrue(segments.toString(), segments.size() > 4);
+		Assert.assertEquals(0, segments.maskedBlocks.length);
+		for(int i = 1, size = segments.size(); i < size; i++) {
+			// split at line starts after a class
+			var prefix = sb.substring(0, segments.bounds[i]);
+			Assert.assertEquals(segments.toString(), '\n', prefix.charAt(prefix.length() - 1));
+			Assert.assertTrue(segments.toString(), prefix.trim().endsWith("}"));
+		}
+
+		var expect = CodeTokenizer.createTokenizer(CodeLanguageOptions.JAVA, JavaFileTokenizer.createJavaTokenizers(), true).tokenizeDocument(chars, 0, chars.length, "Proxy.java", null);
+		var actual = ParallelCodeTokenizer.createTokenizer(CodeLanguageOptions.JAVA, JavaFileTokenizer::createJavaTokenizers, true, true, 1, 500).tokenizeDocument(chars, 0, chars.length, "Proxy.java", null);
+
+		assertSameFile(expect, actual, true);
+	}
+
+
+	@Test
+	public void unsplittableSources() {
+		// an unmatched '<' in a Java file prevents splits until it is closed
+		char[] chars = "class A {\n  boolean b = 1 < 2;\n}\nclass B {\n}\nclass C {\n}\n".toCharArray();
+		Assert.assertEquals(1, ParallelCodeTokenizer.findSegments(chars, 0, chars.length, 1, false, true).size());
+		Assert.assertEquals(3, ParallelCodeTokenizer.findSegments(chars, 0, chars.length, 1, false, false).size());
+
+		// small sources are tokenized sequentially
+		chars = "namespace A {\n  class B {\n  }\n}\n".toCharArray();
+		Assert.assertEquals(1, ParallelCodeTokenizer.findSegments(chars, 0, chars.length, 1024, true, false).size());
+	}
+
+}
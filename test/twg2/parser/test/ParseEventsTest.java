@@ -0,0 +1,107 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import twg2.io.fileLoading.DirectorySearchInfo;
+import twg2.io.files.FileFormatException;
+import twg2.parser.codeParser.analytics.ParseEvents;
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.language.CodeLanguageOptions;
+import twg2.parser.tokenizers.CodeTokenizer;
+import twg2.parser.workflow.ParserWorkflow;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ParseEventsTest {
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void recordParseStages() throws IOException, FileFormatException {
+		Path root = tmpDir.newFolder().toPath();
+		Path jfrFile = root.resolve("parse.jfr");
+		Path dst = root.resolve("models.json");
+
+		try(var recording = new Recording()) {
+			for(var name : Arrays.asList("FileRead", "TokenizerSetup", "Tokenize", "ExtractBlocks", "ResolveClass", "WriteDestination")) {
+				recording.enable("twg2.parser." + name).withThreshold(Duration.ZERO);
+			}
+			recording.start();
+
+			var srcs = Arrays.asList(DirectorySearchInfo.parseFromArgs("rsc/csharp/ParserExamples=3,[cs]", "sources"));
+			var dsts = Arrays.asList(DestinationInfo.parse(dst + "=[ParserExamples.Models]", "destinations"));
+			new ParserWorkflow(srcs, dsts, null, 1, false).run(Level.INFO, null, null);
+
+			recording.stop();
+			recording.dump(jfrFile);
+		}
+
+		var eventsByName = new HashMap<String, List<RecordedEvent>>();
+		for(var event : RecordingFile.readAllEvents(jfrFile)) {
+			eventsByName.computeIfAbsent(event.getEventType().getName(), (k) -> new ArrayList<>()).add(event);
+		}
+
+		// 4 source files
+		Assert.assertEquals(4, eventsByName.get("twg2.parser.FileRead").size());
+		Assert.assertEquals(4, eventsByName.get("twg2.parser.TokenizerSetup").size());
+		for(var event : eventsByName.get("twg2.parser.Tokenize")) {
+			Assert.assertTrue(event.getString("file").endsWith(".cs"));
+			Assert.assertEquals("C#", event.getString("language"));
+			Assert.assertTrue(event.getInt("tokens") > 1);
+			Assert.assertTrue(event.getInt("chars") > 0);
+		}
+		int classes = 0;
+		for(var event : eventsByName.get("twg2.parser.ExtractBlocks")) {
+			classes += event.getInt("classes");
+		}
+		Assert.assertTrue(classes >= 4);
+
+		// only the destination's classes are resolved
+		var resolved = eventsByName.get("twg2.parser.ResolveClass");
+		Assert.assertEquals(2, resolved.size());
+		for(var event : resolved) {
+			Assert.assertTrue(event.getString("className").startsWith("ParserExamples.Models."));
+		}
+
+		var writes = eventsByName.get("twg2.parser.WriteDestination");
+		Assert.assertEquals(1, writes.size());
+		Assert.assertEquals(dst.toString(), writes.get(0).getString("destination"));
+		Assert.assertEquals(2, writes.get(0).getInt("classes"));
+		Assert.assertTrue(writes.get(0).getBoolean("written"));
+		Assert.assertTrue(writes.get(0).getLong("bytes") > 100);
+	}
+
+
+	@Test
+	public void countTokens() {
+		char[] chars = "namespace App { public class A { public int B; } }".toCharArray();
+		var treeFile = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), false).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+		var tableFile = CodeTokenizer.createTokenizer(CodeLanguageOptions.C_SHARP, CsFileTokenizer.createCsTokenizers(), false, true).tokenizeDocument(chars, 0, chars.length, "A.cs", null);
+
+		int treeCount = ParseEvents.countTokens(treeFile.astTree);
+		Assert.assertTrue(treeCount > 10);
+		Assert.assertEquals(treeCount, ParseEvents.countTokens(tableFile.astTree));
+		Assert.assertEquals(0, ParseEvents.countTokens(null));
+	}
+
+}
@@ -0,0 +1,62 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.analytics.ParseTimes;
+import twg2.parser.codeParser.analytics.PerformanceTrackers;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.project.ProjectClassSet;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class PerformanceTrackersTest {
+
+	@Test
+	public void threadUsagePerFile() throws IOException, FileFormatException {
+		var paths = Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		);
+		var perfTracking = new PerformanceTrackers();
+		ParserMisc.parseFileSet(paths, new ProjectClassSet.Intermediate<BlockType>(), null, ThreadLocal.withInitial(() -> new FileReadUtil()), perfTracking);
+
+		boolean allocSupported = ParseTimes.currentThreadAllocatedBytes() > 0;
+		long totalAllocated = 0;
+		for(var stats : perfTracking.getParseStats().values()) {
+			var times = stats.getValue0();
+			Assert.assertTrue(times.getTotalCpuNs() >= 0);
+			Assert.assertEquals(times.getSetupAllocatedBytes() + times.getReadAllocatedBytes() + times.getTokenizeAllocatedBytes() + times.getExtractAstAllocatedBytes(), times.getTotalAllocatedBytes());
+			if(allocSupported) {
+				Assert.assertTrue(times.getTokenizeAllocatedBytes() > 0);
+				Assert.assertTrue(times.getExtractAstAllocatedBytes() > 0);
+			}
+			totalAllocated += times.getTotalAllocatedBytes();
+		}
+		Assert.assertEquals(totalAllocated, perfTracking.getTotalAllocatedBytes());
+
+		// sorted by allocated bytes, most first
+		var top = perfTracking.getTopAllocators(false, 10);
+		Assert.assertEquals(paths.size(), top.size());
+		for(int i = 1; i < top.size(); i++) {
+			Assert.assertTrue(top.get(i - 1).getValue().getValue0().getTotalAllocatedBytes() >= top.get(i).getValue().getValue0().getTotalAllocatedBytes());
+		}
+		Assert.assertEquals(2, perfTracking.getTopAllocators(false, 2).size());
+
+		Assert.assertTrue(perfTracking.toAllocationSummary().contains("bytes allocated per source byte"));
+		Assert.assertEquals(paths.size(), PerformanceTrackers.toAllocationString(top).split("\n").length);
+		Assert.assertEquals("n/a", PerformanceTrackers.allocatedPerSrcByte(250, 0));
+	}
+
+}
@@ -0,0 +1,102 @@
+package twg2.parser.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Level;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import twg2.io.fileLoading.DirectorySearchInfo;
+import twg2.io.files.FileFormatException;
+import twg2.parser.workflow.ParserWorkflow;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+import twg2.parser.workflow.ProgressReporter;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ProgressReporterTest {
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void textReport() {
+		var out = new ByteArrayOutputStream();
+		try(var progress = new ProgressReporter(ProgressReporter.Format.TEXT, new PrintStream(out), false)) {
+			Assert.assertTrue(progress.report().startsWith("progress: load"));
+
+			progress.startParse(4, 1000);
+			progress.fileParsed(250, 2);
+			progress.fileParsed(250, 3);
+			var report = progress.report();
+			Assert.assertTrue(report, report.startsWith("progress: parse, 2/4 files (50.0%)"));
+			Assert.assertTrue(report, report.contains("5 classes"));
+			Assert.assertTrue(report, report.contains(" MB/s"));
+			Assert.assertTrue(report, report.contains("ETA "));
+
+			progress.filesSkipped(1, 250);
+			Assert.assertTrue(progress.report().startsWith("progress: parse, 2/3 files (66.7%)"));
+
+			progress.startResolve(3);
+			progress.classResolved();
+			Assert.assertTrue(progress.report().startsWith("progress: resolve, 1/3 classes resolved"));
+
+			progress.startWrite(2);
+			progress.destinationWritten();
+			progress.destinationWritten();
+			Assert.assertTrue(progress.report().startsWith("progress: write, 2/2 destinations written"));
+		}
+		// closing prints a final report
+		Assert.assertTrue(out.toString().startsWith("progress: done, 2/3 files"));
+	}
+
+
+	@Test
+	public void jsonReportFile() throws IOException, FileFormatException {
+		Path root = tmpDir.newFolder().toPath();
+		Path progressFile = root.resolve("progress.jsonl");
+		Path dst = root.resolve("models.json");
+
+		var srcs = Arrays.asList(DirectorySearchInfo.parseFromArgs("rsc/csharp/ParserExamples=3,[cs]", "sources"));
+		var dsts = Arrays.asList(DestinationInfo.parse(dst + "=[ParserExamples.Models]", "destinations"));
+		var progress = ProgressReporter.Output.parse("json=" + progressFile, "progress");
+		Assert.assertEquals(ProgressReporter.Format.JSON, progress.getFormat());
+		Assert.assertEquals(progressFile, progress.getFile());
+
+		new ParserWorkflow.Builder(srcs, dsts).progress(progress).build().run(Level.INFO, null, null);
+
+		var lines = Files.readAllLines(progressFile);
+		var last = lines.get(lines.size() - 1);
+		Assert.assertTrue(last, last.startsWith("{\"stage\":\"done\""));
+		Assert.assertTrue(last, last.contains("\"filesDone\":4,\"filesTotal\":4"));
+		Assert.assertTrue(last, last.contains("\"classesResolved\":2,\"classesToResolve\":2"));
+		Assert.assertTrue(last, last.contains("\"destinationsWritten\":1,\"destinationsTotal\":1"));
+		Assert.assertTrue(last, last.endsWith("}"));
+	}
+
+
+	@Test
+	public void parseOutput() {
+		var output = ProgressReporter.Output.parse("TEXT", "progress");
+		Assert.assertEquals(ProgressReporter.Format.TEXT, output.getFormat());
+		Assert.assertNull(output.getFile());
+
+		try {
+			ProgressReporter.Output.parse("xml", "progress");
+			Assert.fail("expected unknown format to fail");
+		} catch(IllegalArgumentException iae) {
+			Assert.assertTrue(iae.getMessage().contains("'progress'"));
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ProjectClassSet;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ResolutionCacheTest {
+
+	@Test
+	public void cachedResolutionMatchesUncached() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		), projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		projFiles.setResolutionCacheEnabled(false);
+		var uncachedMissing = new HashSet<List<String>>();
+		var uncached = ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, uncachedMissing);
+
+		projFiles.setResolutionCacheEnabled(true);
+		var cachedMissing = new HashSet<List<String>>();
+		var cached = ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, cachedMissing);
+
+		var cache = projFiles.getResolutionCache();
+		// resolved sets aren't used as a lookup scope and don't create a cache
+		Assert.assertNull(cached.getResolutionCache());
+		Assert.assertTrue(cache.getNameLookups() > 0);
+		Assert.assertTrue(cache.getNameHits() > 0);
+		Assert.assertTrue(cache.getTypeHits() > 0);
+
+		Assert.assertEquals(uncachedMissing, cachedMissing);
+
+		var st = new WriteSettings(true, true, true, true);
+		for(var expect : uncached.getCompilationUnitsStartWith(Arrays.asList(""))) {
+			var actual = cached.getCompilationUnitFile(expect.parsedClass.getSignature().getFullName());
+			var expectJson = new StringBuilder();
+			var actualJson = new StringBuilder();
+			expect.parsedClass.toJson(expectJson, st);
+			actual.parsedClass.toJson(actualJson, st);
+			Assert.assertEquals(expectJson.toString(), actualJson.toString());
+		}
+
+		// a second resolution is answered entirely from the cache
+		long typeLookups = cache.getTypeLookups();
+		long typeHits = cache.getTypeHits();
+		ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, new HashSet<>());
+		Assert.assertEquals(cache.getTypeLookups() - typeLookups, cache.getTypeHits() - typeHits);
+	}
+
+}
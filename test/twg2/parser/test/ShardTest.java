@@ -0,0 +1,120 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import twg2.io.fileLoading.DirectorySearchInfo;
+import twg2.io.files.FileFormatException;
+import twg2.parser.workflow.ParserWorkflow;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+import twg2.parser.workflow.ParserWorkflow.PrescanMode;
+import twg2.parser.workflow.Shard;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ShardTest {
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void shardOf() {
+		var paths = Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs")
+		);
+		var shards = Arrays.asList(new Shard(0, 3), new Shard(1, 3), new Shard(2, 3));
+		for(var path : paths) {
+			// each path belongs to exactly one shard, the same one every time
+			int matches = 0;
+			for(var shard : shards) {
+				matches += shard.contains(path) ? 1 : 0;
+			}
+			Assert.assertEquals(1, matches);
+			Assert.assertEquals(Shard.shardOf(path, 3), Shard.shardOf(Paths.get(path.toString()), 3));
+		}
+
+		Assert.assertEquals(new Shard(2, 5), Shard.parse("2/5", "shard"));
+		for(var invalid : Arrays.asList("5/5", "-1/2", "1", "a/2", "1/")) {
+			try {
+				Shard.parse(invalid, "shard");
+				Assert.fail("expected '" + invalid + "' to fail");
+			} catch(IllegalArgumentException ex) {
+				// expected
+			}
+		}
+	}
+
+
+	@Test
+	public void mergedShardsMatchSingleRun() throws IOException, FileFormatException {
+		mergedShardsMatchSingleRun(PrescanMode.NONE, "ParserExamples", 3);
+		mergedShardsMatchSingleRun(PrescanMode.INDEX, "ParserExamples.Models", 2);
+	}
+
+
+	@Test
+	public void missingShard() throws IOException, FileFormatException {
+		Path root = tmpDir.newFolder("missing").toPath();
+		var shardFile = root.resolve("shard-0.bin");
+		run(new Shard(0, 2), shardFile, List.of(), PrescanMode.NONE, root.resolve("out.json"), "ParserExamples");
+		try {
+			run(null, null, List.of(shardFile), PrescanMode.NONE, root.resolve("out.json"), "ParserExamples");
+			Assert.fail("expected merge with a missing shard to fail");
+		} catch(FileFormatException ex) {
+			// expected
+		}
+	}
+
+
+	private void mergedShardsMatchSingleRun(PrescanMode prescan, String namespace, int shardCount) throws IOException, FileFormatException {
+		Path root = tmpDir.newFolder().toPath();
+		Path singleDst = root.resolve("single.json");
+		Path mergedDst = root.resolve("merged.json");
+
+		run(null, null, List.of(), prescan, singleDst, namespace);
+
+		var shardFiles = new ArrayList<Path>();
+		for(int i = 0; i < shardCount; i++) {
+			var shardFile = root.resolve("shard-" + i + ".bin");
+			run(new Shard(i, shardCount), shardFile, List.of(), prescan, mergedDst, namespace);
+			shardFiles.add(shardFile);
+		}
+		// shards don't write the destinations
+		Assert.assertFalse(Files.exists(mergedDst));
+
+		// shard order doesn't matter
+		var reversed = new ArrayList<>(shardFiles);
+		Collections.reverse(reversed);
+		run(null, null, reversed, prescan, mergedDst, namespace);
+
+		Assert.assertTrue(Files.size(singleDst) > 100);
+		Assert.assertEquals(Files.readString(singleDst), Files.readString(mergedDst));
+	}
+
+
+	private static void run(Shard shard, Path shardOutput, List<Path> mergeShards, PrescanMode prescan, Path dst, String namespace) throws IOException, FileFormatException {
+		var srcs = Arrays.asList(DirectorySearchInfo.parseFromArgs("rsc/csharp/ParserExamples=3,[cs]", "sources"));
+		var dsts = Arrays.asList(DestinationInfo.parse(dst + "=[" + namespace + "]", "destinations"));
+		var workflow = new ParserWorkflow.Builder(srcs, dsts).prescan(prescan).shard(shard, shardOutput).mergeShards(mergeShards).build();
+		workflow.run(Level.INFO, null, null);
+	}
+
+}
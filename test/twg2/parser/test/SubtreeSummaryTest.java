@@ -0,0 +1,140 @@
+package twg2.parser.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.ast.interm.block.BlockAst;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlockParser;
+import twg2.parser.codeParser.csharp.CsFileTokenizer;
+import twg2.parser.codeParser.java.JavaBlockParser;
+import twg2.parser.codeParser.java.JavaFileTokenizer;
+import twg2.parser.codeParser.tools.NameUtil;
+import twg2.parser.fragment.CodeToken;
+import twg2.parser.fragment.CodeTokenFlag;
+import twg2.parser.fragment.CodeTokenType;
+import twg2.treeLike.TreeTraversalOrder;
+import twg2.treeLike.simpleTree.SimpleTree;
+import twg2.treeLike.simpleTree.SimpleTreeUtil;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SubtreeSummaryTest {
+	private static final String csSrc =
+		"namespace App.Models {\n" +
+		"  public class Outer {\n" +
+		"    public int A { get; set; }\n" +
+		"    public void M(int b) { var c = new List<int> { b }; if(b > 0) { Run(() => { return; }); } }\n" +
+		"    public class Inner {\n" +
+		"      public string D(string e) { return e.Trim(); }\n" +
+		"    }\n" +
+		"  }\n" +
+		"  public enum Kind { X, Y }\n" +
+		"}\n";
+
+	private static final String javaSrc =
+		"package app.models;\n" +
+		"\n" +
+		"public class Outer {\n" +
+		"  int a = 1;\n" +
+		"  void m(int b) { if(b > 0) { run(() -> { return; }); } }\n" +
+		"  static class Inner {\n" +
+		"    String d(String e) { return e.trim(); }\n" +
+		"  }\n" +
+		"}\n";
+
+
+	@Test
+	public void csSummaryBits() {
+		char[] chars = csSrc.toCharArray();
+		var file = CsFileTokenizer.createCsTokenizer().tokenizeDocument(chars, 0, chars.length, "Outer.cs", null);
+
+		var root = file.astTree.getData();
+		Assert.assertTrue(root.hasFlag(CodeTokenFlag.SUBTREE_SUMMARIZED));
+		Assert.assertTrue(root.mayContainBlockModifier());
+
+		// every compound token is summarized, and only the namespace and Outer class blocks contain block modifiers
+		var mayContain = new ArrayList<String>();
+		SimpleTreeUtil.traverseNodesDepthFirst(file.astTree, TreeTraversalOrder.PRE_ORDER, (branch, idx, size, depth, parentBranch) -> {
+			if(branch.getTokenType().isCompound()) {
+				Assert.assertTrue(branch.getText(), branch.hasFlag(CodeTokenFlag.SUBTREE_SUMMARIZED));
+				if(depth > 0 && branch.mayContainBlockModifier()) {
+					mayContain.add(branch.getText().substring(0, 1) + branch.getToken().getOffsetStart());
+				}
+			}
+		});
+		Assert.assertEquals(List.of("{" + csSrc.indexOf("{"), "{" + csSrc.indexOf("{", csSrc.indexOf("Outer"))), mayContain);
+
+		// unclassified tokens and unsummarized compound tokens may contain block modifiers
+		Assert.assertTrue(new CodeToken(CodeTokenType.KEYWORD, null, "int").mayContainBlockModifier());
+		Assert.assertTrue(CodeTokenFlag.mayContainBlockModifier(CodeTokenFlag.CLASSIFIED, true));
+		Assert.assertFalse(CodeTokenFlag.mayContainBlockModifier(CodeTokenFlag.CLASSIFIED | CodeTokenFlag.SUBTREE_SUMMARIZED, true));
+	}
+
+
+	@Test
+	public void csPrunedBlocksMatchUnpruned() {
+		char[] chars = csSrc.toCharArray();
+		var file = CsFileTokenizer.createCsTokenizer().tokenizeDocument(chars, 0, chars.length, "Outer.cs", null);
+
+		int treeCount = CsBlockParser.treeCount;
+		int pruned = CsBlockParser.prunedTreeCount;
+		var blocks = new CsBlockParser().extractBlocks(new ArrayList<>(), file.astTree, null);
+		int prunedTrees = CsBlockParser.treeCount - treeCount;
+		Assert.assertTrue(CsBlockParser.prunedTreeCount - pruned > 0);
+
+		clearSummaries(file.astTree);
+		treeCount = CsBlockParser.treeCount;
+		var expectBlocks = new CsBlockParser().extractBlocks(new ArrayList<>(), file.astTree, null);
+		int unprunedTrees = CsBlockParser.treeCount - treeCount;
+
+		Assert.assertEquals(List.of("App.Models", "App.Models.Outer", "App.Models.Outer.Inner", "App.Models.Kind"), names(expectBlocks));
+		Assert.assertEquals(names(expectBlocks), names(blocks));
+		// the method bodies, parameter lists, property and enum blocks are skipped
+		Assert.assertTrue(prunedTrees + " < " + unprunedTrees, prunedTrees < unprunedTrees);
+	}
+
+
+	@Test
+	public void javaPrunedBlocksMatchUnpruned() {
+		char[] chars = javaSrc.toCharArray();
+		var file = JavaFileTokenizer.createJavaTokenizer().tokenizeDocument(chars, 0, chars.length, "Outer.java", null);
+
+		int treeCount = JavaBlockParser.treeCount;
+		var blocks = new JavaBlockParser().extractBlocks(new ArrayList<>(), file.astTree, null);
+		int prunedTrees = JavaBlockParser.treeCount - treeCount;
+
+		clearSummaries(file.astTree);
+		treeCount = JavaBlockParser.treeCount;
+		var expectBlocks = new JavaBlockParser().extractBlocks(new ArrayList<>(), file.astTree, null);
+		int unprunedTrees = JavaBlockParser.treeCount - treeCount;
+
+		Assert.assertEquals(List.of("app.models.Outer", "app.models.Outer.Inner"), names(expectBlocks));
+		Assert.assertEquals(names(expectBlocks), names(blocks));
+		Assert.assertTrue(prunedTrees + " < " + unprunedTrees, prunedTrees < unprunedTrees);
+	}
+
+
+	private static void clearSummaries(SimpleTree<CodeToken> tree) {
+		SimpleTreeUtil.traverseNodesDepthFirst(tree, TreeTraversalOrder.PRE_ORDER, (branch, idx, size, depth, parentBranch) -> {
+			if(branch.getTokenType().isCompound()) {
+				branch.setSubtreeSummary(0);
+			}
+		});
+	}
+
+
+	private static <T extends BlockType> List<String> names(List<BlockAst<T>> blocks) {
+		var res = new ArrayList<String>();
+		for(var block : blocks) {
+			res.add(NameUtil.joinFqName(block.declaration.getFullName()));
+		}
+		return res;
+	}
+
+}
@@ -0,0 +1,87 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.ParserWorkflow.IoMode;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class VirtualIoParseTest {
+
+	@Test
+	public void virtualReadsMatchPlatformReads() throws IOException, FileFormatException {
+		List<Path> paths;
+		try(var files = Files.walk(Paths.get("rsc/csharp/ParserExamples"))) {
+			paths = files.filter((p) -> p.toString().endsWith(".cs")).sorted().collect(Collectors.toList());
+		}
+
+		var expect = parse(paths, IoMode.PLATFORM);
+		var actual = parse(paths, IoMode.VIRTUAL);
+		Assert.assertTrue(expect.size() > 1);
+		Assert.assertEquals(expect, actual);
+
+		// fewer reads in flight than files
+		int prevMax = ParserMisc.maxReadsInFlight;
+		try {
+			ParserMisc.maxReadsInFlight = 1;
+			Assert.assertEquals(expect, parse(paths, IoMode.VIRTUAL));
+		} finally {
+			ParserMisc.maxReadsInFlight = prevMax;
+		}
+	}
+
+
+	@Test
+	public void missingFileFails() throws IOException {
+		try {
+			parse(List.of(Paths.get("rsc/csharp/ParserExamples/DoesNotExist.cs")), IoMode.VIRTUAL);
+			Assert.fail("expected missing file to fail");
+		} catch(FileFormatException ex) {
+			// expected
+		}
+	}
+
+
+	private static List<String> parse(List<Path> paths, IoMode ioMode) throws IOException, FileFormatException {
+		ExecutorService executor = ioMode.createExecutor(2);
+		ExecutorService ioExecutor = ioMode.createIoExecutor();
+		try {
+			var fileSet = new ProjectClassSet.Intermediate<BlockType>();
+			ParserMisc.parseFileSet(paths, fileSet, executor, ioExecutor, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+			var ws = new WriteSettings(true, true, true, true);
+			var res = new ArrayList<String>();
+			for(var file : fileSet.getCompilationUnitsStartWith(List.of(""))) {
+				var sb = new StringBuilder();
+				file.parsedClass.toJson(sb, ws);
+				res.add(sb.toString());
+			}
+			res.sort(null);
+			return res;
+		} finally {
+			executor.shutdown();
+			if(ioExecutor != null) {
+				ioExecutor.shutdown();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+package twg2.parser.test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import twg2.io.files.FileFormatException;
+import twg2.io.files.FileReadUtil;
+import twg2.parser.codeParser.BlockType;
+import twg2.parser.codeParser.csharp.CsBlock;
+import twg2.parser.main.ParserMisc;
+import twg2.parser.output.ParsedOutputReader;
+import twg2.parser.output.WriteSettings;
+import twg2.parser.project.ProjectClassSet;
+import twg2.parser.workflow.CodeFileParsed;
+import twg2.parser.workflow.ParserWorkflow.DestinationInfo;
+import twg2.parser.workflow.ParserWorkflow.FilterResult;
+import twg2.parser.workflow.ParserWorkflow.ResolvedResult;
+import twg2.parser.workflow.ParserWorkflow.WriteResult;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class WriteResultTest {
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+
+	@Test
+	public void keepDestinationPermissions() throws IOException {
+		Path dstFile = tmpDir.getRoot().toPath().resolve("out.json");
+		Assume.assumeTrue(Files.getFileStore(tmpDir.getRoot().toPath()).supportsFileAttributeView(PosixFileAttributeView.class));
+		var resSets = new HashMap<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>>();
+		resSets.put(DestinationInfo.parse(dstFile.toString() + "=[App.Models]", "destinations"), Collections.emptyList());
+
+		Files.writeString(dstFile, "{}");
+		var perms = PosixFilePermissions.fromString("rw-rw-r--");
+		Files.setPosixFilePermissions(dstFile, perms);
+
+		var res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(Arrays.asList(dstFile.toString()), res.getWrittenFiles());
+		Assert.assertEquals(perms, Files.getPosixFilePermissions(dstFile));
+	}
+
+
+	@Test
+	public void skipUnchangedDestination() throws IOException {
+		Path dstFile = tmpDir.getRoot().toPath().resolve("out.json");
+		var resSets = new HashMap<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>>();
+		resSets.put(DestinationInfo.parse(dstFile.toString() + "=[App.Models]", "destinations"), Collections.emptyList());
+
+		var res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(Arrays.asList(dstFile.toString()), res.getWrittenFiles());
+		Assert.assertEquals(0, res.getSkippedFiles().size());
+		Assert.assertEquals("{\n\"files\": {}\n}", Files.readString(dstFile));
+		Assert.assertEquals(Files.size(dstFile), res.getWrittenBytes());
+
+		var oldTime = FileTime.fromMillis(1000);
+		Files.setLastModifiedTime(dstFile, oldTime);
+
+		res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(0, res.getWrittenFiles().size());
+		Assert.assertEquals(Arrays.asList(dstFile.toString()), res.getSkippedFiles());
+		Assert.assertEquals(Files.size(dstFile), res.getSkippedBytes());
+		Assert.assertEquals(oldTime, Files.getLastModifiedTime(dstFile));
+
+		// changed content is replaced and no temp files are left behind
+		Files.writeString(dstFile, "{}");
+
+		res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(Arrays.asList(dstFile.toString()), res.getWrittenFiles());
+		Assert.assertEquals("{\n\"files\": {}\n}", Files.readString(dstFile));
+		try(var files = Files.list(tmpDir.getRoot().toPath())) {
+			Assert.assertEquals(1, files.count());
+		}
+	}
+
+
+	@Test
+	public void smileMatchesJson() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ThreadLocal<FileReadUtil> fileReader = ThreadLocal.withInitial(() -> new FileReadUtil());
+		ParserMisc.parseFileSet(Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		), projFiles, null, fileReader, null);
+		var resFileSet = ProjectClassSet.resolveClasses(projFiles, CsBlock.CLASS, new HashSet<>());
+		var classes = resFileSet.getCompilationUnitsStartWith(Arrays.asList(""));
+
+		Path jsonFile = tmpDir.getRoot().toPath().resolve("out.json");
+		Path smileFile = tmpDir.getRoot().toPath().resolve("out.smile");
+		var resSets = new HashMap<DestinationInfo, List<CodeFileParsed.Resolved<BlockType>>>();
+		resSets.put(DestinationInfo.parse(jsonFile.toString() + "=[ParserExamples]", "destinations"), classes);
+		resSets.put(DestinationInfo.parse(smileFile.toString() + "=[ParserExamples]", "destinations"), classes);
+
+		var res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(2, res.getWrittenFiles().size());
+		Assert.assertTrue(Files.size(smileFile) < Files.size(jsonFile));
+
+		var jsonClasses = ParsedOutputReader.readClasses(jsonFile);
+		var smileClasses = ParsedOutputReader.readClasses(smileFile);
+		Assert.assertEquals(classes.size(), jsonClasses.size());
+		Assert.assertEquals(jsonClasses, smileClasses);
+		Assert.assertTrue(jsonClasses.containsKey("ParserExamples.Models.TrackInfo"));
+
+		// unchanged binary output is skipped too
+		res = WriteResult.write(resSets, Collections.emptyList());
+		Assert.assertEquals(2, res.getSkippedFiles().size());
+	}
+
+
+	@Test
+	public void resolveOnlyDestinationClasses() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/BaseClass.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		), projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		Path allFile = tmpDir.getRoot().toPath().resolve("all.json");
+		Path firstFile = tmpDir.getRoot().toPath().resolve("first.json");
+		var allDsts = Arrays.asList(DestinationInfo.parse(allFile.toString() + "=[ParserExamples.Models,ParserExamples.Services]", "destinations"));
+		var firstDsts = Arrays.asList(DestinationInfo.parse(firstFile.toString() + "=[ParserExamples.Models,ParserExamples.Services]", "destinations"));
+
+		// resolve everything, then filter
+		var allRes = ResolvedResult.resolve(projFiles, new HashSet<>());
+		var allFilter = FilterResult.filter(allRes.getCompilationUnits(), allDsts);
+
+		// filter, then resolve only the destination classes
+		var firstRes = ResolvedResult.resolve(projFiles, firstDsts, new HashSet<>());
+		var firstFilter = FilterResult.filter(projFiles, firstRes.getCompilationUnits(), firstDsts);
+
+		Assert.assertTrue(firstRes.getCompilationUnits().getCompilationUnitsStartWith(Arrays.asList("")).size() < allRes.getCompilationUnits().getCompilationUnitsStartWith(Arrays.asList("")).size());
+
+		WriteResult.write(allFilter.getFilterSets(), Collections.emptyList());
+		WriteResult.write(firstFilter.getFilterSets(), Collections.emptyList());
+		Assert.assertEquals(Files.readString(allFile), Files.readString(firstFile));
+	}
+
+
+	@Test
+	public void serializeOverlappingClassesOnce() throws IOException, FileFormatException {
+		var projFiles = new ProjectClassSet.Intermediate<BlockType>();
+		ParserMisc.parseFileSet(Arrays.asList(
+			Paths.get("rsc/csharp/ParserExamples/Services/ITrackSearchService.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/AlbumInfo.cs"),
+			Paths.get("rsc/csharp/ParserExamples/Models/TrackInfo.cs")
+		), projFiles, null, ThreadLocal.withInitial(() -> new FileReadUtil()), null);
+
+		Path allFile = tmpDir.getRoot().toPath().resolve("all.json");
+		Path modelsFile = tmpDir.getRoot().toPath().resolve("models.json");
+		var dsts = Arrays.asList(
+			DestinationInfo.parse(allFile.toString() + "=[ParserExamples]", "destinations"),
+			DestinationInfo.parse(modelsFile.toString() + "=[ParserExamples.Models]", "destinations")
+		);
+		var resolvedRes = ResolvedResult.resolve(projFiles, dsts, new HashSet<>());
+		var filterRes = FilterResult.filter(projFiles, resolvedRes.getCompilationUnits(), dsts);
+
+		var res = WriteResult.write(filterRes.getFilterSets(), Collections.emptyList());
+		var cache = res.getSerializedClasses();
+		Assert.assertEquals(3, cache.getSerializedCount());
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertTrue(cache.getSavedNs() <= cache.getSerializeNs());
+		Assert.assertTrue(res.toString().contains("cache hits=2"));
+
+		// the shared serialized classes are identical to the classes written on their own
+		var allClasses = ParsedOutputReader.readClasses(allFile);
+		var modelClasses = ParsedOutputReader.readClasses(modelsFile);
+		Assert.assertEquals(2, modelClasses.size());
+		for(var entry : modelClasses.entrySet()) {
+			Assert.assertEquals(allClasses.get(entry.getKey()), entry.getValue());
+		}
+
+		// different write settings are cached separately
+		var cls = resolvedRes.getCompilationUnits().getCompilationUnitsStartWith(Arrays.asList("")).get(0).parsedClass;
+		var sb = new StringBuilder();
+		char[] full = cache.toJson(cls, new WriteSettings(true, false, false, true), sb);
+		Assert.assertSame(full, cache.toJson(cls, new WriteSettings(true, false, false, true), sb));
+		Assert.assertNotSame(full, cache.toJson(cls, new WriteSettings(false, false, false, true), sb));
+	}
+
+}
@@ -0,0 +1,47 @@
+package twg2.parser.test.utils;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+
+import twg2.parser.workflow.CodeFileSrc;
+import twg2.treeLike.TreeTraversalOrder;
+import twg2.treeLike.simpleTree.SimpleTreeUtil;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class CodeFileAssert {
+
+	private CodeFileAssert() { throw new AssertionError("cannot instantiate static class CodeFileAssert"); }
+
+
+	/** Assert that two tokenized files contain the same token trees, line start offsets, and language
+	 * @param lineColumns true to also compare each token's line and column numbers
+	 */
+	public static void assertSameFile(CodeFileSrc expect, CodeFileSrc actual, boolean lineColumns) {
+		Assert.assertEquals(describe(expect, lineColumns), describe(actual, lineColumns));
+		Assert.assertEquals(expect.lineStartOffsets.size(), actual.lineStartOffsets.size());
+		for(int i = 0, size = expect.lineStartOffsets.size(); i < size; i++) {
+			Assert.assertEquals(expect.lineStartOffsets.get(i), actual.lineStartOffsets.get(i));
+		}
+		Assert.assertEquals(expect.language, actual.language);
+	}
+
+
+	/**
+	 * @return one line per token, in pre-order, containing the token's depth, type, text, offsets, flags, keyword, operator, and optionally line and column numbers
+	 */
+	public static ArrayList<String> describe(CodeFileSrc file, boolean lineColumns) {
+		var nodes = new ArrayList<String>();
+		SimpleTreeUtil.traverseNodesDepthFirst(file.astTree, TreeTraversalOrder.PRE_ORDER, (branch, idx, size, depth, parentBranch) -> {
+			var frag = branch.getToken();
+			nodes.add(depth + " " + branch.getTokenType() + " '" + branch.getText() + "' " + frag.getOffsetStart() + "-" + frag.getOffsetEnd() +
+					(lineColumns ? " " + frag.getLineStart() + ":" + frag.getColumnStart() + "-" + frag.getLineEnd() + ":" + frag.getColumnEnd() : "") +
+					" " + branch.getFlags() + " " + branch.getKeyword() + " " + branch.getOperator());
+		});
+		return nodes;
+	}
+
+}